@@ -0,0 +1,284 @@
+/*
+ * To change this license header, choose License Headers in Project Properties.
+ * To change this template file, choose Tools | Templates
+ * and open the template in the editor.
+ */
+package it.stealth.sql;
+
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Collects the small transactional writes submitted concurrently and
+ * executes them in groups, each within a single {@link Transaction}, so
+ * that a single commit is paid for the whole group.
+ * <p>A background thread waits for the first command, then collects the
+ * following ones for at most a certain delay or up to a certain number of
+ * commands. Each caller receives, through its own future, the number of
+ * rows affected by its command once the group has been committed.</p><p>If
+ * a group fails, it is split in two halves that are executed separately,
+ * recursively, so that only the commands that actually fail are reported
+ * as failed while all the others are committed.</p>
+ *
+ * @author Fabrizio Lo Verde
+ * @see SQLEngine#enableGroupCommit(long, int)
+ * @version 1.0
+ * @since 1.4
+ */
+final class GroupCommitWriter implements AutoCloseable
+{
+    /**
+     * Engine that supplies the transactions.
+     */
+    private final SQLEngine mEngine;
+
+    /**
+     * Maximum time a command waits for others to join its group, in nanoseconds.
+     */
+    private final long mMaxDelay;
+
+    /**
+     * Maximum number of commands of a group.
+     */
+    private final int mMaxBatch;
+
+    /**
+     * Commands waiting to be executed.
+     */
+    private final BlockingQueue<Pending> mQueue;
+
+    /**
+     * Thread that executes the groups of commands.
+     */
+    private final Thread mWriter;
+
+    /**
+     * Indicates whether the writer no longer accepts commands.
+     */
+    private boolean mClosed;
+
+    /**
+     * Marker that stops the writer once the previous commands have been executed.
+     */
+    private static final Pending Stop = new Pending(null);
+
+    /**
+     * Name of the thread that executes the groups of commands.
+     */
+    private static final String ThreadName = "stealth-group-commit";
+
+    /**
+     * Exception message raised when a command is submitted after closing.
+     */
+    private static final String ExClosed = "The group commit writer has been closed.";
+
+    /**
+     * Exception message raised when the writer stops before executing a command.
+     */
+    private static final String ExInterrupted = "The group commit writer has been interrupted.";
+
+    /**
+     * Create a new {@link GroupCommitWriter} and starts its background thread.
+     *
+     * @param engine engine that supplies the transactions.
+     * @param maxDelayMillis maximum time a command waits for others to join its group.
+     * @param maxBatch maximum number of commands of a group.
+     */
+    GroupCommitWriter(final SQLEngine engine, final long maxDelayMillis, final int maxBatch) {
+        // Initialize the fields
+        this.mEngine = engine;
+        this.mMaxDelay = TimeUnit.MILLISECONDS.toNanos(maxDelayMillis);
+        this.mMaxBatch = maxBatch;
+        this.mQueue = new LinkedBlockingQueue<>();
+        // Create the thread that does not prevent the JVM from exiting
+        this.mWriter = new Thread(this::run, GroupCommitWriter.ThreadName);
+        this.mWriter.setDaemon(true);
+        this.mWriter.start();
+    }
+
+    /**
+     * Submits a command to be executed within the next group.
+     *
+     * @param sqlCommand SQL DML command to execute.
+     * @return future completed with the number of rows affected by the command
+     *         once its group has been committed, or with the error that
+     *         prevented its execution.
+     * @throws IllegalStateException if the writer has been closed.
+     */
+    synchronized CompletableFuture<Integer> submit(final String sqlCommand) {
+        // Check that the writer still accepts commands
+        if (this.mClosed) {
+            throw new IllegalStateException(GroupCommitWriter.ExClosed);
+        }
+        // Queues the command
+        final Pending pending = new Pending(sqlCommand);
+        this.mQueue.add(pending);
+        return pending.mFuture;
+    }
+
+    /**
+     * Stops accepting commands and waits for
+     * the execution of those already submitted.
+     */
+    @Override
+    public void close() {
+        // Stops accepting commands
+        synchronized (this) {
+            // Check if the writer has already been closed
+            if (this.mClosed) {
+                return;
+            }
+            this.mClosed = true;
+            // Stops the writer after the commands already queued
+            this.mQueue.add(GroupCommitWriter.Stop);
+        }
+        try {
+            // Waits for the writer to execute the remaining commands
+            this.mWriter.join();
+        } catch (final InterruptedException ex) {
+            // Restores the interrupted status
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Body of the background thread that executes the groups of commands.
+     */
+    private void run() {
+        // Declares support references
+        Pending next;
+        long remaining, deadline;
+        boolean stop = false;
+        // Declares the current group of commands
+        final List<Pending> batch = new ArrayList<>(this.mMaxBatch);
+        try {
+            // Repeats until the writer is stopped
+            while (!stop) {
+                // Waits for the first command of the group
+                next = this.mQueue.take();
+                // Check if the writer must stop
+                if (next == GroupCommitWriter.Stop) {
+                    break;
+                }
+                batch.add(next);
+                // Collects the following commands until the delay expires
+                deadline = System.nanoTime() + this.mMaxDelay;
+                while (batch.size() < this.mMaxBatch && (remaining =
+                        deadline - System.nanoTime()) > 0) {
+                    // Waits for the next command
+                    next = this.mQueue.poll(remaining, TimeUnit.NANOSECONDS);
+                    // Check if the delay has expired
+                    if (next == null) {
+                        break;
+                    }
+                    // Check if the writer must stop after this group
+                    if (next == GroupCommitWriter.Stop) {
+                        stop = true;
+                        break;
+                    }
+                    batch.add(next);
+                }
+                // Executes the group
+                this.execute(batch);
+                batch.clear();
+            }
+        } catch (final InterruptedException ex) {
+            // Fails the commands of the group and those still queued
+            batch.addAll(this.mQueue);
+            for (final Pending pending : batch) {
+                if (pending != GroupCommitWriter.Stop) {
+                    pending.mFuture.completeExceptionally(new
+                            SQLException(GroupCommitWriter.ExInterrupted, ex));
+                }
+            }
+        }
+    }
+
+    /**
+     * Executes a group of commands, splitting it if it fails.
+     *
+     * @param batch group of commands to be executed.
+     */
+    private void execute(final List<Pending> batch) {
+        // Declares a support integer
+        int i;
+        // Declares the number of rows affected by each command
+        final int[] counts = new int[batch.size()];
+        // Declares the transaction on which to execute the commands
+        final Transaction dbTran;
+        try {
+            // Opens the transaction on a dedicated connection, since the one
+            // kept alive is shared with the callers and must stay in auto-commit
+            dbTran = new Transaction(this.mEngine.getDedicatedConnection());
+        } catch (final SQLException | RuntimeException ex) {
+            // No command can be executed without a transaction
+            for (final Pending pending : batch) {
+                pending.mFuture.completeExceptionally(ex);
+            }
+            return;
+        }
+        try {
+            try {
+                // Create an empty statement to send commands to the database
+                try (final Statement stmt = dbTran.createStatement()) {
+                    // Executes all the commands of the group
+                    for (i = 0; i < counts.length; i++) {
+                        counts[i] = stmt.executeUpdate(batch.get(i).mSql);
+                    }
+                }
+                // Mark this transaction as completed
+                dbTran.complete();
+            } finally {
+                // Commits or rolls back the transaction
+                dbTran.close();
+            }
+        } catch (final SQLException | RuntimeException ex) {
+            // Check if the failed command has been isolated
+            if (batch.size() == 1) {
+                batch.get(0).mFuture.completeExceptionally(ex);
+            } else {
+                // Executes the two halves separately
+                this.execute(batch.subList(0, batch.size() / 2));
+                this.execute(batch.subList(batch.size() / 2, batch.size()));
+            }
+            return;
+        }
+        // Reports the number of rows affected by each command
+        for (i = 0; i < counts.length; i++) {
+            batch.get(i).mFuture.complete(counts[i]);
+        }
+    }
+
+    /**
+     * Command waiting to be executed, along with the future of its outcome.
+     */
+    private static final class Pending
+    {
+        /**
+         * SQL command to execute.
+         */
+        private final String mSql;
+
+        /**
+         * Future of the number of rows affected by the command.
+         */
+        private final CompletableFuture<Integer> mFuture;
+
+        /**
+         * Create a new {@link Pending} command.
+         *
+         * @param sql SQL command to execute.
+         */
+        private Pending(final String sql) {
+            // Initialize the fields
+            this.mSql = sql;
+            this.mFuture = new CompletableFuture<>();
+        }
+    }
+}
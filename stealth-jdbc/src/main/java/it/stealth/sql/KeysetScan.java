@@ -0,0 +1,446 @@
+/*
+ * To change this license header, choose License Headers in Project Properties.
+ * To change this template file, choose Tools | Templates
+ * and open the template in the editor.
+ */
+package it.stealth.sql;
+
+import it.stealth.sql.readers.SQLQueryReader;
+import it.stealth.sql.readers.SQLQueryReaders;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Reads all the records of a table through keyset pagination.
+ * <p>The records are read in pages sorted by a set of key columns:
+ * every page after the first starts from the last key of the previous
+ * one, so the cost of reading a page does not depend on its position
+ * in the table (unlike {@code OFFSET} pagination). While a page is
+ * consumed, the next one is read on a background thread.</p><p>The
+ * records can be consumed one at a time through the {@link Iterator}
+ * interface or a page at a time through {@link #nextPage()}; the
+ * two approaches should not be mixed.</p><p>The key columns must not
+ * contain {@code NULL} values, which no comparison of the predicate on the
+ * previous key would match: a page returning such a value fails with an
+ * {@link IllegalStateException} rather than silently skipping records.</p>
+ * <p>The scanner releases its background thread as soon as the last page
+ * has been read, anyway it should be closed (for example through a
+ * try-with-resources statement) if it is not read to the end, so that the
+ * read of the next page is cancelled and its connection released. A scan
+ * abandoned without closing it does not keep the scan alive: the page
+ * being read only refers to the engine, and the background thread
+ * terminates once idle.</p>
+ *
+ * @author Fabrizio Lo Verde
+ * @see SQLEngine#scan(String, String[], int)
+ * @version 1.0
+ * @since 1.4
+ */
+public final class KeysetScan implements Iterator<QueryRecord>, AutoCloseable
+{
+    /**
+     * Reference to the engine that supplies the connections.
+     */
+    private final SQLEngine mEngine;
+    
+    /**
+     * Names of the key columns.
+     */
+    private final String[] mKeyColumns;
+    
+    /**
+     * Query used to read the first page.
+     */
+    private final String mFirstQuery;
+    
+    /**
+     * Query used to read the pages following the first one.
+     */
+    private final String mNextQuery;
+    
+    /**
+     * Reader of each page.
+     */
+    private final SQLQueryReader<QueryResults> mPageReader;
+    
+    /**
+     * Maximum number of records of each page.
+     */
+    private final int mPageSize;
+    
+    /**
+     * Executor that reads the next page in the background.
+     */
+    private final ExecutorService mExecutor;
+    
+    /**
+     * Page being read in the background, {@code null}
+     * if the last page has already been read.
+     */
+    private Future<QueryResults> mPending;
+    
+    /**
+     * Iterator over the records of the current page.
+     */
+    private Iterator<QueryRecord> mCurrent;
+    
+    /**
+     * Name of the thread that reads the pages in the background.
+     */
+    private static final String ThreadName = "stealth-keyset-scan";
+    
+    /**
+     * Seconds after which the idle background thread terminates.
+     */
+    private static final long IdleThreadSeconds = 1;
+    
+    /**
+     * Exception message raised when a key column holds a {@code NULL} value.
+     */
+    private static final String ExNullKey =
+            "Key column with a NULL value, not supported by keyset pagination: %s";
+    
+    /**
+     * Exception message raised when a key column is not returned by the query.
+     */
+    private static final String ExMissingKeyColumn =
+            "Key column not found in the results: %s";
+    
+    /**
+     * Exception message raised when the read of a page is interrupted.
+     */
+    private static final String ExInterrupted = "Interrupted while reading a page.";
+    
+    /**
+     * Exception message raised when the read of a page has been cancelled.
+     */
+    private static final String ExCancelled = "The read of the page has been cancelled.";
+    
+    /**
+     * Create a new {@link KeysetScan} that immediately starts reading
+     * the first page of a table in the background.
+     *
+     * @param engine engine that supplies the connections.
+     * @param table name of the table to be scanned.
+     * @param keyColumns names of the key columns.
+     * @param pageSize maximum number of records of each page.
+     */
+    KeysetScan(final SQLEngine engine, final String table,
+            final String[] keyColumns, final int pageSize) {
+        // Initialize the fields
+        this.mEngine = engine;
+        this.mKeyColumns = keyColumns;
+        this.mPageSize = pageSize;
+        this.mPageReader = SQLQueryReaders.firstRecords(pageSize);
+        this.mFirstQuery = KeysetScan.buildQuery(table, keyColumns, false);
+        this.mNextQuery = KeysetScan.buildQuery(table, keyColumns, true);
+        this.mCurrent = Collections.emptyIterator();
+        // Create the executor used to read the pages in the background,
+        // whose thread terminates once idle if the scan is abandoned
+        final ThreadPoolExecutor executor = new ThreadPoolExecutor(1, 1,
+                KeysetScan.IdleThreadSeconds, TimeUnit.SECONDS, new LinkedBlockingQueue<>(), r -> {
+            // Create a thread that does not prevent the JVM from exiting
+            final Thread thread = new Thread(r, KeysetScan.ThreadName);
+            thread.setDaemon(true);
+            return thread;
+        });
+        executor.allowCoreThreadTimeOut(true);
+        this.mExecutor = executor;
+        // Starts reading the first page
+        this.mPending = this.readPageAsync(this.mFirstQuery, null);
+    }
+    
+    /**
+     * Builds the query used to read a page.
+     * <p>The query reading the following pages selects the records whose key
+     * comes after a given one, in the form {@code (k1 > ?) OR (k1 = ? AND
+     * k2 > ?) OR ...}, which works on any database (unlike the row value
+     * comparison {@code (k1, k2) > (?, ?)}). The size of the page is
+     * limited through the statement rather than the SQL dialect.</p>
+     *
+     * @param table name of the table to be scanned.
+     * @param keyColumns names of the key columns.
+     * @param afterKey indicates whether the query must
+     *        start after the key of the previous page.
+     * @return query that reads a page.
+     */
+    private static String buildQuery(final String table,
+            final String[] keyColumns, final boolean afterKey) {
+        // Declares support integers
+        int i, j;
+        // Starts the query
+        final StringBuilder sql = new StringBuilder("SELECT * FROM ").append(table);
+        // Check if the query must start after a previous key
+        if (afterKey) {
+            // Adds the predicate on the previous key
+            sql.append(" WHERE ");
+            // Iterate over all the key columns
+            for (i = 0; i < keyColumns.length; i++) {
+                // Separates the alternatives
+                if (i > 0) {
+                    sql.append(" OR ");
+                }
+                // Opens the alternative
+                sql.append('(');
+                // The previous columns must be equal to those of the previous key
+                for (j = 0; j < i; j++) {
+                    sql.append(keyColumns[j]).append(" = ? AND ");
+                }
+                // The current column must follow that of the previous key
+                sql.append(keyColumns[i]).append(" > ?)");
+            }
+        }
+        // Sorts the records by key
+        sql.append(" ORDER BY ").append(String.join(", ", keyColumns));
+        // Returns the query
+        return sql.toString();
+    }
+    
+    /**
+     * Starts reading a page from the database in the background.
+     * <p>The task refers only to the engine and the reader, and not to
+     * this scan, so that an abandoned scan can be collected.</p>
+     *
+     * @param sqlQuery query that reads the page.
+     * @param args values of the query parameters.
+     * @return page being read.
+     */
+    private Future<QueryResults> readPageAsync(final String sqlQuery, final Object[] args) {
+        // Declares the references used by the task
+        final SQLEngine engine = this.mEngine;
+        final SQLQueryReader<QueryResults> reader = this.mPageReader;
+        // Starts the read
+        return this.mExecutor.submit(() -> KeysetScan.readPage(engine, reader, sqlQuery, args));
+    }
+    
+    /**
+     * Reads a page from the database.
+     *
+     * @param engine engine that supplies the connection.
+     * @param reader reader of the page.
+     * @param sqlQuery query that reads the page.
+     * @param args values of the query parameters.
+     * @return records of the page.
+     * @throws SQLException if an error occurs while querying the database.
+     */
+    private static QueryResults readPage(final SQLEngine engine, final SQLQueryReader<QueryResults>
+            reader, final String sqlQuery, final Object[] args) throws SQLException {
+        // Opens a dedicated connection, since the one kept alive
+        // may be in use by the caller at the same time
+        try (final Connection dbConn = engine.getDedicatedConnection()) {
+            // Reads the page
+            return SQLEngine.queryPrepared(dbConn, sqlQuery, reader, args);
+        }
+    }
+    
+    /**
+     * Checks that the records of a page have no {@code NULL} key values.
+     *
+     * @param page records of the page.
+     * @throws IllegalStateException if a key column is not returned
+     *         by the query or holds a {@code NULL} value.
+     */
+    private void checkKeys(final QueryResults page) {
+        // Declares support integers
+        int i, index;
+        // Iterate over all the records of the page
+        for (final QueryRecord record : page) {
+            // Iterate over all the key columns
+            for (i = 0; i < this.mKeyColumns.length; i++) {
+                // Gets the index of the key column
+                index = record.getFieldIndex(this.mKeyColumns[i]);
+                // Check that the column is returned by the query
+                if (index < 0) {
+                    throw new IllegalStateException(String.format(
+                            KeysetScan.ExMissingKeyColumn, this.mKeyColumns[i]));
+                }
+                // Check that the key has a value
+                if (record.getObject(index) == null) {
+                    throw new IllegalStateException(String.format(
+                            KeysetScan.ExNullKey, this.mKeyColumns[i]));
+                }
+            }
+        }
+    }
+    
+    /**
+     * Builds the parameters of the query that reads the
+     * page following the one ending with a certain record.
+     *
+     * @param last last record of the previous page.
+     * @return values of the query parameters.
+     */
+    private Object[] afterKeyArgs(final QueryRecord last) {
+        // Declares support integers
+        int i, j, index, k = 0;
+        // Declares the values of the key
+        final Object[] key = new Object[this.mKeyColumns.length];
+        // Iterate over all the key columns
+        for (i = 0; i < this.mKeyColumns.length; i++) {
+            // Gets the index of the key column
+            index = last.getFieldIndex(this.mKeyColumns[i]);
+            // Check that the column is returned by the query
+            if (index < 0) {
+                throw new IllegalStateException(String.format(
+                        KeysetScan.ExMissingKeyColumn, this.mKeyColumns[i]));
+            }
+            // Stores the value of the key column
+            key[i] = last.getObject(index);
+        }
+        // Each column i is preceded by the columns 0..i-1 in the predicate
+        final Object[] args = new Object[this.mKeyColumns.length *
+                (this.mKeyColumns.length + 1) / 2];
+        // Iterate over all the alternatives of the predicate
+        for (i = 0; i < this.mKeyColumns.length; i++) {
+            // Binds the key columns involved in the alternative
+            for (j = 0; j <= i; j++) {
+                args[k++] = key[j];
+            }
+        }
+        // Returns the parameters
+        return args;
+    }
+    
+    /**
+     * Gets the next page of records.
+     * <p>If the page is full, the read of the following one is started
+     * in the background before returning.</p>
+     *
+     * @return next page of records, {@code null} if
+     *         all the records have already been read.
+     * @throws SQLException if an error occurs while querying the database.
+     * @throws IllegalStateException if a key column is not returned
+     *         by the query or holds a {@code NULL} value.
+     */
+    public synchronized QueryResults nextPage() throws SQLException {
+        // Declares the page read
+        final QueryResults page;
+        // Declares the last record of the page
+        QueryRecord last = null;
+        // Check if there is a page being read
+        if (this.mPending == null) {
+            return null;
+        }
+        // Starts a try-catch block
+        try {
+            // Waits for the page to be read
+            page = this.mPending.get();
+        } catch (final CancellationException ex) {
+            // The read has been cancelled
+            throw new IllegalStateException(KeysetScan.ExCancelled, ex);
+        } catch (final InterruptedException ex) {
+            // Restores the interrupted status
+            Thread.currentThread().interrupt();
+            throw new SQLException(KeysetScan.ExInterrupted, ex);
+        } catch (final ExecutionException ex) {
+            // Check if it is a database error
+            if (ex.getCause() instanceof SQLException) {
+                throw (SQLException) ex.getCause();
+            }
+            // Propagates any other error
+            throw new IllegalStateException(ex.getCause());
+        }
+        // Check that every key can be compared with the following ones
+        try {
+            this.checkKeys(page);
+        } catch (final IllegalStateException ex) {
+            // The scan cannot continue
+            this.close();
+            throw ex;
+        }
+        // Check if the page is full (so there may be more records)
+        if (page.getRecordCount() >= this.mPageSize) {
+            // Finds the last record of the page
+            for (final QueryRecord record : page) {
+                last = record;
+            }
+            // Starts reading the next page in the background
+            final Object[] args = this.afterKeyArgs(last);
+            this.mPending = this.readPageAsync(this.mNextQuery, args);
+        } else {
+            // No more pages to read
+            this.mPending = null;
+            this.mExecutor.shutdown();
+        }
+        // Returns the page
+        return page;
+    }
+    
+    /**
+     * Indicates whether there are other records to read.
+     * <p>This method may wait for the next page to be read.</p>
+     *
+     * @return {@code true} if there are other records, {@code false} otherwise.
+     * @throws IllegalStateException if an error occurs while querying
+     *         the database (the {@link SQLException} is the cause).
+     */
+    @Override
+    public synchronized boolean hasNext() {
+        // Declares the next page
+        QueryResults page;
+        // Skips any empty pages
+        while (!this.mCurrent.hasNext()) {
+            // Starts a try-catch block
+            try {
+                // Reads the next page
+                page = this.nextPage();
+            } catch (final SQLException ex) {
+                // Reports the database error through an unchecked exception
+                throw new IllegalStateException(ex);
+            }
+            // Check if all the records have been read
+            if (page == null) {
+                return false;
+            }
+            // Iterates over the records of the new page
+            this.mCurrent = page.iterator();
+        }
+        // A record is available
+        return true;
+    }
+    
+    /**
+     * Gets the next record.
+     *
+     * @return next record of the table.
+     * @throws NoSuchElementException if all the records have been read.
+     * @throws IllegalStateException if an error occurs while querying
+     *         the database (the {@link SQLException} is the cause).
+     */
+    @Override
+    public synchronized QueryRecord next() {
+        // Check that there are other records
+        if (!this.hasNext()) {
+            throw new NoSuchElementException();
+        }
+        // Returns the next record of the current page
+        return this.mCurrent.next();
+    }
+    
+    /**
+     * Stops the scan, cancelling the read of the next page.
+     */
+    @Override
+    public synchronized void close() {
+        // Check if there is a page being read
+        if (this.mPending != null) {
+            // Cancels the read
+            this.mPending.cancel(true);
+            this.mPending = null;
+        }
+        // Discards the records not consumed
+        this.mCurrent = Collections.emptyIterator();
+        // Releases the background thread
+        this.mExecutor.shutdownNow();
+    }
+}
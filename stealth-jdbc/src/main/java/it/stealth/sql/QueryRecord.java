@@ -410,4 +410,220 @@ public interface QueryRecord
      * @throws ClassCastException if the value cannot be converted.
      */
     public Byte getByte(final int fieldIndex);
+    
+    /**
+     * Indicates if the value of the designated field is {@code null}.
+     * 
+     * @param fieldName name of the field to be checked.
+     * @return {@code true} if the value is {@code null}, {@code false} otherwise.
+     * @since 1.4
+     */
+    public default boolean isNull(final String fieldName) {
+        // Invokes the method that uses the field index
+        return this.isNull(this.getFieldIndex(fieldName));
+    }
+    
+    /**
+     * Indicates if the value of the designated field is {@code null}.
+     * 
+     * @param fieldIndex index of the field to be checked.
+     * @return {@code true} if the value is {@code null}, {@code false} otherwise.
+     * @since 1.4
+     */
+    public default boolean isNull(final int fieldIndex) {
+        // Check the value of the field
+        return this.getObject(fieldIndex) == null;
+    }
+    
+    /**
+     * Gets the value of the field designated as {@code int}.
+     * <p>Unlike {@link #getInteger(String)}, the value
+     * is not boxed when the implementation can avoid it.</p>
+     * 
+     * @param fieldName name of the field from which to get the value.
+     * @param defaultIfNull value returned if the field is {@code null}.
+     * @return value of the field designated as {@code int}.
+     * @throws ClassCastException if the value cannot be converted.
+     * @since 1.4
+     */
+    public default int getInt(final String fieldName, final int defaultIfNull) {
+        // Invokes the method that uses the field index
+        return this.getInt(this.getFieldIndex(fieldName), defaultIfNull);
+    }
+    
+    /**
+     * Gets the value of the field designated as {@code int}.
+     * <p>Unlike {@link #getInteger(int)}, the value
+     * is not boxed when the implementation can avoid it.</p>
+     * 
+     * @param fieldIndex index of the field from which to get the value.
+     * @param defaultIfNull value returned if the field is {@code null}.
+     * @return value of the field designated as {@code int}.
+     * @throws ClassCastException if the value cannot be converted.
+     * @since 1.4
+     */
+    public default int getInt(final int fieldIndex, final int defaultIfNull) {
+        // Gets the boxed value of the field
+        final Integer value = this.getInteger(fieldIndex);
+        // Check if the value is not null
+        return value != null ? value : defaultIfNull;
+    }
+    
+    /**
+     * Gets the value of the field designated as {@code int},
+     * returning zero if the field is {@code null}.
+     * 
+     * @param fieldName name of the field from which to get the value.
+     * @return value of the field designated as {@code int}.
+     * @throws ClassCastException if the value cannot be converted.
+     * @see #isNull(String)
+     * @since 1.4
+     */
+    public default int getIntValue(final String fieldName) {
+        // Invokes the method that uses the field index
+        return this.getIntValue(this.getFieldIndex(fieldName));
+    }
+    
+    /**
+     * Gets the value of the field designated as {@code int},
+     * returning zero if the field is {@code null}.
+     * 
+     * @param fieldIndex index of the field from which to get the value.
+     * @return value of the field designated as {@code int}.
+     * @throws ClassCastException if the value cannot be converted.
+     * @see #isNull(int)
+     * @since 1.4
+     */
+    public default int getIntValue(final int fieldIndex) {
+        // Invokes the method that handles the null values
+        return this.getInt(fieldIndex, 0);
+    }
+    
+    /**
+     * Gets the value of the field designated as {@code long}.
+     * <p>Unlike {@link #getLong(String)}, the value
+     * is not boxed when the implementation can avoid it.</p>
+     * 
+     * @param fieldName name of the field from which to get the value.
+     * @param defaultIfNull value returned if the field is {@code null}.
+     * @return value of the field designated as {@code long}.
+     * @throws ClassCastException if the value cannot be converted.
+     * @since 1.4
+     */
+    public default long getLong(final String fieldName, final long defaultIfNull) {
+        // Invokes the method that uses the field index
+        return this.getLong(this.getFieldIndex(fieldName), defaultIfNull);
+    }
+    
+    /**
+     * Gets the value of the field designated as {@code long}.
+     * <p>Unlike {@link #getLong(int)}, the value
+     * is not boxed when the implementation can avoid it.</p>
+     * 
+     * @param fieldIndex index of the field from which to get the value.
+     * @param defaultIfNull value returned if the field is {@code null}.
+     * @return value of the field designated as {@code long}.
+     * @throws ClassCastException if the value cannot be converted.
+     * @since 1.4
+     */
+    public default long getLong(final int fieldIndex, final long defaultIfNull) {
+        // Gets the boxed value of the field
+        final Long value = this.getLong(fieldIndex);
+        // Check if the value is not null
+        return value != null ? value : defaultIfNull;
+    }
+    
+    /**
+     * Gets the value of the field designated as {@code long},
+     * returning zero if the field is {@code null}.
+     * 
+     * @param fieldName name of the field from which to get the value.
+     * @return value of the field designated as {@code long}.
+     * @throws ClassCastException if the value cannot be converted.
+     * @see #isNull(String)
+     * @since 1.4
+     */
+    public default long getLongValue(final String fieldName) {
+        // Invokes the method that uses the field index
+        return this.getLongValue(this.getFieldIndex(fieldName));
+    }
+    
+    /**
+     * Gets the value of the field designated as {@code long},
+     * returning zero if the field is {@code null}.
+     * 
+     * @param fieldIndex index of the field from which to get the value.
+     * @return value of the field designated as {@code long}.
+     * @throws ClassCastException if the value cannot be converted.
+     * @see #isNull(int)
+     * @since 1.4
+     */
+    public default long getLongValue(final int fieldIndex) {
+        // Invokes the method that handles the null values
+        return this.getLong(fieldIndex, 0);
+    }
+    
+    /**
+     * Gets the value of the field designated as {@code double}.
+     * <p>Unlike {@link #getDouble(String)}, the value
+     * is not boxed when the implementation can avoid it.</p>
+     * 
+     * @param fieldName name of the field from which to get the value.
+     * @param defaultIfNull value returned if the field is {@code null}.
+     * @return value of the field designated as {@code double}.
+     * @throws ClassCastException if the value cannot be converted.
+     * @since 1.4
+     */
+    public default double getDouble(final String fieldName, final double defaultIfNull) {
+        // Invokes the method that uses the field index
+        return this.getDouble(this.getFieldIndex(fieldName), defaultIfNull);
+    }
+    
+    /**
+     * Gets the value of the field designated as {@code double}.
+     * <p>Unlike {@link #getDouble(int)}, the value
+     * is not boxed when the implementation can avoid it.</p>
+     * 
+     * @param fieldIndex index of the field from which to get the value.
+     * @param defaultIfNull value returned if the field is {@code null}.
+     * @return value of the field designated as {@code double}.
+     * @throws ClassCastException if the value cannot be converted.
+     * @since 1.4
+     */
+    public default double getDouble(final int fieldIndex, final double defaultIfNull) {
+        // Gets the boxed value of the field
+        final Double value = this.getDouble(fieldIndex);
+        // Check if the value is not null
+        return value != null ? value : defaultIfNull;
+    }
+    
+    /**
+     * Gets the value of the field designated as {@code double},
+     * returning zero if the field is {@code null}.
+     * 
+     * @param fieldName name of the field from which to get the value.
+     * @return value of the field designated as {@code double}.
+     * @throws ClassCastException if the value cannot be converted.
+     * @see #isNull(String)
+     * @since 1.4
+     */
+    public default double getDoubleValue(final String fieldName) {
+        // Invokes the method that uses the field index
+        return this.getDoubleValue(this.getFieldIndex(fieldName));
+    }
+    
+    /**
+     * Gets the value of the field designated as {@code double},
+     * returning zero if the field is {@code null}.
+     * 
+     * @param fieldIndex index of the field from which to get the value.
+     * @return value of the field designated as {@code double}.
+     * @throws ClassCastException if the value cannot be converted.
+     * @see #isNull(int)
+     * @since 1.4
+     */
+    public default double getDoubleValue(final int fieldIndex) {
+        // Invokes the method that handles the null values
+        return this.getDouble(fieldIndex, 0);
+    }
 }
@@ -0,0 +1,185 @@
+/*
+ * To change this license header, choose License Headers in Project Properties.
+ * To change this template file, choose Tools | Templates
+ * and open the template in the editor.
+ */
+package it.stealth.sql;
+
+import java.sql.SQLException;
+import java.util.concurrent.ThreadLocalRandom;
+import org.apache.commons.lang3.Validate;
+
+/**
+ * Defines when and how a transaction that failed because of the
+ * contention with other transactions must be executed again.
+ * <p>A failure is considered retryable when the database reports a
+ * serialization failure (SQLState {@code 40001}), a deadlock (SQLState
+ * {@code 40P01} or MySQL error 1213) or a lock wait timeout (MySQL error
+ * 1205), anywhere in the chain of causes or of the next exceptions. This
+ * criterion can be extended by overriding {@link #isRetryable(SQLException)
+ * isRetryable}.</p><p>Between two attempts the policy waits for a random
+ * delay between zero and an exponentially growing bound (the so-called
+ * <i>&quot;full jitter&quot;</i>), so that the transactions that collided
+ * do not collide again.</p>
+ *
+ * @author Fabrizio Lo Verde
+ * @see SQLEngine#inTransaction(int, UnitOfWork, RetryPolicy)
+ * @version 1.0
+ * @since 1.4
+ */
+public class RetryPolicy
+{
+    /**
+     * Maximum number of attempts (including the first one).
+     */
+    private final int mMaxAttempts;
+
+    /**
+     * Upper bound of the delay before the first retry, in milliseconds.
+     */
+    private final long mBaseDelay;
+
+    /**
+     * Maximum upper bound of the delay before a retry, in milliseconds.
+     */
+    private final long mMaxDelay;
+
+    /**
+     * Policy that never executes a transaction again.
+     */
+    public static final RetryPolicy None = new RetryPolicy(1, 0, 0);
+
+    /**
+     * Default policy: up to 5 attempts, with delays
+     * growing from 50 milliseconds up to 2 seconds.
+     */
+    public static final RetryPolicy Default = new RetryPolicy(5, 50, 2000);
+
+    /**
+     * SQLState reported for a serialization failure.
+     */
+    private static final String SerializationFailure = "40001";
+
+    /**
+     * SQLState reported for a deadlock by some databases.
+     */
+    private static final String DeadlockDetected = "40P01";
+
+    /**
+     * MySQL error code for a deadlock.
+     */
+    private static final int MySQLDeadlock = 1213;
+
+    /**
+     * MySQL error code for a lock wait timeout.
+     */
+    private static final int MySQLLockWaitTimeout = 1205;
+
+    /**
+     * Exception message raised when the number of attempts is not positive.
+     */
+    private static final String ExNotPositiveAttempts =
+            "The number of attempts must be positive: %d";
+
+    /**
+     * Exception message raised when the delays are not valid.
+     */
+    private static final String ExInvalidDelays =
+            "Invalid delays (base %d ms, maximum %d ms)";
+
+    /**
+     * Create a new {@link RetryPolicy}.
+     *
+     * @param maxAttempts maximum number of attempts (including the first one).
+     * @param baseDelayMillis upper bound of the delay before the first retry.
+     * @param maxDelayMillis maximum upper bound of the delay before a retry.
+     * @throws IllegalArgumentException if {@code maxAttempts} is not positive,
+     *         a delay is negative or {@code baseDelayMillis} exceeds
+     *         {@code maxDelayMillis}.
+     */
+    public RetryPolicy(final int maxAttempts, final long
+            baseDelayMillis, final long maxDelayMillis) {
+        // Validates the parameters
+        Validate.isTrue(maxAttempts > 0, RetryPolicy.ExNotPositiveAttempts, maxAttempts);
+        Validate.isTrue(baseDelayMillis >= 0 && baseDelayMillis <= maxDelayMillis,
+                RetryPolicy.ExInvalidDelays, baseDelayMillis, maxDelayMillis);
+        // Initialize the fields
+        this.mMaxAttempts = maxAttempts;
+        this.mBaseDelay = baseDelayMillis;
+        this.mMaxDelay = maxDelayMillis;
+    }
+
+    /**
+     * Gets the maximum number of attempts (including the first one).
+     *
+     * @return maximum number of attempts.
+     */
+    public final int getMaxAttempts() {
+        // Return the maximum number of attempts
+        return this.mMaxAttempts;
+    }
+
+    /**
+     * Indicates whether a failed transaction can be executed again.
+     *
+     * @param ex error that caused the failure.
+     * @return {@code true} if the error is due to the contention
+     *         with other transactions, {@code false} otherwise.
+     */
+    public boolean isRetryable(final SQLException ex) {
+        // Declares a support reference
+        Throwable cause;
+        // Iterate over the chain of the next exceptions
+        for (SQLException next = ex; next != null; next = next.getNextException()) {
+            // Iterate over the chain of the causes
+            for (cause = next; cause != null; cause = cause.getCause()) {
+                // Check if the cause is a retryable SQL error
+                if (cause instanceof SQLException && RetryPolicy.
+                        isContention((SQLException) cause)) {
+                    return true;
+                }
+                // Stops on a self-referencing cause
+                if (cause.getCause() == cause) {
+                    break;
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Internal procedure that checks if a single SQL
+     * error is due to the contention with other transactions.
+     *
+     * @param ex SQL error to be checked.
+     * @return {@code true} if the error is due to contention.
+     */
+    private static boolean isContention(final SQLException ex) {
+        // Check the SQLState and the vendor code
+        return RetryPolicy.SerializationFailure.equals(ex.getSQLState()) ||
+                RetryPolicy.DeadlockDetected.equals(ex.getSQLState()) ||
+                ex.getErrorCode() == RetryPolicy.MySQLDeadlock ||
+                ex.getErrorCode() == RetryPolicy.MySQLLockWaitTimeout;
+    }
+
+    /**
+     * Computes the delay before a certain retry.
+     * <p>The delay is a random value between zero and
+     * {@code min(maxDelay, baseDelay * 2^(attempt - 1))}.</p>
+     *
+     * @param attempt number of the failed attempt (starting from 1).
+     * @return delay in milliseconds.
+     */
+    public long getDelayMillis(final int attempt) {
+        // Declares a support integer
+        int i;
+        // Starts from the bound of the first retry
+        long bound = this.mBaseDelay;
+        // Doubles the bound for each previous retry, up to the maximum
+        for (i = 1; i < attempt && bound < this.mMaxDelay; i++) {
+            bound = bound > this.mMaxDelay / 2 ? this.mMaxDelay : bound * 2;
+        }
+        // Returns a random delay up to the bound
+        return bound > 0 ? ThreadLocalRandom.current().nextLong(bound + 1) : 0;
+    }
+}
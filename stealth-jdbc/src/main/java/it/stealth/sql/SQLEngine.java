@@ -5,24 +5,53 @@
  */
 package it.stealth.sql;
 
+import it.stealth.sql.connection.ConnectionWarmer;
 import it.stealth.sql.connection.DbConnectionProvider;
+import it.stealth.sql.connection.LeakDetector;
 import it.stealth.sql.connection.StickyConnectionProvider;
 import it.stealth.sql.connection.UnclosableConnectionProvider;
+import it.stealth.sql.management.ConnectionProviderMonitor;
+import it.stealth.sql.management.SQLEngineMonitor;
+import it.stealth.sql.metrics.SQLEvents;
+import it.stealth.sql.metrics.SQLMetrics;
+import it.stealth.sql.metrics.SlowQueryLog;
 import it.stealth.sql.readers.SQLQueryReader;
 import it.stealth.sql.readers.SQLQueryReaders;
 import it.stealth.sql.wrappers.PreparedStatementWrapper;
+import it.stealth.sql.wrappers.ResultSetWrapper;
 import java.io.InputStream;
 import java.io.Reader;
+import java.lang.management.ManagementFactory;
 import java.sql.Connection;
+import java.sql.DatabaseMetaData;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.SQLWarning;
 import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.IdentityHashMap;
 import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Queue;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
 import org.apache.commons.lang3.Validate;
+import it.stealth.sql.util.MergedQueryResults;
 import it.stealth.sql.util.SQLUtils;
 
 /**
@@ -38,6 +67,59 @@ public class SQLEngine
      */
     private final StickyConnectionProvider mProvider;
     
+    /**
+     * Number of times a unit of work has been executed again
+     * after a failure due to contention with other transactions.
+     */
+    private final AtomicLong mRetryCount = new AtomicLong();
+    
+    /**
+     * Number of units of work that failed
+     * after exhausting all the attempts allowed.
+     */
+    private final AtomicLong mRetryExhaustedCount = new AtomicLong();
+    
+    /**
+     * Writer that executes the transactional commands in groups,
+     * {@code null} if the group commit is not enabled.
+     */
+    private volatile GroupCommitWriter mGroupCommit;
+    
+    /**
+     * Queue of the commands written in the background,
+     * {@code null} if the write-behind is not enabled.
+     */
+    private volatile WriteBehindQueue mWriteBehind;
+    
+    /**
+     * Provider of the connections used by read-only transactions,
+     * {@code null} to use the default connection provider.
+     */
+    private volatile DbConnectionProvider mReadReplica;
+    
+    /**
+     * Registry of the metrics of the operations
+     * performed, {@code null} if they are not collected.
+     */
+    private volatile SQLMetrics mMetrics;
+    
+    /**
+     * Log of the slow statements, {@code null} if they are not reported.
+     */
+    private volatile SlowQueryLog mSlowLog;
+    
+    /**
+     * Detector of the connections and the statements not
+     * closed, {@code null} if they are not tracked.
+     */
+    private volatile LeakDetector mLeakDetector;
+    
+    /**
+     * Names under which the management beans of this engine
+     * are registered, {@code null} if they are not registered.
+     */
+    private ObjectName[] mMBeanNames;
+    
     /**
      * Defines the parameter name for the JDBC connection.
      */
@@ -58,6 +140,122 @@ public class SQLEngine
      */
     private static final String DbConnProviderParam = "dbConnectionProvider";
     
+    /**
+     * Defines the parameter name for the rows of values of a batch.
+     */
+    private static final String RowsParam = "rows";
+    
+    /**
+     * Defines the parameter name for a table name.
+     */
+    private static final String TableParam = "table";
+    
+    /**
+     * Defines the parameter name for the key columns of a table.
+     */
+    private static final String KeyColumnsParam = "keyColumns";
+    
+    /**
+     * Defines the parameter name for the key column of a table.
+     */
+    private static final String KeyColumnParam = "keyColumn";
+    
+    /**
+     * Name of the threads that read the partitions of a parallel query.
+     */
+    private static final String PartitionThreadName = "stealth-parallel-query";
+    
+    /**
+     * Exception message raised when the range of a key is empty.
+     */
+    private static final String ExInvalidKeyRange =
+            "The minimum key exceeds the maximum: %d > %d";
+
+    /**
+     * Exception message raised when the width of the range of a key overflows.
+     */
+    private static final String ExKeyRangeTooWide =
+            "The width of the key range exceeds Long.MAX_VALUE: [%d, %d]";
+
+    /**
+     * Maximum number of partitions of a parallel query read at the same time.
+     * 
+     * @since 1.4
+     */
+    public static final int MaxParallelPartitions = 8;
+    
+    /**
+     * Exception message raised when there are more partitions than keys.
+     */
+    private static final String ExTooManyPartitions =
+            "The number of partitions exceeds the keys in the range [%d, %d]: %d";
+    
+    /**
+     * Exception message raised when the number of partitions is not positive.
+     */
+    private static final String ExNotPositivePartitions =
+            "The number of partitions must be positive: %d";
+    
+    /**
+     * Exception message raised when the wait for a task is interrupted.
+     */
+    private static final String ExInterrupted = "Interrupted while waiting for the query.";
+    
+    /**
+     * Defines the parameter name for a unit of work.
+     */
+    private static final String WorkParam = "work";
+    
+    /**
+     * Defines the parameter name for a retry policy.
+     */
+    private static final String PolicyParam = "policy";
+    
+    /**
+     * Exception message raised when a delay is negative.
+     */
+    private static final String ExNegativeDelay = "The delay must not be negative: %d";
+    
+    /**
+     * Exception message raised when a capacity is not positive.
+     */
+    private static final String ExNotPositiveCapacity =
+            "The capacity must be positive: %d";
+    
+    /**
+     * Exception message raised when the write-behind is not enabled.
+     */
+    private static final String ExWriteBehindDisabled =
+            "The write-behind is not enabled.";
+    
+    /**
+     * Exception message raised when the size of a batch is not positive.
+     */
+    private static final String ExNotPositiveBatch =
+            "The batch size must be positive: %d";
+    
+    /**
+     * Exception message raised when the metrics are requested but not collected.
+     */
+    private static final String ExMetricsDisabled =
+            "The collection of the metrics is not enabled.";
+    
+    /**
+     * Domain of the names of the management beans.
+     */
+    private static final String MBeanDomain = "it.stealth.sql";
+    
+    /**
+     * Defines the parameter name for the name of the management beans.
+     */
+    private static final String MBeanNameParam = "name";
+    
+    /**
+     * Exception message raised when the page size is not positive.
+     */
+    private static final String ExNotPositivePageSize =
+            "The page size must be positive: %d";
+    
     /**
      * Exception message raised when the supplied SQL
      * command string is {@code null} or an blank string.
@@ -386,6 +584,51 @@ public class SQLEngine
         }
     }//</editor-fold>
     
+    //<editor-fold defaultstate="collapsed" desc="ResultSet wrapper that measures the fetch of the rows">
+    /**
+     * Implements a {@link ResultSet} wrapper that counts the rows
+     * fetched and measures the time spent fetching them.
+     */
+    private static final class TimedResultSet extends ResultSetWrapper
+    {
+        /**
+         * Time spent fetching the rows, in nanoseconds.
+         */
+        private long mFetchNanos;
+        
+        /**
+         * Number of rows fetched.
+         */
+        private long mRows;
+        
+        /**
+         * Create a new {@link TimedResultSet}
+         * wrapping a certain {@link ResultSet}.
+         * 
+         * @param inner a {@link ResultSet} to wrap.
+         */
+        public TimedResultSet(final ResultSet inner) {
+            // Invokes the superclass constructor
+            super(inner);
+        }
+        
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public boolean next() throws SQLException {
+            // Measures the underlying result set method
+            final long start = System.nanoTime();
+            final boolean found = this.mInner.next();
+            this.mFetchNanos += System.nanoTime() - start;
+            // Counts the row, if any
+            if (found) {
+                this.mRows++;
+            }
+            return found;
+        }
+    }//</editor-fold>
+    
     /**
      * Envelops the statement in an instance that closes all resources in closing.
      * <p>By wrapping a {@link PreparedStatement} through this method it is ensured
@@ -463,10 +706,20 @@ public class SQLEngine
         Objects.requireNonNull(queryReader, SQLEngine.QueryReaderParam);
         // Make sure the SQL query string is not a null or blank string
         Validate.notBlank(sqlQuery, SQLEngine.ExBlankSqlCmd);
+        // Get the log of the slow statements, if any
+        final SlowQueryLog slowLog = this.mSlowLog;
+        // Begins the event of the query, if it is being recorded
+        final Object event = SQLEvents.beginQuery();
+        // Check if the query must be measured
+        if (slowLog != null || event != null) {
+            return this.queryMeasured(slowLog, event, sqlQuery, queryReader, null);
+        }
         // Opens a connection to the database in which to perform the query
-        try (final Connection dbConn = this.mProvider.getDbConnection()) {
+        try (final Connection dbConn = this.getDbConnection()) {
             // Create an empty statement to send commands to the database
             try (final Statement stmt = dbConn.createStatement()) {
+                // Applies the hints declared by the reader
+                SQLEngine.applyReaderHints(stmt, queryReader);
                 // Execute the query and return the results
                 try (final ResultSet rs = stmt.executeQuery(sqlQuery)) {
                     // Invokes the callback to read the query results
@@ -476,6 +729,165 @@ public class SQLEngine
         }
     }
     
+    /**
+     * Executes a parametric SQL query whose results are read by a certain reader.
+     * <p>Each argument is bound in order to the respective parameter marker
+     * ({@code ?}) of the query through {@link PreparedStatement#setObject(int,
+     * Object)}. The control of the {@link ResultSet} is passed directly to the
+     * reader, who has the task of scrolling through the records provided by it.</p>
+     * 
+     * @param <T> type of the object returned by the query.
+     * @param sqlQuery SQL query that must be sent to the database.
+     * @param queryReader reader of the query results.
+     * @param args values of the query parameters.
+     * @return object that encapsulates the query results.
+     * @throws SQLException if an error occurs while querying the database.
+     * @since 1.4
+     */
+    public final <T> T query(final String sqlQuery, final SQLQueryReader<T>
+            queryReader, final Object... args) throws SQLException {
+        // Check that the query reader reference is not null
+        Objects.requireNonNull(queryReader, SQLEngine.QueryReaderParam);
+        // Make sure the SQL query string is not a null or blank string
+        Validate.notBlank(sqlQuery, SQLEngine.ExBlankSqlCmd);
+        // Get the log of the slow statements, if any
+        final SlowQueryLog slowLog = this.mSlowLog;
+        // Begins the event of the query, if it is being recorded
+        final Object event = SQLEvents.beginQuery();
+        // Check if the query must be measured
+        if (slowLog != null || event != null) {
+            return this.queryMeasured(slowLog, event, sqlQuery, queryReader, args);
+        }
+        // Opens a connection to the database in which to perform the query
+        try (final Connection dbConn = this.getDbConnection()) {
+            // Executes the query binding its parameters
+            return SQLEngine.queryPrepared(dbConn, sqlQuery, queryReader, args);
+        }
+    }
+    
+    /**
+     * Executes a query whose results are streamed to a certain reader, so
+     * that they can be read in constant memory however large they are.
+     * <p>The query is executed through a forward-only, read-only statement,
+     * configured for streaming by {@link DbConnectionProvider#prepareStreaming(
+     * Statement)} of the connection provider of this engine (for example,
+     * {@link it.stealth.sql.connection.MySQLConnectionManager} sets the fetch size
+     * that makes Connector/J read the rows one by one from the socket).</p>
+     * <p>Since some drivers cannot execute other statements on a connection
+     * while its results are streamed, the query always runs on a dedicated
+     * connection taken from the provider, never on the connection kept alive
+     * by this engine: the other operations of this engine, including those
+     * invoked by the reader itself, are not affected by the open stream. The
+     * reader must not execute statements through {@link ResultSet#getStatement()}.
+     * </p>
+     * 
+     * @param <T> type of the object returned by the query.
+     * @param sqlQuery SQL query that must be sent to the database.
+     * @param queryReader reader of the query results.
+     * @param args values of the query parameters, if any.
+     * @return object returned by the reader.
+     * @throws SQLException if an error occurs while querying the database.
+     * @since 1.4
+     */
+    public final <T> T stream(final String sqlQuery, final SQLQueryReader<T>
+            queryReader, final Object... args) throws SQLException {
+        // Check that the query reader reference is not null
+        Objects.requireNonNull(queryReader, SQLEngine.QueryReaderParam);
+        // Make sure the SQL query string is not a null or blank string
+        Validate.notBlank(sqlQuery, SQLEngine.ExBlankSqlCmd);
+        // Declares support references
+        final DbConnectionProvider provider = this.getConnectionProvider();
+        final SlowQueryLog slowLog = this.mSlowLog;
+        final Object event = SQLEvents.beginQuery();
+        final boolean measured = slowLog != null || event != null;
+        final long start, executed;
+        final T result;
+        // Opens a dedicated connection, bypassing the one kept alive
+        try (final Connection dbConn = this.acquire(provider)) {
+            // Create a statement that can be streamed
+            try (final PreparedStatement stmt = dbConn.prepareStatement(sqlQuery,
+                    ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY)) {
+                // Binds the parameters and applies the hints declared by the reader
+                SQLEngine.bind(stmt, args);
+                SQLEngine.applyReaderHints(stmt, queryReader);
+                // Lets the provider configure the streaming for its driver
+                provider.prepareStreaming(stmt);
+                // Execute the query, measuring it if required
+                start = System.nanoTime();
+                try (final ResultSet rs = measured ? new TimedResultSet(
+                        stmt.executeQuery()) : stmt.executeQuery()) {
+                    executed = System.nanoTime();
+                    // Invokes the callback to read the query results
+                    result = queryReader.read(rs);
+                    // Check if the query has been measured
+                    if (measured) {
+                        final TimedResultSet timed = (TimedResultSet) rs;
+                        // Reports the query if it exceeds the threshold
+                        if (slowLog != null) {
+                            slowLog.record(sqlQuery, args, executed - start, timed.mFetchNanos,
+                                    System.nanoTime() - executed - timed.mFetchNanos, timed.mRows);
+                        }
+                        // Ends the event of the query
+                        SQLEvents.endQuery(event, sqlQuery, timed.mRows);
+                    }
+                }
+            }
+        }
+        return result;
+    }
+    
+    /**
+     * Internal procedure that executes an SQL query measuring the time
+     * spent executing it, fetching its rows and materializing them, so
+     * that it is reported to the log if it exceeds the threshold and
+     * its event carries the number of rows read.
+     * 
+     * @param <T> type of the object returned by the query.
+     * @param slowLog log of the slow statements (may be {@code null}).
+     * @param event token of the event of the query (may be {@code null}).
+     * @param sqlQuery SQL query that must be sent to the database.
+     * @param queryReader reader of the query results.
+     * @param args values of the query parameters, or {@code null}
+     *        to execute the query through a plain statement.
+     * @return object that encapsulates the query results.
+     * @throws SQLException if an error occurs while querying the database.
+     */
+    private <T> T queryMeasured(final SlowQueryLog slowLog, final Object event, final String
+            sqlQuery, final SQLQueryReader<T> queryReader, final Object[] args) throws SQLException {
+        // Declares support references
+        final long start, executed;
+        final T result;
+        // Opens a connection to the database in which to perform the query
+        try (final Connection dbConn = this.getDbConnection()) {
+            // Create a plain or a parametric statement, as required
+            try (final Statement stmt = args == null ? dbConn.createStatement() :
+                    dbConn.prepareStatement(sqlQuery)) {
+                // Binds the parameters of the query, if any
+                if (args != null) {
+                    SQLEngine.bind((PreparedStatement) stmt, args);
+                }
+                // Applies the hints declared by the reader
+                SQLEngine.applyReaderHints(stmt, queryReader);
+                // Execute the query measuring the time until the results are available
+                start = System.nanoTime();
+                try (final TimedResultSet rs = new TimedResultSet(args == null ?
+                        stmt.executeQuery(sqlQuery) : ((PreparedStatement) stmt).executeQuery())) {
+                    executed = System.nanoTime();
+                    // Invokes the callback to read the query results
+                    result = queryReader.read(rs);
+                    // Reports the query if it exceeds the threshold
+                    if (slowLog != null) {
+                        slowLog.record(sqlQuery, args, executed - start, rs.mFetchNanos,
+                                System.nanoTime() - executed - rs.mFetchNanos, rs.mRows);
+                    }
+                    // Ends the event of the query
+                    SQLEvents.endQuery(event, sqlQuery, rs.mRows);
+                }
+            }
+        }
+        return result;
+    }
+    
     /**
      * Executes an SQL query verifying if it returns at least one record.
      * <p>This procedure is designed to perform simple (non-parametric) queries.</p>
@@ -492,50 +904,6 @@ public class SQLEngine
         return this.query(sqlQuery, SQLUtils.HasQueryResults);
     }
     
-//    /**
-//     * Executes an SQL query whose results are read by a certain reader.
-//     * <p>This procedure is designed to perform simple (non-parametric) queries.</p>
-//     * <p>The control of the {@link ResultSet} is passed directly to the reader,
-//     * who has the task of scrolling through the records provided by it.</p>
-//     * 
-//     * @param <T> type of the object returned by the query.
-//     * @param sqlQuery SQL query that must be sent to the database.
-//     * @param queryReader reader of the query results.
-//     * @param args ####################################.
-//     * @return object that encapsulates the query results.
-//     * @throws SQLException if an error occurs while querying the database.
-//     */
-//    public final <T> T query(final String sqlQuery, final SQLQueryReader<T>
-//            queryReader, final Object... args) throws SQLException {
-//        // Check that the query reader reference is not null
-//        Objects.requireNonNull(queryReader, SQLEngine.QueryReaderParam);
-//        // Make sure the SQL query string is not a null or blank string
-//        Validate.notBlank(sqlQuery, SQLEngine.ExBlankSqlCmd);
-//        // Opens a connection to the database in which to perform the query
-//        try (final Connection dbConn = this.mProvider.getDbConnection()) {
-//            // Create an empty statement to send commands to the database
-//            try (final PreparedStatement stmt = dbConn.prepareStatement(sqlQuery)) {
-//                // ##################################
-//                SQLEngine.writeParams(stmt, args);
-//                // Execute the query and return the results
-//                try (final ResultSet rs = stmt.executeQuery()) {
-//                    // Invokes the callback to read the query results
-//                    return queryReader.read(rs);
-//                }
-//            }
-//        }
-//    }
-//    
-//    private static void writeParams(final PreparedStatement
-//            stmt, final Object[] args) throws SQLException {
-//        int i;
-//        if (args != null) {
-//            for (i = 1; i < args.length; i++) {
-//                stmt.setObject(i, args[i]);
-//            }
-//        }
-//    }
-    
     /**
      * Executes an SQL query by storing the results in a {@link QueryResults}.
      * <p>This procedure is designed to perform simple (non-parametric) queries.</p>
@@ -581,6 +949,8 @@ public class SQLEngine
         Validate.notBlank(sqlQuery, SQLEngine.ExBlankSqlCmd);
         // Create an empty statement to send commands to the database
         try (final Statement stmt = dbConn.createStatement()) {
+            // Applies the hints declared by the reader
+            SQLEngine.applyReaderHints(stmt, queryReader);
             // Execute the query and return the results
             try (final ResultSet rs = stmt.executeQuery(sqlQuery)) {
                 // Invokes the callback to read the query results
@@ -589,6 +959,296 @@ public class SQLEngine
         }
     }
     
+    /**
+     * Internal procedure that executes a parametric SQL query
+     * whose results are read by a certain reader.
+     * <p>Each argument is bound in order to the respective parameter
+     * marker of the query through {@link PreparedStatement#setObject(int,
+     * Object)}. The hints declared by the reader are applied to the
+     * statement before executing the query.</p>
+     * 
+     * @param <T> type of the object returned by the query.
+     * @param dbConn open connection with the database.
+     * @param sqlQuery SQL query that must be sent to the database.
+     * @param queryReader reader of the query results.
+     * @param args values of the query parameters (may be {@code null}).
+     * @return object that encapsulates the query results.
+     * @throws SQLException if an error occurs while querying the database.
+     */
+    static <T> T queryPrepared(final Connection dbConn, final String sqlQuery, final
+            SQLQueryReader<T> queryReader, final Object[] args) throws SQLException {
+        // Create a statement that holds the parameters of the query
+        try (final PreparedStatement stmt = dbConn.prepareStatement(sqlQuery)) {
+            // Binds the parameters of the query
+            SQLEngine.bind(stmt, args);
+            // Applies the hints declared by the reader
+            SQLEngine.applyReaderHints(stmt, queryReader);
+            // Execute the query and return the results
+            try (final ResultSet rs = stmt.executeQuery()) {
+                // Invokes the callback to read the query results
+                return queryReader.read(rs);
+            }
+        }
+    }
+    
+    /**
+     * Internal procedure that binds certain values, in order,
+     * to the parameters of a statement.
+     * 
+     * @param stmt statement whose parameters must be bound.
+     * @param args values of the parameters (may be {@code null}).
+     * @throws SQLException if a parameter cannot be bound.
+     */
+    private static void bind(final PreparedStatement stmt, final Object[] args) throws SQLException {
+        // Declares a support integer
+        int i;
+        // Check if any parameter has been provided
+        if (args != null) {
+            // Iterate over all the parameters
+            for (i = 0; i < args.length; i++) {
+                // Binds the i-th parameter of the query
+                stmt.setObject(i + 1, args[i]);
+            }
+        }
+    }
+    
+    /**
+     * Scans an entire table through keyset pagination.
+     * <p>The table is read in pages of at most {@code pageSize} records sorted
+     * by the key columns provided. Instead of skipping the records already read
+     * (as {@code OFFSET} does, with a cost that grows with each page), every page
+     * after the first starts from the last key of the previous page, through a
+     * predicate such as {@code WHERE (k1 > ?) OR (k1 = ? AND k2 > ?)}, so that
+     * each page costs an index seek regardless of its position.</p><p>While a
+     * page is consumed, the next one is already being read on a background
+     * thread. The key columns should identify the records uniquely (for
+     * example, the primary key), be backed by an index and must not contain
+     * {@code NULL} values.</p><p>The returned {@link KeysetScan} should be
+     * closed if it is not read to the end.</p>
+     * 
+     * @param table name of the table to be scanned.
+     * @param keyColumns names of the columns that make up the
+     *        key, in the order used to sort the records.
+     * @param pageSize maximum number of records read for each page.
+     * @return scanner over all the records of the table.
+     * @throws NullPointerException if {@code keyColumns} is {@code null}.
+     * @throws IllegalArgumentException if {@code table} or a key column is
+     *         blank, or if {@code pageSize} is not positive.
+     * @since 1.4
+     */
+    public final KeysetScan scan(final String table, final
+            String[] keyColumns, final int pageSize) {
+        // Make sure the table name is not a null or blank string
+        Validate.notBlank(table, SQLEngine.TableParam);
+        // Check that the key columns array is not null or empty
+        Validate.notEmpty(keyColumns, SQLEngine.KeyColumnsParam);
+        // Iterate over all the key columns
+        for (final String keyColumn : keyColumns) {
+            // Check that none of them is null or blank
+            Validate.notBlank(keyColumn, SQLEngine.KeyColumnsParam);
+        }
+        // Check that the page size is positive
+        Validate.isTrue(pageSize > 0, SQLEngine.ExNotPositivePageSize, pageSize);
+        // Create a scanner that starts reading the first page
+        return new KeysetScan(this, table, keyColumns.clone(), pageSize);
+    }
+    
+    /**
+     * Executes an SQL query splitting the range of a numeric key into
+     * several partitions that are queried concurrently.
+     * <p>The query provided is wrapped as a derived table filtered on a
+     * sub-range of {@code [min, max]} of the key column, so that each partition
+     * can be read through the index of that column. Each partition is read
+     * on a separate connection obtained from the original provider (the
+     * connection kept alive, if any, is not used); at most
+     * {@value #MaxParallelPartitions} partitions are read at the same time,
+     * by threads that move on to the next partition once done, therefore the
+     * provider must be able to supply as many connections at the same
+     * time.</p><p>The records are returned in the order of the partitions,
+     * that is by ascending ranges of the key; the records outside
+     * {@code [min, max]} are not returned.</p>
+     * 
+     * @param sqlTemplate SQL query whose results must be partitioned.
+     * @param keyColumn name of the numeric column (returned by the
+     *        query) whose range is split among the partitions.
+     * @param min minimum value of the key (inclusive).
+     * @param max maximum value of the key (inclusive).
+     * @param partitions number of partitions, at most one for each key in the range.
+     * @return results of all the partitions.
+     * @throws IllegalArgumentException if {@code sqlTemplate} or {@code keyColumn}
+     *         is blank, {@code min} is greater than {@code max}, the width
+     *         {@code max - min} exceeds {@link Long#MAX_VALUE}, {@code partitions}
+     *         is not positive or exceeds the number of keys in the range.
+     * @throws SQLException if an error occurs while querying the database.
+     * @since 1.4
+     */
+    public final QueryResults parallelQuery(final String sqlTemplate, final String keyColumn,
+            final long min, final long max, final int partitions) throws SQLException {
+        // Invokes the overloaded method
+        return this.parallelQuery(sqlTemplate, keyColumn, min, max, partitions, null);
+    }
+    
+    /**
+     * Executes an SQL query splitting the range of a numeric key into
+     * several partitions that are queried concurrently, returning
+     * the records sorted by a certain order.
+     * <p>Each partition is sorted by the thread that reads it, then the
+     * partitions are merged lazily while iterating over the results.
+     * If no order is provided, the records are returned in the
+     * order of the partitions.</p>
+     * 
+     * @param sqlTemplate SQL query whose results must be partitioned.
+     * @param keyColumn name of the numeric column (returned by the
+     *        query) whose range is split among the partitions.
+     * @param min minimum value of the key (inclusive).
+     * @param max maximum value of the key (inclusive).
+     * @param partitions number of partitions, at most one for each key in the range.
+     * @param order order of the records ({@code null} to concatenate the partitions).
+     * @return results of all the partitions.
+     * @throws IllegalArgumentException if {@code sqlTemplate} or {@code keyColumn}
+     *         is blank, {@code min} is greater than {@code max}, the width
+     *         {@code max - min} exceeds {@link Long#MAX_VALUE}, {@code partitions}
+     *         is not positive or exceeds the number of keys in the range.
+     * @throws SQLException if an error occurs while querying the database.
+     * @see #parallelQuery(String, String, long, long, int)
+     * @since 1.4
+     */
+    public final QueryResults parallelQuery(final String sqlTemplate, final String keyColumn,
+            final long min, final long max, final int partitions, final Comparator<?
+            super QueryRecord> order) throws SQLException {
+        // Declares support integers
+        int i;
+        long width, remainder, lower, upper;
+        // Declares a support reference
+        final SQLQueryReader<QueryResults> reader;
+        // Make sure the query and the key column are not null or blank strings
+        Validate.notBlank(sqlTemplate, SQLEngine.ExBlankSqlCmd);
+        Validate.notBlank(keyColumn, SQLEngine.KeyColumnParam);
+        // Check the range of the key and the number of partitions
+        Validate.isTrue(min <= max, SQLEngine.ExInvalidKeyRange, min, max);
+        Validate.isTrue(max - min >= 0, SQLEngine.ExKeyRangeTooWide, min, max);
+        Validate.isTrue(partitions > 0, SQLEngine.ExNotPositivePartitions, partitions);
+        Validate.isTrue(partitions - 1L <= max - min, SQLEngine.ExTooManyPartitions, min, max, partitions);
+        // Each partition is sorted by its own thread, if requested
+        reader = order == null ? SQLQueryReaders.DefaultReader :
+                SQLQueryReaders.topRecords(Integer.MAX_VALUE, order);
+        // Builds the queries of the partitions: all but the last exclude their upper bound
+        final String sqlRange = "SELECT * FROM (" + sqlTemplate + ") p WHERE p." +
+                keyColumn + " >= ? AND p." + keyColumn + " < ?";
+        final String sqlLast = "SELECT * FROM (" + sqlTemplate + ") p WHERE p." +
+                keyColumn + " >= ? AND p." + keyColumn + " <= ?";
+        // Splits the range evenly, spreading the remainder over the first partitions
+        width = (max - min) / partitions;
+        remainder = (max - min) % partitions;
+        // Get the original connection provider
+        final DbConnectionProvider provider = this.getConnectionProvider();
+        // Create a pool of daemon threads, reused by the partitions beyond its size
+        final ExecutorService executor = Executors.newFixedThreadPool(Math.min(
+                partitions, SQLEngine.MaxParallelPartitions), r -> {
+            // Create a thread that does not prevent the JVM from exiting
+            final Thread thread = new Thread(r, SQLEngine.PartitionThreadName);
+            thread.setDaemon(true);
+            return thread;
+        });
+        // Declares the partitions being read, collected as they complete
+        final CompletionService<QueryResults> completion = new ExecutorCompletionService<>(executor);
+        final List<Future<QueryResults>> futures = new ArrayList<>(partitions);
+        try {
+            // Iterate over all the partitions
+            for (i = 0, lower = min; i < partitions; i++, lower = upper) {
+                // Computes the upper bound of the partition
+                upper = i == partitions - 1 ? max : lower + width + (i < remainder ? 1 : 0);
+                // Stores the query and the bounds of the partition
+                final String sqlQuery = i == partitions - 1 ? sqlLast : sqlRange;
+                final Object[] args = new Object[] { lower, upper };
+                // Starts reading the partition on its own connection
+                futures.add(completion.submit(() -> {
+                    try (final Connection dbConn = this.acquire(provider)) {
+                        return SQLEngine.queryPrepared(dbConn, sqlQuery, reader, args);
+                    }
+                }));
+            }
+            // Merges the results of all the partitions
+            return new MergedQueryResults(SQLEngine.awaitAll(completion, futures), order);
+        } finally {
+            // Cancels any partition still running and releases the threads
+            executor.shutdownNow();
+        }
+    }
+    
+    /**
+     * Internal procedure that waits for the completion of a list of tasks.
+     * <p>The tasks are collected in the order in which they complete, so
+     * that the first failure is detected as soon as it occurs: the other
+     * tasks are then cancelled, and the errors of those that fail anyway
+     * are added to the first one as suppressed exceptions.</p>
+     *
+     * @param <T> type of the object returned by the tasks.
+     * @param completion service to which the tasks have been submitted.
+     * @param futures tasks to wait for, in the order of their results.
+     * @return results of the tasks, in the same order.
+     * @throws SQLException if one of the tasks fails or the wait is interrupted.
+     */
+    private static <T> List<T> awaitAll(final CompletionService<T> completion,
+            final List<Future<T>> futures) throws SQLException {
+        // Declares the first error occurred
+        SQLException error = null;
+        // Declares the results of the tasks, stored by position
+        final List<T> results = new ArrayList<>(Collections.nCopies(futures.size(), (T) null));
+        // Maps each task to its position
+        final Map<Future<T>, Integer> positions = new IdentityHashMap<>(futures.size());
+        for (int i = 0; i < futures.size(); i++) {
+            positions.put(futures.get(i), i);
+        }
+        // Iterate over the tasks as they complete
+        for (int i = 0; i < futures.size(); i++) {
+            try {
+                // Waits for the next task and stores its result
+                final Future<T> future = completion.take();
+                results.set(positions.get(future), future.get());
+            } catch (final CancellationException ex) {
+                // Cancelled after the first error: nothing to report
+            } catch (final InterruptedException ex) {
+                // Restores the interrupted status and stops all the tasks
+                Thread.currentThread().interrupt();
+                SQLEngine.cancelAll(futures);
+                final SQLException interrupted = new SQLException(SQLEngine.ExInterrupted, ex);
+                if (error != null) {
+                    interrupted.addSuppressed(error);
+                }
+                throw interrupted;
+            } catch (final ExecutionException ex) {
+                // Converts the cause to an SQLException if necessary
+                final SQLException cause = ex.getCause() instanceof SQLException ?
+                        (SQLException) ex.getCause() : new SQLException(ex.getCause());
+                // Stores the first error, cancelling the other tasks, and suppresses the others
+                if (error == null) {
+                    error = cause;
+                    SQLEngine.cancelAll(futures);
+                } else {
+                    error.addSuppressed(cause);
+                }
+            }
+        }
+        // Check if an error occurred
+        if (error != null) {
+            throw error;
+        }
+        return results;
+    }
+
+    /**
+     * Internal procedure that cancels a list of tasks, interrupting those running.
+     *
+     * @param futures tasks to cancel.
+     */
+    private static void cancelAll(final List<? extends Future<?>> futures) {
+        // Iterate over all the tasks
+        for (final Future<?> future : futures) {
+            future.cancel(true);
+        }
+    }
+    
     /**
      * Executes an SQL query verifying if it returns at least one record.
      * <p>This procedure is designed to perform simple (non-parametric) queries.</p>
@@ -670,12 +1330,29 @@ public class SQLEngine
     public final int execute(final String sqlCommand) throws SQLException {
         // Make sure the SQL command string is not a null or blank string
         Validate.notBlank(sqlCommand, SQLEngine.ExBlankSqlCmd);
+        // Get the log of the slow statements, if any
+        final SlowQueryLog slowLog = this.mSlowLog;
+        // Begins the event of the command, if it is being recorded
+        final Object event = SQLEvents.beginExecute();
         // Open a connection to the database on which to execute the command
         try (final Connection dbConn = this.getDbConnection()) {
             // Create an empty statement to send commands to the database
             try (final Statement stmt = dbConn.createStatement()) {
-                // Executes the SQL command provided
-                return stmt.executeUpdate(sqlCommand);
+                // Check if the command must be measured
+                if (slowLog == null && event == null) {
+                    // Executes the SQL command provided
+                    return stmt.executeUpdate(sqlCommand);
+                }
+                // Executes the SQL command provided measuring its time
+                final long start = System.nanoTime();
+                final int rowCount = stmt.executeUpdate(sqlCommand);
+                // Reports the command if it exceeds the threshold
+                if (slowLog != null) {
+                    slowLog.record(sqlCommand, null, System.nanoTime() - start, 0, 0, rowCount);
+                }
+                // Ends the event of the command
+                SQLEvents.endExecute(event, sqlCommand, rowCount);
+                return rowCount;
             }
         }
     }
@@ -752,6 +1429,298 @@ public class SQLEngine
         return totCount;
     }
     
+    /**
+     * Executes a parametric SQL command once for each row of values, sending
+     * the rows to the database in chunks, all within a single transaction.
+     * <p>The rows are added to the batch of a single prepared statement, which
+     * is executed every {@code chunkSize} rows, so that only one chunk at a time
+     * is held by the driver. The drivers that support array binding (such as the
+     * Oracle one) send each chunk in a single round trip, instead of one per
+     * row. If any chunk fails, the whole transaction is rolled back.</p>
+     * 
+     * @param sqlCommand parametric SQL command that must be sent to the database.
+     * @param rows values of the parameters of each execution.
+     * @param chunkSize number of rows sent for each round trip.
+     * @return total number of rows involved; the executions whose count is not
+     *         known to the driver ({@link Statement#SUCCESS_NO_INFO}) count as one row.
+     * @throws NullPointerException if {@code rows} is {@code null}.
+     * @throws IllegalArgumentException if {@code sqlCommand} is
+     *         blank or {@code chunkSize} is not positive.
+     * @throws SQLException if an error occurs while executing the command.
+     * @since 1.4
+     */
+    public final long executeBatch(final String sqlCommand, final Iterable<Object[]>
+            rows, final int chunkSize) throws SQLException {
+        // Validates the parameters
+        Validate.notBlank(sqlCommand, SQLEngine.ExBlankSqlCmd);
+        Objects.requireNonNull(rows, SQLEngine.RowsParam);
+        Validate.isTrue(chunkSize > 0, SQLEngine.ExNotPositiveBatch, chunkSize);
+        // Declares the counters
+        int pending = 0;
+        long totCount = 0;
+        // Opens a transaction to the database to execute the command
+        try (final Transaction dbTran = this.getDbTransaction()) {
+            // Prepares the command once for all the rows
+            try (final PreparedStatement stmt = dbTran.prepareStatement(sqlCommand)) {
+                // Iterate over all the rows
+                for (final Object[] row : rows) {
+                    // Adds the row to the current chunk
+                    SQLEngine.bind(stmt, row);
+                    stmt.addBatch();
+                    // Sends the chunk once full
+                    if (++pending == chunkSize) {
+                        totCount += SQLEngine.sumCounts(stmt.executeBatch());
+                        pending = 0;
+                    }
+                }
+                // Sends the last chunk, if any
+                if (pending > 0) {
+                    totCount += SQLEngine.sumCounts(stmt.executeBatch());
+                }
+            }
+            // Mark this transaction as completed
+            dbTran.complete();
+        }
+        return totCount;
+    }
+    
+    /**
+     * Internal procedure that sums the update counts of a batch.
+     * 
+     * @param counts update counts returned by {@link Statement#executeBatch()}.
+     * @return number of rows involved, counting one row for each unknown count.
+     */
+    private static long sumCounts(final int[] counts) {
+        // Declares the total
+        long total = 0;
+        // Iterate over all the counts
+        for (final int count : counts) {
+            total += count == Statement.SUCCESS_NO_INFO ? 1 : count;
+        }
+        return total;
+    }
+    
+    /**
+     * Enables the group commit of the commands submitted
+     * through {@link #submitTran(String) submitTran}.
+     * <p>A background thread collects the commands submitted concurrently,
+     * waiting at most {@code maxDelayMillis} after the first one or up to
+     * {@code maxBatch} commands, then executes them within a single transaction,
+     * so that a single commit is paid for the whole group. If a group fails, it
+     * is split until the commands that fail are isolated, so that each of the
+     * other commands is still committed. The groups are executed on a connection
+     * of the original provider, never on the connection kept alive, if any,
+     * which is left to the callers.</p><p>If the group commit is already
+     * enabled, the previous writer is replaced after executing the commands
+     * already submitted to it.</p>
+     * 
+     * @param maxDelayMillis maximum time a command waits for others to join its group.
+     * @param maxBatch maximum number of commands of a group.
+     * @throws IllegalArgumentException if {@code maxDelayMillis}
+     *         is negative or {@code maxBatch} is not positive.
+     * @see #disableGroupCommit()
+     * @since 1.4
+     */
+    public final synchronized void enableGroupCommit(final long maxDelayMillis, final int maxBatch) {
+        // Validates the parameters
+        Validate.isTrue(maxDelayMillis >= 0, SQLEngine.ExNegativeDelay, maxDelayMillis);
+        Validate.isTrue(maxBatch > 0, SQLEngine.ExNotPositiveBatch, maxBatch);
+        // Stops the previous writer, if any
+        this.disableGroupCommit();
+        // Starts the new writer
+        this.mGroupCommit = new GroupCommitWriter(this, maxDelayMillis, maxBatch);
+    }
+    
+    /**
+     * Disables the group commit, waiting for the
+     * execution of the commands already submitted.
+     * <p>Calling this method when the group commit is not enabled is a no-op.</p>
+     * 
+     * @since 1.4
+     */
+    public final synchronized void disableGroupCommit() {
+        // Declares a support reference
+        final GroupCommitWriter writer = this.mGroupCommit;
+        // Check if the group commit is enabled
+        if (writer != null) {
+            // New commands are executed directly from now on
+            this.mGroupCommit = null;
+            // Executes the remaining commands and stops the writer
+            writer.close();
+        }
+    }
+    
+    /**
+     * Indicates whether the group commit is enabled.
+     * 
+     * @return {@code true} if the group commit is enabled, {@code false} otherwise.
+     * @since 1.4
+     */
+    public final boolean isGroupCommitEnabled() {
+        // Check if there is a writer
+        return this.mGroupCommit != null;
+    }
+    
+    /**
+     * Submits an SQL Data Manipulation Language command (ie INSERT,
+     * UPDATE, REPLACE or DELETE) to be executed within a transaction.
+     * <p>If the group commit is enabled, the command is executed along with
+     * the other commands submitted concurrently, within the same transaction.
+     * Otherwise, the command is executed immediately through {@link
+     * #executeTran(String)}, in which case the future returned is
+     * already completed.</p>
+     * 
+     * @param sqlCommand SQL DML command to execute.
+     * @return future completed with the number of rows affected by the
+     *         command once it has been committed, or with the error
+     *         that prevented its execution.
+     * @throws IllegalArgumentException if {@code sqlCommand} is blank.
+     * @see #enableGroupCommit(long, int)
+     * @since 1.4
+     */
+    public final CompletableFuture<Integer> submitTran(final String sqlCommand) {
+        // Declares a support reference
+        final CompletableFuture<Integer> future;
+        // Make sure the SQL command string is not a null or blank string
+        Validate.notBlank(sqlCommand, SQLEngine.ExBlankSqlCmd);
+        // Get the current writer
+        final GroupCommitWriter writer = this.mGroupCommit;
+        // Check if the group commit is enabled
+        if (writer != null) {
+            try {
+                // Submits the command to the writer
+                return writer.submit(sqlCommand);
+            } catch (final IllegalStateException ex) {
+                // The writer has just been disabled: executes the command directly
+            }
+        }
+        // Executes the command immediately
+        future = new CompletableFuture<>();
+        try {
+            future.complete(this.executeTran(sqlCommand));
+        } catch (final SQLException ex) {
+            future.completeExceptionally(ex);
+        }
+        return future;
+    }
+    
+    /**
+     * Enables the write-behind of the commands enqueued through
+     * {@link #enqueue(String, Object...) enqueue}.
+     * <p>The commands are kept in a bounded buffer and written by a background
+     * thread in batches of at most {@code batchSize} commands, each within a
+     * single transaction; a command waits in the buffer for at most
+     * {@code flushIntervalMillis} before its batch is written, so with no
+     * interval each batch holds the commands already in the buffer. The
+     * batches are written on a connection of the original provider, never
+     * on the connection kept alive, if any. If the write-behind is already
+     * enabled, the previous queue is drained and replaced.</p>
+     * 
+     * @param capacity maximum number of commands in the buffer.
+     * @param batchSize maximum number of commands written in a batch.
+     * @param flushIntervalMillis maximum time a command waits in the buffer.
+     * @param policy behavior when the buffer is full.
+     * @return queue of the commands written in the background.
+     * @throws NullPointerException if {@code policy} is {@code null}.
+     * @throws IllegalArgumentException if {@code capacity} or {@code batchSize}
+     *         is not positive, or if {@code flushIntervalMillis} is negative.
+     * @see #disableWriteBehind()
+     * @since 1.4
+     */
+    public final synchronized WriteBehindQueue enableWriteBehind(final int capacity,
+            final int batchSize, final long flushIntervalMillis, final
+            WriteBehindQueue.OverflowPolicy policy) {
+        // Validates the parameters
+        Objects.requireNonNull(policy, SQLEngine.PolicyParam);
+        Validate.isTrue(capacity > 0, SQLEngine.ExNotPositiveCapacity, capacity);
+        Validate.isTrue(batchSize > 0, SQLEngine.ExNotPositiveBatch, batchSize);
+        Validate.isTrue(flushIntervalMillis >= 0, SQLEngine.ExNegativeDelay, flushIntervalMillis);
+        // Drains and stops the previous queue, if any
+        this.disableWriteBehind();
+        // Starts the new queue
+        this.mWriteBehind = new WriteBehindQueue(this, capacity,
+                batchSize, flushIntervalMillis, policy);
+        return this.mWriteBehind;
+    }
+    
+    /**
+     * Disables the write-behind, waiting until all the
+     * commands still in the buffer have been written.
+     * <p>Calling this method when the write-behind is not enabled is a no-op.</p>
+     * 
+     * @since 1.4
+     */
+    public final synchronized void disableWriteBehind() {
+        // Declares a support reference
+        final WriteBehindQueue queue = this.mWriteBehind;
+        // Check if the write-behind is enabled
+        if (queue != null) {
+            // No more commands can be enqueued from now on
+            this.mWriteBehind = null;
+            // Writes the remaining commands and stops the writer
+            queue.close();
+        }
+    }
+    
+    /**
+     * Waits until all the commands enqueued so far have been written.
+     * <p>Calling this method when the write-behind is not enabled is a no-op.</p>
+     * 
+     * @throws InterruptedException if interrupted while waiting.
+     * @since 1.4
+     */
+    public final void flushWriteBehind() throws InterruptedException {
+        // Get the current queue
+        final WriteBehindQueue queue = this.mWriteBehind;
+        // Check if the write-behind is enabled
+        if (queue != null) {
+            queue.flush();
+        }
+    }
+    
+    /**
+     * Gets the queue of the commands written in the background.
+     * 
+     * @return queue of the commands written in the background,
+     *         {@code null} if the write-behind is not enabled.
+     * @since 1.4
+     */
+    public final WriteBehindQueue getWriteBehindQueue() {
+        // Returns the current queue
+        return this.mWriteBehind;
+    }
+    
+    /**
+     * Enqueues a parametric SQL Data Manipulation Language command (ie
+     * INSERT, UPDATE, REPLACE or DELETE) to be written in the background.
+     * <p>The method returns as soon as the command is in the buffer, without
+     * waiting for its execution: any failure is reported only through the
+     * counters of the {@link WriteBehindQueue}.</p>
+     * 
+     * @param sqlCommand SQL DML command to execute.
+     * @param params values of the parameters of the command.
+     * @return {@code true} if the command has been enqueued, {@code false}
+     *         if it has been dropped because the buffer was full.
+     * @throws IllegalArgumentException if {@code sqlCommand} is blank.
+     * @throws IllegalStateException if the write-behind is not enabled.
+     * @throws InterruptedException if interrupted while waiting for room.
+     * @see #enableWriteBehind(int, int, long, WriteBehindQueue.OverflowPolicy)
+     * @since 1.4
+     */
+    public final boolean enqueue(final String sqlCommand, final Object...
+            params) throws InterruptedException {
+        // Make sure the SQL command string is not a null or blank string
+        Validate.notBlank(sqlCommand, SQLEngine.ExBlankSqlCmd);
+        // Get the current queue
+        final WriteBehindQueue queue = this.mWriteBehind;
+        // Check if the write-behind is enabled
+        if (queue == null) {
+            throw new IllegalStateException(SQLEngine.ExWriteBehindDisabled);
+        }
+        // Enqueues the command
+        return queue.enqueue(sqlCommand, params != null ? params : new Object[0]);
+    }
+    
     /**
      * Executes a sequence of SQL Data Manipulation Language command (ie
      * INSERT, UPDATE, REPLACE or DELETE) through the default connection
@@ -820,6 +1789,38 @@ public class SQLEngine
         return totCount;
     }
     
+    /**
+     * Internal utility method that applies to a statement the
+     * hints declared by the reader of the query results.
+     * <p>The row limit and the fetch size are applied only if declared,
+     * so that the statement otherwise keeps the driver defaults.</p>
+     * 
+     * @param stmt statement on which the query will be executed.
+     * @param queryReader reader of the query results.
+     * @throws SQLException if a database access error occurs.
+     * @see SQLQueryReader#getMaxRows()
+     * @see SQLQueryReader#getFetchSize()
+     */
+    private static void applyReaderHints(final Statement stmt, final
+            SQLQueryReader<?> queryReader) throws SQLException {
+        // Declares a support integer
+        int hint;
+        // Gets the maximum number of records needed by the reader
+        hint = queryReader.getMaxRows();
+        // Check if the reader declares a row limit
+        if (hint > 0) {
+            // Limits the number of records produced by the statement
+            stmt.setMaxRows(hint);
+        }
+        // Gets the number of records to fetch for each round trip
+        hint = queryReader.getFetchSize();
+        // Check if the reader declares a fetch size
+        if (hint != 0) {
+            // Sets the number of records fetched for each round trip
+            stmt.setFetchSize(hint);
+        }
+    }
+    
     /**
      * Internal utility method that checks
      * that no SQL command is null or blank.
@@ -856,6 +1857,59 @@ public class SQLEngine
         this.mProvider.setDbConnectionKeepAlive(keepAlive);
     }
     
+    /**
+     * Starts validating in background the connection kept alive by this
+     * engine, so that a connection dropped by the server is replaced while
+     * idle, before the next query uses it.
+     * 
+     * @param periodMillis milliseconds between two validations.
+     * @param timeoutSeconds seconds to wait for the database to respond.
+     * @throws IllegalArgumentException if {@code periodMillis}
+     *         or {@code timeoutSeconds} is not positive.
+     * @see StickyConnectionProvider#enableValidation(long, int)
+     * @see #setConnectionKeepAlive(boolean)
+     * @since 1.4
+     */
+    public final void enableConnectionValidation(final long periodMillis, final int timeoutSeconds) {
+        // Invokes the internal connection provider method
+        this.mProvider.enableValidation(periodMillis, timeoutSeconds);
+    }
+    
+    /**
+     * Stops validating in background the connection kept alive by this engine.
+     * 
+     * @see #enableConnectionValidation(long, int)
+     * @since 1.4
+     */
+    public final void disableConnectionValidation() {
+        // Invokes the internal connection provider method
+        this.mProvider.disableValidation();
+    }
+    
+    /**
+     * Warms up the connections of this engine before it takes traffic.
+     * <p>The given number of connections is opened in parallel, the hot
+     * statements are prepared on each of them and each connection is checked,
+     * as described by {@link ConnectionWarmer}. If the connection is kept
+     * alive, only that connection is warmed up. The read replica, if any,
+     * can be warmed up through a {@link ConnectionWarmer} of its own.</p>
+     * 
+     * @param connections number of connections to be opened in parallel.
+     * @param hotSql statements to be prepared on each connection.
+     * @return the outcome of the warm-up, whose {@link
+     *         ConnectionWarmer.Report#isReady()} tells if it was successful.
+     * @throws IllegalArgumentException if {@code connections}
+     *         is not positive or a statement is blank.
+     * @throws InterruptedException if interrupted while waiting.
+     * @since 1.4
+     */
+    public final ConnectionWarmer.Report warmUp(final int connections,
+            final String... hotSql) throws InterruptedException {
+        // A connection kept alive is the only one used by this engine
+        final int count = this.isConnectionKeptAlive() ? Math.min(connections, 1) : connections;
+        return new ConnectionWarmer(this.mProvider, count, hotSql).warmUp();
+    }
+    
     /**
      * Attempts to establish a connection to
      * the database by starting a new transaction.
@@ -866,7 +1920,206 @@ public class SQLEngine
      */
     public final Transaction getDbTransaction() throws SQLException {
         // Wraps the new connection within a transaction
-        return new Transaction(this.mProvider.getDbConnection());
+        return new Transaction(this.getDbConnection());
+    }
+    
+    /**
+     * Performs a unit of work within a transaction, executing it again when
+     * it fails because of contention with other transactions.
+     * <p>Each attempt runs on a new {@link Transaction} with the isolation
+     * level specified: as usual, the changes are committed only if the unit
+     * of work marks the transaction as {@linkplain Transaction#complete()
+     * complete}, otherwise they are rolled back when the transaction is
+     * closed.</p><p>If an attempt (including its commit) fails with an error
+     * that the policy considers retryable, such as a deadlock or a
+     * serialization failure, the transaction is rolled back and the unit of
+     * work is executed again after the delay computed by the policy, until
+     * the maximum number of attempts is reached. Any other error is
+     * propagated immediately.</p>
+     * 
+     * @param <T> type of the object returned by the unit of work.
+     * @param isolation isolation level of the transaction (one of the
+     *        {@link Connection} constants, or a negative value to use
+     *        the default level of the connection).
+     * @param work unit of work to be performed.
+     * @param policy policy that determines when and how to retry.
+     * @return result of the last attempt of the unit of work.
+     * @throws NullPointerException if {@code work} or {@code policy} is {@code null}.
+     * @throws SQLException if the unit of work fails with a non-retryable
+     *         error, or with a retryable one at the last attempt.
+     * @see #getRetryCount()
+     * @see #getRetryExhaustedCount()
+     * @since 1.4
+     */
+    public final <T> T inTransaction(final int isolation, final UnitOfWork<T>
+            work, final RetryPolicy policy) throws SQLException {
+        // Declares a support integer
+        int attempt;
+        // Declares a support reference
+        T result;
+        // Check that the unit of work and the policy are not null
+        Objects.requireNonNull(work, SQLEngine.WorkParam);
+        Objects.requireNonNull(policy, SQLEngine.PolicyParam);
+        // Iterate over all the attempts allowed
+        for (attempt = 1; ; attempt++) {
+            try {
+                // Starts a new transaction with the required isolation level
+                try (final Transaction dbTran = new Transaction(
+                        this.getDbConnection(), isolation)) {
+                    // Performs the unit of work (that decides whether to commit)
+                    result = work.execute(dbTran);
+                }
+                // Returns the result once the transaction has been closed
+                return result;
+            }
+            // Catch any SQL exception (including those raised by the commit)
+            catch (final SQLException ex) {
+                // Check if the error does not allow other attempts
+                if (!policy.isRetryable(ex)) {
+                    throw ex;
+                } else if (attempt >= policy.getMaxAttempts()) {
+                    // Counts the unit of work that failed despite the retries
+                    this.mRetryExhaustedCount.incrementAndGet();
+                    throw ex;
+                }
+                // Counts the new attempt
+                this.mRetryCount.incrementAndGet();
+                try {
+                    // Waits before executing the unit of work again
+                    Thread.sleep(policy.getDelayMillis(attempt));
+                } catch (final InterruptedException ex2) {
+                    // Restores the interrupted status and gives up
+                    Thread.currentThread().interrupt();
+                    ex.addSuppressed(ex2);
+                    throw ex;
+                }
+            }
+        }
+    }
+    
+    /**
+     * Gets the number of times a unit of work has been executed again after
+     * a failure due to contention with other transactions.
+     * 
+     * @return number of retries performed by {@link #inTransaction(int,
+     *         UnitOfWork, RetryPolicy) inTransaction}.
+     * @since 1.4
+     */
+    public final long getRetryCount() {
+        // Returns the number of retries
+        return this.mRetryCount.get();
+    }
+    
+    /**
+     * Gets the number of units of work that failed
+     * after exhausting all the attempts allowed.
+     * 
+     * @return number of units of work that exhausted their attempts.
+     * @since 1.4
+     */
+    public final long getRetryExhaustedCount() {
+        // Returns the number of units of work that exhausted their attempts
+        return this.mRetryExhaustedCount.get();
+    }
+    
+    /**
+     * Starts a read-only transaction that sees a consistent snapshot of the
+     * database.
+     * <p>The transaction runs on a connection supplied by the read replica
+     * provider, if one has been set, otherwise by the default provider. The
+     * connection is marked as read-only (which allows the database to skip
+     * the bookkeeping of write transactions, and is restored when a connection
+     * kept alive is released), and the transaction uses the strongest
+     * snapshot isolation level supported by the driver: {@link
+     * Connection#TRANSACTION_REPEATABLE_READ} or, failing that, {@link
+     * Connection#TRANSACTION_SERIALIZABLE} (as for Oracle or SQLite).</p>
+     * 
+     * @return a read-only transaction.
+     * @throws SQLException if a database access error occurs.
+     * @see #setReadReplicaProvider(DbConnectionProvider)
+     * @since 1.4
+     */
+    public final Transaction readOnlyTransaction() throws SQLException {
+        // Declares a support integer
+        final int isolation;
+        // Get the provider of the read-only connections
+        final DbConnectionProvider replica = this.mReadReplica;
+        // Get a connection from the read replica, if any
+        final Connection dbConn = this.acquire(replica != null ? replica : this.mProvider);
+        try {
+            // Marks the connection as read-only, unless it was opened as such
+            // (some drivers, like SQLite, cannot change it once connected)
+            if (!dbConn.isReadOnly()) {
+                dbConn.setReadOnly(true);
+            }
+            // Chooses the isolation level that provides a consistent snapshot
+            isolation = SQLEngine.getSnapshotIsolation(dbConn);
+        }
+        // Catch any SQL exception
+        catch (final SQLException ex1) {
+            // Starts a try-catch block
+            try {
+                // Closes the database connection
+                dbConn.close();
+            }
+            // Catch any SQL exception
+            catch (final SQLException ex2) {
+                // Suppress the current exception
+                // to highlight the previous one
+                ex1.addSuppressed(ex2);
+            }
+            // Raise the previous
+            // exception again
+            throw ex1;
+        }
+        // Starts the transaction (which closes the connection on failure)
+        return new Transaction(dbConn, isolation);
+    }
+    
+    /**
+     * Internal procedure that gets the strongest isolation level that
+     * provides a consistent snapshot among those supported by a connection.
+     * 
+     * @param dbConn database connection to be checked.
+     * @return isolation level to be used, or {@code -1} to keep the default one.
+     * @throws SQLException if a database access error occurs.
+     */
+    private static int getSnapshotIsolation(final Connection dbConn) throws SQLException {
+        // Get the metadata of the database
+        final DatabaseMetaData md = dbConn.getMetaData();
+        // Check the isolation levels supported
+        if (md.supportsTransactionIsolationLevel(Connection.TRANSACTION_REPEATABLE_READ)) {
+            return Connection.TRANSACTION_REPEATABLE_READ;
+        } else if (md.supportsTransactionIsolationLevel(Connection.TRANSACTION_SERIALIZABLE)) {
+            return Connection.TRANSACTION_SERIALIZABLE;
+        }
+        return -1;
+    }
+    
+    /**
+     * Sets the provider of the connections used by read-only
+     * transactions, typically pointing to a read replica.
+     * 
+     * @param readReplica provider of the read-only connections,
+     *        or {@code null} to use the default provider.
+     * @see #readOnlyTransaction()
+     * @since 1.4
+     */
+    public final void setReadReplicaProvider(final DbConnectionProvider readReplica) {
+        // Stores the provider
+        this.mReadReplica = readReplica;
+    }
+    
+    /**
+     * Gets the provider of the connections used by read-only transactions.
+     * 
+     * @return provider of the read-only connections, {@code null}
+     *         if the default provider is used.
+     * @since 1.4
+     */
+    public final DbConnectionProvider getReadReplicaProvider() {
+        // Returns the provider
+        return this.mReadReplica;
     }
     
     /**
@@ -887,9 +2140,306 @@ public class SQLEngine
      * @throws SQLException if a database access error occurs.
      * @see it.next.sql.connection.DbConnectionProvider#getDbConnection()
      */
-    private Connection getDbConnection() throws SQLException {
+    Connection getDbConnection() throws SQLException {
         // Try to get an open connection to the database
-        return this.mProvider.getDbConnection(); 
+        return this.acquire(this.mProvider);
+    }
+    
+    /**
+     * Attempts to establish a dedicated connection to the database, opened
+     * by the original provider and never shared with the other callers.
+     * <p>Unlike {@link #getDbConnection()}, the connection kept alive is
+     * bypassed, so this is the connection to be used by the background
+     * threads, which would otherwise share it with the callers.</p>
+     * 
+     * @return a dedicated connection to the database.
+     * @throws SQLException if a database access error occurs.
+     * @since 1.4
+     */
+    Connection getDedicatedConnection() throws SQLException {
+        // Opens a connection bypassing the one kept alive
+        return this.acquire(this.getConnectionProvider());
+    }
+    
+    /**
+     * Internal procedure that gets a connection from a certain provider,
+     * recording the time spent and instrumenting the connection if the
+     * metrics are collected, tracking it if the leaks are detected, and
+     * emitting its event if it is being recorded.
+     * <p>All the connections used by this engine are acquired here.</p>
+     * 
+     * @param provider provider of the connection.
+     * @return a connection to the database.
+     * @throws SQLException if a database access error occurs.
+     */
+    private Connection acquire(final DbConnectionProvider provider) throws SQLException {
+        // Get the registry of the metrics and the leak detector, if any
+        final SQLMetrics metrics = this.mMetrics;
+        final LeakDetector detector = this.mLeakDetector;
+        // Begins the event of the acquisition, if it is being recorded
+        final Object event = SQLEvents.beginAcquire();
+        // Get the connection, measuring the time only if the metrics are collected
+        final long start = metrics == null ? 0 : System.nanoTime();
+        Connection dbConn = provider.getDbConnection();
+        // Ends the event of the acquisition
+        SQLEvents.endAcquire(event, provider);
+        // Check if the metrics are collected
+        if (metrics != null) {
+            // Records the time spent acquiring the connection
+            metrics.getAcquire().recordSince(start);
+            // Instruments the connection
+            dbConn = metrics.instrument(dbConn);
+        }
+        // Tracks the connection, outermost so that its closing is always seen
+        return detector == null ? dbConn : detector.track(dbConn);
+    }
+    
+    /**
+     * Starts tracking the connections and the statements used by this engine,
+     * reporting those not closed within a certain threshold.
+     * <p>From now on, every connection acquired by this engine, and every
+     * statement created on it, is tracked by the returned {@link LeakDetector}
+     * until it is closed; the stack trace of its allocation is captured for
+     * one lease out of {@code sampleRate}. The connections acquired before
+     * this call are not tracked. If the detection is already enabled, the
+     * previous detector is stopped and replaced.</p>
+     * 
+     * @param thresholdMillis time beyond which a lease is reported.
+     * @param sampleRate number of leases for each allocation stack trace captured,
+     *        1 to capture all of them, 0 to capture none.
+     * @return the leak detector, to be configured.
+     * @throws IllegalArgumentException if {@code thresholdMillis} is
+     *         not positive or {@code sampleRate} is negative.
+     * @see #disableLeakDetection()
+     * @since 1.4
+     */
+    public final synchronized LeakDetector enableLeakDetection(final long thresholdMillis, final int sampleRate) {
+        // Create the new detector
+        final LeakDetector detector = new LeakDetector(thresholdMillis, sampleRate);
+        // Stops the previous detector, if any
+        this.disableLeakDetection();
+        // Starts tracking the connections
+        this.mLeakDetector = detector;
+        return detector;
+    }
+    
+    /**
+     * Stops tracking the connections and the statements used by this engine.
+     * <p>Calling this method when the detection is not enabled is a no-op.</p>
+     * 
+     * @since 1.4
+     */
+    public final synchronized void disableLeakDetection() {
+        // Declares a support reference
+        final LeakDetector detector = this.mLeakDetector;
+        // Check if the detection is enabled
+        if (detector != null) {
+            // The connections are no longer tracked from now on
+            this.mLeakDetector = null;
+            // Stops the background scans
+            detector.close();
+        }
+    }
+    
+    /**
+     * Gets the detector of the connections and the statements not closed.
+     * 
+     * @return the leak detector, {@code null} if the detection is not enabled.
+     * @see #enableLeakDetection(long, int)
+     * @since 1.4
+     */
+    public final LeakDetector getLeakDetector() {
+        // Returns the current detector
+        return this.mLeakDetector;
+    }
+    
+    /**
+     * Starts reporting the queries and the commands whose execution
+     * exceeds a certain threshold.
+     * <p>The threshold applies to the queries executed through the {@code
+     * query} methods and to the commands executed through {@link #execute(
+     * String)}: their times are measured and, if their sum exceeds the
+     * threshold, the statement is passed to the returned {@link SlowQueryLog},
+     * which reports it on a background thread along with the split of its
+     * times, its row count and optionally its execution plan. The statements
+     * below the threshold only cost the reading of the clock. If the log is
+     * already enabled, it is replaced.</p>
+     * 
+     * @param thresholdMillis threshold above which a statement is reported.
+     * @return the log of the slow statements, to be configured.
+     * @throws IllegalArgumentException if {@code thresholdMillis} is negative.
+     * @see #disableSlowQueryLog()
+     * @since 1.4
+     */
+    public final synchronized SlowQueryLog enableSlowQueryLog(final long thresholdMillis) {
+        // Create the new log on the original provider
+        final SlowQueryLog slowLog = new SlowQueryLog(this.getConnectionProvider(), thresholdMillis);
+        // Stops the previous log, if any
+        this.disableSlowQueryLog();
+        // Starts using the new log
+        this.mSlowLog = slowLog;
+        return slowLog;
+    }
+    
+    /**
+     * Stops reporting the slow statements.
+     * <p>Calling this method when the log is not enabled is a no-op.</p>
+     * 
+     * @since 1.4
+     */
+    public final synchronized void disableSlowQueryLog() {
+        // Declares a support reference
+        final SlowQueryLog slowLog = this.mSlowLog;
+        // Check if the log is enabled
+        if (slowLog != null) {
+            // The statements are no longer measured from now on
+            this.mSlowLog = null;
+            // Stops the background thread
+            slowLog.close();
+        }
+    }
+    
+    /**
+     * Gets the log of the slow statements.
+     * 
+     * @return log of the slow statements, {@code null} if it is not enabled.
+     * @see #enableSlowQueryLog(long)
+     * @since 1.4
+     */
+    public final SlowQueryLog getSlowQueryLog() {
+        // Returns the current log
+        return this.mSlowLog;
+    }
+    
+    /**
+     * Starts collecting the metrics of the operations performed by this engine.
+     * <p>From now on, the connections used by this engine record the time
+     * spent acquiring them, the latency of the statements executed and the
+     * rows fetched from their results (grouped by
+     * {@linkplain SQLMetrics#normalize(String) normalized} SQL), and the
+     * latency of the commits and the rollbacks. The connections acquired
+     * before this call are not instrumented. If the metrics are already
+     * collected, this method has no effect.</p>
+     * 
+     * @return the registry of the metrics.
+     * @see #getMetrics()
+     * @since 1.4
+     */
+    public final synchronized SQLMetrics enableMetrics() {
+        // Create the registry, unless it already exists
+        if (this.mMetrics == null) {
+            this.mMetrics = new SQLMetrics();
+        }
+        return this.mMetrics;
+    }
+    
+    /**
+     * Stops collecting the metrics of the operations performed by this engine.
+     * <p>The connections already acquired keep recording their metrics
+     * in the previous registry until they are closed.</p>
+     * 
+     * @since 1.4
+     */
+    public final synchronized void disableMetrics() {
+        // Forgets the registry
+        this.mMetrics = null;
+    }
+    
+    /**
+     * Gets the registry of the metrics collected by this engine.
+     * 
+     * @return registry of the metrics, {@code null}
+     *         if the metrics are not collected.
+     * @see #enableMetrics()
+     * @since 1.4
+     */
+    public final SQLMetrics getMetrics() {
+        // Returns the current registry
+        return this.mMetrics;
+    }
+    
+    /**
+     * Takes a snapshot of the metrics collected by this engine.
+     * <p>The statements are sorted by descending total execution
+     * time, so that those that dominate the latency come first.</p>
+     * 
+     * @return the metrics collected so far.
+     * @throws IllegalStateException if the metrics are not collected.
+     * @see #enableMetrics()
+     * @since 1.4
+     */
+    public final SQLMetrics.Snapshot getMetricsSnapshot() {
+        // Get the current registry
+        final SQLMetrics metrics = this.mMetrics;
+        // Check that the metrics are collected
+        Validate.validState(metrics != null, SQLEngine.ExMetricsDisabled);
+        return metrics.snapshot();
+    }
+    
+    /**
+     * Registers in the platform MBean server the management beans that expose
+     * the statistics of this engine and allow controlling it at runtime.
+     * <p>Two beans are registered: {@code it.stealth.sql:type=SQLEngine,name=}
+     * <i>name</i>, that implements {@link it.stealth.sql.management.SQLEngineMXBean},
+     * and {@code it.stealth.sql:type=ConnectionProvider,name=}<i>name</i>, that
+     * implements {@link it.stealth.sql.management.ConnectionProviderMXBean}. Most
+     * of the statistics come from the {@linkplain #enableMetrics() metrics}, which
+     * can also be enabled from the management client. If the beans are already
+     * registered, they are unregistered first.</p>
+     * 
+     * @param name name that identifies this engine among the others.
+     * @return name of the bean of this engine.
+     * @throws NullPointerException if {@code name} is {@code null}.
+     * @throws IllegalArgumentException if {@code name} is blank.
+     * @throws JMException if the beans cannot be registered,
+     *         for example because the name is already in use.
+     * @see #unregisterMBeans()
+     * @since 1.4
+     */
+    public final synchronized ObjectName registerMBeans(final String name) throws JMException {
+        // Validates the name
+        Validate.notBlank(name, SQLEngine.MBeanNameParam);
+        // Declares the names of the beans
+        final String quoted = ObjectName.quote(name);
+        final ObjectName engineName = new ObjectName(SQLEngine.MBeanDomain + ":type=SQLEngine,name=" + quoted);
+        final ObjectName providerName = new ObjectName(SQLEngine.MBeanDomain + ":type=ConnectionProvider,name=" + quoted);
+        // Unregisters the previous beans, if any
+        this.unregisterMBeans();
+        // Registers the beans, rolling back the first if the second fails
+        final MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        server.registerMBean(new SQLEngineMonitor(this), engineName);
+        try {
+            server.registerMBean(new ConnectionProviderMonitor(this.mProvider), providerName);
+        } catch (final JMException ex) {
+            server.unregisterMBean(engineName);
+            throw ex;
+        }
+        this.mMBeanNames = new ObjectName[] { engineName, providerName };
+        return engineName;
+    }
+    
+    /**
+     * Unregisters the management beans of this engine from the platform MBean server.
+     * <p>Calling this method when the beans are not registered is a no-op.</p>
+     * 
+     * @throws JMException if the beans cannot be unregistered.
+     * @see #registerMBeans(String)
+     * @since 1.4
+     */
+    public final synchronized void unregisterMBeans() throws JMException {
+        // Check if the beans are registered
+        if (this.mMBeanNames != null) {
+            // Declares a support reference
+            final ObjectName[] names = this.mMBeanNames;
+            final MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            this.mMBeanNames = null;
+            // Unregisters the beans still registered
+            for (final ObjectName name : names) {
+                if (server.isRegistered(name)) {
+                    server.unregisterMBean(name);
+                }
+            }
+        }
     }
     
     /**
@@ -5,9 +5,11 @@
  */
 package it.stealth.sql;
 
+import it.stealth.sql.metrics.SQLEvents;
 import it.stealth.sql.wrappers.ConnectionWrapper;
 import java.sql.Connection;
 import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
 import java.sql.Savepoint;
 import java.util.Objects;
 
@@ -16,7 +18,18 @@ import java.util.Objects;
  * operations performed on a specific database connection.
  * <p>The commit or rollback of the transaction is made in
  * closing based on the value of the <i>"complete"</i>
- * property that determines its outcome.</p>
+ * property that determines its outcome.</p><p>A transaction
+ * can be nested within another one by creating it on the outer
+ * {@link Transaction}: the nested transaction is delimited by a
+ * {@link Savepoint} of the outer one, so that on closing it either
+ * keeps its changes (which are committed or rolled back along with
+ * the outer transaction) or rolls back only its own changes, leaving
+ * the outer transaction usable.</p><p>Since version 1.4 a commit or a
+ * rollback that fails on closing is always reported to the caller of
+ * {@link #close()} (and so to a try-with-resources statement), while
+ * before it was only reported if closing the connection failed too:
+ * a failed commit, such as one aborted by a deadlock or a serialization
+ * failure, can no longer be mistaken for a success.</p>
  *
  * @author Fabrizio Lo Verde
  * @version 1.0
@@ -35,6 +48,17 @@ public class Transaction extends ConnectionWrapper
      */
     private final boolean mCloseInner;
     
+    /**
+     * Savepoint of the outer transaction that delimits this
+     * transaction, {@code null} if this is not a nested transaction.
+     */
+    private final Savepoint mSavepoint;
+    
+    /**
+     * Indicates whether this nested transaction has been closed.
+     */
+    private boolean mNestedClosed;
+    
     /**
      * Defines the parameter relating to the database connection.
      */
@@ -47,10 +71,17 @@ public class Transaction extends ConnectionWrapper
     private static final String NotSupported = "Transactions not supported.";
     
     /**
-     * Exception message raised when trying to create a
-     * transaction using another transaction as a connection object.
+     * Exception message raised when trying to create a nested
+     * transaction with an isolation level other than the outer one.
+     */
+    private static final String NestedIsolation = "A nested transaction "
+            + "must use the isolation level of the outer transaction.";
+    
+    /**
+     * Exception message raised when trying to commit a nested transaction.
      */
-    private static final String NestedTrans = "Unable to create nested Transaction objects.";
+    private static final String NestedCommit = "Unable to commit a nested "
+            + "transaction: mark it as complete and close it instead.";
     
     /**
      * Exception message raised when attempting to enable autocommit for a transaction.
@@ -61,9 +92,9 @@ public class Transaction extends ConnectionWrapper
      * Create a new {@link Transaction} using
      * a certain connection to the database.
      * 
-     * @param dbConn database connection on which to start the transaction.
+     * @param dbConn database connection on which to start the transaction,
+     *        or outer transaction within which to nest this transaction.
      * @throws NullPointerException if {@code dbConn} is {@code null}.
-     * @throws IllegalArgumentException if {@code dbConn} is a transaction.
      * @throws SQLException if a database access error occurs or
      *         this method is called on a closed connection.
      */
@@ -76,12 +107,11 @@ public class Transaction extends ConnectionWrapper
      * Create a new {@link Transaction} using
      * a certain connection to the database.
      * 
-     * @param dbConn database connection on
-     *        which to start the transaction.
-     * @param closeConnection if {@code true}, it closes the
-     *        internal connection in the closing phase.
+     * @param dbConn database connection on which to start the transaction,
+     *        or outer transaction within which to nest this transaction.
+     * @param closeConnection if {@code true}, it closes the internal
+     *        connection in the closing phase (ignored by nested transactions).
      * @throws NullPointerException if {@code dbConn} is {@code null}.
-     * @throws IllegalArgumentException if {@code dbConn} is a transaction.
      * @throws SQLException if a database access error occurs or
      *         this method is called on a closed connection.
      */
@@ -99,14 +129,16 @@ public class Transaction extends ConnectionWrapper
      * {@link Transaction#TRANSACTION_NONE} cannot be used because it
      * specifies that transactions are not supported).</p>
      * 
-     * @param dbConn database connection on which to start the transaction.
+     * @param dbConn database connection on which to start the transaction,
+     *        or outer transaction within which to nest this transaction.
      * @param level one of the following {@link Transaction} constants:
      *        {@link Transaction#TRANSACTION_READ_UNCOMMITTED},
      *        {@link Transaction#TRANSACTION_READ_COMMITTED},
      *        {@link Transaction#TRANSACTION_REPEATABLE_READ},
      *        or {@link Transaction#TRANSACTION_SERIALIZABLE}.
      * @throws NullPointerException if {@code dbConn} is {@code null}.
-     * @throws IllegalArgumentException if {@code dbConn} is a transaction.
+     * @throws IllegalArgumentException if {@code dbConn} is a transaction
+     *         and {@code level} differs from its isolation level.
      * @throws SQLException if a database access error occurs or
      *         this method is called on a closed connection.
      */
@@ -123,16 +155,18 @@ public class Transaction extends ConnectionWrapper
      * {@link Transaction#TRANSACTION_NONE} cannot be used because it
      * specifies that transactions are not supported).</p>
      * 
-     * @param dbConn database connection on which to start the transaction.
+     * @param dbConn database connection on which to start the transaction,
+     *        or outer transaction within which to nest this transaction.
      * @param level one of the following {@link Transaction} constants:
      *        {@link Transaction#TRANSACTION_READ_UNCOMMITTED},
      *        {@link Transaction#TRANSACTION_READ_COMMITTED},
      *        {@link Transaction#TRANSACTION_REPEATABLE_READ},
      *        or {@link Transaction#TRANSACTION_SERIALIZABLE}.
-     * @param closeConnection if {@code true}, it closes the
-     *        internal connection in the closing phase.
+     * @param closeConnection if {@code true}, it closes the internal
+     *        connection in the closing phase (ignored by nested transactions).
      * @throws NullPointerException if {@code dbConn} is {@code null}.
-     * @throws IllegalArgumentException if {@code dbConn} is a transaction.
+     * @throws IllegalArgumentException if {@code dbConn} is a transaction
+     *         and {@code level} differs from its isolation level.
      * @throws SQLException if a database access error occurs or
      *         this method is called on a closed connection.
      */
@@ -141,16 +175,23 @@ public class Transaction extends ConnectionWrapper
         // Invokes the superclass constructor by
         // checking the database connection is not null
         super(Objects.requireNonNull(dbConn, Transaction.DbConnParam));
-        // Stores the flag indicating whether
-        // to close the internal connection
-        this.mCloseInner = closeConnection;
-        // Check that the connection provided
-        // is not actually another transaction
+        // Check if the connection provided is actually another transaction
         if (dbConn instanceof Transaction) {
-            // Raises an exception by indicating that it is
-            // not possible to create nested Transaction objects
-            throw new IllegalArgumentException(Transaction.NestedTrans);
+            // A nested transaction never closes the outer one
+            this.mCloseInner = false;
+            // Check that the isolation level is the one of the outer transaction
+            if (level >= Connection.TRANSACTION_NONE && level !=
+                    dbConn.getTransactionIsolation()) {
+                throw new IllegalArgumentException(Transaction.NestedIsolation);
+            }
+            // Marks the start of this transaction within the outer one
+            this.mSavepoint = dbConn.setSavepoint();
         } else {
+            // Stores the flag indicating whether
+            // to close the internal connection
+            this.mCloseInner = closeConnection;
+            // This is not a nested transaction
+            this.mSavepoint = null;
             // Starts a try-catch block
             try {
                 // Check if the transactions are supported
@@ -201,13 +242,23 @@ public class Transaction extends ConnectionWrapper
      * the commit or rollback) will be performed based on the value
      * specified by the {@link #isComplete()} method.</p>
      *
-     * @exception SQLException if a database access error occurs.
+     * @throws SQLException if a database access error occurs, including
+     *         the failure of the commit or of the rollback, which is raised
+     *         even if the connection is then closed successfully (since 1.4;
+     *         the failures of closing the connection, if any, are suppressed).
      */
     @Override
     public synchronized void close() throws SQLException {
+        // Check if this is a nested transaction
+        if (this.mSavepoint != null) {
+            // Closes the nested transaction
+            this.closeNested();
+        }
         // Check that the underlying connection
         // has not already been closed
-        if (!this.mInner.isClosed()) {
+        else if (!this.mInner.isClosed()) {
+            // Begins the event of the end of the transaction, if it is being recorded
+            final Object event = SQLEvents.beginCommit();
             // Starts a try-catch block
             try {
                 // Check whether to commit
@@ -219,6 +270,8 @@ public class Transaction extends ConnectionWrapper
                     // Rollback the transaction
                     this.mInner.rollback();
                 }
+                // Ends the event of the end of the transaction
+                SQLEvents.endCommit(event, this.mComplete, false);
             }
             // Catch any SQL exception
             catch (final SQLException ex1) {
@@ -235,11 +288,11 @@ public class Transaction extends ConnectionWrapper
                         // Suppress the current exception
                         // to highlight the previous one
                         ex1.addSuppressed(ex2);
-                        // Raise the previous
-                        // exception again
-                        throw ex1;
                     }
                 }
+                // Raise the previous exception again, so that
+                // a failed commit is not mistaken for a success
+                throw ex1;
             } finally {
                 // Check if the internal
                 // connection must be closed
@@ -319,8 +372,60 @@ public class Transaction extends ConnectionWrapper
      */
     @Override
     public final boolean isClosed() throws SQLException {
-        // Invokes the underlying connection method
-        return this.mInner.isClosed();
+        // A nested transaction may be closed before the outer one
+        return this.mNestedClosed || this.mInner.isClosed();
+    }
+    
+    /**
+     * Indicates whether this transaction is nested within another one.
+     * 
+     * @return {@code true} if this transaction is delimited by
+     *         a savepoint of an outer transaction, {@code false} otherwise.
+     * @since 1.4
+     */
+    public final boolean isNested() {
+        // Check if there is a savepoint of the outer transaction
+        return this.mSavepoint != null;
+    }
+    
+    /**
+     * Private method that closes a nested transaction.
+     * <p>If the transaction is complete, its savepoint is simply released,
+     * so that its changes become part of the outer transaction. Otherwise
+     * its changes are rolled back to the savepoint. Drivers that do not
+     * support releasing a savepoint keep it until the end of the outer
+     * transaction, which is harmless.</p>
+     * 
+     * @throws SQLException if a database access error occurs.
+     */
+    private void closeNested() throws SQLException {
+        // Check that this transaction has not already been closed, and
+        // that the outer one is still open (otherwise the savepoint is gone)
+        if (!this.mNestedClosed && !this.mInner.isClosed()) {
+            // Marks this transaction as closed
+            this.mNestedClosed = true;
+            // Begins the event of the end of the transaction, if it is being recorded
+            final Object event = SQLEvents.beginCommit();
+            // Check whether to discard the changes of this transaction
+            if (!this.mComplete) {
+                // Rollback to the start of this transaction
+                this.mInner.rollback(this.mSavepoint);
+            }
+            // Starts a try-catch block
+            try {
+                // Releases the savepoint
+                this.mInner.releaseSavepoint(this.mSavepoint);
+            }
+            // Catch the lack of support of the driver
+            catch (final SQLFeatureNotSupportedException ex) {
+                // The savepoint lasts until the end of the outer transaction
+            }
+            // Ends the event of the end of the transaction
+            SQLEvents.endCommit(event, this.mComplete, true);
+        } else {
+            // Marks this transaction as closed
+            this.mNestedClosed = true;
+        }
     }
     
     /**
@@ -361,6 +466,9 @@ public class Transaction extends ConnectionWrapper
      * Undoes all changes made in the current transaction
      * and releases any database locks currently held
      * by this {@link Transaction} object.
+     * <p>For a nested transaction, only the changes made since its start
+     * are undone (and no lock is released), leaving the outer transaction
+     * untouched.</p>
      * 
      * @throws SQLException a database access error occurs, this method is
      *         called while participating in a distributed transaction,
@@ -368,8 +476,14 @@ public class Transaction extends ConnectionWrapper
      */
     @Override
     public void rollback() throws SQLException {
-        // Invokes the underlying connection method
-        this.mInner.rollback();
+        // Check if this is a nested transaction
+        if (this.mSavepoint != null) {
+            // Rollback to the start of this transaction
+            this.mInner.rollback(this.mSavepoint);
+        } else {
+            // Invokes the underlying connection method
+            this.mInner.rollback();
+        }
     }
     
     /**
@@ -380,10 +494,17 @@ public class Transaction extends ConnectionWrapper
      * @throws SQLException if a database access error occurs, this method
      *         is called while participating in a distributed transaction,
      *         if this method is called on a closed connection or this
-     *         {@link Connection} object is in auto-commit mode.
+     *         {@link Connection} object is in auto-commit mode, or if
+     *         this is a nested transaction (whose changes are committed
+     *         along with the outer transaction).
      */
     @Override
     public void commit() throws SQLException {
+        // Check if this is a nested transaction
+        if (this.mSavepoint != null) {
+            // Raises an exception since a nested transaction cannot commit
+            throw new SQLException(Transaction.NestedCommit);
+        }
         // Invokes the underlying connection method
         this.mInner.commit();
     }
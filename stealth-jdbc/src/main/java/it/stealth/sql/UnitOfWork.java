@@ -0,0 +1,36 @@
+/*
+ * To change this license header, choose License Headers in Project Properties.
+ * To change this template file, choose Tools | Templates
+ * and open the template in the editor.
+ */
+package it.stealth.sql;
+
+import java.sql.SQLException;
+
+/**
+ * Functional interface that defines a unit of work
+ * performed within a {@link Transaction}.
+ * <p>The unit of work marks the transaction as complete through
+ * {@link Transaction#complete()} when its changes must be committed;
+ * otherwise the transaction is rolled back when it is closed. Since
+ * the same unit of work may be executed more than once, it should
+ * not have side effects outside the transaction.</p>
+ *
+ * @author Fabrizio Lo Verde
+ * @param <T> type of the object returned by the unit of work.
+ * @see SQLEngine#inTransaction(int, UnitOfWork, RetryPolicy)
+ * @version 1.0
+ * @since 1.4
+ */
+@FunctionalInterface
+public interface UnitOfWork<T>
+{
+    /**
+     * Performs the unit of work within a certain transaction.
+     *
+     * @param tran transaction on which to operate.
+     * @return result of the unit of work.
+     * @throws SQLException if an error occurs while accessing the database.
+     */
+    public T execute(final Transaction tran) throws SQLException;
+}
@@ -0,0 +1,487 @@
+/*
+ * To change this license header, choose License Headers in Project Properties.
+ * To change this template file, choose Tools | Templates
+ * and open the template in the editor.
+ */
+package it.stealth.sql;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Bounded buffer of parametric SQL commands that are written to the
+ * database in the background, without making the caller wait.
+ * <p>A background thread drains the buffer in batches, executed through
+ * {@link PreparedStatement#executeBatch()} within a single {@link
+ * Transaction}: a batch is written as soon as it reaches its maximum
+ * size or when the flush interval expires. Within a batch, the commands
+ * with the same SQL text are executed together, so the relative order of
+ * commands with different SQL text is not preserved.</p><p>When the buffer
+ * is full, the caller either waits for some room or the command is
+ * dropped, depending on the {@link OverflowPolicy}. If a batch fails, its
+ * commands are written again one at a time, so that only the commands
+ * that actually fail are lost; they are counted and the last error is
+ * kept.</p>
+ *
+ * @author Fabrizio Lo Verde
+ * @see SQLEngine#enableWriteBehind(int, int, long, OverflowPolicy)
+ * @version 1.0
+ * @since 1.4
+ */
+public final class WriteBehindQueue implements AutoCloseable
+{
+    /**
+     * Defines the behavior when a command is enqueued in a full buffer.
+     */
+    public enum OverflowPolicy
+    {
+        /**
+         * The caller waits until there is room in the buffer.
+         */
+        BLOCK,
+
+        /**
+         * The command is dropped (and counted).
+         */
+        DROP
+    }
+
+    /**
+     * Engine that supplies the transactions.
+     */
+    private final SQLEngine mEngine;
+
+    /**
+     * Buffer of the commands waiting to be written.
+     */
+    private final BlockingQueue<Entry> mQueue;
+
+    /**
+     * Maximum number of commands written in a batch.
+     */
+    private final int mBatchSize;
+
+    /**
+     * Maximum time a command waits in the buffer, in milliseconds.
+     */
+    private final long mFlushInterval;
+
+    /**
+     * Behavior when the buffer is full.
+     */
+    private final OverflowPolicy mPolicy;
+
+    /**
+     * Thread that writes the commands.
+     */
+    private final Thread mWriter;
+
+    /**
+     * Number of commands written.
+     */
+    private final AtomicLong mWrittenCount = new AtomicLong();
+
+    /**
+     * Number of commands dropped because the buffer was full.
+     */
+    private final AtomicLong mDroppedCount = new AtomicLong();
+
+    /**
+     * Number of commands that failed.
+     */
+    private final AtomicLong mFailedCount = new AtomicLong();
+
+    /**
+     * Last error occurred while writing the commands.
+     */
+    private volatile SQLException mLastError;
+
+    /**
+     * Indicates whether the buffer no longer accepts commands.
+     */
+    private volatile boolean mClosed;
+
+    /**
+     * Lock that serializes the closing with the commands being enqueued:
+     * any number of commands are enqueued concurrently under the read lock,
+     * while the closing takes the write lock, so that no command is accepted
+     * once the writer may have stopped.
+     */
+    private final ReadWriteLock mCloseLock = new ReentrantReadWriteLock();
+
+    /**
+     * Marker that wakes up the writer when the queue is closed.
+     */
+    private static final Entry Stop = new Entry(null, null, null);
+
+    /**
+     * Name of the thread that writes the commands.
+     */
+    private static final String ThreadName = "stealth-write-behind";
+
+    /**
+     * Exception message raised when a command is enqueued after closing.
+     */
+    private static final String ExClosed = "The write-behind queue has been closed.";
+
+    /**
+     * Create a new {@link WriteBehindQueue} and starts its background thread.
+     *
+     * @param engine engine that supplies the transactions.
+     * @param capacity maximum number of commands in the buffer.
+     * @param batchSize maximum number of commands written in a batch.
+     * @param flushIntervalMillis maximum time a command waits in the buffer.
+     * @param policy behavior when the buffer is full.
+     */
+    WriteBehindQueue(final SQLEngine engine, final int capacity, final int batchSize,
+            final long flushIntervalMillis, final OverflowPolicy policy) {
+        // Initialize the fields
+        this.mEngine = engine;
+        this.mQueue = new ArrayBlockingQueue<>(capacity);
+        this.mBatchSize = batchSize;
+        this.mFlushInterval = flushIntervalMillis;
+        this.mPolicy = policy;
+        // Create the thread that does not prevent the JVM from exiting
+        this.mWriter = new Thread(this::run, WriteBehindQueue.ThreadName);
+        this.mWriter.setDaemon(true);
+        this.mWriter.start();
+    }
+
+    /**
+     * Enqueues a parametric command to be written in the background.
+     *
+     * @param sqlCommand SQL DML command to execute.
+     * @param params values of the parameters of the command.
+     * @return {@code true} if the command has been enqueued, {@code false}
+     *         if it has been dropped because the buffer was full.
+     * @throws IllegalStateException if the queue has been closed.
+     * @throws InterruptedException if interrupted while waiting for room.
+     */
+    boolean enqueue(final String sqlCommand, final Object[] params) throws InterruptedException {
+        // Declares the entry of the command
+        final Entry entry = new Entry(sqlCommand, params, null);
+        // Prevents the queue from being closed while the command is enqueued
+        this.mCloseLock.readLock().lockInterruptibly();
+        try {
+            // Check that the queue still accepts commands
+            if (this.mClosed) {
+                throw new IllegalStateException(WriteBehindQueue.ExClosed);
+            }
+            // Check the behavior when the buffer is full
+            if (this.mPolicy == OverflowPolicy.BLOCK) {
+                // Waits for room in the buffer, which the writer keeps draining
+                this.mQueue.put(entry);
+            } else if (!this.mQueue.offer(entry)) {
+                // Counts the dropped command
+                this.mDroppedCount.incrementAndGet();
+                return false;
+            }
+            return true;
+        } finally {
+            // Allows the queue to be closed
+            this.mCloseLock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Waits until all the commands enqueued so far have been written.
+     *
+     * @throws InterruptedException if interrupted while waiting.
+     */
+    public void flush() throws InterruptedException {
+        // Declares the signal of the completed flush
+        final CountDownLatch done = new CountDownLatch(1);
+        // Check that the writer is still running
+        if (this.mWriter.isAlive()) {
+            // Enqueues a marker that is reached after the previous commands
+            this.mQueue.put(new Entry(null, null, done));
+            // Waits for the writer to reach the marker
+            while (!done.await(this.mFlushInterval + 1, TimeUnit.MILLISECONDS)) {
+                // Stops waiting if the writer has terminated
+                if (!this.mWriter.isAlive()) {
+                    break;
+                }
+            }
+        }
+    }
+
+    /**
+     * Stops accepting commands, writes those still in
+     * the buffer and stops the background thread.
+     */
+    @Override
+    public synchronized void close() {
+        // Check if the queue has already been closed
+        if (this.mClosed) {
+            return;
+        }
+        // Declares whether the writer has been woken up
+        boolean woken = false;
+        // Stops accepting commands, once those being enqueued are in the buffer
+        this.mCloseLock.writeLock().lock();
+        try {
+            this.mClosed = true;
+        } finally {
+            this.mCloseLock.writeLock().unlock();
+        }
+        try {
+            // Wakes up the writer so that it notices the closing
+            this.mQueue.put(WriteBehindQueue.Stop);
+            woken = true;
+            // Waits for the writer to drain the buffer
+            this.mWriter.join();
+        } catch (final InterruptedException ex) {
+            // Interrupts the writer if it may otherwise wait forever for a command
+            if (!woken) {
+                this.mWriter.interrupt();
+            }
+            // Restores the interrupted status
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Gets the number of commands written.
+     *
+     * @return number of commands written.
+     */
+    public long getWrittenCount() {
+        // Returns the counter value
+        return this.mWrittenCount.get();
+    }
+
+    /**
+     * Gets the number of commands dropped because the buffer was full.
+     *
+     * @return number of commands dropped.
+     */
+    public long getDroppedCount() {
+        // Returns the counter value
+        return this.mDroppedCount.get();
+    }
+
+    /**
+     * Gets the number of commands that failed.
+     *
+     * @return number of commands that failed.
+     * @see #getLastError()
+     */
+    public long getFailedCount() {
+        // Returns the counter value
+        return this.mFailedCount.get();
+    }
+
+    /**
+     * Gets the last error occurred while writing the commands.
+     *
+     * @return last error, {@code null} if no command has failed.
+     */
+    public SQLException getLastError() {
+        // Returns the last error
+        return this.mLastError;
+    }
+
+    /**
+     * Gets the number of commands waiting in the buffer.
+     *
+     * @return number of commands waiting to be written.
+     */
+    public int getPendingCount() {
+        // Returns the size of the buffer
+        return this.mQueue.size();
+    }
+
+    /**
+     * Body of the background thread that writes the commands.
+     */
+    private void run() {
+        // Declares support references
+        Entry entry;
+        long deadline = 0, remaining;
+        // Declares the current batch
+        final List<Entry> batch = new ArrayList<>(this.mBatchSize);
+        // Repeats until the queue is closed and the buffer is empty
+        while (!this.mClosed || !this.mQueue.isEmpty()) {
+            try {
+                // Check if the batch is empty
+                if (batch.isEmpty()) {
+                    // Nothing to flush: sleeps until the next command arrives
+                    entry = this.mQueue.take();
+                } else {
+                    // Waits for the next command until the batch must be flushed
+                    remaining = deadline - System.currentTimeMillis();
+                    entry = remaining > 0 ? this.mQueue.poll(remaining,
+                            TimeUnit.MILLISECONDS) : this.mQueue.poll();
+                }
+            } catch (final InterruptedException ex) {
+                // Keeps draining the buffer until the queue is closed
+                continue;
+            }
+            // Check if the queue is being closed
+            if (entry == WriteBehindQueue.Stop) {
+                // The loop ends once the buffer is empty
+                continue;
+            }
+            // Check if a command has been received
+            if (entry != null) {
+                // Check if it is a flush marker
+                if (entry.mFlushed != null) {
+                    // Writes the commands received so far
+                    this.write(batch);
+                    entry.mFlushed.countDown();
+                    continue;
+                }
+                // Starts the flush interval with the first command of the batch
+                if (batch.isEmpty()) {
+                    deadline = System.currentTimeMillis() + this.mFlushInterval;
+                }
+                batch.add(entry);
+            }
+            // Writes the batch if it is full or if it has waited too much
+            if (batch.size() >= this.mBatchSize || !batch.isEmpty() &&
+                    (entry == null || System.currentTimeMillis() >= deadline)) {
+                this.write(batch);
+            }
+        }
+        // Writes the last commands
+        this.write(batch);
+    }
+
+    /**
+     * Writes a batch of commands, then empties it.
+     *
+     * @param batch commands to be written.
+     */
+    private void write(final List<Entry> batch) {
+        // Check if there is anything to write
+        if (batch.isEmpty()) {
+            return;
+        }
+        // Groups the commands by SQL text, keeping the order of their first use
+        final Map<String, List<Object[]>> groups = new LinkedHashMap<>();
+        for (final Entry entry : batch) {
+            groups.computeIfAbsent(entry.mSql, k -> new ArrayList<>()).add(entry.mParams);
+        }
+        try {
+            // Writes all the commands within a single transaction, on a dedicated
+            // connection since the one kept alive is shared with the callers
+            try (final Transaction dbTran = new Transaction(this.mEngine.getDedicatedConnection())) {
+                // Iterate over all the groups of commands
+                for (final Map.Entry<String, List<Object[]>> group : groups.entrySet()) {
+                    // Prepares the command of the group
+                    try (final PreparedStatement stmt = dbTran.prepareStatement(group.getKey())) {
+                        // Adds the parameters of each command to the batch
+                        for (final Object[] params : group.getValue()) {
+                            WriteBehindQueue.bind(stmt, params);
+                            stmt.addBatch();
+                        }
+                        stmt.executeBatch();
+                    }
+                }
+                // Mark this transaction as completed
+                dbTran.complete();
+            }
+            // Counts the commands written
+            this.mWrittenCount.addAndGet(batch.size());
+        } catch (final SQLException | RuntimeException ex) {
+            // Writes the commands one at a time to isolate those that fail
+            for (final Entry entry : batch) {
+                this.writeOne(entry);
+            }
+        }
+        // Empties the batch
+        batch.clear();
+    }
+
+    /**
+     * Writes a single command within its own transaction.
+     *
+     * @param entry command to be written.
+     */
+    private void writeOne(final Entry entry) {
+        try {
+            // Opens a transaction on a dedicated connection to execute the command
+            try (final Transaction dbTran = new Transaction(this.mEngine.getDedicatedConnection());
+                    final PreparedStatement stmt = dbTran.prepareStatement(entry.mSql)) {
+                // Executes the command
+                WriteBehindQueue.bind(stmt, entry.mParams);
+                stmt.executeUpdate();
+                // Mark this transaction as completed
+                dbTran.complete();
+            }
+            // Counts the command written
+            this.mWrittenCount.incrementAndGet();
+        } catch (final SQLException ex) {
+            // Counts the failed command and keeps its error
+            this.mFailedCount.incrementAndGet();
+            this.mLastError = ex;
+        } catch (final RuntimeException ex) {
+            // Counts the failed command and keeps its error
+            this.mFailedCount.incrementAndGet();
+            this.mLastError = new SQLException(ex);
+        }
+    }
+
+    /**
+     * Binds the parameters of a command to a statement.
+     *
+     * @param stmt statement of the command.
+     * @param params values of the parameters.
+     * @throws SQLException if a parameter cannot be bound.
+     */
+    private static void bind(final PreparedStatement stmt,
+            final Object[] params) throws SQLException {
+        // Declares a support integer
+        int i;
+        // Binds each parameter in order
+        for (i = 0; i < params.length; i++) {
+            stmt.setObject(i + 1, params[i]);
+        }
+    }
+
+    /**
+     * Command waiting in the buffer, or flush marker.
+     */
+    private static final class Entry
+    {
+        /**
+         * SQL command to execute.
+         */
+        private final String mSql;
+
+        /**
+         * Values of the parameters of the command.
+         */
+        private final Object[] mParams;
+
+        /**
+         * Signal of the completed flush, {@code null} if this is a command.
+         */
+        private final CountDownLatch mFlushed;
+
+        /**
+         * Create a new {@link Entry}.
+         *
+         * @param sql SQL command to execute.
+         * @param params values of the parameters of the command.
+         * @param flushed signal of the completed flush.
+         */
+        private Entry(final String sql, final Object[] params, final CountDownLatch flushed) {
+            // Initialize the fields
+            this.mSql = sql;
+            this.mParams = params;
+            this.mFlushed = flushed;
+        }
+    }
+}
@@ -0,0 +1,421 @@
+/*
+ * To change this license header, choose License Headers in Project Properties.
+ * To change this template file, choose Tools | Templates
+ * and open the template in the editor.
+ */
+package it.stealth.sql.connection;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.apache.commons.lang3.Validate;
+
+/**
+ * Warms up the connections of a provider before the application takes traffic.
+ * <p>The warm-up opens a number of connections in parallel, so that the costs
+ * of the first connections (the loading of the driver classes, the network
+ * handshake, the authentication) are paid together rather than by the first
+ * requests, one after another. On each connection the hot statements are
+ * prepared and closed, priming the statement caches of the driver and of the
+ * server, then the connection is checked through {@link Connection#isValid(int)},
+ * which runs a lightweight ping or query. The connections are all held open
+ * until the last one has been warmed up, so that a pooling provider creates
+ * as many distinct connections, and are then closed, returning them to the
+ * pool, if any.</p>
+ * <p>The outcome is summarized by a {@link Report}, whose {@link Report#isReady()}
+ * tells whether every connection has been warmed up successfully.</p>
+ *
+ * @author Fabrizio Lo Verde
+ * @version 1.0
+ * @since 1.4
+ */
+public final class ConnectionWarmer
+{
+    /**
+     * Provider of the connections to be warmed up.
+     */
+    private final DbConnectionProvider mProvider;
+
+    /**
+     * Number of connections to be warmed up.
+     */
+    private final int mConnections;
+
+    /**
+     * Statements prepared on each connection.
+     */
+    private final List<String> mHotSql;
+
+    /**
+     * Seconds to wait for the database to respond and for the other connections.
+     */
+    private final int mTimeout;
+
+    /**
+     * Seconds to wait by default.
+     */
+    public static final int DefaultTimeout = 30;
+
+    /**
+     * Name of the threads of the warm-up.
+     */
+    private static final String ThreadName = "stealth-connection-warmer";
+
+    /**
+     * Defines the parameter relating to the provider.
+     */
+    private static final String ProviderParam = "provider";
+
+    /**
+     * Exception message when the number of connections is not positive.
+     */
+    private static final String ExNotPositiveConnections = "The number of connections must be positive: %d";
+
+    /**
+     * Exception message when the timeout is not positive.
+     */
+    private static final String ExNotPositiveTimeout = "The timeout must be positive: %d";
+
+    /**
+     * Exception message when a hot statement is blank.
+     */
+    private static final String ExBlankHotSql = "The hot statements must not be blank.";
+
+    /**
+     * Exception message when the connection is not valid.
+     */
+    private static final String ExNotValid = "The connection is not valid.";
+
+    /**
+     * Create a new {@link ConnectionWarmer} that waits up to {@link #DefaultTimeout} seconds.
+     *
+     * @param provider provider of the connections to be warmed up.
+     * @param connections number of connections to be opened in parallel.
+     * @param hotSql statements to be prepared on each connection.
+     * @throws NullPointerException if {@code provider} is {@code null}.
+     * @throws IllegalArgumentException if {@code connections} is not
+     *         positive or a statement is blank.
+     */
+    public ConnectionWarmer(final DbConnectionProvider provider,
+            final int connections, final String... hotSql) {
+        // Invokes the complete constructor
+        this(provider, connections, ConnectionWarmer.DefaultTimeout, hotSql);
+    }
+
+    /**
+     * Create a new {@link ConnectionWarmer}.
+     *
+     * @param provider provider of the connections to be warmed up.
+     * @param connections number of connections to be opened in parallel.
+     * @param timeoutSeconds seconds to wait for the database to respond
+     *        and for the other connections to be warmed up.
+     * @param hotSql statements to be prepared on each connection.
+     * @throws NullPointerException if {@code provider} is {@code null}.
+     * @throws IllegalArgumentException if {@code connections} or {@code
+     *         timeoutSeconds} is not positive or a statement is blank.
+     */
+    public ConnectionWarmer(final DbConnectionProvider provider, final int connections,
+            final int timeoutSeconds, final String... hotSql) {
+        // Validates the parameters
+        Objects.requireNonNull(provider, ConnectionWarmer.ProviderParam);
+        Validate.isTrue(connections > 0, ConnectionWarmer.ExNotPositiveConnections, connections);
+        Validate.isTrue(timeoutSeconds > 0, ConnectionWarmer.ExNotPositiveTimeout, timeoutSeconds);
+        Validate.noNullElements(hotSql, ConnectionWarmer.ExBlankHotSql);
+        for (final String sql : hotSql) {
+            Validate.notBlank(sql, ConnectionWarmer.ExBlankHotSql);
+        }
+        // Initialize the fields
+        this.mProvider = provider;
+        this.mConnections = connections;
+        this.mTimeout = timeoutSeconds;
+        this.mHotSql = Collections.unmodifiableList(new ArrayList<>(Arrays.asList(hotSql)));
+    }
+
+    /**
+     * Warms up the connections, waiting for all of them.
+     * <p>The failures do not stop the warm-up: they are collected
+     * in the report, which is not {@link Report#isReady() ready}.</p>
+     *
+     * @return the outcome of the warm-up.
+     * @throws InterruptedException if interrupted while waiting.
+     */
+    public Report warmUp() throws InterruptedException {
+        // Declares the counters of the outcome
+        final Report report = new Report(this.mConnections);
+        final long start = System.nanoTime();
+        // Releases the connections once all of them have been warmed up
+        final CountDownLatch warmed = new CountDownLatch(this.mConnections);
+        // Create a pool with a daemon thread for each connection
+        final ExecutorService executor = Executors.newFixedThreadPool(this.mConnections, r -> {
+            // Create a thread that does not prevent the JVM from exiting
+            final Thread thread = new Thread(r, ConnectionWarmer.ThreadName);
+            thread.setDaemon(true);
+            return thread;
+        });
+        try {
+            // Warms up each connection on its own thread
+            final List<Future<?>> futures = new ArrayList<>(this.mConnections);
+            for (int i = 0; i < this.mConnections; i++) {
+                futures.add(executor.submit(() -> {
+                    this.warmUp(report, warmed);
+                    return null;
+                }));
+            }
+            // Waits for all the connections
+            for (final Future<?> future : futures) {
+                try {
+                    future.get();
+                } catch (final ExecutionException ex) {
+                    // Records the unexpected failure
+                    report.fail(new SQLException(ex.getCause()));
+                }
+            }
+        } finally {
+            // Releases the threads
+            executor.shutdownNow();
+        }
+        report.finished(System.nanoTime() - start);
+        return report;
+    }
+
+    /**
+     * Internal procedure that warms up a connection.
+     *
+     * @param report outcome of the warm-up.
+     * @param warmed latch counting the connections warmed up.
+     * @throws InterruptedException if interrupted while waiting for the other connections.
+     */
+    private void warmUp(final Report report, final CountDownLatch warmed) throws InterruptedException {
+        // Declares the connection, if opened
+        Connection dbConn = null;
+        try {
+            // Opens the connection
+            final long start = System.nanoTime();
+            dbConn = this.mProvider.getDbConnection();
+            report.opened(System.nanoTime() - start);
+            // Prepares the hot statements
+            for (final String sql : this.mHotSql) {
+                try {
+                    // Prepares and closes the statement right away
+                    final PreparedStatement stmt = dbConn.prepareStatement(sql);
+                    stmt.close();
+                    report.mPrepared.incrementAndGet();
+                } catch (final SQLException ex) {
+                    // A wrong statement must not prevent checking the connection
+                    report.fail(ex);
+                }
+            }
+            // Check if the connection is valid
+            if (dbConn.isValid(this.mTimeout)) {
+                report.mValid.incrementAndGet();
+            } else {
+                report.fail(new SQLException(ConnectionWarmer.ExNotValid));
+            }
+        } catch (final SQLException ex) {
+            // Records the failure to open the connection
+            report.fail(ex);
+        } finally {
+            // Holds the connection until all of them have been warmed up
+            warmed.countDown();
+            try {
+                warmed.await(this.mTimeout, TimeUnit.SECONDS);
+            } finally {
+                if (dbConn != null) {
+                    try {
+                        // Closes the connection, returning it to the pool, if any
+                        dbConn.close();
+                    } catch (final SQLException ex) {
+                        report.fail(ex);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Outcome of a warm-up.
+     */
+    public static final class Report
+    {
+        /**
+         * Number of connections requested.
+         */
+        private final int mConnections;
+
+        /**
+         * Number of connections opened.
+         */
+        private final AtomicInteger mOpened = new AtomicInteger();
+
+        /**
+         * Number of connections found valid.
+         */
+        private final AtomicInteger mValid = new AtomicInteger();
+
+        /**
+         * Number of statements prepared, over all the connections.
+         */
+        private final AtomicInteger mPrepared = new AtomicInteger();
+
+        /**
+         * Longest time taken to open a connection, in nanoseconds.
+         */
+        private long mMaxOpenNanos;
+
+        /**
+         * Time taken by the whole warm-up, in nanoseconds.
+         */
+        private long mElapsedNanos;
+
+        /**
+         * Failures occurred.
+         */
+        private final List<SQLException> mFailures = new ArrayList<>();
+
+        /**
+         * Create a new {@link Report}.
+         *
+         * @param connections number of connections requested.
+         */
+        private Report(final int connections) {
+            // Stores the number of connections
+            this.mConnections = connections;
+        }
+
+        /**
+         * Internal procedure that records a connection opened.
+         *
+         * @param nanos time taken to open the connection.
+         */
+        private synchronized void opened(final long nanos) {
+            // Counts the connection and keeps the longest time
+            this.mOpened.incrementAndGet();
+            this.mMaxOpenNanos = Math.max(this.mMaxOpenNanos, nanos);
+        }
+
+        /**
+         * Internal procedure that records the end of the warm-up.
+         *
+         * @param nanos time taken by the whole warm-up.
+         */
+        private synchronized void finished(final long nanos) {
+            // Stores the time
+            this.mElapsedNanos = nanos;
+        }
+
+        /**
+         * Internal procedure that records a failure.
+         *
+         * @param ex failure occurred.
+         */
+        private synchronized void fail(final SQLException ex) {
+            // Stores the failure
+            this.mFailures.add(ex);
+        }
+
+        /**
+         * Indicates whether all the connections have been opened,
+         * primed and found valid, without failures.
+         *
+         * @return {@code true} if the warm-up has been successful.
+         */
+        public synchronized boolean isReady() {
+            // Check that every step of every connection succeeded
+            return this.mValid.get() == this.mConnections && this.mFailures.isEmpty();
+        }
+
+        /**
+         * Gets the number of connections requested.
+         *
+         * @return number of connections requested.
+         */
+        public int getConnections() {
+            // Returns the counter
+            return this.mConnections;
+        }
+
+        /**
+         * Gets the number of connections opened.
+         *
+         * @return number of connections opened.
+         */
+        public int getOpened() {
+            // Returns the counter
+            return this.mOpened.get();
+        }
+
+        /**
+         * Gets the number of connections found valid.
+         *
+         * @return number of connections valid.
+         */
+        public int getValid() {
+            // Returns the counter
+            return this.mValid.get();
+        }
+
+        /**
+         * Gets the number of statements prepared, over all the connections.
+         *
+         * @return number of statements prepared.
+         */
+        public int getPrepared() {
+            // Returns the counter
+            return this.mPrepared.get();
+        }
+
+        /**
+         * Gets the longest time taken to open a connection.
+         *
+         * @return milliseconds taken by the slowest connection.
+         */
+        public synchronized long getMaxOpenMillis() {
+            // Converts the time
+            return TimeUnit.NANOSECONDS.toMillis(this.mMaxOpenNanos);
+        }
+
+        /**
+         * Gets the time taken by the whole warm-up.
+         *
+         * @return milliseconds taken.
+         */
+        public synchronized long getElapsedMillis() {
+            // Converts the time
+            return TimeUnit.NANOSECONDS.toMillis(this.mElapsedNanos);
+        }
+
+        /**
+         * Gets the failures occurred.
+         *
+         * @return failures, in the order in which they occurred.
+         */
+        public synchronized List<SQLException> getFailures() {
+            // Returns a copy of the failures
+            return new ArrayList<>(this.mFailures);
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public synchronized String toString() {
+            // Summarizes the outcome
+            return String.format("%s: %d/%d connections opened, %d valid, %d statements prepared, "
+                    + "%d failures, slowest connection %d ms, total %d ms", this.isReady() ? "Ready"
+                    : "Not ready", this.getOpened(), this.mConnections, this.getValid(), this.getPrepared(),
+                    this.mFailures.size(), this.getMaxOpenMillis(), this.getElapsedMillis());
+        }
+    }
+}
@@ -7,6 +7,7 @@ package it.stealth.sql.connection;
 
 import java.sql.Connection;
 import java.sql.SQLException;
+import java.sql.Statement;
 
 /**
  * Interface that provides an open connection to the database.
@@ -32,4 +33,22 @@ public interface DbConnectionProvider
      * current database connection attempt.
      */
     public Connection getDbConnection() throws SQLException;
+    
+    /**
+     * Configures a statement so that the driver streams its results from the
+     * server, holding only a few rows in memory at a time, rather than reading
+     * them all when the query is executed.
+     * <p>The statement is forward-only and read-only, and the hints of the
+     * reader have already been applied to it. The default implementation does
+     * nothing, which suits the drivers that honor the fetch size of the reader;
+     * the providers of the drivers that need a special setting override it.</p>
+     * 
+     * @param stmt statement to be configured, before its execution.
+     * @throws SQLException if a database access error occurs.
+     * @see it.stealth.sql.SQLEngine#stream(String, it.stealth.sql.readers.SQLQueryReader, Object...)
+     * @since 1.4
+     */
+    public default void prepareStreaming(final Statement stmt) throws SQLException {
+        // The fetch size of the reader is enough
+    }
 }
@@ -0,0 +1,426 @@
+/*
+ * To change this license header, choose License Headers in Project Properties.
+ * To change this template file, choose Tools | Templates
+ * and open the template in the editor.
+ */
+package it.stealth.sql.connection;
+
+import java.lang.ref.WeakReference;
+import java.sql.Connection;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import org.apache.commons.lang3.Validate;
+
+/**
+ * Detects the connections and the statements that are not closed.
+ * <p>Each connection passed to {@link #track(Connection)}, and each statement
+ * created on it, is a <i>lease</i> that lasts until it is closed. A background
+ * thread periodically scans the outstanding leases and reports those held
+ * beyond a certain threshold, as well as those whose object has been collected
+ * by the garbage collector without being closed, which are certainly leaked.
+ * Each lease is reported once.</p><p>To help finding the code that leaked a
+ * lease, the stack trace of its allocation is captured; since capturing a stack
+ * trace is expensive, it can be captured only for one lease out of a certain
+ * number, chosen at random, so that a leak repeated in the same place is
+ * eventually caught with its stack trace.</p>
+ *
+ * @author Fabrizio Lo Verde
+ * @version 1.0
+ * @since 1.4
+ */
+public final class LeakDetector implements AutoCloseable
+{
+    /**
+     * Threshold beyond which a lease is reported, in nanoseconds.
+     */
+    private final long mThreshold;
+
+    /**
+     * Number of leases for each allocation stack trace captured.
+     */
+    private final int mSampleRate;
+
+    /**
+     * Outstanding leases.
+     */
+    private final Set<Lease> mLeases = Collections.newSetFromMap(new ConcurrentHashMap<>());
+
+    /**
+     * Executor of the background scans.
+     */
+    private final ScheduledExecutorService mScanner;
+
+    /**
+     * Number of leases reported.
+     */
+    private final AtomicLong mLeakCount = new AtomicLong();
+
+    /**
+     * Listener that receives the leases reported.
+     */
+    private volatile Listener mListener = LeakDetector.DefaultListener;
+
+    /**
+     * Logger used by the default listener.
+     */
+    private static final Logger Log = Logger.getLogger("it.stealth.sql.LeakDetector");
+
+    /**
+     * Listener that writes the leases reported as warnings,
+     * along with their allocation stack trace, if captured.
+     */
+    public static final Listener DefaultListener = lease -> LeakDetector.Log.
+            log(Level.WARNING, lease.toString(), lease.mAllocation);
+
+    /**
+     * Minimum period of the background scans, in milliseconds.
+     */
+    private static final long MinScanPeriod = 100;
+
+    /**
+     * Maximum period of the background scans, in milliseconds.
+     */
+    private static final long MaxScanPeriod = 30000;
+
+    /**
+     * Name of the thread that scans the leases.
+     */
+    private static final String ThreadName = "stealth-leak-detector";
+
+    /**
+     * Defines the parameter relating to the listener.
+     */
+    private static final String ListenerParam = "listener";
+
+    /**
+     * Exception message raised when the threshold is not positive.
+     */
+    private static final String ExNotPositiveThreshold = "The threshold must be positive: %d";
+
+    /**
+     * Exception message raised when the sample rate is negative.
+     */
+    private static final String ExNegativeSampleRate = "The sample rate must not be negative: %d";
+
+    /**
+     * Create a new {@link LeakDetector} and starts its background scans.
+     *
+     * @param thresholdMillis time beyond which a lease is reported.
+     * @param sampleRate number of leases for each allocation stack trace
+     *        captured: 1 captures the stack trace of every lease, 0 never captures it.
+     * @throws IllegalArgumentException if {@code thresholdMillis} is
+     *         not positive or {@code sampleRate} is negative.
+     */
+    public LeakDetector(final long thresholdMillis, final int sampleRate) {
+        // Validates the parameters
+        Validate.isTrue(thresholdMillis > 0, LeakDetector.ExNotPositiveThreshold, thresholdMillis);
+        Validate.isTrue(sampleRate >= 0, LeakDetector.ExNegativeSampleRate, sampleRate);
+        // Initialize the fields
+        this.mThreshold = TimeUnit.MILLISECONDS.toNanos(thresholdMillis);
+        this.mSampleRate = sampleRate;
+        // Create a single daemon thread for the scans
+        this.mScanner = Executors.newSingleThreadScheduledExecutor(r -> {
+            // Create a thread that does not prevent the JVM from exiting
+            final Thread thread = new Thread(r, LeakDetector.ThreadName);
+            thread.setDaemon(true);
+            return thread;
+        });
+        // Scans the leases a few times within the threshold
+        final long period = Math.min(Math.max(thresholdMillis / 2,
+                LeakDetector.MinScanPeriod), LeakDetector.MaxScanPeriod);
+        this.mScanner.scheduleWithFixedDelay(this::scan, period, period, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Wraps a connection so that it is tracked, along with its statements, until it is closed.
+     *
+     * @param dbConn connection to be tracked.
+     * @return tracked connection.
+     * @throws NullPointerException if {@code dbConn} is {@code null}.
+     */
+    public Connection track(final Connection dbConn) {
+        // Wraps the connection
+        return new TrackedConnection(dbConn, this);
+    }
+
+    /**
+     * Sets the listener that receives the leases reported.
+     * <p>The listener is invoked on the background thread of the detector.</p>
+     *
+     * @param listener listener of the leases reported.
+     * @throws NullPointerException if {@code listener} is {@code null}.
+     * @see #DefaultListener
+     */
+    public void setListener(final Listener listener) {
+        // Stores the listener
+        this.mListener = Objects.requireNonNull(listener, LeakDetector.ListenerParam);
+    }
+
+    /**
+     * Gets the number of leases outstanding.
+     *
+     * @return number of connections and statements not yet closed.
+     */
+    public int getOutstandingCount() {
+        // Return the number of leases
+        return this.mLeases.size();
+    }
+
+    /**
+     * Gets the leases outstanding.
+     *
+     * @return the connections and statements not yet closed.
+     */
+    public List<Lease> getOutstandingLeases() {
+        // Copies the leases
+        return new ArrayList<>(this.mLeases);
+    }
+
+    /**
+     * Gets the number of leases reported so far.
+     *
+     * @return number of leases reported.
+     */
+    public long getLeakCount() {
+        // Return the counter
+        return this.mLeakCount.get();
+    }
+
+    /**
+     * Scans the outstanding leases, reporting those held beyond the
+     * threshold or collected without being closed.
+     * <p>The scan is performed periodically on the background
+     * thread, but it can also be requested explicitly.</p>
+     */
+    public void scan() {
+        // Declares the instant of the scan
+        final long now = System.nanoTime();
+        // Iterate over all the outstanding leases
+        for (final Lease lease : this.mLeases) {
+            // Check if the object has been collected without being closed
+            if (lease.mResource.get() == null) {
+                // The lease can no longer be released
+                this.mLeases.remove(lease);
+                this.report(lease);
+            }
+            // Check if the lease is held beyond the threshold
+            else if (now - lease.mAcquired >= this.mThreshold) {
+                this.report(lease);
+            }
+        }
+    }
+
+    /**
+     * Stops the background scans.
+     * <p>The objects already tracked can still be used and closed.</p>
+     */
+    @Override
+    public void close() {
+        // Stops the background thread
+        this.mScanner.shutdownNow();
+    }
+
+    /**
+     * Internal procedure that opens a lease.
+     *
+     * @param kind kind of object leased.
+     * @param resource object leased.
+     * @return the new lease.
+     */
+    Lease open(final String kind, final AutoCloseable resource) {
+        // Captures the allocation stack trace, if sampled
+        final Throwable allocation = this.mSampleRate > 0 && (this.mSampleRate == 1 || ThreadLocalRandom.
+                current().nextInt(this.mSampleRate) == 0) ? new Throwable(kind + " allocation") : null;
+        // Records the lease
+        final Lease lease = new Lease(kind, resource, allocation);
+        this.mLeases.add(lease);
+        return lease;
+    }
+
+    /**
+     * Internal procedure that releases a lease.
+     *
+     * @param lease lease to be released.
+     */
+    void release(final Lease lease) {
+        // Forgets the lease
+        this.mLeases.remove(lease);
+    }
+
+    /**
+     * Internal procedure that reports a lease, unless already reported.
+     *
+     * @param lease lease to be reported.
+     */
+    private void report(final Lease lease) {
+        // Check if the lease has already been reported
+        if (lease.mReported) {
+            return;
+        }
+        lease.mReported = true;
+        this.mLeakCount.incrementAndGet();
+        try {
+            // Passes the lease to the listener
+            this.mListener.onLeak(lease);
+        } catch (final RuntimeException ex) {
+            // A faulty listener must not stop the scans
+            LeakDetector.Log.log(Level.WARNING, ex.getMessage(), ex);
+        }
+    }
+
+    /**
+     * Functional interface that receives the leases reported by a {@link LeakDetector}.
+     */
+    @FunctionalInterface
+    public interface Listener
+    {
+        /**
+         * Receives a lease held beyond the threshold or collected without being closed.
+         *
+         * @param lease the lease reported.
+         */
+        public void onLeak(final Lease lease);
+    }
+
+    /**
+     * Connection or statement leased and not yet closed.
+     */
+    public static final class Lease
+    {
+        /**
+         * Kind of object leased.
+         */
+        private final String mKind;
+
+        /**
+         * Object leased, referenced weakly to detect its collection.
+         */
+        private final WeakReference<AutoCloseable> mResource;
+
+        /**
+         * Instant of the allocation, as returned by {@link System#nanoTime()}.
+         */
+        private final long mAcquired;
+
+        /**
+         * Instant of the allocation, in milliseconds since the epoch.
+         */
+        private final long mAcquiredAt;
+
+        /**
+         * Name of the thread that allocated the object.
+         */
+        private final String mThreadName;
+
+        /**
+         * Allocation stack trace, {@code null} if not sampled.
+         */
+        private final Throwable mAllocation;
+
+        /**
+         * Indicates whether the lease has been reported.
+         */
+        private volatile boolean mReported;
+
+        /**
+         * Create a new {@link Lease}.
+         *
+         * @param kind kind of object leased.
+         * @param resource object leased.
+         * @param allocation allocation stack trace, {@code null} if not sampled.
+         */
+        private Lease(final String kind, final AutoCloseable resource, final Throwable allocation) {
+            // Initialize the fields
+            this.mKind = kind;
+            this.mResource = new WeakReference<>(resource);
+            this.mAcquired = System.nanoTime();
+            this.mAcquiredAt = System.currentTimeMillis();
+            this.mThreadName = Thread.currentThread().getName();
+            this.mAllocation = allocation;
+        }
+
+        /**
+         * Gets the kind of object leased.
+         *
+         * @return {@code "Connection"} or {@code "Statement"}.
+         */
+        public String getKind() {
+            // Return the kind
+            return this.mKind;
+        }
+
+        /**
+         * Gets the time elapsed since the allocation.
+         *
+         * @param unit time unit of the result.
+         * @return age of the lease in the required time unit.
+         */
+        public long getAge(final TimeUnit unit) {
+            // Converts the elapsed time
+            return unit.convert(System.nanoTime() - this.mAcquired, TimeUnit.NANOSECONDS);
+        }
+
+        /**
+         * Gets the instant of the allocation.
+         *
+         * @return milliseconds since the epoch.
+         */
+        public long getAcquiredAt() {
+            // Return the instant
+            return this.mAcquiredAt;
+        }
+
+        /**
+         * Gets the name of the thread that allocated the object.
+         *
+         * @return name of the thread.
+         */
+        public String getThreadName() {
+            // Return the name
+            return this.mThreadName;
+        }
+
+        /**
+         * Gets the stack trace of the allocation.
+         *
+         * @return allocation stack trace, {@code null} if not sampled for this lease.
+         */
+        public StackTraceElement[] getAllocationStack() {
+            // Return the stack trace, if captured
+            return this.mAllocation == null ? null : this.mAllocation.getStackTrace();
+        }
+
+        /**
+         * Indicates whether the object has been collected without being closed.
+         *
+         * @return {@code true} if the object has certainly been leaked.
+         */
+        public boolean isCollected() {
+            // Check if the weak reference has been cleared
+            return this.mResource.get() == null;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public String toString() {
+            // Describes the lease
+            return String.format("%s acquired by thread \"%s\": %s after %d ms%s", this.mKind, this.mThreadName,
+                    this.isCollected() ? "collected without being closed" : "still open",
+                    this.getAge(TimeUnit.MILLISECONDS), this.mAllocation == null ?
+                    " (allocation stack trace not sampled)" : "");
+        }
+    }
+}
@@ -0,0 +1,554 @@
+/*
+ * To change this license header, choose License Headers in Project Properties.
+ * To change this template file, choose Tools | Templates
+ * and open the template in the editor.
+ */
+package it.stealth.sql.connection;
+
+import it.stealth.sql.wrappers.ConnectionWrapper;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import org.apache.commons.lang3.Validate;
+
+/**
+ * Provider of connections that spreads them over several endpoints,
+ * each reached through its own {@link DbConnectionProvider}.
+ * <p>Each request tries the endpoints in the order given by the {@link Strategy},
+ * moving on to the next one as soon as a connection cannot be opened. An endpoint
+ * that fails a number of times in a row has its circuit opened: it is skipped for
+ * a while, after which a single request tries it again, closing the circuit if it
+ * succeeds. The endpoints skipped are still tried if none of the others can be
+ * connected, so that a request never fails without an attempt.</p>
+ * <p>The endpoints are expected to be equivalent, for example the replicas
+ * of a database, typically used through
+ * {@link it.stealth.sql.SQLEngine#setReadReplicaProvider(DbConnectionProvider)};
+ * the connections are returned to the balance when closed, so the connection
+ * of an engine should not be kept alive.</p>
+ *
+ * @author Fabrizio Lo Verde
+ * @version 1.0
+ * @since 1.4
+ */
+public final class LoadBalancedConnectionProvider implements DbConnectionProvider
+{
+    /**
+     * Endpoints of the balance.
+     */
+    private final List<Endpoint> mEndpoints;
+
+    /**
+     * Strategy that orders the endpoints.
+     */
+    private final Strategy mStrategy;
+
+    /**
+     * Counter of the requests, used to rotate the endpoints.
+     */
+    private final AtomicInteger mRotation = new AtomicInteger();
+
+    /**
+     * Number of consecutive failures that opens the circuit of an endpoint.
+     */
+    private volatile int mFailureThreshold;
+
+    /**
+     * Nanoseconds an open circuit skips its endpoint.
+     */
+    private volatile long mOpenNanos;
+
+    /**
+     * Number of consecutive failures that opens a circuit by default.
+     */
+    public static final int DefaultFailureThreshold = 3;
+
+    /**
+     * Milliseconds an open circuit skips its endpoint by default.
+     */
+    public static final long DefaultOpenMillis = 30000;
+
+    /**
+     * Weight of the last sample in the moving average of the latencies.
+     */
+    private static final double LatencyWeight = 0.2;
+
+    /**
+     * Defines the parameter relating to the strategy.
+     */
+    private static final String StrategyParam = "strategy";
+
+    /**
+     * Exception message when no endpoint is given.
+     */
+    private static final String ExNoEndpoints = "At least one endpoint must be given.";
+
+    /**
+     * Exception message when an endpoint is {@code null}.
+     */
+    private static final String ExNullEndpoint = "The endpoints must not be null.";
+
+    /**
+     * Exception message when the failure threshold is not positive.
+     */
+    private static final String ExNotPositiveThreshold = "The failure threshold must be positive: %d";
+
+    /**
+     * Exception message when the open time is negative.
+     */
+    private static final String ExNegativeOpenTime = "The open time must not be negative: %d";
+
+    /**
+     * Strategies that order the endpoints tried by each request.
+     */
+    public enum Strategy
+    {
+        /**
+         * Each request starts from the endpoint following
+         * the one where the previous request started.
+         */
+        ROUND_ROBIN,
+
+        /**
+         * Each request starts from the endpoint with the fewest connections in use.
+         */
+        LEAST_OUTSTANDING,
+
+        /**
+         * Each request starts from the endpoint with the lowest moving average
+         * of the time taken to open a connection, weighted by the connections
+         * in use, so that a fast endpoint is preferred until it gets busy.
+         */
+        LATENCY_AWARE
+    }
+
+    /**
+     * Create a new {@link LoadBalancedConnectionProvider}.
+     *
+     * @param strategy strategy that orders the endpoints.
+     * @param providers providers of the connections to the endpoints.
+     * @throws NullPointerException if {@code strategy} is {@code null}.
+     * @throws IllegalArgumentException if no provider is given or a provider is {@code null}.
+     */
+    public LoadBalancedConnectionProvider(final Strategy strategy, final DbConnectionProvider... providers) {
+        // Validates the parameters
+        this.mStrategy = Objects.requireNonNull(strategy, LoadBalancedConnectionProvider.StrategyParam);
+        Validate.notEmpty(providers, LoadBalancedConnectionProvider.ExNoEndpoints);
+        Validate.noNullElements(providers, LoadBalancedConnectionProvider.ExNullEndpoint);
+        // Create an endpoint for each provider
+        final List<Endpoint> endpoints = new ArrayList<>(providers.length);
+        for (final DbConnectionProvider provider : providers) {
+            endpoints.add(new Endpoint(provider));
+        }
+        this.mEndpoints = Collections.unmodifiableList(endpoints);
+        // Initialize the circuit breakers
+        this.mFailureThreshold = LoadBalancedConnectionProvider.DefaultFailureThreshold;
+        this.mOpenNanos = TimeUnit.MILLISECONDS.toNanos(LoadBalancedConnectionProvider.DefaultOpenMillis);
+    }
+
+    /**
+     * Opens a connection to the first endpoint available, in the order of the strategy.
+     *
+     * @return a connection to one of the endpoints.
+     * @throws SQLException if no endpoint could be connected; the errors
+     *         of the other endpoints are added as suppressed exceptions.
+     */
+    @Override
+    public Connection getDbConnection() throws SQLException {
+        // Orders the endpoints
+        final List<Endpoint> ordered = this.order();
+        final long now = System.nanoTime();
+        final List<Endpoint> skipped = new ArrayList<>(ordered.size());
+        SQLException error = null;
+        // Tries the endpoints whose circuit is closed, or whose trial is due
+        for (final Endpoint endpoint : ordered) {
+            if (endpoint.tryEnter(now, this.mFailureThreshold, this.mOpenNanos)) {
+                try {
+                    return this.connect(endpoint);
+                } catch (final SQLException ex) {
+                    error = LoadBalancedConnectionProvider.chain(error, ex);
+                }
+            } else {
+                skipped.add(endpoint);
+            }
+        }
+        // Tries the endpoints skipped if none has been connected
+        for (final Endpoint endpoint : skipped) {
+            try {
+                return this.connect(endpoint);
+            } catch (final SQLException ex) {
+                error = LoadBalancedConnectionProvider.chain(error, ex);
+            }
+        }
+        throw error;
+    }
+
+    /**
+     * Internal procedure that opens a connection to an endpoint,
+     * recording the outcome.
+     *
+     * @param endpoint endpoint to be connected.
+     * @return a connection to the endpoint.
+     * @throws SQLException if a database access error occurs, or wrapping
+     *         the unchecked exception raised by the driver, if any.
+     */
+    private Connection connect(final Endpoint endpoint) throws SQLException {
+        final long start = System.nanoTime();
+        final Connection dbConn;
+        try {
+            // Opens the connection
+            dbConn = endpoint.mProvider.getDbConnection();
+        } catch (final SQLException ex) {
+            // Counts the failure, opening the circuit if necessary
+            endpoint.failed(System.nanoTime(), this.mFailureThreshold, this.mOpenNanos);
+            throw ex;
+        } catch (final RuntimeException ex) {
+            // Counts the failure and wraps it, so that the failover goes on
+            endpoint.failed(System.nanoTime(), this.mFailureThreshold, this.mOpenNanos);
+            throw new SQLException(ex);
+        }
+        // Records the latency and counts the connection in use
+        endpoint.succeeded(System.nanoTime() - start);
+        return new BalancedConnection(dbConn, endpoint);
+    }
+
+    /**
+     * Internal procedure that orders the endpoints according to the strategy.
+     *
+     * @return endpoints in the order in which they are tried.
+     */
+    private List<Endpoint> order() {
+        // Rotates the endpoints, so that the ties are spread evenly
+        final List<Endpoint> ordered = new ArrayList<>(this.mEndpoints);
+        Collections.rotate(ordered, -Math.floorMod(this.mRotation.getAndIncrement(), ordered.size()));
+        // Check if the endpoints must be sorted
+        if (this.mStrategy == Strategy.ROUND_ROBIN) {
+            return ordered;
+        }
+        // Takes the keys once, since the statistics change while sorting
+        final Map<Endpoint, Double> keys = new IdentityHashMap<>(ordered.size());
+        for (final Endpoint endpoint : ordered) {
+            keys.put(endpoint, this.mStrategy == Strategy.LEAST_OUTSTANDING ?
+                    endpoint.mOutstanding.get() : endpoint.getCost());
+        }
+        // Sorts the endpoints, keeping the rotation among the ties
+        ordered.sort(Comparator.comparing(keys::get));
+        return ordered;
+    }
+
+    /**
+     * Internal procedure that chains the errors of the endpoints.
+     *
+     * @param error first error occurred, {@code null} if none.
+     * @param ex new error.
+     * @return the first error, with the new one suppressed.
+     */
+    private static SQLException chain(final SQLException error, final SQLException ex) {
+        // Stores the first error and suppresses the others
+        if (error == null) {
+            return ex;
+        }
+        error.addSuppressed(ex);
+        return error;
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>The statement is configured by the provider of the first endpoint,
+     * the endpoints being expected to be of the same kind.</p>
+     */
+    @Override
+    public void prepareStreaming(final Statement stmt) throws SQLException {
+        // Invokes the method of the first provider
+        this.mEndpoints.get(0).mProvider.prepareStreaming(stmt);
+    }
+
+    /**
+     * Set the number of consecutive failures that opens the circuit of an endpoint.
+     *
+     * @param threshold number of consecutive failures.
+     * @throws IllegalArgumentException if {@code threshold} is not positive.
+     * @see #getFailureThreshold()
+     */
+    public void setFailureThreshold(final int threshold) {
+        // Validates and stores the threshold
+        Validate.isTrue(threshold > 0, LoadBalancedConnectionProvider.ExNotPositiveThreshold, threshold);
+        this.mFailureThreshold = threshold;
+    }
+
+    /**
+     * Get the number of consecutive failures that opens the circuit of an endpoint.
+     *
+     * @return number of consecutive failures.
+     * @see #setFailureThreshold(int)
+     */
+    public int getFailureThreshold() {
+        // Returns the threshold
+        return this.mFailureThreshold;
+    }
+
+    /**
+     * Set how long an open circuit skips its endpoint before trying it again.
+     *
+     * @param millis milliseconds the endpoint is skipped.
+     * @throws IllegalArgumentException if {@code millis} is negative.
+     * @see #getOpenMillis()
+     */
+    public void setOpenMillis(final long millis) {
+        // Validates and stores the time
+        Validate.isTrue(millis >= 0, LoadBalancedConnectionProvider.ExNegativeOpenTime, millis);
+        this.mOpenNanos = TimeUnit.MILLISECONDS.toNanos(millis);
+    }
+
+    /**
+     * Get how long an open circuit skips its endpoint before trying it again.
+     *
+     * @return milliseconds the endpoint is skipped.
+     * @see #setOpenMillis(long)
+     */
+    public long getOpenMillis() {
+        // Converts the time
+        return TimeUnit.NANOSECONDS.toMillis(this.mOpenNanos);
+    }
+
+    /**
+     * Get the strategy that orders the endpoints.
+     *
+     * @return strategy of the balance.
+     */
+    public Strategy getStrategy() {
+        // Returns the strategy
+        return this.mStrategy;
+    }
+
+    /**
+     * Get the endpoints of the balance, in the order in which they were given.
+     *
+     * @return endpoints of the balance.
+     */
+    public List<Endpoint> getEndpoints() {
+        // Returns the endpoints
+        return this.mEndpoints;
+    }
+
+    /**
+     * Endpoint of the balance, along with its statistics and its circuit.
+     */
+    public static final class Endpoint
+    {
+        /**
+         * Provider of the connections to the endpoint.
+         */
+        private final DbConnectionProvider mProvider;
+
+        /**
+         * Number of connections in use.
+         */
+        private final AtomicInteger mOutstanding = new AtomicInteger();
+
+        /**
+         * Number of consecutive failures.
+         */
+        private final AtomicInteger mFailures = new AtomicInteger();
+
+        /**
+         * Number of connections opened.
+         */
+        private final AtomicLong mConnectCount = new AtomicLong();
+
+        /**
+         * Instant, as returned by {@link System#nanoTime()}, from which the
+         * open circuit lets a request try the endpoint again.
+         */
+        private final AtomicLong mRetryAt = new AtomicLong();
+
+        /**
+         * Moving average of the time taken to open a connection, in nanoseconds.
+         */
+        private volatile double mLatency;
+
+        /**
+         * Create a new {@link Endpoint}.
+         *
+         * @param provider provider of the connections to the endpoint.
+         */
+        private Endpoint(final DbConnectionProvider provider) {
+            // Stores the provider
+            this.mProvider = provider;
+        }
+
+        /**
+         * Internal procedure that checks whether the endpoint can be tried,
+         * letting a single request through once an open circuit is due.
+         *
+         * @param now current instant.
+         * @param threshold number of consecutive failures that opens the circuit.
+         * @param openNanos nanoseconds the open circuit skips the endpoint.
+         * @return {@code true} if the endpoint can be tried.
+         */
+        private boolean tryEnter(final long now, final int threshold, final long openNanos) {
+            // Check if the circuit is closed
+            if (this.mFailures.get() < threshold) {
+                return true;
+            }
+            // Lets only one request try the endpoint, postponing the others
+            final long retryAt = this.mRetryAt.get();
+            return now - retryAt >= 0 && this.mRetryAt.compareAndSet(retryAt, now + openNanos);
+        }
+
+        /**
+         * Internal procedure that records a connection opened.
+         *
+         * @param nanos time taken to open the connection.
+         */
+        private void succeeded(final long nanos) {
+            // Closes the circuit and counts the connection
+            this.mFailures.set(0);
+            this.mConnectCount.incrementAndGet();
+            this.mOutstanding.incrementAndGet();
+            // Updates the moving average, starting from the first sample
+            final double latency = this.mLatency;
+            this.mLatency = latency == 0 ? nanos : latency + LoadBalancedConnectionProvider.
+                    LatencyWeight * (nanos - latency);
+        }
+
+        /**
+         * Internal procedure that records a failure to open a connection.
+         *
+         * @param now current instant.
+         * @param threshold number of consecutive failures that opens the circuit.
+         * @param openNanos nanoseconds the open circuit skips the endpoint.
+         */
+        private void failed(final long now, final int threshold, final long openNanos) {
+            // Opens the circuit once the threshold is reached
+            if (this.mFailures.incrementAndGet() >= threshold) {
+                this.mRetryAt.set(now + openNanos);
+            }
+        }
+
+        /**
+         * Internal procedure that computes the cost of the endpoint
+         * for the {@link Strategy#LATENCY_AWARE} strategy.
+         *
+         * @return the average latency weighted by the connections in use.
+         */
+        private double getCost() {
+            // Weights the latency by the load
+            return this.mLatency * (this.mOutstanding.get() + 1);
+        }
+
+        /**
+         * Gets the provider of the connections to the endpoint.
+         *
+         * @return provider of the endpoint.
+         */
+        public DbConnectionProvider getProvider() {
+            // Returns the provider
+            return this.mProvider;
+        }
+
+        /**
+         * Gets the number of connections to the endpoint in use.
+         *
+         * @return number of connections not closed yet.
+         */
+        public int getOutstanding() {
+            // Returns the counter
+            return this.mOutstanding.get();
+        }
+
+        /**
+         * Gets the number of connections opened to the endpoint.
+         *
+         * @return number of connections opened.
+         */
+        public long getConnectCount() {
+            // Returns the counter
+            return this.mConnectCount.get();
+        }
+
+        /**
+         * Gets the number of consecutive failures to connect to the endpoint.
+         *
+         * @return number of failures since the last connection opened.
+         */
+        public int getFailures() {
+            // Returns the counter
+            return this.mFailures.get();
+        }
+
+        /**
+         * Gets the moving average of the time taken to open a connection.
+         *
+         * @return average latency in milliseconds, 0 if no connection has been opened.
+         */
+        public double getLatencyMillis() {
+            // Converts the latency
+            return this.mLatency / TimeUnit.MILLISECONDS.toNanos(1);
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public String toString() {
+            // Summarizes the state of the endpoint
+            return String.format("%s: %d outstanding, %d opened, %d failures, %.3f ms",
+                    this.mProvider, this.getOutstanding(), this.getConnectCount(),
+                    this.getFailures(), this.getLatencyMillis());
+        }
+    }
+
+    /**
+     * Connection to an endpoint, that is no longer counted as in use when closed.
+     */
+    private static final class BalancedConnection extends ConnectionWrapper
+    {
+        /**
+         * Endpoint of the connection.
+         */
+        private final Endpoint mEndpoint;
+
+        /**
+         * Indicates whether the connection has been closed.
+         */
+        private final AtomicBoolean mClosed = new AtomicBoolean();
+
+        /**
+         * Create a new {@link BalancedConnection}.
+         *
+         * @param inner connection to the endpoint.
+         * @param endpoint endpoint of the connection.
+         */
+        private BalancedConnection(final Connection inner, final Endpoint endpoint) {
+            super(inner);
+            this.mEndpoint = endpoint;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public void close() throws SQLException {
+            try {
+                // Closes the connection
+                super.close();
+            } finally {
+                // Stops counting the connection, once
+                if (this.mClosed.compareAndSet(false, true)) {
+                    this.mEndpoint.mOutstanding.decrementAndGet();
+                }
+            }
+        }
+    }
+}
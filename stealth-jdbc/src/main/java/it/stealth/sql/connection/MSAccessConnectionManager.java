@@ -9,7 +9,9 @@ import it.stealth.sql.util.SQLUtils;
 import java.sql.Connection;
 import java.sql.DriverManager;
 import java.sql.SQLException;
+import java.util.Map;
 import java.util.Properties;
+import java.util.concurrent.ConcurrentSkipListMap;
 
 /**
  *
@@ -28,6 +30,11 @@ public class MSAccessConnectionManager implements DbConnectionProvider
      */
     private final Properties mDbProps;
     
+    /**
+     * Keeps the options of the driver, which are passed within the URL.
+     */
+    private final Map<String, String> mDbOptions;
+    
     /**
      * Indicates whether the JDBC driver for
      * this database has already been loaded.
@@ -37,12 +44,37 @@ public class MSAccessConnectionManager implements DbConnectionProvider
     /**
      * Classpath related to the JDBC driver used to access the database.
      */
-    private final static String JdbcDriverClasspath = "sun.jdbc.odbc.JdbcOdbcDriver";
+    private final static String JdbcDriverClasspath = "net.ucanaccess.jdbc.UcanaccessDriver";
     
     /**
      * Defines the URL format for the database connection.
      */
-    private static final String DbUrlFormat = "jdbc:odbc:Driver={Microsoft Access Driver (*.mdb, *.accdb)};DBQ=";
+    private static final String DbUrlFormat = "jdbc:ucanaccess://";
+    
+    /**
+     * Name of the option that keeps the mirror of the database in memory.
+     */
+    private static final String MemoryParam = "memory";
+    
+    /**
+     * Name of the option that skips the indexes when mirroring the database.
+     */
+    private static final String SkipIndexesParam = "skipindexes";
+    
+    /**
+     * Name of the option that releases the database when the last connection is closed.
+     */
+    private static final String ImmediatelyReleaseResourcesParam = "immediatelyreleaseresources";
+    
+    /**
+     * Name of the option that opens the database file exclusively.
+     */
+    private static final String OpenExclusiveParam = "openexclusive";
+    
+    /**
+     * Name of the option that keeps the mirror of the database on disk between the openings.
+     */
+    private static final String KeepMirrorParam = "keepmirror";
 
     /**
      * Creates a new instance of the {@link MSAccessConnectionManager} class,
@@ -56,6 +88,7 @@ public class MSAccessConnectionManager implements DbConnectionProvider
         MSAccessConnectionManager.loadJdbcDriver();
         // #############################################
         this.mDbProps = new Properties();
+        this.mDbOptions = new ConcurrentSkipListMap<>();
     }
     
     /**
@@ -78,8 +111,13 @@ public class MSAccessConnectionManager implements DbConnectionProvider
      */
     @Override
     public final Connection getDbConnection() throws SQLException {
+        // Appends the options of the driver to the URL
+        final StringBuilder dbUrl = new StringBuilder(this.mDbUrl);
+        for (final Map.Entry<String, String> option : this.mDbOptions.entrySet()) {
+            dbUrl.append(';').append(option.getKey()).append('=').append(option.getValue());
+        }
         // Attempts to establish a connection to the database
-        return DriverManager.getConnection(this.mDbUrl, this.mDbProps);
+        return DriverManager.getConnection(dbUrl.toString(), this.mDbProps);
     }
     
     /**
@@ -113,4 +151,159 @@ public class MSAccessConnectionManager implements DbConnectionProvider
         // ###########################
         return this.mDbPath;
     }
+    
+    /**
+     * Set whether the mirror of the database is kept in memory.
+     * <p>The driver mirrors the Access file into an embedded database;
+     * disabling this option keeps the mirror in temporary files, so that
+     * large files can be read without holding them entirely in the heap.</p>
+     * 
+     * @param value {@code false} to keep the mirror on disk.
+     * @see #isMemory()
+     * @since 1.4
+     */
+    public final void setMemory(final boolean value) {
+        // Stores the value provided within the options, the driver default being true
+        this.setOption(MSAccessConnectionManager.MemoryParam, value ? null : Boolean.FALSE.toString());
+    }
+    
+    /**
+     * Indicates whether the mirror of the database is kept in memory.
+     * 
+     * @return {@code true} if the mirror is kept in memory.
+     * @see #setMemory(boolean)
+     * @since 1.4
+     */
+    public final boolean isMemory() {
+        // Retrieves the value required by the options
+        return !this.mDbOptions.containsKey(MSAccessConnectionManager.MemoryParam);
+    }
+    
+    /**
+     * Set whether the indexes are skipped when mirroring the database,
+     * which speeds up the opening and reduces the memory used, at the
+     * cost of slower lookups on the indexed columns.
+     * 
+     * @param value {@code true} to skip the indexes.
+     * @see #isSkipIndexes()
+     * @since 1.4
+     */
+    public final void setSkipIndexes(final boolean value) {
+        // Stores the value provided within the options
+        this.setFlag(MSAccessConnectionManager.SkipIndexesParam, value);
+    }
+    
+    /**
+     * Indicates whether the indexes are skipped when mirroring the database.
+     * 
+     * @return {@code true} if the indexes are skipped.
+     * @see #setSkipIndexes(boolean)
+     * @since 1.4
+     */
+    public final boolean isSkipIndexes() {
+        // Retrieves the value required by the options
+        return this.mDbOptions.containsKey(MSAccessConnectionManager.SkipIndexesParam);
+    }
+    
+    /**
+     * Set whether the mirror and the file are released as soon as
+     * the last connection to the database is closed.
+     * 
+     * @param value {@code true} to release the resources immediately.
+     * @see #isImmediatelyReleaseResources()
+     * @since 1.4
+     */
+    public final void setImmediatelyReleaseResources(final boolean value) {
+        // Stores the value provided within the options
+        this.setFlag(MSAccessConnectionManager.ImmediatelyReleaseResourcesParam, value);
+    }
+    
+    /**
+     * Indicates whether the resources are released as soon
+     * as the last connection to the database is closed.
+     * 
+     * @return {@code true} if the resources are released immediately.
+     * @see #setImmediatelyReleaseResources(boolean)
+     * @since 1.4
+     */
+    public final boolean isImmediatelyReleaseResources() {
+        // Retrieves the value required by the options
+        return this.mDbOptions.containsKey(MSAccessConnectionManager.ImmediatelyReleaseResourcesParam);
+    }
+    
+    /**
+     * Set whether the database file is opened exclusively,
+     * preventing the other processes from opening it.
+     * 
+     * @param value {@code true} to open the file exclusively.
+     * @see #isOpenExclusive()
+     * @since 1.4
+     */
+    public final void setOpenExclusive(final boolean value) {
+        // Stores the value provided within the options
+        this.setFlag(MSAccessConnectionManager.OpenExclusiveParam, value);
+    }
+    
+    /**
+     * Indicates whether the database file is opened exclusively.
+     * 
+     * @return {@code true} if the file is opened exclusively.
+     * @see #setOpenExclusive(boolean)
+     * @since 1.4
+     */
+    public final boolean isOpenExclusive() {
+        // Retrieves the value required by the options
+        return this.mDbOptions.containsKey(MSAccessConnectionManager.OpenExclusiveParam);
+    }
+    
+    /**
+     * Set the path where the mirror of the database is kept between the
+     * openings, so that an unchanged Access file is not mirrored again.
+     * 
+     * @param mirrorPath path of the mirror, {@code null} to mirror the file at each opening.
+     * @see #getKeepMirror()
+     * @since 1.4
+     */
+    public final void setKeepMirror(final String mirrorPath) {
+        // Stores the value provided within the options
+        this.setOption(MSAccessConnectionManager.KeepMirrorParam, mirrorPath);
+    }
+    
+    /**
+     * Get the path where the mirror of the database is kept between the openings.
+     * 
+     * @return path of the mirror, {@code null} if the file is mirrored at each opening.
+     * @see #setKeepMirror(String)
+     * @since 1.4
+     */
+    public final String getKeepMirror() {
+        // Retrieves the value required by the options
+        return this.mDbOptions.get(MSAccessConnectionManager.KeepMirrorParam);
+    }
+    
+    /**
+     * Internal procedure that sets a boolean option, the driver default being false.
+     * 
+     * @param name name of the option.
+     * @param value value of the option.
+     */
+    private void setFlag(final String name, final boolean value) {
+        // Stores the option only if enabled
+        this.setOption(name, value ? Boolean.TRUE.toString() : null);
+    }
+    
+    /**
+     * Internal procedure that sets an option of the driver.
+     * 
+     * @param name name of the option.
+     * @param value value of the option, {@code null} to use the driver default.
+     */
+    private void setOption(final String name, final String value) {
+        // Check if the driver default must be used
+        if (value == null) {
+            this.mDbOptions.remove(name);
+        } else {
+            this.mDbOptions.put(name, value);
+        }
+    }
 }
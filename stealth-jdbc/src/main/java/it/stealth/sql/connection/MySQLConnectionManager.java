@@ -10,7 +10,9 @@ import it.stealth.sql.util.SQLUtils;
 import java.sql.Connection;
 import java.sql.DriverManager;
 import java.sql.SQLException;
+import java.sql.Statement;
 import java.util.Properties;
+import org.apache.commons.lang3.Validate;
 
 /**
  * Implementation of the {@code DbConnectionManager}
@@ -105,6 +107,89 @@ public class MySQLConnectionManager implements DbConnectionProvider
      */
     private static final String AllowMultiQueriesParam = "allowMultiQueries";
     
+    /**
+     * Defines the parameter in the database connection string that specifies
+     * whether the batches of inserts are rewritten as multi-row inserts.
+     */
+    private static final String RewriteBatchedStatementsParam = "rewriteBatchedStatements";
+    
+    /**
+     * Defines the parameter in the database connection string that specifies
+     * whether the statements are prepared on the server.
+     */
+    private static final String UseServerPrepStmtsParam = "useServerPrepStmts";
+    
+    /**
+     * Defines the parameter in the database connection string that specifies
+     * whether the prepared statements are cached by the driver.
+     */
+    private static final String CachePrepStmtsParam = "cachePrepStmts";
+    
+    /**
+     * Defines the parameter in the database connection string that specifies
+     * the number of prepared statements cached for each connection.
+     */
+    private static final String PrepStmtCacheSizeParam = "prepStmtCacheSize";
+    
+    /**
+     * Defines the parameter in the database connection string that specifies
+     * the maximum length of the SQL of a cached prepared statement.
+     */
+    private static final String PrepStmtCacheSqlLimitParam = "prepStmtCacheSqlLimit";
+    
+    /**
+     * Defines the parameter in the database connection string that
+     * specifies whether the communication with the server is compressed.
+     */
+    private static final String UseCompressionParam = "useCompression";
+    
+    /**
+     * Defines the parameter in the database connection string
+     * that specifies whether the TCP keep-alive is enabled.
+     */
+    private static final String TcpKeepAliveParam = "tcpKeepAlive";
+    
+    /**
+     * Defines the parameter in the database connection
+     * string that specifies the socket receive buffer size.
+     */
+    private static final String TcpRcvBufParam = "tcpRcvBuf";
+    
+    /**
+     * Defines the parameter in the database connection
+     * string that specifies the socket send buffer size.
+     */
+    private static final String TcpSndBufParam = "tcpSndBuf";
+    
+    /**
+     * Defines the parameter in the database connection string that specifies
+     * whether the results are fetched through a server-side cursor.
+     */
+    private static final String UseCursorFetchParam = "useCursorFetch";
+    
+    /**
+     * Defines the parameter in the database connection string
+     * that specifies the default fetch size of the statements.
+     */
+    private static final String DefaultFetchSizeParam = "defaultFetchSize";
+    
+    /**
+     * Defines the parameter in the database connection string that specifies
+     * whether the {@code LOAD DATA LOCAL INFILE} statements are allowed.
+     */
+    private static final String AllowLoadLocalInfileParam = "allowLoadLocalInfile";
+    
+    /**
+     * Fetch size of the streamed results read through a server-side
+     * cursor, when neither the reader nor the default specify one.
+     */
+    private static final int CursorFetchSize = 1000;
+    
+    /**
+     * Exception message raised when a size is negative.
+     */
+    private static final String ExNegativeSize = "The %s must not be negative: %d";
+    
     /**
      * Classpath related to the JDBC driver used to access the database.
      */
@@ -236,6 +321,32 @@ public class MySQLConnectionManager implements DbConnectionProvider
         }
     }
     
+    /**
+     * {@inheritDoc}
+     * <p>Unless {@linkplain #setUseCursorFetch(boolean) cursor fetch} is enabled,
+     * the driver reads the whole results when the query is executed, except
+     * when the fetch size is {@link Integer#MIN_VALUE}: then the rows are read
+     * one by one from the socket, and the connection cannot execute other
+     * statements until the results are closed. With cursor fetch enabled,
+     * the rows are read a block at a time through a server-side cursor.</p>
+     * 
+     * @since 1.4
+     */
+    @Override
+    public void prepareStreaming(final Statement stmt) throws SQLException {
+        // Check if the results are fetched through a server-side cursor
+        if (this.isUseCursorFetch()) {
+            // A cursor requires a positive fetch size
+            if (stmt.getFetchSize() <= 0) {
+                final int fetchSize = this.getDefaultFetchSize();
+                stmt.setFetchSize(fetchSize > 0 ? fetchSize : MySQLConnectionManager.CursorFetchSize);
+            }
+        } else {
+            // Reads the rows one by one from the socket
+            stmt.setFetchSize(Integer.MIN_VALUE);
+        }
+    }
+    
     /**
      * Set the value that allows to submit
      * multiple queries in a single statement.
@@ -379,4 +490,497 @@ public class MySQLConnectionManager implements DbConnectionProvider
         // Returns the stored value
         return this.mDbSchema;
     }
+    
+    /**
+     * Applies a performance profile, setting all the properties that it covers.
+     * <p>The properties covered by the profiles are those of the setters that
+     * follow this method; they can still be adjusted one by one afterwards.
+     * The properties that a profile leaves to the driver default are removed,
+     * so that applying a profile always leads to the same configuration,
+     * regardless of the properties set before.</p>
+     * 
+     * @param profile performance profile to be applied.
+     * @throws NullPointerException if {@code profile} is {@code null}.
+     * @since 1.4
+     */
+    public final void applyProfile(final Profile profile) {
+        // Sets all the properties covered by the profile
+        this.setRewriteBatchedStatements(profile.mRewriteBatchedStatements);
+        this.setUseServerPrepStmts(profile.mUseServerPrepStmts);
+        this.setCachePrepStmts(profile.mCachePrepStmts);
+        this.setPrepStmtCacheSize(profile.mPrepStmtCacheSize);
+        this.setPrepStmtCacheSqlLimit(profile.mPrepStmtCacheSqlLimit);
+        this.setUseCompression(profile.mUseCompression);
+        this.setTcpKeepAlive(profile.mTcpKeepAlive);
+        this.setTcpRcvBuf(profile.mTcpBuf);
+        this.setTcpSndBuf(profile.mTcpBuf);
+        this.setUseCursorFetch(profile.mUseCursorFetch);
+        this.setDefaultFetchSize(profile.mDefaultFetchSize);
+    }
+    
+    /**
+     * Set whether the batches of inserts are rewritten as multi-row inserts,
+     * so that a whole batch is sent to the server in a single round trip.
+     * 
+     * @param value {@code true} to rewrite the batches of inserts.
+     * @see #isRewriteBatchedStatements()
+     * @since 1.4
+     */
+    public final void setRewriteBatchedStatements(final boolean value) {
+        // Stores the value provided within the ancillary properties
+        this.setFlag(MySQLConnectionManager.RewriteBatchedStatementsParam, value);
+    }
+    
+    /**
+     * Indicates whether the batches of inserts are rewritten as multi-row inserts.
+     * 
+     * @return {@code true} if the batches of inserts are rewritten.
+     * @see #setRewriteBatchedStatements(boolean)
+     * @since 1.4
+     */
+    public final boolean isRewriteBatchedStatements() {
+        // Retrieves the value required by ancillary properties
+        return this.isFlag(MySQLConnectionManager.RewriteBatchedStatementsParam);
+    }
+    
+    /**
+     * Set whether the statements are prepared on the server, rather than
+     * emulated by the driver by replacing the parameters in the SQL.
+     * 
+     * @param value {@code true} to prepare the statements on the server.
+     * @see #isUseServerPrepStmts()
+     * @since 1.4
+     */
+    public final void setUseServerPrepStmts(final boolean value) {
+        // Stores the value provided within the ancillary properties
+        this.setFlag(MySQLConnectionManager.UseServerPrepStmtsParam, value);
+    }
+    
+    /**
+     * Indicates whether the statements are prepared on the server.
+     * 
+     * @return {@code true} if the statements are prepared on the server.
+     * @see #setUseServerPrepStmts(boolean)
+     * @since 1.4
+     */
+    public final boolean isUseServerPrepStmts() {
+        // Retrieves the value required by ancillary properties
+        return this.isFlag(MySQLConnectionManager.UseServerPrepStmtsParam);
+    }
+    
+    /**
+     * Set whether the prepared statements are cached by the driver,
+     * so that preparing the same SQL again reuses the same statement.
+     * 
+     * @param value {@code true} to cache the prepared statements.
+     * @see #isCachePrepStmts()
+     * @see #setPrepStmtCacheSize(int)
+     * @see #setPrepStmtCacheSqlLimit(int)
+     * @since 1.4
+     */
+    public final void setCachePrepStmts(final boolean value) {
+        // Stores the value provided within the ancillary properties
+        this.setFlag(MySQLConnectionManager.CachePrepStmtsParam, value);
+    }
+    
+    /**
+     * Indicates whether the prepared statements are cached by the driver.
+     * 
+     * @return {@code true} if the prepared statements are cached.
+     * @see #setCachePrepStmts(boolean)
+     * @since 1.4
+     */
+    public final boolean isCachePrepStmts() {
+        // Retrieves the value required by ancillary properties
+        return this.isFlag(MySQLConnectionManager.CachePrepStmtsParam);
+    }
+    
+    /**
+     * Set the number of prepared statements cached for each connection.
+     * 
+     * @param size number of statements cached, 0 to use the driver default.
+     * @throws IllegalArgumentException if {@code size} is negative.
+     * @see #getPrepStmtCacheSize()
+     * @since 1.4
+     */
+    public final void setPrepStmtCacheSize(final int size) {
+        // Stores the value provided within the ancillary properties
+        this.setSize(MySQLConnectionManager.PrepStmtCacheSizeParam, size);
+    }
+    
+    /**
+     * Get the number of prepared statements cached for each connection.
+     * 
+     * @return number of statements cached, 0 if the driver default is used.
+     * @see #setPrepStmtCacheSize(int)
+     * @since 1.4
+     */
+    public final int getPrepStmtCacheSize() {
+        // Retrieves the value required by ancillary properties
+        return this.getSize(MySQLConnectionManager.PrepStmtCacheSizeParam);
+    }
+    
+    /**
+     * Set the maximum length of the SQL of a prepared statement that can be cached.
+     * 
+     * @param length maximum length of the SQL, 0 to use the driver default.
+     * @throws IllegalArgumentException if {@code length} is negative.
+     * @see #getPrepStmtCacheSqlLimit()
+     * @since 1.4
+     */
+    public final void setPrepStmtCacheSqlLimit(final int length) {
+        // Stores the value provided within the ancillary properties
+        this.setSize(MySQLConnectionManager.PrepStmtCacheSqlLimitParam, length);
+    }
+    
+    /**
+     * Get the maximum length of the SQL of a prepared statement that can be cached.
+     * 
+     * @return maximum length of the SQL, 0 if the driver default is used.
+     * @see #setPrepStmtCacheSqlLimit(int)
+     * @since 1.4
+     */
+    public final int getPrepStmtCacheSqlLimit() {
+        // Retrieves the value required by ancillary properties
+        return this.getSize(MySQLConnectionManager.PrepStmtCacheSqlLimitParam);
+    }
+    
+    /**
+     * Set whether the communication with the server is compressed, trading
+     * processor time for bandwidth on large results over slow networks.
+     * 
+     * @param value {@code true} to compress the communication.
+     * @see #isUseCompression()
+     * @since 1.4
+     */
+    public final void setUseCompression(final boolean value) {
+        // Stores the value provided within the ancillary properties
+        this.setFlag(MySQLConnectionManager.UseCompressionParam, value);
+    }
+    
+    /**
+     * Indicates whether the communication with the server is compressed.
+     * 
+     * @return {@code true} if the communication is compressed.
+     * @see #setUseCompression(boolean)
+     * @since 1.4
+     */
+    public final boolean isUseCompression() {
+        // Retrieves the value required by ancillary properties
+        return this.isFlag(MySQLConnectionManager.UseCompressionParam);
+    }
+    
+    /**
+     * Set whether the TCP keep-alive is enabled on the connections.
+     * 
+     * @param value {@code true} to enable the TCP keep-alive.
+     * @see #isTcpKeepAlive()
+     * @since 1.4
+     */
+    public final void setTcpKeepAlive(final boolean value) {
+        // Stores the value provided within the ancillary properties
+        this.setFlag(MySQLConnectionManager.TcpKeepAliveParam, value);
+    }
+    
+    /**
+     * Indicates whether the TCP keep-alive is enabled on the connections.
+     * 
+     * @return {@code true} if the TCP keep-alive is enabled.
+     * @see #setTcpKeepAlive(boolean)
+     * @since 1.4
+     */
+    public final boolean isTcpKeepAlive() {
+        // Retrieves the value required by ancillary properties
+        return this.isFlag(MySQLConnectionManager.TcpKeepAliveParam);
+    }
+    
+    /**
+     * Set the size of the socket receive buffer.
+     * 
+     * @param size size of the buffer in bytes, 0 to use the system default.
+     * @throws IllegalArgumentException if {@code size} is negative.
+     * @see #getTcpRcvBuf()
+     * @since 1.4
+     */
+    public final void setTcpRcvBuf(final int size) {
+        // Stores the value provided within the ancillary properties
+        this.setSize(MySQLConnectionManager.TcpRcvBufParam, size);
+    }
+    
+    /**
+     * Get the size of the socket receive buffer.
+     * 
+     * @return size of the buffer in bytes, 0 if the system default is used.
+     * @see #setTcpRcvBuf(int)
+     * @since 1.4
+     */
+    public final int getTcpRcvBuf() {
+        // Retrieves the value required by ancillary properties
+        return this.getSize(MySQLConnectionManager.TcpRcvBufParam);
+    }
+    
+    /**
+     * Set the size of the socket send buffer.
+     * 
+     * @param size size of the buffer in bytes, 0 to use the system default.
+     * @throws IllegalArgumentException if {@code size} is negative.
+     * @see #getTcpSndBuf()
+     * @since 1.4
+     */
+    public final void setTcpSndBuf(final int size) {
+        // Stores the value provided within the ancillary properties
+        this.setSize(MySQLConnectionManager.TcpSndBufParam, size);
+    }
+    
+    /**
+     * Get the size of the socket send buffer.
+     * 
+     * @return size of the buffer in bytes, 0 if the system default is used.
+     * @see #setTcpSndBuf(int)
+     * @since 1.4
+     */
+    public final int getTcpSndBuf() {
+        // Retrieves the value required by ancillary properties
+        return this.getSize(MySQLConnectionManager.TcpSndBufParam);
+    }
+    
+    /**
+     * Set whether the results are fetched through a server-side cursor, a
+     * block of rows at a time, rather than being read entirely by the driver.
+     * <p>The size of the blocks is given by the fetch size of the statement,
+     * or by {@link #setDefaultFetchSize(int)}; the cursor is only used
+     * by the statements prepared on the server.</p>
+     * 
+     * @param value {@code true} to fetch the results through a cursor.
+     * @see #isUseCursorFetch()
+     * @since 1.4
+     */
+    public final void setUseCursorFetch(final boolean value) {
+        // Stores the value provided within the ancillary properties
+        this.setFlag(MySQLConnectionManager.UseCursorFetchParam, value);
+    }
+    
+    /**
+     * Indicates whether the results are fetched through a server-side cursor.
+     * 
+     * @return {@code true} if the results are fetched through a cursor.
+     * @see #setUseCursorFetch(boolean)
+     * @since 1.4
+     */
+    public final boolean isUseCursorFetch() {
+        // Retrieves the value required by ancillary properties
+        return this.isFlag(MySQLConnectionManager.UseCursorFetchParam);
+    }
+    
+    /**
+     * Set the fetch size given to the statements by default.
+     * 
+     * @param size number of rows fetched at a time, 0 to use the driver default.
+     * @throws IllegalArgumentException if {@code size} is negative.
+     * @see #getDefaultFetchSize()
+     * @since 1.4
+     */
+    public final void setDefaultFetchSize(final int size) {
+        // Stores the value provided within the ancillary properties
+        this.setSize(MySQLConnectionManager.DefaultFetchSizeParam, size);
+    }
+    
+    /**
+     * Get the fetch size given to the statements by default.
+     * 
+     * @return number of rows fetched at a time, 0 if the driver default is used.
+     * @see #setDefaultFetchSize(int)
+     * @since 1.4
+     */
+    public final int getDefaultFetchSize() {
+        // Retrieves the value required by ancillary properties
+        return this.getSize(MySQLConnectionManager.DefaultFetchSizeParam);
+    }
+    
+    /**
+     * Set whether the {@code LOAD DATA LOCAL INFILE} statements are allowed,
+     * as required by {@link MySQLBulkLoader}.
+     * 
+     * @param value {@code true} to allow loading local files.
+     * @see #isAllowLoadLocalInfile()
+     * @since 1.4
+     */
+    public final void setAllowLoadLocalInfile(final boolean value) {
+        // Stores the value provided within the ancillary properties
+        this.setFlag(MySQLConnectionManager.AllowLoadLocalInfileParam, value);
+    }
+    
+    /**
+     * Indicates whether the {@code LOAD DATA LOCAL INFILE} statements are allowed.
+     * 
+     * @return {@code true} if loading local files is allowed.
+     * @see #setAllowLoadLocalInfile(boolean)
+     * @since 1.4
+     */
+    public final boolean isAllowLoadLocalInfile() {
+        // Retrieves the value required by ancillary properties
+        return this.isFlag(MySQLConnectionManager.AllowLoadLocalInfileParam);
+    }
+    
+    /**
+     * Internal procedure that stores a boolean property.
+     * 
+     * @param name name of the property.
+     * @param value value of the property.
+     */
+    private void setFlag(final String name, final boolean value) {
+        // Stores the value provided within the ancillary properties
+        this.mDbProps.setProperty(name, Boolean.toString(value));
+    }
+    
+    /**
+     * Internal procedure that retrieves a boolean property.
+     * 
+     * @param name name of the property.
+     * @return value of the property, {@code false} if not set.
+     */
+    private boolean isFlag(final String name) {
+        // Retrieves the value required by ancillary properties
+        return Boolean.parseBoolean(this.mDbProps.getProperty(name));
+    }
+    
+    /**
+     * Internal procedure that stores a size property, removing it if zero.
+     * 
+     * @param name name of the property.
+     * @param value value of the property.
+     * @throws IllegalArgumentException if {@code value} is negative.
+     */
+    private void setSize(final String name, final int value) {
+        // Validates the value
+        Validate.isTrue(value >= 0, MySQLConnectionManager.ExNegativeSize, name, value);
+        // Check if the driver default must be used
+        if (value == 0) {
+            this.mDbProps.remove(name);
+        } else {
+            this.mDbProps.setProperty(name, Integer.toString(value));
+        }
+    }
+    
+    /**
+     * Internal procedure that retrieves a size property.
+     * 
+     * @param name name of the property.
+     * @return value of the property, 0 if not set.
+     */
+    private int getSize(final String name) {
+        // Retrieves the value required by ancillary properties
+        final String value = this.mDbProps.getProperty(name);
+        return value == null ? 0 : Integer.parseInt(value);
+    }
+    
+    /**
+     * Performance profiles that configure the driver for a certain kind of workload.
+     * 
+     * @see MySQLConnectionManager#applyProfile(Profile)
+     * @since 1.4
+     */
+    public static enum Profile
+    {
+        /**
+         * Many short transactions repeating the same statements: the statements
+         * are prepared on the server and cached, so that each execution only
+         * sends the parameters, and the results are read entirely at once.
+         */
+        OLTP(true, true, true, 250, 2048, false, true, 0, false, 0),
+        
+        /**
+         * Large batches of inserts: the batches are rewritten as multi-row
+         * inserts, which requires the statements to be prepared by the driver,
+         * and the socket buffers are enlarged to stream the batches.
+         */
+        BULK_LOAD(true, false, true, 50, 2048, false, true, 1 << 20, false, 0),
+        
+        /**
+         * Queries returning large results: the results are fetched through
+         * a server-side cursor, a block of rows at a time, so that they are
+         * not held entirely in memory, and the traffic is compressed.
+         */
+        ANALYTICS(false, true, true, 50, 8192, true, true, 1 << 20, true, 1000);
+        
+        /**
+         * Indicates whether the batches of inserts are rewritten.
+         */
+        private final boolean mRewriteBatchedStatements;
+        
+        /**
+         * Indicates whether the statements are prepared on the server.
+         */
+        private final boolean mUseServerPrepStmts;
+        
+        /**
+         * Indicates whether the prepared statements are cached.
+         */
+        private final boolean mCachePrepStmts;
+        
+        /**
+         * Number of prepared statements cached for each connection.
+         */
+        private final int mPrepStmtCacheSize;
+        
+        /**
+         * Maximum length of the SQL of a cached prepared statement.
+         */
+        private final int mPrepStmtCacheSqlLimit;
+        
+        /**
+         * Indicates whether the communication is compressed.
+         */
+        private final boolean mUseCompression;
+        
+        /**
+         * Indicates whether the TCP keep-alive is enabled.
+         */
+        private final boolean mTcpKeepAlive;
+        
+        /**
+         * Size of the socket buffers, 0 for the system default.
+         */
+        private final int mTcpBuf;
+        
+        /**
+         * Indicates whether the results are fetched through a cursor.
+         */
+        private final boolean mUseCursorFetch;
+        
+        /**
+         * Default fetch size of the statements, 0 for the driver default.
+         */
+        private final int mDefaultFetchSize;
+        
+        /**
+         * Create a new {@link Profile}.
+         * 
+         * @param rewrite whether the batches of inserts are rewritten.
+         * @param serverPrep whether the statements are prepared on the server.
+         * @param cachePrep whether the prepared statements are cached.
+         * @param cacheSize number of prepared statements cached.
+         * @param cacheSqlLimit maximum length of the SQL of a cached statement.
+         * @param compression whether the communication is compressed.
+         * @param keepAlive whether the TCP keep-alive is enabled.
+         * @param tcpBuf size of the socket buffers.
+         * @param cursorFetch whether the results are fetched through a cursor.
+         * @param fetchSize default fetch size of the statements.
+         */
+        private Profile(final boolean rewrite, final boolean serverPrep, final boolean cachePrep,
+                final int cacheSize, final int cacheSqlLimit, final boolean compression, final boolean
+                keepAlive, final int tcpBuf, final boolean cursorFetch, final int fetchSize) {
+            // Initialize the fields
+            this.mRewriteBatchedStatements = rewrite;
+            this.mUseServerPrepStmts = serverPrep;
+            this.mCachePrepStmts = cachePrep;
+            this.mPrepStmtCacheSize = cacheSize;
+            this.mPrepStmtCacheSqlLimit = cacheSqlLimit;
+            this.mUseCompression = compression;
+            this.mTcpKeepAlive = keepAlive;
+            this.mTcpBuf = tcpBuf;
+            this.mUseCursorFetch = cursorFetch;
+            this.mDefaultFetchSize = fetchSize;
+        }
+    }
 }
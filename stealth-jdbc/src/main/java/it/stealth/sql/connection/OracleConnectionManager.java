@@ -10,6 +10,7 @@ import java.sql.Connection;
 import java.sql.DriverManager;
 import java.sql.SQLException;
 import java.util.Properties;
+import org.apache.commons.lang3.Validate;
 
 /**
  * Implementation of the {@code DbConnectionManager}
@@ -62,6 +63,29 @@ public final class OracleConnectionManager implements DbConnectionProvider
      */
     private static final String DbUrlFormat = "jdbc:oracle:thin:@%s:%d:%s";
     
+    /**
+     * Defines the parameter in the database connection properties that
+     * specifies the number of rows fetched for each round trip.
+     */
+    private static final String DefaultRowPrefetchParam = "defaultRowPrefetch";
+    
+    /**
+     * Defines the parameter in the database connection properties that specifies
+     * the number of bytes of each LOB returned along with the rows.
+     */
+    private static final String DefaultLobPrefetchSizeParam = "oracle.jdbc.defaultLobPrefetchSize";
+    
+    /**
+     * Defines the parameter in the database connection properties that specifies
+     * the number of prepared statements cached implicitly by each connection.
+     */
+    private static final String ImplicitStatementCacheSizeParam = "oracle.jdbc.implicitStatementCacheSize";
+    
+    /**
+     * Exception message raised when a size is negative.
+     */
+    private static final String ExNegativeSize = "The %s must not be negative: %d";
+    
     /**
      * Classpath related to the JDBC driver used to access the database.
      */
@@ -270,4 +294,115 @@ public final class OracleConnectionManager implements DbConnectionProvider
         // Returns the stored value
         return this.mSID;
     }
+    
+    /**
+     * Set the number of rows fetched for each round trip by the statements
+     * that do not set their own fetch size.
+     * <p>The driver fetches 10 rows at a time by default, so the queries
+     * returning many rows pay a round trip every 10 rows: reports and
+     * exports benefit from a value in the hundreds.</p>
+     * 
+     * @param rows number of rows fetched at a time, 0 to use the driver default.
+     * @throws IllegalArgumentException if {@code rows} is negative.
+     * @see #getDefaultRowPrefetch()
+     * @since 1.4
+     */
+    public final void setDefaultRowPrefetch(final int rows) {
+        // Stores the value provided within the ancillary properties
+        this.setSize(OracleConnectionManager.DefaultRowPrefetchParam, rows);
+    }
+    
+    /**
+     * Get the number of rows fetched for each round trip by default.
+     * 
+     * @return number of rows fetched at a time, 0 if the driver default is used.
+     * @see #setDefaultRowPrefetch(int)
+     * @since 1.4
+     */
+    public final int getDefaultRowPrefetch() {
+        // Retrieves the value required by ancillary properties
+        return this.getSize(OracleConnectionManager.DefaultRowPrefetchParam);
+    }
+    
+    /**
+     * Set the number of bytes (or characters) of each LOB returned along with
+     * its row, so that the small LOBs are read without further round trips.
+     * 
+     * @param size size of the LOB prefetch, 0 to use the driver default.
+     * @throws IllegalArgumentException if {@code size} is negative.
+     * @see #getDefaultLobPrefetchSize()
+     * @since 1.4
+     */
+    public final void setDefaultLobPrefetchSize(final int size) {
+        // Stores the value provided within the ancillary properties
+        this.setSize(OracleConnectionManager.DefaultLobPrefetchSizeParam, size);
+    }
+    
+    /**
+     * Get the number of bytes (or characters) of each LOB returned along with its row.
+     * 
+     * @return size of the LOB prefetch, 0 if the driver default is used.
+     * @see #setDefaultLobPrefetchSize(int)
+     * @since 1.4
+     */
+    public final int getDefaultLobPrefetchSize() {
+        // Retrieves the value required by ancillary properties
+        return this.getSize(OracleConnectionManager.DefaultLobPrefetchSizeParam);
+    }
+    
+    /**
+     * Set the number of prepared statements cached implicitly by each
+     * connection, so that preparing the same SQL again skips the parse.
+     * 
+     * @param size number of statements cached, 0 to disable the cache.
+     * @throws IllegalArgumentException if {@code size} is negative.
+     * @see #getImplicitStatementCacheSize()
+     * @since 1.4
+     */
+    public final void setImplicitStatementCacheSize(final int size) {
+        // Stores the value provided within the ancillary properties
+        this.setSize(OracleConnectionManager.ImplicitStatementCacheSizeParam, size);
+    }
+    
+    /**
+     * Get the number of prepared statements cached implicitly by each connection.
+     * 
+     * @return number of statements cached, 0 if the cache is disabled.
+     * @see #setImplicitStatementCacheSize(int)
+     * @since 1.4
+     */
+    public final int getImplicitStatementCacheSize() {
+        // Retrieves the value required by ancillary properties
+        return this.getSize(OracleConnectionManager.ImplicitStatementCacheSizeParam);
+    }
+    
+    /**
+     * Internal procedure that stores a size property, removing it if zero.
+     * 
+     * @param name name of the property.
+     * @param value value of the property.
+     * @throws IllegalArgumentException if {@code value} is negative.
+     */
+    private void setSize(final String name, final int value) {
+        // Validates the value
+        Validate.isTrue(value >= 0, OracleConnectionManager.ExNegativeSize, name, value);
+        // Check if the driver default must be used
+        if (value == 0) {
+            this.mDbProps.remove(name);
+        } else {
+            this.mDbProps.setProperty(name, Integer.toString(value));
+        }
+    }
+    
+    /**
+     * Internal procedure that retrieves a size property.
+     * 
+     * @param name name of the property.
+     * @return value of the property, 0 if not set.
+     */
+    private int getSize(final String name) {
+        // Retrieves the value required by ancillary properties
+        final String value = this.mDbProps.getProperty(name);
+        return value == null ? 0 : Integer.parseInt(value);
+    }
 }
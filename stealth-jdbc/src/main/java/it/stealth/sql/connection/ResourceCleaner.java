@@ -0,0 +1,133 @@
+/*
+ * To change this license header, choose License Headers in Project Properties.
+ * To change this template file, choose Tools | Templates
+ * and open the template in the editor.
+ */
+package it.stealth.sql.connection;
+
+import java.lang.ref.PhantomReference;
+import java.lang.ref.ReferenceQueue;
+import java.util.Collections;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Runs a cleanup action once an object becomes unreachable, in the manner of
+ * {@code java.lang.ref.Cleaner} (which is not available on Java 8).
+ * <p>Unlike a finalizer, the object is never resurrected and the action can
+ * also be run deterministically, at most once, through {@link Cleanable#clean()}.
+ * The action must not refer to the object it cleans up, otherwise the object
+ * never becomes unreachable. The actions of the unreachable objects are run on
+ * a single daemon thread shared by all the registrations.</p>
+ *
+ * @author Fabrizio Lo Verde
+ * @version 1.0
+ * @since 1.4
+ */
+final class ResourceCleaner
+{
+    /**
+     * Queue in which the unreachable objects are notified.
+     */
+    private static final ReferenceQueue<Object> Queue = new ReferenceQueue<>();
+
+    /**
+     * Registrations not yet cleaned up, kept reachable until then.
+     */
+    private static final Set<Cleanable> Pending = Collections.newSetFromMap(new ConcurrentHashMap<>());
+
+    /**
+     * Name of the thread that runs the cleanup actions.
+     */
+    private static final String ThreadName = "stealth-resource-cleaner";
+
+    static {
+        // Create the thread that does not prevent the JVM from exiting
+        final Thread thread = new Thread(ResourceCleaner::run, ResourceCleaner.ThreadName);
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /**
+     * Prevents the instantiation of this class.
+     */
+    private ResourceCleaner() {
+    }
+
+    /**
+     * Registers an action to be run once a certain object becomes unreachable.
+     *
+     * @param owner object to be monitored.
+     * @param action cleanup action, that must not refer to {@code owner}.
+     * @return the registration, through which the action can be run in advance.
+     */
+    static Cleanable register(final Object owner, final Runnable action) {
+        // Create and keep the registration
+        final Cleanable cleanable = new Cleanable(owner, action);
+        ResourceCleaner.Pending.add(cleanable);
+        return cleanable;
+    }
+
+    /**
+     * Body of the thread that runs the actions of the unreachable objects.
+     */
+    private static void run() {
+        // Repeats for the whole life of the JVM
+        while (true) {
+            try {
+                // Waits for the next unreachable object and cleans it up
+                ((Cleanable) ResourceCleaner.Queue.remove()).clean();
+            } catch (final InterruptedException ex) {
+                // The thread is never interrupted on purpose: keep on running
+            } catch (final RuntimeException ex) {
+                // A faulty action must not stop the other cleanups
+            }
+        }
+    }
+
+    /**
+     * Registration of a cleanup action.
+     */
+    static final class Cleanable extends PhantomReference<Object>
+    {
+        /**
+         * Cleanup action.
+         */
+        private final Runnable mAction;
+
+        /**
+         * Create a new {@link Cleanable}.
+         *
+         * @param owner object to be monitored.
+         * @param action cleanup action.
+         */
+        private Cleanable(final Object owner, final Runnable action) {
+            // Invokes the superclass constructor
+            super(owner, ResourceCleaner.Queue);
+            // Stores the action
+            this.mAction = action;
+        }
+
+        /**
+         * Runs the cleanup action, unless it has already been run or cancelled.
+         */
+        void clean() {
+            // Check if the registration is still pending
+            if (ResourceCleaner.Pending.remove(this)) {
+                // Runs the action
+                this.mAction.run();
+            }
+        }
+
+        /**
+         * Cancels the registration without running the action.
+         *
+         * @return {@code true} if the registration was still pending.
+         */
+        boolean cancel() {
+            // Forgets the registration
+            this.clear();
+            return ResourceCleaner.Pending.remove(this);
+        }
+    }
+}
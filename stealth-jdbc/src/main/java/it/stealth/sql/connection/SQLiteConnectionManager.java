@@ -10,6 +10,7 @@ import java.sql.Connection;
 import java.sql.DriverManager;
 import java.sql.SQLException;
 import java.util.Properties;
+import org.apache.commons.lang3.Validate;
 
 /**
  *
@@ -28,6 +29,12 @@ public class SQLiteConnectionManager implements DbConnectionProvider
      */
     private final Properties mDbProps;
     
+    /**
+     * In-memory copy of the database the connections are opened to,
+     * {@code null} if they are opened to the file.
+     */
+    private volatile SQLiteMemorySnapshot mSnapshot;
+    
     /**
      * Indicates whether the JDBC driver for
      * this database has already been loaded.
@@ -43,6 +50,98 @@ public class SQLiteConnectionManager implements DbConnectionProvider
      * Classpath related to the JDBC driver used to access the database.
      */
     private final static String JdbcDriverClasspath = "org.sqlite.JDBC";
+    
+    /**
+     * Name of the property that sets the journal mode of the database.
+     */
+    private static final String JournalModeParam = "journal_mode";
+    
+    /**
+     * Name of the property that sets how often the database is synchronized with the disk.
+     */
+    private static final String SynchronousParam = "synchronous";
+    
+    /**
+     * Name of the property that sets the size of the page cache.
+     */
+    private static final String CacheSizeParam = "cache_size";
+    
+    /**
+     * Name of the property that sets the size of the memory mapped I/O.
+     */
+    private static final String MmapSizeParam = "mmap_size";
+    
+    /**
+     * Name of the property that sets where the temporary tables and indexes are stored.
+     */
+    private static final String TempStoreParam = "temp_store";
+    
+    /**
+     * Name of the property that sets how long a locked database is waited for.
+     */
+    private static final String BusyTimeoutParam = "busy_timeout";
+    
+    /**
+     * Name of the property that sets the flags used to open the database.
+     */
+    private static final String OpenModeParam = "open_mode";
+    
+    /**
+     * Flag that opens the database in read-only mode.
+     */
+    private static final int OpenReadOnly = 0x01;
+    
+    /**
+     * Journal mode that lets the readers proceed while a writer is active.
+     */
+    public static final String WalJournalMode = "WAL";
+    
+    /**
+     * Synchronous mode that, with the WAL journal, only synchronizes
+     * the disk at the checkpoints, without risking corruption.
+     */
+    public static final String NormalSynchronous = "NORMAL";
+    
+    /**
+     * Temporary storage that keeps the temporary tables and indexes in memory.
+     */
+    public static final String MemoryTempStore = "MEMORY";
+    
+    /**
+     * Size of the memory mapped I/O applied by {@link #applyWalPreset()}: 256 MiB.
+     */
+    private static final long PresetMmapSize = 256L * 1024 * 1024;
+    
+    /**
+     * Size of the page cache applied by {@link #applyWalPreset()}: 64 MiB,
+     * expressed as a negative number of KiB as SQLite requires.
+     */
+    private static final int PresetCacheSize = -64 * 1024;
+    
+    /**
+     * Milliseconds a locked database is waited for, as applied by {@link #applyWalPreset()}.
+     */
+    private static final int PresetBusyTimeout = 5000;
+    
+    /**
+     * Exception message when a size is negative.
+     */
+    private static final String ExNegativeSize = "The %s must not be negative: %d";
+    
+    /**
+     * Name of the interval between the checkpoints, in the messages.
+     */
+    private static final String CheckpointIntervalParam = "checkpoint interval";
+    
+    /**
+     * Exception message when the database path has not been set.
+     */
+    private static final String ExNoDbPath = "The database path has not been set.";
+    
+    /**
+     * Exception message when the database has already been loaded in memory.
+     */
+    private static final String ExAlreadyLoaded = "The database has already been loaded in memory.";
 
     /**
      * Creates a new instance of the {@link SQLiteConnectionManager} class,
@@ -79,7 +178,341 @@ public class SQLiteConnectionManager implements DbConnectionProvider
     @Override
     public final Connection getDbConnection() throws SQLException {
         // Attempts to establish a connection to the database
-        return DriverManager.getConnection(this.mDbUrl, this.mDbProps);
+        return DriverManager.getConnection(this.getDbUrl(), this.mDbProps);
+    }
+    
+    /**
+     * Internal procedure that gets the URL the connections are opened to.
+     * 
+     * @return URL of the in-memory copy, if loaded, otherwise of the file.
+     */
+    private String getDbUrl() {
+        // Check if the database has been loaded in memory
+        final SQLiteMemorySnapshot snapshot = this.mSnapshot;
+        return snapshot == null ? this.mDbUrl : snapshot.getDbUrl();
+    }
+    
+    /**
+     * Loads the database file into a shared-cache in-memory database, to which
+     * the connections are opened until the returned snapshot is closed.
+     * <p>The file is loaded through the online backup API, which reads it
+     * sequentially, and written back by the checkpoints of the snapshot;
+     * if the file does not exist yet, the in-memory database starts empty
+     * and the first checkpoint creates it.</p>
+     * 
+     * @param checkpointMillis milliseconds between the checkpoints
+     *        run in background, 0 to only run them on request.
+     * @return snapshot of the database, to be closed to write the
+     *         last checkpoint and return to the file.
+     * @throws IllegalStateException if the database path has not been set
+     *         or the database has already been loaded in memory.
+     * @throws IllegalArgumentException if {@code checkpointMillis} is negative.
+     * @throws SQLException if the file cannot be loaded.
+     * @see SQLiteMemorySnapshot
+     * @since 1.4
+     */
+    public final synchronized SQLiteMemorySnapshot loadInMemory(final long checkpointMillis) throws SQLException {
+        // Validates the state and the interval
+        Validate.validState(this.mDbPath != null, SQLiteConnectionManager.ExNoDbPath);
+        Validate.validState(this.mSnapshot == null, SQLiteConnectionManager.ExAlreadyLoaded);
+        Validate.isTrue(checkpointMillis >= 0, SQLiteConnectionManager.ExNegativeSize,
+                SQLiteConnectionManager.CheckpointIntervalParam, checkpointMillis);
+        // Opens the connection that keeps the in-memory database alive
+        final String dbUrl = SQLiteMemorySnapshot.newDbUrl();
+        final Connection anchor = DriverManager.getConnection(dbUrl, this.mDbProps);
+        try {
+            // Loads the file and redirects the connections
+            this.mSnapshot = new SQLiteMemorySnapshot(this, dbUrl, anchor,
+                    this.mDbPath, checkpointMillis);
+            return this.mSnapshot;
+        } catch (final SQLException | RuntimeException ex) {
+            // Drops the in-memory database on failure
+            anchor.close();
+            throw ex;
+        }
+    }
+    
+    /**
+     * Get the in-memory copy of the database the connections are opened to.
+     * 
+     * @return snapshot of the database, {@code null} if not loaded in memory.
+     * @see #loadInMemory(long)
+     * @since 1.4
+     */
+    public final SQLiteMemorySnapshot getSnapshot() {
+        // Returns the snapshot, if any
+        return this.mSnapshot;
+    }
+    
+    /**
+     * Internal procedure, invoked by a snapshot when closed,
+     * that opens the connections to the file again.
+     * 
+     * @param snapshot snapshot closed.
+     */
+    final synchronized void unloadSnapshot(final SQLiteMemorySnapshot snapshot) {
+        // Check if the snapshot is still the current one
+        if (this.mSnapshot == snapshot) {
+            this.mSnapshot = null;
+        }
+    }
+    
+    /**
+     * Attempts to establish a read-only connection to the database.
+     * <p>The connection is opened with the same properties as those returned
+     * by {@link #getDbConnection()}, except for the journal mode, which is a
+     * property of the database that only a writer connection can change.</p>
+     * 
+     * @return a read-only connection to the database.
+     * @throws SQLException if a database access error occurs.
+     * @since 1.4
+     */
+    final Connection getReadOnlyConnection() throws SQLException {
+        // Copies the ancillary properties, opening the database read-only
+        final Properties props = new Properties();
+        props.putAll(this.mDbProps);
+        props.remove(SQLiteConnectionManager.JournalModeParam);
+        props.setProperty(SQLiteConnectionManager.OpenModeParam,
+                Integer.toString(SQLiteConnectionManager.OpenReadOnly));
+        // Attempts to establish a connection to the database
+        return DriverManager.getConnection(this.getDbUrl(), props);
+    }
+    
+    /**
+     * Applies the settings suited to a database shared by a writer and
+     * concurrent readers, such as the one of a {@link SQLiteConnectionPool}.
+     * <p>The preset enables the {@link #WalJournalMode WAL} journal, so that
+     * the readers are not blocked by the writer, {@link #NormalSynchronous
+     * NORMAL} synchronization, 256 MiB of memory mapped I/O, 64 MiB of page
+     * cache, temporary storage in memory and a busy timeout of 5 seconds.
+     * The individual settings can be changed afterwards.</p>
+     * 
+     * @since 1.4
+     */
+    public final void applyWalPreset() {
+        // Sets all the properties covered by the preset
+        this.setJournalMode(SQLiteConnectionManager.WalJournalMode);
+        this.setSynchronous(SQLiteConnectionManager.NormalSynchronous);
+        this.setMmapSize(SQLiteConnectionManager.PresetMmapSize);
+        this.setCacheSize(SQLiteConnectionManager.PresetCacheSize);
+        this.setTempStore(SQLiteConnectionManager.MemoryTempStore);
+        this.setBusyTimeout(SQLiteConnectionManager.PresetBusyTimeout);
+    }
+    
+    /**
+     * Set the journal mode of the database, such as {@link #WalJournalMode}.
+     * 
+     * @param mode journal mode, {@code null} to use the database default.
+     * @see #getJournalMode()
+     * @since 1.4
+     */
+    public final void setJournalMode(final String mode) {
+        // Stores the value provided within the ancillary properties
+        this.setText(SQLiteConnectionManager.JournalModeParam, mode);
+    }
+    
+    /**
+     * Get the journal mode of the database.
+     * 
+     * @return journal mode, {@code null} if the database default is used.
+     * @see #setJournalMode(String)
+     * @since 1.4
+     */
+    public final String getJournalMode() {
+        // Retrieves the value required by ancillary properties
+        return this.mDbProps.getProperty(SQLiteConnectionManager.JournalModeParam);
+    }
+    
+    /**
+     * Set how often the database is synchronized with the disk,
+     * such as {@link #NormalSynchronous}.
+     * 
+     * @param mode synchronous mode, {@code null} to use the database default.
+     * @see #getSynchronous()
+     * @since 1.4
+     */
+    public final void setSynchronous(final String mode) {
+        // Stores the value provided within the ancillary properties
+        this.setText(SQLiteConnectionManager.SynchronousParam, mode);
+    }
+    
+    /**
+     * Get how often the database is synchronized with the disk.
+     * 
+     * @return synchronous mode, {@code null} if the database default is used.
+     * @see #setSynchronous(String)
+     * @since 1.4
+     */
+    public final String getSynchronous() {
+        // Retrieves the value required by ancillary properties
+        return this.mDbProps.getProperty(SQLiteConnectionManager.SynchronousParam);
+    }
+    
+    /**
+     * Set the size of the page cache of each connection.
+     * <p>As in SQLite, a positive value is a number of pages,
+     * while a negative value is a number of KiB.</p>
+     * 
+     * @param size size of the cache, 0 to use the database default.
+     * @see #getCacheSize()
+     * @since 1.4
+     */
+    public final void setCacheSize(final int size) {
+        // Check if the database default must be used
+        if (size == 0) {
+            this.mDbProps.remove(SQLiteConnectionManager.CacheSizeParam);
+        } else {
+            this.mDbProps.setProperty(SQLiteConnectionManager.CacheSizeParam, Integer.toString(size));
+        }
+    }
+    
+    /**
+     * Get the size of the page cache of each connection.
+     * 
+     * @return size of the cache, 0 if the database default is used.
+     * @see #setCacheSize(int)
+     * @since 1.4
+     */
+    public final int getCacheSize() {
+        // Retrieves the value required by ancillary properties
+        final String value = this.mDbProps.getProperty(SQLiteConnectionManager.CacheSizeParam);
+        return value == null ? 0 : Integer.parseInt(value);
+    }
+    
+    /**
+     * Set the size of the database mapped in memory by each connection,
+     * which saves copying the pages read between the kernel and SQLite.
+     * 
+     * @param size size of the mapping in bytes, 0 to use the database default.
+     * @throws IllegalArgumentException if {@code size} is negative.
+     * @see #getMmapSize()
+     * @since 1.4
+     */
+    public final void setMmapSize(final long size) {
+        // Validates the value
+        Validate.isTrue(size >= 0, SQLiteConnectionManager.ExNegativeSize,
+                SQLiteConnectionManager.MmapSizeParam, size);
+        // Check if the database default must be used
+        if (size == 0) {
+            this.mDbProps.remove(SQLiteConnectionManager.MmapSizeParam);
+        } else {
+            this.mDbProps.setProperty(SQLiteConnectionManager.MmapSizeParam, Long.toString(size));
+        }
+    }
+    
+    /**
+     * Get the size of the database mapped in memory by each connection.
+     * 
+     * @return size of the mapping in bytes, 0 if the database default is used.
+     * @see #setMmapSize(long)
+     * @since 1.4
+     */
+    public final long getMmapSize() {
+        // Retrieves the value required by ancillary properties
+        final String value = this.mDbProps.getProperty(SQLiteConnectionManager.MmapSizeParam);
+        return value == null ? 0 : Long.parseLong(value);
+    }
+    
+    /**
+     * Set where the temporary tables and indexes are stored,
+     * such as {@link #MemoryTempStore}.
+     * 
+     * @param store temporary storage, {@code null} to use the database default.
+     * @see #getTempStore()
+     * @since 1.4
+     */
+    public final void setTempStore(final String store) {
+        // Stores the value provided within the ancillary properties
+        this.setText(SQLiteConnectionManager.TempStoreParam, store);
+    }
+    
+    /**
+     * Get where the temporary tables and indexes are stored.
+     * 
+     * @return temporary storage, {@code null} if the database default is used.
+     * @see #setTempStore(String)
+     * @since 1.4
+     */
+    public final String getTempStore() {
+        // Retrieves the value required by ancillary properties
+        return this.mDbProps.getProperty(SQLiteConnectionManager.TempStoreParam);
+    }
+    
+    /**
+     * Set how long a connection waits for a locked database before failing.
+     * 
+     * @param millis milliseconds to wait, 0 to use the driver default.
+     * @throws IllegalArgumentException if {@code millis} is negative.
+     * @see #getBusyTimeout()
+     * @since 1.4
+     */
+    public final void setBusyTimeout(final int millis) {
+        // Validates the value
+        Validate.isTrue(millis >= 0, SQLiteConnectionManager.ExNegativeSize,
+                SQLiteConnectionManager.BusyTimeoutParam, millis);
+        // Check if the driver default must be used
+        if (millis == 0) {
+            this.mDbProps.remove(SQLiteConnectionManager.BusyTimeoutParam);
+        } else {
+            this.mDbProps.setProperty(SQLiteConnectionManager.BusyTimeoutParam, Integer.toString(millis));
+        }
+    }
+    
+    /**
+     * Get how long a connection waits for a locked database before failing.
+     * 
+     * @return milliseconds to wait, 0 if the driver default is used.
+     * @see #setBusyTimeout(int)
+     * @since 1.4
+     */
+    public final int getBusyTimeout() {
+        // Retrieves the value required by ancillary properties
+        final String value = this.mDbProps.getProperty(SQLiteConnectionManager.BusyTimeoutParam);
+        return value == null ? 0 : Integer.parseInt(value);
+    }
+    
+    /**
+     * Set whether the connections open the database in read-only mode.
+     * 
+     * @param value {@code true} to open the database read-only.
+     * @see #isReadOnly()
+     * @since 1.4
+     */
+    public final void setReadOnly(final boolean value) {
+        // Stores the value provided within the ancillary properties
+        if (value) {
+            this.mDbProps.setProperty(SQLiteConnectionManager.OpenModeParam,
+                    Integer.toString(SQLiteConnectionManager.OpenReadOnly));
+        } else {
+            this.mDbProps.remove(SQLiteConnectionManager.OpenModeParam);
+        }
+    }
+    
+    /**
+     * Indicates whether the connections open the database in read-only mode.
+     * 
+     * @return {@code true} if the database is opened read-only.
+     * @see #setReadOnly(boolean)
+     * @since 1.4
+     */
+    public final boolean isReadOnly() {
+        // Retrieves the value required by ancillary properties
+        return this.mDbProps.containsKey(SQLiteConnectionManager.OpenModeParam);
+    }
+    
+    /**
+     * Internal procedure that sets a textual property.
+     * 
+     * @param name name of the property.
+     * @param value value of the property, {@code null} to remove it.
+     */
+    private void setText(final String name, final String value) {
+        // Check if the default must be used
+        if (value == null) {
+            this.mDbProps.remove(name);
+        } else {
+            this.mDbProps.setProperty(name, value);
+        }
     }
     
     /**
@@ -0,0 +1,488 @@
+/*
+ * To change this license header, choose License Headers in Project Properties.
+ * To change this template file, choose Tools | Templates
+ * and open the template in the editor.
+ */
+package it.stealth.sql.connection;
+
+import it.stealth.sql.wrappers.ConnectionWrapper;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.apache.commons.lang3.Validate;
+
+/**
+ * Provider of connections to a SQLite database that keeps a single writer
+ * connection and a pool of read-only reader connections.
+ * <p>SQLite allows one writer at a time, so the writer connection is handed
+ * out by {@link #getDbConnection()} to one caller at a time, in the order in
+ * which they asked for it; the readers are handed out by the provider returned
+ * by {@link #getReaderProvider()}, up to the number given on creation. With the
+ * WAL journal (see {@link SQLiteConnectionManager#applyWalPreset()}) the readers
+ * proceed while the writer is active. Closing a connection returns it to the
+ * pool, rolling back the transaction left open, if any.</p>
+ * <p>A typical setup uses the pool for the writes and the readers for the
+ * read-only transactions of the engine:</p>
+ * <pre>
+ * SQLiteConnectionManager manager = new SQLiteConnectionManager();
+ * manager.setDbPath("edge.db");
+ * manager.applyWalPreset();
+ * SQLiteConnectionPool pool = new SQLiteConnectionPool(manager, 4);
+ * SQLEngine engine = new SQLEngine(pool);
+ * engine.setReadReplicaProvider(pool.getReaderProvider());
+ * </pre>
+ * <p>The connection of the engine must not be kept alive, otherwise the
+ * engine would hold the writer and the other callers would wait for it.</p>
+ *
+ * @author Fabrizio Lo Verde
+ * @version 1.0
+ * @since 1.4
+ */
+public final class SQLiteConnectionPool implements DbConnectionProvider, AutoCloseable
+{
+    /**
+     * Manager that opens the physical connections.
+     */
+    private final SQLiteConnectionManager mManager;
+
+    /**
+     * Grants the writer to one caller at a time, in order of arrival.
+     */
+    private final Semaphore mWriterLock;
+
+    /**
+     * Limits the readers handed out at the same time.
+     */
+    private final Semaphore mReaderPermits;
+
+    /**
+     * Readers opened and not handed out.
+     */
+    private final Queue<UnclosableConnection> mIdleReaders;
+
+    /**
+     * All the readers opened, to be closed with the pool.
+     */
+    private final Set<UnclosableConnection> mReaders;
+
+    /**
+     * Provider that hands out the readers.
+     */
+    private final DbConnectionProvider mReaderProvider;
+
+    /**
+     * Maximum number of readers.
+     */
+    private final int mMaxReaders;
+
+    /**
+     * Writer connection, replaced if found closed.
+     */
+    private volatile UnclosableConnection mWriter;
+
+    /**
+     * Milliseconds a caller waits for a connection.
+     */
+    private volatile long mAcquireTimeout;
+
+    /**
+     * Indicates whether the pool has been closed.
+     */
+    private volatile boolean mClosed;
+
+    /**
+     * Milliseconds a caller waits for a connection by default.
+     */
+    private static final long DefaultAcquireTimeout = 30000;
+
+    /**
+     * Defines the parameter relating to the manager.
+     */
+    private static final String ManagerParam = "manager";
+
+    /**
+     * Exception message when the number of readers is not positive.
+     */
+    private static final String ExInvalidReaders = "The number of readers must be positive: %d";
+
+    /**
+     * Exception message when the timeout is negative.
+     */
+    private static final String ExNegativeTimeout = "The timeout must not be negative: %d";
+
+    /**
+     * Exception message when the pool has been closed.
+     */
+    private static final String ExClosed = "The connection pool has been closed.";
+
+    /**
+     * Exception message when no connection became available in time.
+     */
+    private static final String ExTimeout = "No %s connection available within %d ms.";
+
+    /**
+     * Exception message when the wait for a connection is interrupted.
+     */
+    private static final String ExInterrupted = "Interrupted while waiting for a %s connection.";
+
+    /**
+     * Name of the writer connection in the messages.
+     */
+    private static final String WriterName = "writer";
+
+    /**
+     * Name of the reader connections in the messages.
+     */
+    private static final String ReaderName = "reader";
+
+    /**
+     * Create a new {@link SQLiteConnectionPool}, opening the writer connection.
+     * <p>The writer is opened immediately, so that the database exists and is
+     * in the journal mode of the manager before any reader is opened; the
+     * readers are opened when needed.</p>
+     *
+     * @param manager manager that opens the physical connections.
+     * @param maxReaders maximum number of readers handed out at the same time.
+     * @throws NullPointerException if {@code manager} is {@code null}.
+     * @throws IllegalArgumentException if {@code maxReaders} is not positive.
+     * @throws SQLException if the writer connection cannot be opened.
+     */
+    public SQLiteConnectionPool(final SQLiteConnectionManager manager,
+            final int maxReaders) throws SQLException {
+        // Validates the arguments
+        Objects.requireNonNull(manager, SQLiteConnectionPool.ManagerParam);
+        Validate.isTrue(maxReaders > 0, SQLiteConnectionPool.ExInvalidReaders, maxReaders);
+        // Initializes the pool
+        this.mManager = manager;
+        this.mMaxReaders = maxReaders;
+        this.mWriterLock = new Semaphore(1, true);
+        this.mReaderPermits = new Semaphore(maxReaders, true);
+        this.mIdleReaders = new ConcurrentLinkedQueue<>();
+        this.mReaders = ConcurrentHashMap.newKeySet();
+        this.mReaderProvider = this::getReaderConnection;
+        this.mAcquireTimeout = SQLiteConnectionPool.DefaultAcquireTimeout;
+        // Opens the writer connection
+        this.mWriter = new UnclosableConnection(manager.getDbConnection());
+    }
+
+    /**
+     * Gets the writer connection, waiting for the caller currently holding it
+     * to close it.
+     *
+     * @return the writer connection, returned to the pool when closed.
+     * @throws SQLException if the pool is closed, no connection became available
+     *         within the timeout or a database access error occurs.
+     */
+    @Override
+    public Connection getDbConnection() throws SQLException {
+        // Waits for the writer
+        this.acquire(this.mWriterLock, SQLiteConnectionPool.WriterName);
+        try {
+            // Replaces the writer if it has been closed
+            UnclosableConnection writer = this.mWriter;
+            if (writer.isClosed()) {
+                writer = new UnclosableConnection(this.mManager.getDbConnection());
+                this.mWriter = writer;
+            }
+            return new PooledConnection(writer, false);
+        } catch (final SQLException | RuntimeException ex) {
+            // Releases the writer on failure
+            this.mWriterLock.release();
+            throw ex;
+        }
+    }
+
+    /**
+     * Gets a provider that hands out the read-only connections of this pool.
+     * <p>The provider is intended for
+     * {@link it.stealth.sql.SQLEngine#setReadReplicaProvider(DbConnectionProvider)}.</p>
+     *
+     * @return provider of the reader connections.
+     */
+    public DbConnectionProvider getReaderProvider() {
+        // Returns the provider of the readers
+        return this.mReaderProvider;
+    }
+
+    /**
+     * Internal procedure that gets a reader connection, waiting
+     * if all the readers have already been handed out.
+     *
+     * @return a reader connection, returned to the pool when closed.
+     * @throws SQLException if the pool is closed, no connection became available
+     *         within the timeout or a database access error occurs.
+     */
+    private Connection getReaderConnection() throws SQLException {
+        // Waits for a reader
+        this.acquire(this.mReaderPermits, SQLiteConnectionPool.ReaderName);
+        try {
+            // Takes an idle reader, discarding those closed
+            UnclosableConnection reader;
+            while ((reader = this.mIdleReaders.poll()) != null && reader.isClosed()) {
+                this.mReaders.remove(reader);
+            }
+            // Opens a new reader if none is idle
+            if (reader == null) {
+                reader = new UnclosableConnection(this.mManager.getReadOnlyConnection());
+                this.mReaders.add(reader);
+            }
+            return new PooledConnection(reader, true);
+        } catch (final SQLException | RuntimeException ex) {
+            // Releases the reader on failure
+            this.mReaderPermits.release();
+            throw ex;
+        }
+    }
+
+    /**
+     * Internal procedure that waits for a permit to use a connection.
+     *
+     * @param permits permits of the connections.
+     * @param name name of the connections, for the messages.
+     * @throws SQLException if the pool is closed or no permit became
+     *         available within the timeout.
+     */
+    private void acquire(final Semaphore permits, final String name) throws SQLException {
+        // Check if the pool is still open
+        if (this.mClosed) {
+            throw new SQLException(SQLiteConnectionPool.ExClosed);
+        }
+        final long timeout = this.mAcquireTimeout;
+        try {
+            // Waits for the permit
+            if (!permits.tryAcquire(timeout, TimeUnit.MILLISECONDS)) {
+                throw new SQLTransientConnectionException(String.format(
+                        SQLiteConnectionPool.ExTimeout, name, timeout));
+            }
+        } catch (final InterruptedException ex) {
+            // Restores the interrupted status
+            Thread.currentThread().interrupt();
+            throw new SQLException(String.format(SQLiteConnectionPool.ExInterrupted, name), ex);
+        }
+        // Check if the pool has been closed while waiting
+        if (this.mClosed) {
+            permits.release();
+            throw new SQLException(SQLiteConnectionPool.ExClosed);
+        }
+    }
+
+    /**
+     * Internal procedure that returns a connection to the pool.
+     *
+     * @param conn connection returned.
+     * @param reader {@code true} if the connection is a reader.
+     * @param healthy {@code false} if the connection must be discarded.
+     */
+    private void release(final UnclosableConnection conn, final boolean reader, final boolean healthy) {
+        // Discards the connection if not usable anymore
+        if (!healthy || this.mClosed) {
+            this.discard(conn, reader);
+        } else if (reader) {
+            this.mIdleReaders.add(conn);
+        }
+        // Makes the connection available again
+        (reader ? this.mReaderPermits : this.mWriterLock).release();
+    }
+
+    /**
+     * Internal procedure that closes a connection of the pool.
+     * <p>A writer is replaced the next time it is requested.</p>
+     *
+     * @param conn connection to be closed.
+     * @param reader {@code true} if the connection is a reader.
+     */
+    private void discard(final UnclosableConnection conn, final boolean reader) {
+        // Forgets the reader
+        if (reader) {
+            this.mReaders.remove(conn);
+        }
+        try {
+            // Closes the physical connection
+            conn.closeInner();
+        } catch (final SQLException ex) {
+            // The connection is not used anymore
+        }
+    }
+
+    /**
+     * Set how long a caller waits for a connection before failing.
+     *
+     * @param millis milliseconds to wait.
+     * @throws IllegalArgumentException if {@code millis} is negative.
+     * @see #getAcquireTimeout()
+     */
+    public void setAcquireTimeout(final long millis) {
+        // Validates and stores the timeout
+        Validate.isTrue(millis >= 0, SQLiteConnectionPool.ExNegativeTimeout, millis);
+        this.mAcquireTimeout = millis;
+    }
+
+    /**
+     * Get how long a caller waits for a connection before failing.
+     *
+     * @return milliseconds to wait.
+     * @see #setAcquireTimeout(long)
+     */
+    public long getAcquireTimeout() {
+        // Returns the timeout
+        return this.mAcquireTimeout;
+    }
+
+    /**
+     * Get the maximum number of readers handed out at the same time.
+     *
+     * @return maximum number of readers.
+     */
+    public int getMaxReaders() {
+        // Returns the limit
+        return this.mMaxReaders;
+    }
+
+    /**
+     * Get the number of readers currently opened.
+     *
+     * @return number of readers opened, either idle or handed out.
+     */
+    public int getOpenReaders() {
+        // Returns the number of readers
+        return this.mReaders.size();
+    }
+
+    /**
+     * Get the number of readers opened and not handed out.
+     *
+     * @return number of idle readers.
+     */
+    public int getIdleReaders() {
+        // Returns the number of idle readers
+        return this.mIdleReaders.size();
+    }
+
+    /**
+     * Get the number of callers waiting for the writer.
+     *
+     * @return estimate of the number of callers waiting.
+     */
+    public int getWaitingWriters() {
+        // Returns the length of the queue
+        return this.mWriterLock.getQueueLength();
+    }
+
+    /**
+     * Closes the pool and all its physical connections.
+     * <p>The connections handed out are closed too, so the callers
+     * using them will receive an error.</p>
+     *
+     * @throws SQLException if a connection cannot be closed;
+     *         the others are closed anyway.
+     */
+    @Override
+    public void close() throws SQLException {
+        // Marks the pool as closed
+        this.mClosed = true;
+        SQLException error = null;
+        // Closes the writer and the readers
+        try {
+            this.mWriter.closeInner();
+        } catch (final SQLException ex) {
+            error = ex;
+        }
+        for (final UnclosableConnection reader : this.mReaders) {
+            try {
+                reader.closeInner();
+            } catch (final SQLException ex) {
+                // Stores the first error and suppresses the others
+                if (error == null) {
+                    error = ex;
+                } else {
+                    error.addSuppressed(ex);
+                }
+            }
+        }
+        this.mReaders.clear();
+        this.mIdleReaders.clear();
+        // Reports the failure
+        if (error != null) {
+            throw error;
+        }
+    }
+
+    /**
+     * Connection handed out by the pool, that returns to the pool when closed.
+     */
+    private final class PooledConnection extends ConnectionWrapper
+    {
+        /**
+         * Connection of the pool.
+         */
+        private final UnclosableConnection mConnection;
+
+        /**
+         * Indicates whether the connection is a reader.
+         */
+        private final boolean mReader;
+
+        /**
+         * Indicates whether the connection has been returned to the pool.
+         */
+        private final AtomicBoolean mReleased = new AtomicBoolean();
+
+        /**
+         * Create a new {@link PooledConnection}.
+         *
+         * @param conn connection of the pool.
+         * @param reader {@code true} if the connection is a reader.
+         */
+        PooledConnection(final UnclosableConnection conn, final boolean reader) {
+            super(conn);
+            this.mConnection = conn;
+            this.mReader = reader;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public boolean isClosed() throws SQLException {
+            // Check if returned to the pool or actually closed
+            return this.mReleased.get() || super.isClosed();
+        }
+
+        /**
+         * Returns the connection to the pool, rolling back the transaction
+         * left open and restoring the settings changed.
+         *
+         * @throws SQLException if the connection cannot be restored;
+         *         it is discarded and returned to the pool anyway.
+         */
+        @Override
+        public void close() throws SQLException {
+            // Check if already returned to the pool
+            if (!this.mReleased.compareAndSet(false, true)) {
+                return;
+            }
+            boolean healthy = false;
+            try {
+                // Rolls back the transaction left open and restores the settings
+                if (!this.mConnection.isClosed()) {
+                    if (!this.mConnection.getAutoCommit()) {
+                        this.mConnection.rollback();
+                    }
+                    this.mConnection.close();
+                    healthy = true;
+                }
+            } finally {
+                // Returns the connection to the pool
+                SQLiteConnectionPool.this.release(this.mConnection, this.mReader, healthy);
+            }
+        }
+    }
+}
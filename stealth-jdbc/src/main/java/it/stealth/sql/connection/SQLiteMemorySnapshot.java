@@ -0,0 +1,334 @@
+/*
+ * To change this license header, choose License Headers in Project Properties.
+ * To change this template file, choose Tools | Templates
+ * and open the template in the editor.
+ */
+package it.stealth.sql.connection;
+
+import java.io.File;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * In-memory copy of a SQLite database file, loaded by
+ * {@link SQLiteConnectionManager#loadInMemory(long)}.
+ * <p>The file is copied into a shared-cache in-memory database through the
+ * online backup API, reading it sequentially instead of page by page as the
+ * queries need them; while the snapshot is open, the connections of the
+ * manager are opened to the in-memory database. The snapshot keeps an
+ * anchor connection open, since SQLite drops an in-memory database when
+ * its last connection is closed.</p>
+ * <p>The in-memory database is written back to the file by the checkpoints,
+ * either requested through {@link #checkpoint()} or run periodically in
+ * background, and once more when the snapshot is closed. A checkpoint copies
+ * the database a few pages at a time, so the other connections are only
+ * blocked briefly, and it is skipped if nothing has been committed since the
+ * previous one. The changes committed after the last checkpoint are lost if
+ * the process ends abruptly.</p>
+ * <p>The connections to a shared-cache database share its pages, so the
+ * read-only mode of the manager is not enforced on them.</p>
+ *
+ * @author Fabrizio Lo Verde
+ * @version 1.0
+ * @since 1.4
+ */
+public final class SQLiteMemorySnapshot implements AutoCloseable
+{
+    /**
+     * Manager whose connections are redirected to the snapshot.
+     */
+    private final SQLiteConnectionManager mManager;
+
+    /**
+     * URL of the in-memory database.
+     */
+    private final String mDbUrl;
+
+    /**
+     * Path of the database file.
+     */
+    private final String mDbPath;
+
+    /**
+     * Connection that keeps the in-memory database alive
+     * and runs the restore and the checkpoints.
+     */
+    private final Connection mAnchor;
+
+    /**
+     * Executor of the periodic checkpoints, {@code null} if not scheduled.
+     */
+    private final ScheduledExecutorService mScheduler;
+
+    /**
+     * Version of the data at the last checkpoint.
+     */
+    private long mDataVersion;
+
+    /**
+     * Number of checkpoints written to the file.
+     */
+    private long mCheckpointCount;
+
+    /**
+     * Instant of the last checkpoint written, in milliseconds since the epoch.
+     */
+    private long mLastCheckpoint;
+
+    /**
+     * Duration of the last checkpoint written, in milliseconds.
+     */
+    private long mLastCheckpointMillis;
+
+    /**
+     * Indicates whether the snapshot has been closed.
+     */
+    private boolean mClosed;
+
+    /**
+     * Sequence used to name the in-memory databases.
+     */
+    private static final AtomicInteger Sequence = new AtomicInteger();
+
+    /**
+     * Logger of the failures of the periodic checkpoints.
+     */
+    private static final Logger Log = Logger.getLogger("it.stealth.sql.SQLiteMemorySnapshot");
+
+    /**
+     * Format of the URL of the in-memory databases.
+     */
+    private static final String MemoryUrlFormat = "jdbc:sqlite:file:stealth-snapshot-%d?mode=memory&cache=shared";
+
+    /**
+     * Format of the command that copies a file into the database.
+     */
+    private static final String RestoreFormat = "restore from %s";
+
+    /**
+     * Format of the command that copies the database into a file.
+     */
+    private static final String BackupFormat = "backup to %s";
+
+    /**
+     * Query of the version of the data, changed by each commit of the other connections.
+     */
+    private static final String DataVersionQuery = "pragma data_version";
+
+    /**
+     * Name of the thread of the periodic checkpoints.
+     */
+    private static final String ThreadName = "stealth-sqlite-checkpoint";
+
+    /**
+     * Exception message when the snapshot has been closed.
+     */
+    private static final String ExClosed = "The in-memory snapshot has been closed.";
+
+    /**
+     * Create a new {@link SQLiteMemorySnapshot}, loading the database file if it exists.
+     *
+     * @param manager manager whose connections are redirected to the snapshot.
+     * @param dbUrl URL of the in-memory database.
+     * @param anchor connection to the in-memory database.
+     * @param dbPath path of the database file.
+     * @param checkpointMillis milliseconds between the periodic checkpoints,
+     *        0 to only write them on request.
+     * @throws SQLException if the file cannot be loaded.
+     */
+    SQLiteMemorySnapshot(final SQLiteConnectionManager manager, final String dbUrl,
+            final Connection anchor, final String dbPath, final long checkpointMillis) throws SQLException {
+        // Initialize the fields
+        this.mManager = manager;
+        this.mDbUrl = dbUrl;
+        this.mAnchor = anchor;
+        this.mDbPath = dbPath;
+        // Loads the file, if any, and records the version of its data
+        if (new File(dbPath).isFile()) {
+            this.execute(SQLiteMemorySnapshot.RestoreFormat);
+        }
+        this.mDataVersion = this.getDataVersion();
+        // Schedules the periodic checkpoints, if required
+        if (checkpointMillis > 0) {
+            this.mScheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+                // Create a thread that does not prevent the JVM from exiting
+                final Thread thread = new Thread(r, SQLiteMemorySnapshot.ThreadName);
+                thread.setDaemon(true);
+                return thread;
+            });
+            this.mScheduler.scheduleWithFixedDelay(this::scheduledCheckpoint,
+                    checkpointMillis, checkpointMillis, TimeUnit.MILLISECONDS);
+        } else {
+            this.mScheduler = null;
+        }
+    }
+
+    /**
+     * Internal procedure that generates the URL of a new in-memory database.
+     *
+     * @return URL of the database.
+     */
+    static String newDbUrl() {
+        // Names the database uniquely within the process
+        return String.format(SQLiteMemorySnapshot.MemoryUrlFormat,
+                SQLiteMemorySnapshot.Sequence.incrementAndGet());
+    }
+
+    /**
+     * Gets the URL of the in-memory database.
+     *
+     * @return URL of the database.
+     */
+    public String getDbUrl() {
+        // Returns the URL
+        return this.mDbUrl;
+    }
+
+    /**
+     * Gets the path of the database file.
+     *
+     * @return path of the file.
+     */
+    public String getDbPath() {
+        // Returns the path
+        return this.mDbPath;
+    }
+
+    /**
+     * Writes the in-memory database to the file, unless nothing
+     * has been committed since the previous checkpoint.
+     *
+     * @return {@code true} if the file has been written.
+     * @throws SQLException if the snapshot is closed or the file cannot be written.
+     */
+    public synchronized boolean checkpoint() throws SQLException {
+        // Check if the snapshot is still open
+        if (this.mClosed) {
+            throw new SQLException(SQLiteMemorySnapshot.ExClosed);
+        }
+        // Check if anything has been committed
+        final long version = this.getDataVersion();
+        if (version == this.mDataVersion) {
+            return false;
+        }
+        // Copies the database into the file
+        final long start = System.nanoTime();
+        this.execute(SQLiteMemorySnapshot.BackupFormat);
+        this.mLastCheckpointMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        this.mLastCheckpoint = System.currentTimeMillis();
+        this.mCheckpointCount++;
+        this.mDataVersion = version;
+        return true;
+    }
+
+    /**
+     * Internal procedure that runs a periodic checkpoint, logging its failure.
+     */
+    private void scheduledCheckpoint() {
+        try {
+            // Writes the checkpoint
+            this.checkpoint();
+        } catch (final SQLException | RuntimeException ex) {
+            // A failed checkpoint must not stop the next ones
+            SQLiteMemorySnapshot.Log.log(Level.WARNING, ex.getMessage(), ex);
+        }
+    }
+
+    /**
+     * Gets the number of checkpoints written to the file.
+     *
+     * @return number of checkpoints.
+     */
+    public synchronized long getCheckpointCount() {
+        // Returns the counter
+        return this.mCheckpointCount;
+    }
+
+    /**
+     * Gets the instant of the last checkpoint written to the file.
+     *
+     * @return milliseconds since the epoch, 0 if none has been written.
+     */
+    public synchronized long getLastCheckpoint() {
+        // Returns the instant
+        return this.mLastCheckpoint;
+    }
+
+    /**
+     * Gets the duration of the last checkpoint written to the file.
+     *
+     * @return milliseconds taken, 0 if none has been written.
+     */
+    public synchronized long getLastCheckpointMillis() {
+        // Returns the duration
+        return this.mLastCheckpointMillis;
+    }
+
+    /**
+     * Internal procedure that reads the version of the data.
+     *
+     * @return version of the data.
+     * @throws SQLException if a database access error occurs.
+     */
+    private long getDataVersion() throws SQLException {
+        // Queries the version through the anchor connection
+        try (Statement stmt = this.mAnchor.createStatement();
+                ResultSet rs = stmt.executeQuery(SQLiteMemorySnapshot.DataVersionQuery)) {
+            return rs.next() ? rs.getLong(1) : 0;
+        }
+    }
+
+    /**
+     * Internal procedure that runs a backup command on the database file.
+     *
+     * @param format format of the command.
+     * @throws SQLException if a database access error occurs.
+     */
+    private void execute(final String format) throws SQLException {
+        // Quotes the path so that it may contain spaces
+        final char quote = this.mDbPath.indexOf('"') < 0 ? '"' : '\'';
+        try (Statement stmt = this.mAnchor.createStatement()) {
+            stmt.executeUpdate(String.format(format, quote + this.mDbPath + quote));
+        }
+    }
+
+    /**
+     * Closes the snapshot, writing a last checkpoint to the file.
+     * <p>The connections of the manager are opened to the file again, while
+     * those already opened to the in-memory database keep it alive until they
+     * are closed; their changes are not written to the file anymore.</p>
+     *
+     * @throws SQLException if the last checkpoint cannot be written;
+     *         the snapshot is closed anyway.
+     */
+    @Override
+    public void close() throws SQLException {
+        // Stops the periodic checkpoints
+        if (this.mScheduler != null) {
+            this.mScheduler.shutdown();
+        }
+        synchronized (this) {
+            // Check if already closed
+            if (this.mClosed) {
+                return;
+            }
+            try {
+                // Writes the last checkpoint
+                this.checkpoint();
+            } finally {
+                // Redirects the connections to the file and drops the anchor
+                this.mClosed = true;
+                this.mManager.unloadSnapshot(this);
+                this.mAnchor.close();
+            }
+        }
+    }
+}
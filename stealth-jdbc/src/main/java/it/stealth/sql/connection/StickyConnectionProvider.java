@@ -9,6 +9,12 @@ import java.sql.Connection;
 import java.sql.SQLException;
 import java.sql.SQLWarning;
 import java.util.Objects;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import org.apache.commons.lang3.Validate;
 
 /**
  * Implements a {@link DbConnectionProvider} wrapper able to keep alive
@@ -21,6 +27,9 @@ import java.util.Objects;
  * of using different instances of {@link UnclosableConnectionProvider} it is necessary
  * a further layer provided by this implementation.</p><p>In this way it is possible to
  * enable or disable the function implemented by {@link UnclosableConnectionProvider}.</p>
+ * <p>While the connection is kept alive, it can be validated in background when idle
+ * (see {@link #enableValidation(long, int)}), so that a connection dropped by the
+ * server is replaced before it is handed out.</p>
  *
  * @author Fabrizio Lo Verde
  * @version 1.0
@@ -50,6 +59,36 @@ public class StickyConnectionProvider implements DbConnectionProvider
      */
     private volatile UnclosableConnectionProvider mUnclosable;
     
+    /**
+     * Executor of the background validations, {@code null} if not enabled.
+     */
+    private ScheduledExecutorService mValidator;
+    
+    /**
+     * Seconds the background validations wait for the database to respond.
+     */
+    private volatile int mValidationTimeout;
+    
+    /**
+     * Logger of the failures to replace a connection not valid.
+     */
+    private static final Logger Log = Logger.getLogger("it.stealth.sql.ConnectionValidator");
+    
+    /**
+     * Name of the thread of the background validations.
+     */
+    private static final String ThreadName = "stealth-connection-validator";
+    
+    /**
+     * Exception message when the period of the validations is not positive.
+     */
+    private static final String ExNotPositivePeriod = "The validation period must be positive: %d";
+    
+    /**
+     * Exception message when the timeout of the validations is not positive.
+     */
+    private static final String ExNotPositiveTimeout = "The validation timeout must be positive: %d";
+    
     /**
      * Exception message indicating that the previously open connection could not be closed.
      */
@@ -182,4 +221,97 @@ public class StickyConnectionProvider implements DbConnectionProvider
         // Check if the current provider is different from the original
         return this.mCurrent != this.mOriginal;
     }
+    
+    /**
+     * Starts validating in background the connection kept alive, while idle.
+     * <p>Every {@code periodMillis} the connection kept alive, if any and if
+     * not in use, is checked through {@link Connection#isValid(int)} and
+     * replaced if no longer valid (see {@link UnclosableConnectionProvider#validate(int)}).
+     * No validation takes place while the connection is not kept alive. If the
+     * validation is already enabled, it is restarted with the new settings.</p>
+     * 
+     * @param periodMillis milliseconds between two validations.
+     * @param timeoutSeconds seconds to wait for the database to respond.
+     * @throws IllegalArgumentException if {@code periodMillis}
+     *         or {@code timeoutSeconds} is not positive.
+     * @see #disableValidation()
+     * @since 1.4
+     */
+    public final synchronized void enableValidation(final long periodMillis, final int timeoutSeconds) {
+        // Validates the parameters
+        Validate.isTrue(periodMillis > 0, StickyConnectionProvider.ExNotPositivePeriod, periodMillis);
+        Validate.isTrue(timeoutSeconds > 0, StickyConnectionProvider.ExNotPositiveTimeout, timeoutSeconds);
+        // Stops the previous validations, if any
+        this.disableValidation();
+        this.mValidationTimeout = timeoutSeconds;
+        // Create a single daemon thread for the validations
+        this.mValidator = Executors.newSingleThreadScheduledExecutor(r -> {
+            // Create a thread that does not prevent the JVM from exiting
+            final Thread thread = new Thread(r, StickyConnectionProvider.ThreadName);
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.mValidator.scheduleWithFixedDelay(this::validate, periodMillis, periodMillis, TimeUnit.MILLISECONDS);
+    }
+    
+    /**
+     * Stops validating in background the connection kept alive.
+     * <p>Calling this method when the validation is not enabled is a no-op.</p>
+     * 
+     * @since 1.4
+     */
+    public final synchronized void disableValidation() {
+        // Check if the validation is enabled
+        if (this.mValidator != null) {
+            // Stops the background validations
+            this.mValidator.shutdownNow();
+            this.mValidator = null;
+        }
+    }
+    
+    /**
+     * Indicates whether the connection kept alive is validated in background.
+     * 
+     * @return {@code true} if the validation is enabled.
+     * @see #enableValidation(long, int)
+     * @since 1.4
+     */
+    public final synchronized boolean isValidationEnabled() {
+        // Check if the validation is enabled
+        return this.mValidator != null;
+    }
+    
+    /**
+     * Gets the number of connections kept alive that have been replaced
+     * because found closed or not valid.
+     * <p>The count restarts when the connection stops being kept alive.</p>
+     * 
+     * @return number of connections replaced.
+     * @since 1.4
+     */
+    public final long getReplacedCount() {
+        // Get the provider of the connection kept alive, if any
+        final UnclosableConnectionProvider unclosable = this.mUnclosable;
+        return unclosable == null ? 0 : unclosable.getReplacedCount();
+    }
+    
+    /**
+     * Internal procedure that validates the connection kept alive, if any.
+     */
+    private void validate() {
+        // Get the provider of the connection kept alive, if any
+        final UnclosableConnectionProvider unclosable = this.mUnclosable;
+        if (unclosable != null && this.mCurrent == unclosable) {
+            // Starts a try-catch block
+            try {
+                // Validates the connection, replacing it if necessary
+                unclosable.validate(this.mValidationTimeout);
+            }
+            // Catch the failure to open the new connection
+            catch (final SQLException | RuntimeException ex) {
+                // A failed replacement must not stop the next validations
+                StickyConnectionProvider.Log.log(Level.WARNING, ex.getMessage(), ex);
+            }
+        }
+    }
 }
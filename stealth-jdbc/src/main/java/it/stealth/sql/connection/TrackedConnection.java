@@ -0,0 +1,305 @@
+/*
+ * To change this license header, choose License Headers in Project Properties.
+ * To change this template file, choose Tools | Templates
+ * and open the template in the editor.
+ */
+package it.stealth.sql.connection;
+
+import it.stealth.sql.wrappers.ConnectionWrapper;
+import it.stealth.sql.wrappers.PreparedStatementWrapper;
+import it.stealth.sql.wrappers.StatementWrapper;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Collections;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Connection whose lease, and those of the statements it
+ * creates, are tracked by a {@link LeakDetector} until closed.
+ * <p>Closing the connection also releases the leases of the statements
+ * still open, since they are closed implicitly along with it.</p>
+ *
+ * @author Fabrizio Lo Verde
+ * @see LeakDetector#track(Connection)
+ * @version 1.0
+ * @since 1.4
+ */
+final class TrackedConnection extends ConnectionWrapper
+{
+    /**
+     * Detector that tracks the leases.
+     */
+    private final LeakDetector mDetector;
+
+    /**
+     * Lease of the connection.
+     */
+    private final LeakDetector.Lease mLease;
+
+    /**
+     * Leases of the statements created and not closed yet, which
+     * are closed along with the connection.
+     */
+    private final Set<LeakDetector.Lease> mStatements =
+            Collections.newSetFromMap(new ConcurrentHashMap<>());
+
+    /**
+     * Kind of the connection leases.
+     */
+    private static final String ConnectionKind = "Connection";
+
+    /**
+     * Kind of the statement leases.
+     */
+    private static final String StatementKind = "Statement";
+
+    /**
+     * Create a new {@link TrackedConnection}.
+     *
+     * @param inner connection to be tracked.
+     * @param detector detector that tracks the leases.
+     */
+    TrackedConnection(final Connection inner, final LeakDetector detector) {
+        // Invokes the superclass constructor
+        super(inner);
+        // Opens the lease of the connection
+        this.mDetector = detector;
+        this.mLease = detector.open(TrackedConnection.ConnectionKind, this);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Statement createStatement() throws SQLException {
+        // Tracks the statement of the underlying connection
+        return new TrackedStatement(this.mInner.createStatement(), this);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Statement createStatement(final int resultSetType,
+            final int resultSetConcurrency) throws SQLException {
+        // Tracks the statement of the underlying connection
+        return new TrackedStatement(this.mInner.createStatement(
+                resultSetType, resultSetConcurrency), this);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Statement createStatement(final int resultSetType, final int
+            resultSetConcurrency, final int resultSetHoldability) throws SQLException {
+        // Tracks the statement of the underlying connection
+        return new TrackedStatement(this.mInner.createStatement(
+                resultSetType, resultSetConcurrency, resultSetHoldability), this);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public PreparedStatement prepareStatement(final String sql) throws SQLException {
+        // Tracks the statement of the underlying connection
+        return new TrackedPreparedStatement(this.mInner.prepareStatement(sql), this);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public PreparedStatement prepareStatement(final String sql,
+            final int autoGeneratedKeys) throws SQLException {
+        // Tracks the statement of the underlying connection
+        return new TrackedPreparedStatement(this.mInner.
+                prepareStatement(sql, autoGeneratedKeys), this);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public PreparedStatement prepareStatement(final String sql,
+            final int[] columnIndexes) throws SQLException {
+        // Tracks the statement of the underlying connection
+        return new TrackedPreparedStatement(this.mInner.
+                prepareStatement(sql, columnIndexes), this);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public PreparedStatement prepareStatement(final String sql,
+            final String[] columnNames) throws SQLException {
+        // Tracks the statement of the underlying connection
+        return new TrackedPreparedStatement(this.mInner.
+                prepareStatement(sql, columnNames), this);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public PreparedStatement prepareStatement(final String sql, final int
+            resultSetType, final int resultSetConcurrency) throws SQLException {
+        // Tracks the statement of the underlying connection
+        return new TrackedPreparedStatement(this.mInner.prepareStatement(
+                sql, resultSetType, resultSetConcurrency), this);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public PreparedStatement prepareStatement(final String sql, final int resultSetType,
+            final int resultSetConcurrency, final int resultSetHoldability) throws SQLException {
+        // Tracks the statement of the underlying connection
+        return new TrackedPreparedStatement(this.mInner.prepareStatement(sql,
+                resultSetType, resultSetConcurrency, resultSetHoldability), this);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void close() throws SQLException {
+        // Releases the leases of the connection and of the statements it closes
+        // implicitly, even if the underlying connection fails to close
+        this.mDetector.release(this.mLease);
+        for (final LeakDetector.Lease lease : this.mStatements) {
+            this.releaseStatement(lease);
+        }
+        this.mInner.close();
+    }
+
+    /**
+     * Internal procedure that opens the lease of a statement of this connection.
+     *
+     * @param stmt statement to be tracked.
+     * @return the lease of the statement.
+     */
+    private LeakDetector.Lease openStatement(final Statement stmt) {
+        // Opens the lease and ties it to the connection
+        final LeakDetector.Lease lease = this.mDetector.open(TrackedConnection.StatementKind, stmt);
+        this.mStatements.add(lease);
+        return lease;
+    }
+
+    /**
+     * Internal procedure that releases the lease of a statement of this connection.
+     *
+     * @param lease lease of the statement.
+     */
+    private void releaseStatement(final LeakDetector.Lease lease) {
+        // Releases the lease and unties it from the connection
+        this.mStatements.remove(lease);
+        this.mDetector.release(lease);
+    }
+
+    // <editor-fold defaultstate="collapsed" desc="Tracked statements">
+    /**
+     * Statement whose lease is tracked until closed.
+     */
+    private static final class TrackedStatement extends StatementWrapper
+    {
+        /**
+         * Connection that created this statement.
+         */
+        private final TrackedConnection mConnection;
+
+        /**
+         * Lease of the statement.
+         */
+        private final LeakDetector.Lease mLease;
+
+        /**
+         * Create a new {@link TrackedStatement}.
+         *
+         * @param inner statement to be tracked.
+         * @param connection connection that created the statement.
+         */
+        private TrackedStatement(final Statement inner, final TrackedConnection connection) {
+            // Invokes the superclass constructor
+            super(inner);
+            // Opens the lease of the statement
+            this.mConnection = connection;
+            this.mLease = connection.openStatement(this);
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public Connection getConnection() {
+            // Return the tracked connection
+            return this.mConnection;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public void close() throws SQLException {
+            // Releases the lease, even if the underlying statement fails to close
+            this.mConnection.releaseStatement(this.mLease);
+            this.mInner.close();
+        }
+    }
+
+    /**
+     * Prepared statement whose lease is tracked until closed.
+     */
+    private static final class TrackedPreparedStatement extends PreparedStatementWrapper
+    {
+        /**
+         * Connection that created this statement.
+         */
+        private final TrackedConnection mConnection;
+
+        /**
+         * Lease of the statement.
+         */
+        private final LeakDetector.Lease mLease;
+
+        /**
+         * Create a new {@link TrackedPreparedStatement}.
+         *
+         * @param inner statement to be tracked.
+         * @param connection connection that created the statement.
+         */
+        private TrackedPreparedStatement(final PreparedStatement inner, final TrackedConnection connection) {
+            // Invokes the superclass constructor
+            super(inner);
+            // Opens the lease of the statement
+            this.mConnection = connection;
+            this.mLease = connection.openStatement(this);
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public Connection getConnection() {
+            // Return the tracked connection
+            return this.mConnection;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public void close() throws SQLException {
+            // Releases the lease, even if the underlying statement fails to close
+            this.mConnection.releaseStatement(this.mLease);
+            this.mInner.close();
+        }
+    }
+    // </editor-fold>
+}
@@ -10,6 +10,8 @@ import java.sql.SQLClientInfoException;
 import java.sql.SQLException;
 import java.util.Map;
 import java.util.Properties;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 import it.stealth.sql.wrappers.ConnectionWrapper;
 
 /**
@@ -35,6 +37,17 @@ public class UnclosableConnection extends ConnectionWrapper
     private int mTransactionIsolation;
     private Map<String, Class<?>> mTypeMap;
     
+    /**
+     * Number of uses of this connection handed out by a provider and
+     * not closed yet, or {@link #Suspended} while no use can be handed out.
+     */
+    private final AtomicInteger mLeases = new AtomicInteger();
+    
+    /**
+     * Value of the uses while the connection is validated or once it has been retired.
+     */
+    private static final int Suspended = -1;
+    
     private static final String UnableCloneProps =
             "Unable to clone client information properties.";
     
@@ -135,6 +148,75 @@ public class UnclosableConnection extends ConnectionWrapper
         this.mInner.close();
     }
 
+    /**
+     * Internal procedure, invoked by a provider when handing out this
+     * connection, that counts a new use.
+     * <p>The use is handed out as a wrapper of this connection whose first
+     * {@link Connection#close()} ends it, while the following ones are
+     * ignored, so that a caller closing it twice does not end the uses
+     * of the other callers.</p>
+     *
+     * @return the use of this connection, {@code null} if the connection
+     *         is being validated or has been retired.
+     */
+    Connection lease() {
+        // Counts the new use, unless the uses are suspended
+        if (this.mLeases.getAndUpdate(leases -> leases >= 0 ? leases + 1 : leases) < 0) {
+            return null;
+        }
+        return new UnclosableConnection.Lease(this);
+    }
+    
+    /**
+     * Internal procedure that ends a use counted by {@link #lease()}.
+     */
+    private void release() {
+        // Ends the use, unless the uses are suspended
+        this.mLeases.getAndUpdate(leases -> leases > 0 ? leases - 1 : leases);
+    }
+    
+    /**
+     * Internal procedure that suspends the uses of this connection
+     * while it is idle, so that it can be validated.
+     *
+     * @return {@code true} if the uses have been suspended,
+     *         {@code false} if the connection is in use.
+     */
+    boolean suspend() {
+        // Check that no use is in progress
+        return this.mLeases.compareAndSet(0, UnclosableConnection.Suspended);
+    }
+    
+    /**
+     * Internal procedure that resumes the uses of
+     * this connection, once it has been validated.
+     */
+    void resume() {
+        // Allows new uses
+        this.mLeases.compareAndSet(UnclosableConnection.Suspended, 0);
+    }
+    
+    /**
+     * Internal procedure that retires this connection, so that no
+     * new use can be handed out while it is being replaced.
+     */
+    void retire() {
+        // Suspends the uses forever
+        this.mLeases.set(UnclosableConnection.Suspended);
+    }
+    
+    /**
+     * Gets the number of uses of this connection handed out by a provider
+     * and not closed yet.
+     * 
+     * @return number of uses in progress, 0 if the connection is idle.
+     * @since 1.4
+     */
+    public int getLeaseCount() {
+        // Returns the number of uses, hiding the suspension
+        return Math.max(this.mLeases.get(), 0);
+    }
+
     @Override
     public void close() throws SQLException {
         if ((this.mFlag & UnclosableConnection.TransactionIsolationProp) != 0) {
@@ -192,4 +274,60 @@ public class UnclosableConnection extends ConnectionWrapper
                     cloneProps(this.mInner);
         }
     }
+    
+    /**
+     * Use of an {@link UnclosableConnection} handed out by a provider.
+     * <p>Only the first {@link #close()} ends the use and restores the
+     * settings of the connection; the following ones are ignored.</p>
+     */
+    private static final class Lease extends ConnectionWrapper
+    {
+        /**
+         * Connection whose use is represented.
+         */
+        private final UnclosableConnection mConnection;
+        
+        /**
+         * Indicates whether the use has been ended.
+         */
+        private final AtomicBoolean mReleased = new AtomicBoolean();
+        
+        /**
+         * Create a new {@link Lease} of a connection.
+         * 
+         * @param connection connection whose use is represented.
+         */
+        private Lease(final UnclosableConnection connection) {
+            // Invokes the superclass constructor
+            super(connection);
+            // Stores the connection
+            this.mConnection = connection;
+        }
+        
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public boolean isClosed() throws SQLException {
+            // The use is closed once ended, even if the connection is still open
+            return this.mReleased.get() || this.mConnection.isClosed();
+        }
+        
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public void close() throws SQLException {
+            // Check if the use has already been ended
+            if (this.mReleased.compareAndSet(false, true)) {
+                try {
+                    // Restores the settings of the connection
+                    this.mConnection.close();
+                } finally {
+                    // Ends the use
+                    this.mConnection.release();
+                }
+            }
+        }
+    }
 }
\ No newline at end of file
@@ -8,8 +8,8 @@ package it.stealth.sql.connection;
 import java.sql.Connection;
 import java.sql.SQLException;
 import java.util.Objects;
-import org.apache.commons.lang3.concurrent.ConcurrentException;
-import org.apache.commons.lang3.concurrent.LazyInitializer;
+import java.util.concurrent.atomic.AtomicLong;
+import org.apache.commons.lang3.Validate;
 
 /**
  * Implements a {@link DbConnectionProvider} wrapper that
@@ -21,20 +21,24 @@ import org.apache.commons.lang3.concurrent.LazyInitializer;
  * new call of the {@link #getDbConnection()} method.</p><p>To close the underlying
  * connection it's possibile to use {@link #dispose()} and {@link #close()} methods,
  * or otherwise let the connection be closed by the <i>Garbage Collectior</i> itself,
- * when the reference to this provider is lost.</p>
+ * when the reference to this provider is lost.</p><p>In the latter case the
+ * connection is closed by a cleanup action registered when it is opened, on a
+ * background thread, without resorting to finalization.</p><p>If the connection
+ * is found closed when requested, for example because the server has dropped it,
+ * it is replaced by a new one; {@link #validate(int)} allows to check and replace
+ * it in advance, while it is not in use.</p>
  *
  * @author Fabrizio Lo Verde
  * @version 1.0
  */
-public final class UnclosableConnectionProvider extends
-        LazyInitializer<UnclosableConnection> implements
+public final class UnclosableConnectionProvider implements
         DbConnectionProvider, AutoCloseable
 {
     /**
      * Indicates if a connection previously
      * instanced by this provider has been closed.
      */
-    private boolean mDisposed;
+    private volatile boolean mDisposed;
     
     /**
      * Indicates whether the connection reference was initialized.
@@ -46,6 +50,33 @@ public final class UnclosableConnectionProvider extends
      */
     private final DbConnectionProvider mInner;
     
+    /**
+     * Registration of the action that closes the connection
+     * once this provider becomes unreachable.
+     */
+    private volatile ResourceCleaner.Cleanable mCleanable;
+    
+    /**
+     * Connection currently held, replaced if found closed or not valid;
+     * written only while holding the lock of this provider.
+     */
+    private volatile UnclosableConnection mConnection;
+    
+    /**
+     * Number of connections replaced because closed or not valid.
+     */
+    private final AtomicLong mReplacedCount = new AtomicLong();
+    
+    /**
+     * Exception message raised when the validation timeout is not positive.
+     */
+    private static final String ExNotPositiveTimeout = "The validation timeout must be positive: %d";
+    
+    /**
+     * Exception message raised when no use of the connection can be handed out.
+     */
+    private static final String ExNotLeasable = "The connection has been retired.";
+    
     /**
      * Creates a new instance of {@link UnclosableConnectionProvider}
      * that wraps a {@link DbConnectionProvider} object to return a
@@ -64,37 +95,36 @@ public final class UnclosableConnectionProvider extends
     }
 
     /**
-     * {@inheritDoc}
+     * Internal procedure, invoked while holding the lock of this provider,
+     * that opens a new connection through the original provider.
+     *
+     * @return the new connection, wrapped to inhibit its closing.
+     * @throws SQLException if the connection cannot be opened.
      */
-    @Override
-    protected UnclosableConnection initialize() throws ConcurrentException {
+    private UnclosableConnection open() throws SQLException {
+        // Opens a connection to the database
+        final Connection dbConn = this.mInner.getDbConnection();
+        // Check if the connection is already closed
+        this.mDisposed = dbConn.isClosed();
+        // Mark this provider as initialized
+        this.mInit = true;
         // Declare a support reference
-        final Connection dbConn;
-        // Starts a try-catch block
-        try {
-            // Opens a connection to the database
-            dbConn = this.mInner.getDbConnection();
-            // Check if the connection is already closed
-            this.mDisposed = dbConn.isClosed();
-            // Mark this provider as initialized
-            this.mInit = true;
-        }
-        // Catch any SQL exception
-        catch (final SQLException sqlEx) {
-            // Wraps the current exception
-            // to pass it to the caller
-            throw new ConcurrentException(sqlEx);
-        }
+        final UnclosableConnection unclosable;
         // Check if the connection provided is
         // already an instance of UnclosableConnection
         if (dbConn instanceof UnclosableConnection) {
-            // Returns directly the connection provided
-            return (UnclosableConnection) dbConn;
+            // Uses directly the connection provided
+            unclosable = (UnclosableConnection) dbConn;
         } else {
             // Wraps the connection provided in one
             // that inhibits the closing operation
-            return new UnclosableConnection(dbConn);
+            unclosable = new UnclosableConnection(dbConn);
         }
+        // Closes the connection once this provider becomes unreachable
+        this.mCleanable = ResourceCleaner.register(this,
+                new UnclosableConnectionProvider.CloseInner(unclosable));
+        // Returns the connection
+        return unclosable;
     }
     
     /**
@@ -108,19 +138,175 @@ public final class UnclosableConnectionProvider extends
      */
     @Override
     public Connection getDbConnection() throws SQLException {
+        // Gets the only instance of an unclosable connection held by
+        // this provider and counts a use, ended when it is closed
+        final Connection lease = this.current().lease();
+        // Check if the connection is being validated or replaced
+        return lease != null ? lease : this.leaseValidated();
+    }
+    
+    /**
+     * Internal procedure that waits for the validation in progress, if any,
+     * then counts a use of the connection held, either the same or a new one.
+     *
+     * @return the use of the connection held.
+     * @throws SQLException if the connection cannot be opened
+     *         or no use of the connection can be counted.
+     */
+    private synchronized Connection leaseValidated() throws SQLException {
+        // The validation cannot run while holding the lock
+        final Connection lease = this.current().lease();
+        // Check if the connection has been retired anyway
+        if (lease == null) {
+            throw new SQLException(UnclosableConnectionProvider.ExNotLeasable);
+        }
+        return lease;
+    }
+    
+    /**
+     * Internal procedure that gets the connection held by this provider,
+     * opening it the first time and replacing it if it has been closed,
+     * unless the provider has been disposed.
+     * <p>Checking whether the connection is closed does not involve the
+     * database, so the replacement only covers the connections closed by
+     * the driver; those dropped silently are detected by {@link #validate(int)}.</p>
+     *
+     * @return the connection held by this provider.
+     * @throws SQLException if the connection cannot be opened.
+     */
+    private UnclosableConnection current() throws SQLException {
+        // Get the connection currently held
+        final UnclosableConnection dbConn = this.mConnection;
+        // Check if the connection must be opened or replaced
+        if (dbConn == null || !this.mDisposed && UnclosableConnectionProvider.isClosed(dbConn)) {
+            return this.replace(dbConn);
+        }
+        return dbConn;
+    }
+    
+    /**
+     * Internal procedure that opens a connection in place of the one held.
+     *
+     * @param stale connection to be replaced, {@code null} if none is held.
+     * @return the new connection, or the one already opened by another thread.
+     * @throws SQLException if the connection cannot be opened.
+     */
+    private synchronized UnclosableConnection replace(final UnclosableConnection stale) throws SQLException {
+        // Check if another thread has already replaced the connection
+        final UnclosableConnection current = this.mConnection;
+        if (current != null && current != stale) {
+            return current;
+        }
+        // Closes the stale connection
+        if (current != null) {
+            this.discard(current);
+        }
+        // Opens the new connection
+        final UnclosableConnection dbConn = this.open();
+        this.mConnection = dbConn;
+        return dbConn;
+    }
+    
+    /**
+     * Internal procedure that closes the connection held, which is no longer usable.
+     *
+     * @param dbConn connection to be closed.
+     */
+    private void discard(final UnclosableConnection dbConn) {
+        // No more uses of the connection can be handed out
+        dbConn.retire();
+        // The connection no longer needs to be closed when unreachable
+        this.mCleanable.cancel();
+        this.mConnection = null;
+        this.mReplacedCount.incrementAndGet();
+        // Starts a try-catch block
+        try {
+            // Forcing the internal connection to shut down
+            dbConn.closeInner();
+        }
+        // Catch any SQL exception
+        catch (final SQLException ex) {
+            // The connection is not used anymore
+        }
+    }
+    
+    /**
+     * Internal procedure that checks whether a connection is closed.
+     *
+     * @param dbConn connection to be checked.
+     * @return {@code true} if the connection is closed or cannot be checked.
+     */
+    private static boolean isClosed(final UnclosableConnection dbConn) {
         // Starts a try-catch block
         try {
-            // Gets the only instance of an unclosable
-            // connection held by this provider
-            return this.get();
+            // Check the state known by the driver
+            return dbConn.isClosed();
         }
-        // Intercept any exceptions during initialization
-        catch (final ConcurrentException ex) {
-            // Raises the cause again
-            throw (SQLException) ex.getCause();
+        // Catch any SQL exception
+        catch (final SQLException ex) {
+            // Consider the connection as no longer usable
+            return true;
         }
     }
     
+    /**
+     * Checks that the connection held is still valid, replacing it otherwise.
+     * <p>The connection is only checked when idle, that is when all its uses
+     * handed out by {@link #getDbConnection()} have been closed; it is then
+     * checked through {@link Connection#isValid(int)} and, if not valid,
+     * closed and replaced by a new one, so that the next caller does not pay
+     * for the failure. While the connection is checked, the callers of
+     * {@link #getDbConnection()} wait for the outcome, then get either the
+     * same connection or the new one. This method is a no-op if no connection
+     * has been opened yet or the provider has been disposed.</p>
+     *
+     * @param timeoutSeconds seconds to wait for the database to respond.
+     * @return {@code true} if the connection is valid or was not checked,
+     *         {@code false} if it has been replaced.
+     * @throws IllegalArgumentException if {@code timeoutSeconds} is not positive.
+     * @throws SQLException if the new connection cannot be opened;
+     *         another attempt is made on the next request.
+     * @since 1.4
+     */
+    public synchronized boolean validate(final int timeoutSeconds) throws SQLException {
+        // Waiting indefinitely would block the callers while holding the lock
+        Validate.isTrue(timeoutSeconds > 0, UnclosableConnectionProvider.ExNotPositiveTimeout, timeoutSeconds);
+        // Get the connection currently held
+        final UnclosableConnection dbConn = this.mConnection;
+        // Check if the connection is idle, preventing new uses while it is checked
+        if (dbConn == null || this.mDisposed || !dbConn.suspend()) {
+            return true;
+        }
+        // Starts a try-catch block
+        try {
+            // Check if the connection is still valid
+            if (dbConn.isValid(timeoutSeconds)) {
+                // Allows new uses of the connection
+                dbConn.resume();
+                return true;
+            }
+        }
+        // Catch any exception raised by the driver
+        catch (final SQLException | RuntimeException ex) {
+            // Consider the connection as no longer valid
+        }
+        // Closes the connection and opens a new one
+        this.discard(dbConn);
+        this.mConnection = this.open();
+        return false;
+    }
+    
+    /**
+     * Gets the number of connections replaced because found closed or not valid.
+     *
+     * @return number of connections replaced.
+     * @since 1.4
+     */
+    public final long getReplacedCount() {
+        // Returns the counter
+        return this.mReplacedCount.get();
+    }
+    
     /**
      * Gets the connection provider used internally by this wrapper.
      * 
@@ -145,21 +331,20 @@ public final class UnclosableConnectionProvider extends
      * @throws SQLException if an error occurs while
      *         closing the internal connection.
      */
-    public final boolean dispose() throws SQLException {
+    public final synchronized boolean dispose() throws SQLException {
         // Check if the provider has been initialized
         if (this.mInit) {
             // Check if this object
             // still needs to be disposed
             if (!this.mDisposed) {
-                // Starts a try-catch block
-                try {
+                // Gets the connection held by this provider
+                final UnclosableConnection dbConn = this.mConnection;
+                // Check if a connection is held
+                if (dbConn != null) {
+                    // The connection no longer needs to be closed when unreachable
+                    this.mCleanable.cancel();
                     // Forcing the internal connection to shut down
-                    this.get().closeInner();
-                }
-                // Intercept any exceptions during initialization
-                catch (final ConcurrentException ex) {
-                    // Raises the cause again
-                    throw (SQLException) ex.getCause();
+                    dbConn.closeInner();
                 }
                 // Mark this object as disposed
                 this.mDisposed = true;
@@ -173,31 +358,6 @@ public final class UnclosableConnectionProvider extends
         return false;
     }
     
-    /**
-     * {@inheritDoc}
-     */
-    @Override
-    @SuppressWarnings("FinalizeDeclaration")
-    protected void finalize() throws Throwable {
-        // Check if the provider has been initialized
-        if (this.mDisposed) {
-            // Invokes the superclass method
-            super.finalize();
-        } else {
-            // Starts a try-finally block
-            try {
-                // Forcing the internal
-                // connection to shut down
-                this.get().closeInner();
-            } finally {
-                // Mark this object as disposed
-                this.mDisposed = true;
-                // Invokes the superclass method
-                super.finalize();
-            }
-        }
-    }
-    
     /**
      * Implementation of the {@link AutoCloseable}
      * interface that closes any connection held by
@@ -213,4 +373,44 @@ public final class UnclosableConnectionProvider extends
         // Invokes the disposal procedure
         this.dispose();
     }
+    
+    /**
+     * Cleanup action that closes the connection held by a provider
+     * that has become unreachable.
+     * <p>The action refers only to the connection, and not to the
+     * provider, so that the provider can become unreachable.</p>
+     */
+    private static final class CloseInner implements Runnable
+    {
+        /**
+         * Connection to be closed.
+         */
+        private final UnclosableConnection mConnection;
+        
+        /**
+         * Create a new {@link CloseInner} action.
+         * 
+         * @param connection connection to be closed.
+         */
+        private CloseInner(final UnclosableConnection connection) {
+            // Stores the connection
+            this.mConnection = connection;
+        }
+        
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public void run() {
+            // Starts a try-catch block
+            try {
+                // Forcing the internal connection to shut down
+                this.mConnection.closeInner();
+            }
+            // Catch any SQL exception
+            catch (final SQLException ex) {
+                // Nobody is left to be notified of the failure
+            }
+        }
+    }
 }
@@ -0,0 +1,55 @@
+/*
+ * To change this license header, choose License Headers in Project Properties.
+ * To change this template file, choose Tools | Templates
+ * and open the template in the editor.
+ */
+package it.stealth.sql.management;
+
+/**
+ * Management interface of a {@link it.stealth.sql.connection.StickyConnectionProvider},
+ * exposed through JMX.
+ *
+ * @author Fabrizio Lo Verde
+ * @see ConnectionProviderMonitor
+ * @version 1.0
+ * @since 1.4
+ */
+public interface ConnectionProviderMXBean
+{
+    /**
+     * Gets the class of the provider that opens the connections.
+     *
+     * @return name of the class of the original provider.
+     */
+    public String getOriginalProviderClass();
+
+    /**
+     * Indicates whether the connection supplied by the provider is kept alive.
+     *
+     * @return {@code true} if the connection is kept alive.
+     */
+    public boolean isDbConnectionKeptAlive();
+
+    /**
+     * Sets whether the connection supplied by the provider is kept alive.
+     *
+     * @param keepAlive {@code true} to keep the connection alive,
+     *        {@code false} to close it and open one for each use.
+     */
+    public void setDbConnectionKeptAlive(final boolean keepAlive);
+
+    /**
+     * Indicates whether the connection kept alive is validated in background.
+     *
+     * @return {@code true} if the validation is enabled.
+     */
+    public boolean isValidationEnabled();
+
+    /**
+     * Gets the number of connections kept alive that have been
+     * replaced because found closed or not valid.
+     *
+     * @return number of connections replaced.
+     */
+    public long getReplacedConnections();
+}
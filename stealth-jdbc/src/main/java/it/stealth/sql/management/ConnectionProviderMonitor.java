@@ -0,0 +1,97 @@
+/*
+ * To change this license header, choose License Headers in Project Properties.
+ * To change this template file, choose Tools | Templates
+ * and open the template in the editor.
+ */
+package it.stealth.sql.management;
+
+import it.stealth.sql.connection.StickyConnectionProvider;
+import java.sql.SQLWarning;
+import java.util.Objects;
+
+/**
+ * Implementation of the {@link ConnectionProviderMXBean} interface
+ * that exposes a {@link StickyConnectionProvider}.
+ *
+ * @author Fabrizio Lo Verde
+ * @version 1.0
+ * @since 1.4
+ */
+public final class ConnectionProviderMonitor implements ConnectionProviderMXBean
+{
+    /**
+     * Provider exposed.
+     */
+    private final StickyConnectionProvider mProvider;
+
+    /**
+     * Defines the parameter relating to the provider.
+     */
+    private static final String ProviderParam = "provider";
+
+    /**
+     * Create a new {@link ConnectionProviderMonitor}.
+     *
+     * @param provider provider to be exposed.
+     * @throws NullPointerException if {@code provider} is {@code null}.
+     */
+    public ConnectionProviderMonitor(final StickyConnectionProvider provider) {
+        // Stores the provider
+        this.mProvider = Objects.requireNonNull(provider, ConnectionProviderMonitor.ProviderParam);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String getOriginalProviderClass() {
+        // Return the name of the class
+        return this.mProvider.getOriginalProvider().getClass().getName();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean isDbConnectionKeptAlive() {
+        // Invokes the provider method
+        return this.mProvider.isDbConnectionKeptAlive();
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @throws IllegalStateException if the previous connection could not be closed.
+     */
+    @Override
+    public void setDbConnectionKeptAlive(final boolean keepAlive) {
+        // Starts a try-catch block
+        try {
+            // Invokes the provider method
+            this.mProvider.setDbConnectionKeepAlive(keepAlive);
+        }
+        // Catch the warning about the previous connection
+        catch (final SQLWarning ex) {
+            // Reports the failure to the management client
+            throw new IllegalStateException(ex.getMessage(), ex);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean isValidationEnabled() {
+        // Invokes the provider method
+        return this.mProvider.isValidationEnabled();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public long getReplacedConnections() {
+        // Invokes the provider method
+        return this.mProvider.getReplacedCount();
+    }
+}
@@ -0,0 +1,172 @@
+/*
+ * To change this license header, choose License Headers in Project Properties.
+ * To change this template file, choose Tools | Templates
+ * and open the template in the editor.
+ */
+package it.stealth.sql.management;
+
+import java.util.Map;
+
+/**
+ * Management interface of a {@link it.stealth.sql.SQLEngine}, exposed through JMX.
+ * <p>The statistics about connections, statements, errors and transactions are
+ * taken from the metrics of the engine: while they are not collected, they are
+ * all zero, and {@link #enableMetrics()} starts collecting them.</p>
+ *
+ * @author Fabrizio Lo Verde
+ * @see it.stealth.sql.SQLEngine#registerMBeans(String)
+ * @version 1.0
+ * @since 1.4
+ */
+public interface SQLEngineMXBean
+{
+    /**
+     * Indicates whether the metrics of the engine are collected.
+     *
+     * @return {@code true} if the metrics are collected.
+     */
+    public boolean isMetricsEnabled();
+
+    /**
+     * Gets the number of connections acquired and not yet closed.
+     *
+     * @return number of connections in use.
+     */
+    public int getActiveConnections();
+
+    /**
+     * Gets the number of connections acquired.
+     *
+     * @return number of connection acquisitions.
+     */
+    public long getAcquireCount();
+
+    /**
+     * Gets the mean time spent waiting for a connection.
+     *
+     * @return mean acquisition time, in milliseconds.
+     */
+    public double getAcquireMeanMillis();
+
+    /**
+     * Gets the 99th percentile of the time spent waiting for a connection.
+     *
+     * @return 99th percentile of the acquisition time, in milliseconds.
+     */
+    public double getAcquireP99Millis();
+
+    /**
+     * Gets the longest time spent waiting for a connection.
+     *
+     * @return maximum acquisition time, in milliseconds.
+     */
+    public double getAcquireMaxMillis();
+
+    /**
+     * Gets the number of statements executed.
+     *
+     * @return number of statement executions.
+     */
+    public long getStatementCount();
+
+    /**
+     * Gets the rate of the statements executed since the previous read of this attribute.
+     *
+     * @return statements executed per second.
+     */
+    public double getStatementsPerSecond();
+
+    /**
+     * Gets the number of failed operations.
+     *
+     * @return number of errors.
+     */
+    public long getErrorCount();
+
+    /**
+     * Gets the number of failed operations by SQL state.
+     *
+     * @return error counters, by SQL state.
+     */
+    public Map<String, Long> getErrorsBySqlState();
+
+    /**
+     * Gets the number of transactions committed.
+     *
+     * @return number of commits.
+     */
+    public long getCommitCount();
+
+    /**
+     * Gets the number of transactions rolled back.
+     *
+     * @return number of rollbacks.
+     */
+    public long getRollbackCount();
+
+    /**
+     * Gets the fraction of the transactions that have been committed.
+     *
+     * @return commits divided by commits and rollbacks, 1 if there are none.
+     */
+    public double getCommitRatio();
+
+    /**
+     * Gets the number of units of work executed again after a failure.
+     *
+     * @return number of retries.
+     */
+    public long getRetryCount();
+
+    /**
+     * Gets the number of commands waiting to be written in the background.
+     *
+     * @return pending commands, zero if the write-behind is not enabled.
+     */
+    public int getWriteBehindPending();
+
+    /**
+     * Gets the number of connections and statements not yet
+     * closed, as tracked by the leak detector of the engine.
+     *
+     * @return outstanding leases, zero if the leak detection is not enabled.
+     */
+    public int getOutstandingLeases();
+
+    /**
+     * Gets the number of leaks reported by the leak detector of the engine.
+     *
+     * @return leases reported, zero if the leak detection is not enabled.
+     */
+    public long getLeakCount();
+
+    /**
+     * Indicates whether the connection used by the engine is kept alive.
+     *
+     * @return {@code true} if the connection is kept alive.
+     */
+    public boolean isConnectionKeptAlive();
+
+    /**
+     * Sets whether the connection used by the engine is kept alive.
+     *
+     * @param keepAlive {@code true} to keep the connection alive,
+     *        {@code false} to close it and open one for each use.
+     */
+    public void setConnectionKeptAlive(final boolean keepAlive);
+
+    /**
+     * Starts collecting the metrics of the engine, if not already collected.
+     */
+    public void enableMetrics();
+
+    /**
+     * Clears the metrics collected so far.
+     */
+    public void resetMetrics();
+
+    /**
+     * Waits until all the commands enqueued for the write-behind have been written.
+     */
+    public void flushWriteBehind();
+}
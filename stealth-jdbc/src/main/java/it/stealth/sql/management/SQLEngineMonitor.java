@@ -0,0 +1,320 @@
+/*
+ * To change this license header, choose License Headers in Project Properties.
+ * To change this template file, choose Tools | Templates
+ * and open the template in the editor.
+ */
+package it.stealth.sql.management;
+
+import it.stealth.sql.SQLEngine;
+import it.stealth.sql.WriteBehindQueue;
+import it.stealth.sql.connection.LeakDetector;
+import it.stealth.sql.metrics.LatencyHistogram;
+import it.stealth.sql.metrics.SQLMetrics;
+import java.sql.SQLWarning;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Implementation of the {@link SQLEngineMXBean} interface that exposes a {@link SQLEngine}.
+ * <p>Each attribute is read from the engine when requested, so the values
+ * always reflect the current state of the engine and its metrics.</p>
+ *
+ * @author Fabrizio Lo Verde
+ * @version 1.0
+ * @since 1.4
+ */
+public final class SQLEngineMonitor implements SQLEngineMXBean
+{
+    /**
+     * Engine exposed.
+     */
+    private final SQLEngine mEngine;
+
+    /**
+     * Number of statements at the previous read of the rate.
+     */
+    private long mLastCount;
+
+    /**
+     * Instant of the previous read of the rate, as returned by {@link System#nanoTime()}.
+     */
+    private long mLastTime = System.nanoTime();
+
+    /**
+     * Number of milliseconds in a nanosecond.
+     */
+    private static final double MillisPerNano = 1e-6;
+
+    /**
+     * Defines the parameter relating to the engine.
+     */
+    private static final String EngineParam = "engine";
+
+    /**
+     * Create a new {@link SQLEngineMonitor}.
+     *
+     * @param engine engine to be exposed.
+     * @throws NullPointerException if {@code engine} is {@code null}.
+     */
+    public SQLEngineMonitor(final SQLEngine engine) {
+        // Stores the engine
+        this.mEngine = Objects.requireNonNull(engine, SQLEngineMonitor.EngineParam);
+    }
+
+    /**
+     * Internal procedure that gets the latency of the connection acquisitions.
+     *
+     * @return latency of the acquisitions, {@code null} if the metrics are not collected.
+     */
+    private LatencyHistogram.Snapshot acquire() {
+        // Get the metrics, if collected
+        final SQLMetrics metrics = this.mEngine.getMetrics();
+        return metrics == null ? null : metrics.getAcquire().snapshot();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean isMetricsEnabled() {
+        // Check if the engine has a registry
+        return this.mEngine.getMetrics() != null;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int getActiveConnections() {
+        // Get the metrics, if collected
+        final SQLMetrics metrics = this.mEngine.getMetrics();
+        return metrics == null ? 0 : metrics.getActiveConnections();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public long getAcquireCount() {
+        // Get the latencies, if collected
+        final LatencyHistogram.Snapshot acquire = this.acquire();
+        return acquire == null ? 0 : acquire.getCount();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public double getAcquireMeanMillis() {
+        // Get the latencies, if collected
+        final LatencyHistogram.Snapshot acquire = this.acquire();
+        return acquire == null ? 0 : acquire.getMean() * SQLEngineMonitor.MillisPerNano;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public double getAcquireP99Millis() {
+        // Get the latencies, if collected
+        final LatencyHistogram.Snapshot acquire = this.acquire();
+        return acquire == null ? 0 : acquire.getPercentile(0.99) * SQLEngineMonitor.MillisPerNano;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public double getAcquireMaxMillis() {
+        // Get the latencies, if collected
+        final LatencyHistogram.Snapshot acquire = this.acquire();
+        return acquire == null ? 0 : acquire.getMax() * SQLEngineMonitor.MillisPerNano;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public long getStatementCount() {
+        // Get the metrics, if collected
+        final SQLMetrics metrics = this.mEngine.getMetrics();
+        // Sums the executions without copying the latencies
+        return metrics == null ? 0 : metrics.getExecuteCount();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public synchronized double getStatementsPerSecond() {
+        // Takes a new sample
+        final long count = this.getStatementCount();
+        final long now = System.nanoTime();
+        // Computes the rate since the previous sample, ignoring the resets
+        final double rate = count < this.mLastCount || now == this.mLastTime ? 0
+                : (count - this.mLastCount) * 1e9 / (now - this.mLastTime);
+        this.mLastCount = count;
+        this.mLastTime = now;
+        return rate;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public long getErrorCount() {
+        // Sums the errors of all the SQL states
+        long count = 0;
+        for (final long errors : this.getErrorsBySqlState().values()) {
+            count += errors;
+        }
+        return count;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Map<String, Long> getErrorsBySqlState() {
+        // Get the metrics, if collected
+        final SQLMetrics metrics = this.mEngine.getMetrics();
+        return metrics == null ? Collections.emptyMap() : metrics.getErrors();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public long getCommitCount() {
+        // Get the metrics, if collected
+        final SQLMetrics metrics = this.mEngine.getMetrics();
+        return metrics == null ? 0 : metrics.getCommit().snapshot().getCount();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public long getRollbackCount() {
+        // Get the metrics, if collected
+        final SQLMetrics metrics = this.mEngine.getMetrics();
+        return metrics == null ? 0 : metrics.getRollback().snapshot().getCount();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public double getCommitRatio() {
+        // Declares the counters
+        final long commits = this.getCommitCount();
+        final long total = commits + this.getRollbackCount();
+        return total == 0 ? 1 : (double) commits / total;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public long getRetryCount() {
+        // Invokes the engine method
+        return this.mEngine.getRetryCount();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int getWriteBehindPending() {
+        // Get the queue, if enabled
+        final WriteBehindQueue queue = this.mEngine.getWriteBehindQueue();
+        return queue == null ? 0 : queue.getPendingCount();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int getOutstandingLeases() {
+        // Get the detector, if enabled
+        final LeakDetector detector = this.mEngine.getLeakDetector();
+        return detector == null ? 0 : detector.getOutstandingCount();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public long getLeakCount() {
+        // Get the detector, if enabled
+        final LeakDetector detector = this.mEngine.getLeakDetector();
+        return detector == null ? 0 : detector.getLeakCount();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean isConnectionKeptAlive() {
+        // Invokes the engine method
+        return this.mEngine.isConnectionKeptAlive();
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @throws IllegalStateException if the previous connection could not be closed.
+     */
+    @Override
+    public void setConnectionKeptAlive(final boolean keepAlive) {
+        // Starts a try-catch block
+        try {
+            // Invokes the engine method
+            this.mEngine.setConnectionKeepAlive(keepAlive);
+        }
+        // Catch the warning about the previous connection
+        catch (final SQLWarning ex) {
+            // Reports the failure to the management client
+            throw new IllegalStateException(ex.getMessage(), ex);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void enableMetrics() {
+        // Invokes the engine method
+        this.mEngine.enableMetrics();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void resetMetrics() {
+        // Get the metrics, if collected
+        final SQLMetrics metrics = this.mEngine.getMetrics();
+        if (metrics != null) {
+            metrics.reset();
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void flushWriteBehind() {
+        // Starts a try-catch block
+        try {
+            // Invokes the engine method
+            this.mEngine.flushWriteBehind();
+        }
+        // Catch the interruption of the wait
+        catch (final InterruptedException ex) {
+            // Restores the interrupted status
+            Thread.currentThread().interrupt();
+        }
+    }
+}
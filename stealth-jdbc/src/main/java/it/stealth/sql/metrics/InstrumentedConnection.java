@@ -0,0 +1,245 @@
+/*
+ * To change this license header, choose License Headers in Project Properties.
+ * To change this template file, choose Tools | Templates
+ * and open the template in the editor.
+ */
+package it.stealth.sql.metrics;
+
+import it.stealth.sql.wrappers.ConnectionWrapper;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Connection that records in a {@link SQLMetrics} registry the latency of
+ * the statements it creates and of its commits and rollbacks.
+ *
+ * @author Fabrizio Lo Verde
+ * @see SQLMetrics#instrument(Connection)
+ * @version 1.0
+ * @since 1.4
+ */
+final class InstrumentedConnection extends ConnectionWrapper
+{
+    /**
+     * Registry in which to record the metrics.
+     */
+    private final SQLMetrics mMetrics;
+
+    /**
+     * Indicates whether this connection has been closed.
+     */
+    private final AtomicBoolean mClosed = new AtomicBoolean();
+
+    /**
+     * Create a new {@link InstrumentedConnection}.
+     *
+     * @param inner connection to be instrumented.
+     * @param metrics registry in which to record the metrics.
+     */
+    InstrumentedConnection(final Connection inner, final SQLMetrics metrics) {
+        // Invokes the superclass constructor
+        super(inner);
+        // Stores the registry and counts the connection as active
+        this.mMetrics = metrics;
+        metrics.connectionOpened();
+    }
+
+    /**
+     * Gets the registry in which the metrics are recorded.
+     *
+     * @return registry of the metrics.
+     */
+    SQLMetrics getMetrics() {
+        // Return the registry
+        return this.mMetrics;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Statement createStatement() throws SQLException {
+        // Instruments the statement of the underlying connection
+        return new InstrumentedStatement(this.mInner.createStatement(), this);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Statement createStatement(final int resultSetType,
+            final int resultSetConcurrency) throws SQLException {
+        // Instruments the statement of the underlying connection
+        return new InstrumentedStatement(this.mInner.createStatement(
+                resultSetType, resultSetConcurrency), this);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Statement createStatement(final int resultSetType, final int
+            resultSetConcurrency, final int resultSetHoldability) throws SQLException {
+        // Instruments the statement of the underlying connection
+        return new InstrumentedStatement(this.mInner.createStatement(
+                resultSetType, resultSetConcurrency, resultSetHoldability), this);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public PreparedStatement prepareStatement(final String sql) throws SQLException {
+        // Instruments the statement of the underlying connection
+        return new InstrumentedPreparedStatement(this.mInner.prepareStatement(sql), this, sql);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public PreparedStatement prepareStatement(final String sql,
+            final int autoGeneratedKeys) throws SQLException {
+        // Instruments the statement of the underlying connection
+        return new InstrumentedPreparedStatement(this.mInner.
+                prepareStatement(sql, autoGeneratedKeys), this, sql);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public PreparedStatement prepareStatement(final String sql,
+            final int[] columnIndexes) throws SQLException {
+        // Instruments the statement of the underlying connection
+        return new InstrumentedPreparedStatement(this.mInner.
+                prepareStatement(sql, columnIndexes), this, sql);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public PreparedStatement prepareStatement(final String sql,
+            final String[] columnNames) throws SQLException {
+        // Instruments the statement of the underlying connection
+        return new InstrumentedPreparedStatement(this.mInner.
+                prepareStatement(sql, columnNames), this, sql);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public PreparedStatement prepareStatement(final String sql, final int
+            resultSetType, final int resultSetConcurrency) throws SQLException {
+        // Instruments the statement of the underlying connection
+        return new InstrumentedPreparedStatement(this.mInner.prepareStatement(
+                sql, resultSetType, resultSetConcurrency), this, sql);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public PreparedStatement prepareStatement(final String sql, final int resultSetType,
+            final int resultSetConcurrency, final int resultSetHoldability) throws SQLException {
+        // Instruments the statement of the underlying connection
+        return new InstrumentedPreparedStatement(this.mInner.prepareStatement(sql,
+                resultSetType, resultSetConcurrency, resultSetHoldability), this, sql);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void commit() throws SQLException {
+        // Records the latency of the underlying connection method
+        final long start = System.nanoTime();
+        try {
+            this.mInner.commit();
+        } catch (final SQLException ex) {
+            this.mMetrics.recordError(ex);
+            throw ex;
+        } finally {
+            this.mMetrics.getCommit().recordSince(start);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void rollback() throws SQLException {
+        // Records the latency of the underlying connection method
+        final long start = System.nanoTime();
+        try {
+            this.mInner.rollback();
+        } catch (final SQLException ex) {
+            this.mMetrics.recordError(ex);
+            throw ex;
+        } finally {
+            this.mMetrics.getRollback().recordSince(start);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void close() throws SQLException {
+        // Counts the connection as no longer active, only once
+        if (this.mClosed.compareAndSet(false, true)) {
+            this.mMetrics.connectionClosed();
+        }
+        this.mInner.close();
+    }
+
+    /**
+     * Executes a call on a statement recording its latency and, if it fails, its SQL state.
+     *
+     * @param <T> type of the result of the call.
+     * @param metrics metrics of the statement.
+     * @param call call to be executed.
+     * @return result of the call.
+     * @throws SQLException if the call fails.
+     */
+    <T> T timed(final StatementMetrics metrics, final SQLCall<T> call) throws SQLException {
+        // Declares the outcome of the call
+        boolean failed = true;
+        final long start = System.nanoTime();
+        try {
+            // Executes the call
+            final T result = call.call();
+            failed = false;
+            return result;
+        } catch (final SQLException ex) {
+            // Counts the error by SQL state
+            this.mMetrics.recordError(ex);
+            throw ex;
+        } finally {
+            // Records the latency, even if the call failed
+            metrics.recordExecute(System.nanoTime() - start, failed);
+        }
+    }
+
+    /**
+     * Call to the database whose latency must be recorded.
+     *
+     * @param <T> type of the result of the call.
+     */
+    @FunctionalInterface
+    interface SQLCall<T>
+    {
+        /**
+         * Executes the call.
+         *
+         * @return result of the call.
+         * @throws SQLException if the call fails.
+         */
+        T call() throws SQLException;
+    }
+}
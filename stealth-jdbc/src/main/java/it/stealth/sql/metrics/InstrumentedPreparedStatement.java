@@ -0,0 +1,126 @@
+/*
+ * To change this license header, choose License Headers in Project Properties.
+ * To change this template file, choose Tools | Templates
+ * and open the template in the editor.
+ */
+package it.stealth.sql.metrics;
+
+import it.stealth.sql.wrappers.PreparedStatementWrapper;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+/**
+ * Prepared statement that records the latency of its
+ * executions and the rows fetched from its results.
+ * <p>The metrics of the statement are looked up once, when it is
+ * prepared, so that its executions do not normalize the SQL again.</p>
+ *
+ * @author Fabrizio Lo Verde
+ * @version 1.0
+ * @since 1.4
+ */
+final class InstrumentedPreparedStatement extends PreparedStatementWrapper
+{
+    /**
+     * Connection that created this statement.
+     */
+    private final InstrumentedConnection mConnection;
+
+    /**
+     * Metrics of the statement.
+     */
+    private final StatementMetrics mMetrics;
+
+    /**
+     * Create a new {@link InstrumentedPreparedStatement}.
+     *
+     * @param inner statement to be instrumented.
+     * @param connection connection that created the statement.
+     * @param sql SQL of the statement.
+     */
+    InstrumentedPreparedStatement(final PreparedStatement inner,
+            final InstrumentedConnection connection, final String sql) {
+        // Invokes the superclass constructor
+        super(inner);
+        // Initialize the fields
+        this.mConnection = connection;
+        this.mMetrics = connection.getMetrics().getStatement(sql);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public ResultSet executeQuery() throws SQLException {
+        // Records the latency and counts the rows of the results
+        return new InstrumentedResultSet(this.mConnection.timed(
+                this.mMetrics, this.mInner::executeQuery), this, this.mMetrics);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int executeUpdate() throws SQLException {
+        // Records the latency of the underlying statement method
+        return this.mConnection.timed(this.mMetrics, this.mInner::executeUpdate);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public long executeLargeUpdate() throws SQLException {
+        // Records the latency of the underlying statement method
+        return this.mConnection.timed(this.mMetrics, this.mInner::executeLargeUpdate);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean execute() throws SQLException {
+        // Records the latency of the underlying statement method
+        return this.mConnection.timed(this.mMetrics, this.mInner::execute);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int[] executeBatch() throws SQLException {
+        // Records the latency of the underlying statement method
+        return this.mConnection.timed(this.mMetrics, this.mInner::executeBatch);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public long[] executeLargeBatch() throws SQLException {
+        // Records the latency of the underlying statement method
+        return this.mConnection.timed(this.mMetrics, this.mInner::executeLargeBatch);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public ResultSet getResultSet() throws SQLException {
+        // Get the results of the underlying statement
+        final ResultSet rs = this.mInner.getResultSet();
+        // Counts the rows of the results
+        return rs == null ? null : new InstrumentedResultSet(rs, this, this.mMetrics);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Connection getConnection() {
+        // Return the instrumented connection
+        return this.mConnection;
+    }
+}
@@ -0,0 +1,101 @@
+/*
+ * To change this license header, choose License Headers in Project Properties.
+ * To change this template file, choose Tools | Templates
+ * and open the template in the editor.
+ */
+package it.stealth.sql.metrics;
+
+import it.stealth.sql.wrappers.ResultSetWrapper;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * Result set that counts the rows fetched from it.
+ * <p>The rows are counted locally and added to the metrics of the
+ * statement once, when the last row has been read or the result set is
+ * closed, so that reading a row does not touch any shared counter.</p>
+ *
+ * @author Fabrizio Lo Verde
+ * @version 1.0
+ * @since 1.4
+ */
+final class InstrumentedResultSet extends ResultSetWrapper
+{
+    /**
+     * Statement that produced this result set.
+     */
+    private final Statement mStatement;
+
+    /**
+     * Metrics of the statement.
+     */
+    private final StatementMetrics mMetrics;
+
+    /**
+     * Number of rows fetched and not yet recorded.
+     */
+    private long mRows;
+
+    /**
+     * Create a new {@link InstrumentedResultSet}.
+     *
+     * @param inner result set to be instrumented.
+     * @param statement statement that produced the result set.
+     * @param metrics metrics of the statement.
+     */
+    InstrumentedResultSet(final ResultSet inner, final Statement statement, final StatementMetrics metrics) {
+        // Invokes the superclass constructor
+        super(inner);
+        // Initialize the fields
+        this.mStatement = statement;
+        this.mMetrics = metrics;
+    }
+
+    /**
+     * Records the rows fetched so far.
+     */
+    private void flushRows() {
+        // Check if there are rows to be recorded
+        if (this.mRows > 0) {
+            this.mMetrics.recordRows(this.mRows);
+            this.mRows = 0;
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean next() throws SQLException {
+        // Invokes the underlying result set method
+        final boolean found = this.mInner.next();
+        // Counts the row, or records the rows once they are over
+        if (found) {
+            this.mRows++;
+        } else {
+            this.flushRows();
+        }
+        return found;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Statement getStatement() {
+        // Return the instrumented statement
+        return this.mStatement;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void close() throws SQLException {
+        // Records the pending rows
+        this.flushRows();
+        // Invokes the underlying result set method
+        this.mInner.close();
+    }
+}
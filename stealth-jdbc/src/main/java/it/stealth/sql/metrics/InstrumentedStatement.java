@@ -0,0 +1,270 @@
+/*
+ * To change this license header, choose License Headers in Project Properties.
+ * To change this template file, choose Tools | Templates
+ * and open the template in the editor.
+ */
+package it.stealth.sql.metrics;
+
+import it.stealth.sql.wrappers.StatementWrapper;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * Statement that records the latency of its executions
+ * and the rows fetched from its results.
+ * <p>Since a plain statement can execute a different SQL at each call,
+ * the metrics are looked up at each execution; the metrics of a batch
+ * are those of the first command added to it.</p>
+ *
+ * @author Fabrizio Lo Verde
+ * @version 1.0
+ * @since 1.4
+ */
+final class InstrumentedStatement extends StatementWrapper
+{
+    /**
+     * Connection that created this statement.
+     */
+    private final InstrumentedConnection mConnection;
+
+    /**
+     * Metrics of the last SQL executed.
+     */
+    private StatementMetrics mLast;
+
+    /**
+     * First SQL command of the current batch.
+     */
+    private String mBatchSql;
+
+    /**
+     * Create a new {@link InstrumentedStatement}.
+     *
+     * @param inner statement to be instrumented.
+     * @param connection connection that created the statement.
+     */
+    InstrumentedStatement(final Statement inner, final InstrumentedConnection connection) {
+        // Invokes the superclass constructor
+        super(inner);
+        // Stores the connection
+        this.mConnection = connection;
+    }
+
+    /**
+     * Gets the metrics of a certain SQL, remembering them as the last ones.
+     *
+     * @param sql SQL to be executed.
+     * @return metrics of the SQL.
+     */
+    private StatementMetrics metricsOf(final String sql) {
+        // Looks up the metrics in the registry
+        return this.mLast = this.mConnection.getMetrics().getStatement(sql);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public ResultSet executeQuery(final String sql) throws SQLException {
+        // Records the latency and counts the rows of the results
+        final StatementMetrics metrics = this.metricsOf(sql);
+        return new InstrumentedResultSet(this.mConnection.timed(metrics,
+                () -> this.mInner.executeQuery(sql)), this, metrics);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int executeUpdate(final String sql) throws SQLException {
+        // Records the latency of the underlying statement method
+        return this.mConnection.timed(this.metricsOf(sql), () -> this.mInner.executeUpdate(sql));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int executeUpdate(final String sql, final int autoGeneratedKeys) throws SQLException {
+        // Records the latency of the underlying statement method
+        return this.mConnection.timed(this.metricsOf(sql),
+                () -> this.mInner.executeUpdate(sql, autoGeneratedKeys));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int executeUpdate(final String sql, final int[] columnIndexes) throws SQLException {
+        // Records the latency of the underlying statement method
+        return this.mConnection.timed(this.metricsOf(sql),
+                () -> this.mInner.executeUpdate(sql, columnIndexes));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int executeUpdate(final String sql, final String[] columnNames) throws SQLException {
+        // Records the latency of the underlying statement method
+        return this.mConnection.timed(this.metricsOf(sql),
+                () -> this.mInner.executeUpdate(sql, columnNames));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public long executeLargeUpdate(final String sql) throws SQLException {
+        // Records the latency of the underlying statement method
+        return this.mConnection.timed(this.metricsOf(sql), () -> this.mInner.executeLargeUpdate(sql));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public long executeLargeUpdate(final String sql, final int autoGeneratedKeys) throws SQLException {
+        // Records the latency of the underlying statement method
+        return this.mConnection.timed(this.metricsOf(sql),
+                () -> this.mInner.executeLargeUpdate(sql, autoGeneratedKeys));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public long executeLargeUpdate(final String sql, final int[] columnIndexes) throws SQLException {
+        // Records the latency of the underlying statement method
+        return this.mConnection.timed(this.metricsOf(sql),
+                () -> this.mInner.executeLargeUpdate(sql, columnIndexes));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public long executeLargeUpdate(final String sql, final String[] columnNames) throws SQLException {
+        // Records the latency of the underlying statement method
+        return this.mConnection.timed(this.metricsOf(sql),
+                () -> this.mInner.executeLargeUpdate(sql, columnNames));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean execute(final String sql) throws SQLException {
+        // Records the latency of the underlying statement method
+        return this.mConnection.timed(this.metricsOf(sql), () -> this.mInner.execute(sql));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean execute(final String sql, final int autoGeneratedKeys) throws SQLException {
+        // Records the latency of the underlying statement method
+        return this.mConnection.timed(this.metricsOf(sql),
+                () -> this.mInner.execute(sql, autoGeneratedKeys));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean execute(final String sql, final int[] columnIndexes) throws SQLException {
+        // Records the latency of the underlying statement method
+        return this.mConnection.timed(this.metricsOf(sql),
+                () -> this.mInner.execute(sql, columnIndexes));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean execute(final String sql, final String[] columnNames) throws SQLException {
+        // Records the latency of the underlying statement method
+        return this.mConnection.timed(this.metricsOf(sql),
+                () -> this.mInner.execute(sql, columnNames));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public ResultSet getResultSet() throws SQLException {
+        // Get the results of the underlying statement
+        final ResultSet rs = this.mInner.getResultSet();
+        // Counts the rows on behalf of the last SQL executed
+        return rs == null || this.mLast == null ? rs : new InstrumentedResultSet(rs, this, this.mLast);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void addBatch(final String sql) throws SQLException {
+        // Invokes the underlying statement method
+        this.mInner.addBatch(sql);
+        // Remembers the first command of the batch
+        if (this.mBatchSql == null) {
+            this.mBatchSql = sql;
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void clearBatch() throws SQLException {
+        // Invokes the underlying statement method
+        this.mInner.clearBatch();
+        this.mBatchSql = null;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int[] executeBatch() throws SQLException {
+        // Check if the batch is empty
+        if (this.mBatchSql == null) {
+            return this.mInner.executeBatch();
+        }
+        // Records the latency of the underlying statement method
+        try {
+            return this.mConnection.timed(this.metricsOf(this.mBatchSql), this.mInner::executeBatch);
+        } finally {
+            this.mBatchSql = null;
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public long[] executeLargeBatch() throws SQLException {
+        // Check if the batch is empty
+        if (this.mBatchSql == null) {
+            return this.mInner.executeLargeBatch();
+        }
+        // Records the latency of the underlying statement method
+        try {
+            return this.mConnection.timed(this.metricsOf(this.mBatchSql), this.mInner::executeLargeBatch);
+        } finally {
+            this.mBatchSql = null;
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Connection getConnection() {
+        // Return the instrumented connection
+        return this.mConnection;
+    }
+}
@@ -0,0 +1,308 @@
+/*
+ * To change this license header, choose License Headers in Project Properties.
+ * To change this template file, choose Tools | Templates
+ * and open the template in the editor.
+ */
+package it.stealth.sql.metrics;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Lock-free histogram of non-negative values (typically
+ * durations in nanoseconds) with a bounded relative error.
+ * <p>The values are counted in log-linear buckets, in the manner of
+ * the HDR histograms: each power of two is split into 8 buckets of the
+ * same width, so that every value is recorded with a relative error of
+ * at most 12.5% using a fixed array of 488 counters, whatever the range
+ * of the values.</p><p>Recording a value is wait-free on most platforms
+ * and never blocks, so a single histogram can be shared by all the
+ * threads; a {@link Snapshot} gives a consistent-enough view of the
+ * distribution without stopping the recording.</p>
+ *
+ * @author Fabrizio Lo Verde
+ * @version 1.0
+ * @since 1.4
+ */
+public final class LatencyHistogram
+{
+    /**
+     * Number of bits that select the bucket within a power of two.
+     */
+    private static final int SubBits = 3;
+
+    /**
+     * Number of buckets within a power of two.
+     */
+    private static final int SubCount = 1 << LatencyHistogram.SubBits;
+
+    /**
+     * Total number of buckets.
+     */
+    private static final int BucketCount = (Long.SIZE - LatencyHistogram.SubBits) * LatencyHistogram.SubCount;
+
+    /**
+     * Number of values recorded in each bucket.
+     */
+    private final AtomicLongArray mBuckets = new AtomicLongArray(LatencyHistogram.BucketCount);
+
+    /**
+     * Number of values recorded.
+     */
+    private final LongAdder mCount = new LongAdder();
+
+    /**
+     * Sum of the values recorded.
+     */
+    private final LongAdder mTotal = new LongAdder();
+
+    /**
+     * Maximum value recorded.
+     */
+    private final AtomicLong mMax = new AtomicLong();
+
+    /**
+     * Records a value, clamping the negative ones to zero.
+     *
+     * @param value value to be recorded.
+     */
+    public void record(final long value) {
+        // Declares a support value
+        long max;
+        // Negative values can only come from a clock going backwards
+        final long v = Math.max(value, 0);
+        // Counts the value in its bucket
+        this.mBuckets.incrementAndGet(LatencyHistogram.indexOf(v));
+        this.mCount.increment();
+        this.mTotal.add(v);
+        // Updates the maximum without locking
+        while (v > (max = this.mMax.get()) && !this.mMax.compareAndSet(max, v)) {
+            // Retries with the maximum set by another thread
+        }
+    }
+
+    /**
+     * Records the time elapsed since a certain instant.
+     *
+     * @param startNanos instant returned by {@link System#nanoTime()}.
+     * @return duration recorded, in nanoseconds.
+     */
+    public long recordSince(final long startNanos) {
+        // Computes and records the elapsed time
+        final long elapsed = System.nanoTime() - startNanos;
+        this.record(elapsed);
+        return elapsed;
+    }
+
+    /**
+     * Clears all the values recorded so far.
+     * <p>The values recorded concurrently with this
+     * method may be partially kept.</p>
+     */
+    public void reset() {
+        // Declares a support integer
+        int i;
+        // Clears the buckets and the totals
+        for (i = 0; i < LatencyHistogram.BucketCount; i++) {
+            this.mBuckets.set(i, 0);
+        }
+        this.mCount.reset();
+        this.mTotal.reset();
+        this.mMax.set(0);
+    }
+
+    /**
+     * Gets the number of values recorded so far, without copying the buckets.
+     *
+     * @return number of values recorded.
+     * @since 1.4
+     */
+    public long getCount() {
+        // Returns the counter
+        return this.mCount.sum();
+    }
+
+    /**
+     * Takes a snapshot of the values recorded so far.
+     *
+     * @return the distribution of the values recorded.
+     */
+    public Snapshot snapshot() {
+        // Declares a support integer
+        int i;
+        // Copies the buckets, counting the values actually copied
+        long count = 0;
+        final long[] buckets = new long[LatencyHistogram.BucketCount];
+        for (i = 0; i < buckets.length; i++) {
+            count += buckets[i] = this.mBuckets.get(i);
+        }
+        return new Snapshot(buckets, count, this.mTotal.sum(), this.mMax.get());
+    }
+
+    /**
+     * Gets the index of the bucket in which a value is counted.
+     *
+     * @param value non-negative value.
+     * @return index of the bucket.
+     */
+    private static int indexOf(final long value) {
+        // The smallest values have a bucket each
+        if (value < LatencyHistogram.SubCount) {
+            return (int) value;
+        }
+        // Selects the power of two and the bucket within it
+        final int exp = Long.SIZE - 1 - Long.numberOfLeadingZeros(value);
+        final int sub = (int) (value >>> (exp - LatencyHistogram.SubBits)) & (LatencyHistogram.SubCount - 1);
+        return (exp - LatencyHistogram.SubBits + 1) * LatencyHistogram.SubCount + sub;
+    }
+
+    /**
+     * Gets the highest value counted in a certain bucket.
+     *
+     * @param index index of the bucket.
+     * @return highest value of the bucket.
+     */
+    private static long highestOf(final int index) {
+        // The smallest values have a bucket each
+        if (index < LatencyHistogram.SubCount) {
+            return index;
+        }
+        // Computes the lowest value and the width of the bucket
+        final int shift = index / LatencyHistogram.SubCount - 1;
+        final long lowest = (long) (LatencyHistogram.SubCount + index % LatencyHistogram.SubCount) << shift;
+        return lowest + (1L << shift) - 1;
+    }
+
+    /**
+     * Immutable view of the distribution of the values of a {@link LatencyHistogram}.
+     */
+    public static final class Snapshot
+    {
+        /**
+         * Number of values counted in each bucket.
+         */
+        private final long[] mBuckets;
+
+        /**
+         * Number of values.
+         */
+        private final long mCount;
+
+        /**
+         * Sum of the values.
+         */
+        private final long mTotal;
+
+        /**
+         * Maximum value.
+         */
+        private final long mMax;
+
+        /**
+         * Create a new {@link Snapshot}.
+         *
+         * @param buckets number of values counted in each bucket.
+         * @param count number of values.
+         * @param total sum of the values.
+         * @param max maximum value.
+         */
+        private Snapshot(final long[] buckets, final long count, final long total, final long max) {
+            // Initialize the fields
+            this.mBuckets = buckets;
+            this.mCount = count;
+            this.mTotal = total;
+            this.mMax = max;
+        }
+
+        /**
+         * Gets the number of values.
+         *
+         * @return number of values recorded.
+         */
+        public long getCount() {
+            // Return the number of values
+            return this.mCount;
+        }
+
+        /**
+         * Gets the sum of the values.
+         *
+         * @return sum of the values recorded.
+         */
+        public long getTotal() {
+            // Return the sum of the values
+            return this.mTotal;
+        }
+
+        /**
+         * Gets the maximum value.
+         *
+         * @return maximum value recorded, zero if there are no values.
+         */
+        public long getMax() {
+            // Return the maximum value
+            return this.mMax;
+        }
+
+        /**
+         * Gets the mean of the values.
+         *
+         * @return mean of the values recorded, zero if there are no values.
+         */
+        public double getMean() {
+            // Divides the sum by the number of values
+            return this.mCount == 0 ? 0 : (double) this.mTotal / this.mCount;
+        }
+
+        /**
+         * Gets the value below which a certain fraction of the values falls.
+         * <p>The result is the upper bound of the bucket that contains the
+         * percentile, so it overestimates the exact value by at most 12.5%,
+         * and it never exceeds the maximum value recorded.</p>
+         *
+         * @param quantile fraction of the values, between 0 and 1 (e.g. 0.99).
+         * @return the percentile, zero if there are no values.
+         */
+        public long getPercentile(final double quantile) {
+            // Declares a support integer
+            int i;
+            // Computes the rank of the value to find
+            final long rank = (long) Math.ceil(Math.min(Math.max(quantile, 0), 1) * this.mCount);
+            long seen = 0;
+            // Searches the bucket that contains the value
+            for (i = 0; i < this.mBuckets.length; i++) {
+                seen += this.mBuckets[i];
+                if (seen > 0 && seen >= rank) {
+                    return Math.min(LatencyHistogram.highestOf(i), this.mMax);
+                }
+            }
+            return this.mMax;
+        }
+
+        /**
+         * Gets a percentile converted to a certain time unit,
+         * assuming that the values are durations in nanoseconds.
+         *
+         * @param quantile fraction of the values, between 0 and 1 (e.g. 0.99).
+         * @param unit time unit of the result.
+         * @return the percentile in the required time unit.
+         */
+        public long getPercentile(final double quantile, final TimeUnit unit) {
+            // Converts the percentile from nanoseconds
+            return unit.convert(this.getPercentile(quantile), TimeUnit.NANOSECONDS);
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public String toString() {
+            // Describes the distribution in microseconds
+            return String.format("count=%d mean=%.1fus p50=%dus p99=%dus max=%dus",
+                    this.mCount, this.getMean() / 1000, this.getPercentile(0.5, TimeUnit.MICROSECONDS),
+                    this.getPercentile(0.99, TimeUnit.MICROSECONDS), TimeUnit.NANOSECONDS.toMicros(this.mMax));
+        }
+    }
+}
@@ -0,0 +1,152 @@
+/*
+ * To change this license header, choose License Headers in Project Properties.
+ * To change this template file, choose Tools | Templates
+ * and open the template in the editor.
+ */
+package it.stealth.sql.metrics;
+
+import java.util.function.LongSupplier;
+
+/**
+ * Facade that emits the Java Flight Recorder events of the library.
+ * <p>The events are emitted in pairs of calls: a {@code beginX} method returns
+ * an opaque token, or {@code null} if the event is not being recorded, and the
+ * matching {@code endX} method commits the event with its duration and its
+ * attributes. Since the attributes are passed only to the {@code endX} method,
+ * and ignored when the token is {@code null}, the callers can avoid computing
+ * them when nothing is being recorded; the costly attributes are supplied
+ * lazily, so that they are only computed for the events committed.</p><p>This is the Java 8 version of the
+ * facade, in which every method does nothing and is inlined away by the JIT
+ * compiler. On Java 11 and later, the multi-release JAR replaces it with a
+ * version that emits the {@code jdk.jfr} events {@code it.stealth.sql.SqlQuery},
+ * {@code SqlExecute}, {@code ConnectionAcquire}, {@code TransactionCommit} and
+ * {@code ResultMaterialize}.</p>
+ *
+ * @author Fabrizio Lo Verde
+ * @version 1.0
+ * @since 1.4
+ */
+public final class SQLEvents
+{
+    /**
+     * Prevents the instantiation of this class.
+     */
+    private SQLEvents() {
+    }
+
+    /**
+     * Indicates whether this runtime is able to emit the events.
+     *
+     * @return {@code false} on Java 8.
+     */
+    public static boolean isSupported() {
+        // Java Flight Recorder events are not available
+        return false;
+    }
+
+    /**
+     * Begins the event of the execution of a query.
+     *
+     * @return token of the event, {@code null} if it is not being recorded.
+     */
+    public static Object beginQuery() {
+        // Nothing to record
+        return null;
+    }
+
+    /**
+     * Ends the event of the execution of a query, including the read of its results.
+     *
+     * @param event token returned by {@link #beginQuery()}.
+     * @param sql SQL of the query.
+     * @param rows number of rows read.
+     */
+    public static void endQuery(final Object event, final String sql, final long rows) {
+        // Nothing to record
+    }
+
+    /**
+     * Begins the event of the execution of a command.
+     *
+     * @return token of the event, {@code null} if it is not being recorded.
+     */
+    public static Object beginExecute() {
+        // Nothing to record
+        return null;
+    }
+
+    /**
+     * Ends the event of the execution of a command.
+     *
+     * @param event token returned by {@link #beginExecute()}.
+     * @param sql SQL of the command.
+     * @param rows number of rows affected.
+     */
+    public static void endExecute(final Object event, final String sql, final long rows) {
+        // Nothing to record
+    }
+
+    /**
+     * Begins the event of the acquisition of a connection.
+     *
+     * @return token of the event, {@code null} if it is not being recorded.
+     */
+    public static Object beginAcquire() {
+        // Nothing to record
+        return null;
+    }
+
+    /**
+     * Ends the event of the acquisition of a connection.
+     *
+     * @param event token returned by {@link #beginAcquire()}.
+     * @param provider provider that supplied the connection.
+     */
+    public static void endAcquire(final Object event, final Object provider) {
+        // Nothing to record
+    }
+
+    /**
+     * Begins the event of the end of a transaction.
+     *
+     * @return token of the event, {@code null} if it is not being recorded.
+     */
+    public static Object beginCommit() {
+        // Nothing to record
+        return null;
+    }
+
+    /**
+     * Ends the event of the end of a transaction.
+     *
+     * @param event token returned by {@link #beginCommit()}.
+     * @param committed {@code true} if the transaction has been committed,
+     *        {@code false} if it has been rolled back.
+     * @param nested {@code true} if the transaction is nested within another one.
+     */
+    public static void endCommit(final Object event, final boolean committed, final boolean nested) {
+        // Nothing to record
+    }
+
+    /**
+     * Begins the event of the materialization of the results of a query.
+     *
+     * @return token of the event, {@code null} if it is not being recorded.
+     */
+    public static Object beginMaterialize() {
+        // Nothing to record
+        return null;
+    }
+
+    /**
+     * Ends the event of the materialization of the results of a query.
+     *
+     * @param event token returned by {@link #beginMaterialize()}.
+     * @param rows number of rows materialized.
+     * @param bytes estimate of the number of bytes materialized, only
+     *        computed if the event passes the threshold of the recording.
+     */
+    public static void endMaterialize(final Object event, final long rows, final LongSupplier bytes) {
+        // Nothing to record
+    }
+}
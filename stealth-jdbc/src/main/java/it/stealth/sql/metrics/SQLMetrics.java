@@ -0,0 +1,470 @@
+/*
+ * To change this license header, choose License Headers in Project Properties.
+ * To change this template file, choose Tools | Templates
+ * and open the template in the editor.
+ */
+package it.stealth.sql.metrics;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.regex.Pattern;
+
+/**
+ * Registry of the latency metrics of the operations performed on the database.
+ * <p>The metrics are collected by the connections returned by {@link
+ * #instrument(Connection)}, which record the latency of each statement
+ * execution and the number of rows fetched from its results, grouped by
+ * {@linkplain #normalize(String) normalized} SQL, as well as the latency of
+ * the commits and the rollbacks. The time spent acquiring the connections is
+ * recorded by whoever acquires them, through {@link #getAcquire()}.</p><p>All
+ * the metrics are kept in lock-free {@link LatencyHistogram} instances, so
+ * that a single registry can be shared by all the threads.</p>
+ *
+ * @author Fabrizio Lo Verde
+ * @version 1.0
+ * @since 1.4
+ */
+public final class SQLMetrics
+{
+    /**
+     * Metrics of the statements, by normalized SQL.
+     */
+    private final ConcurrentMap<String, StatementMetrics> mStatements = new ConcurrentHashMap<>();
+
+    /**
+     * Metrics shared by the statements that exceed the maximum number of distinct statements.
+     */
+    private final StatementMetrics mOther = new StatementMetrics(SQLMetrics.OtherSql);
+
+    /**
+     * Latency of the connection acquisitions, in nanoseconds.
+     */
+    private final LatencyHistogram mAcquire = new LatencyHistogram();
+
+    /**
+     * Latency of the commits, in nanoseconds.
+     */
+    private final LatencyHistogram mCommit = new LatencyHistogram();
+
+    /**
+     * Latency of the rollbacks, in nanoseconds.
+     */
+    private final LatencyHistogram mRollback = new LatencyHistogram();
+
+    /**
+     * Number of failed operations, by SQL state.
+     */
+    private final ConcurrentMap<String, LongAdder> mErrors = new ConcurrentHashMap<>();
+
+    /**
+     * Number of instrumented connections not yet closed.
+     */
+    private final AtomicInteger mActive = new AtomicInteger();
+
+    /**
+     * Key of the errors without an SQL state.
+     */
+    private static final String UnknownState = "(none)";
+
+    /**
+     * Maximum number of distinct statements tracked individually.
+     */
+    private static final int MaxStatements = 1000;
+
+    /**
+     * Key of the metrics shared by the statements beyond the maximum number.
+     */
+    private static final String OtherSql = "(other)";
+
+    /**
+     * Matches a list of parameters, such as the values of an {@code IN} clause.
+     */
+    private static final Pattern ParamList = Pattern.compile("\\(\\?(?: ?, ?\\?)+\\)");
+
+    /**
+     * Matches a sequence of rows of parameters, such as the values of a multi-row insert.
+     */
+    private static final Pattern RowList = Pattern.compile("\\(\\?\\)(?: ?, ?\\(\\?\\))+");
+
+    /**
+     * Gets the metrics of a certain SQL statement, creating them if required.
+     *
+     * @param sql SQL statement, normalized or not.
+     * @return metrics of the normalized statement.
+     */
+    public StatementMetrics getStatement(final String sql) {
+        // Normalizes the statement
+        final String key = SQLMetrics.normalize(sql);
+        // Looks up the metrics of the statement
+        final StatementMetrics metrics = this.mStatements.get(key);
+        if (metrics != null) {
+            return metrics;
+        }
+        // Stops tracking new statements once the limit is reached
+        if (this.mStatements.size() >= SQLMetrics.MaxStatements) {
+            return this.mOther;
+        }
+        return this.mStatements.computeIfAbsent(key, StatementMetrics::new);
+    }
+
+    /**
+     * Gets the latency of the connection acquisitions.
+     *
+     * @return histogram of the acquisition latencies, in nanoseconds.
+     */
+    public LatencyHistogram getAcquire() {
+        // Return the histogram
+        return this.mAcquire;
+    }
+
+    /**
+     * Gets the latency of the commits.
+     *
+     * @return histogram of the commit latencies, in nanoseconds.
+     */
+    public LatencyHistogram getCommit() {
+        // Return the histogram
+        return this.mCommit;
+    }
+
+    /**
+     * Gets the latency of the rollbacks.
+     *
+     * @return histogram of the rollback latencies, in nanoseconds.
+     */
+    public LatencyHistogram getRollback() {
+        // Return the histogram
+        return this.mRollback;
+    }
+
+    /**
+     * Records a failed operation, counting it by its SQL state.
+     *
+     * @param ex exception raised by the operation.
+     */
+    public void recordError(final SQLException ex) {
+        // Get the SQL state, if provided by the driver
+        final String state = ex.getSQLState();
+        // Counts the error
+        this.mErrors.computeIfAbsent(state == null ? SQLMetrics.
+                UnknownState : state, k -> new LongAdder()).increment();
+    }
+
+    /**
+     * Gets the number of failed operations by SQL state.
+     *
+     * @return sorted copy of the error counters, by SQL state.
+     */
+    public Map<String, Long> getErrors() {
+        // Copies the counters
+        final Map<String, Long> errors = new TreeMap<>();
+        this.mErrors.forEach((state, count) -> errors.put(state, count.sum()));
+        return errors;
+    }
+
+    /**
+     * Gets the number of instrumented connections not yet closed.
+     *
+     * @return number of connections in use.
+     */
+    public int getActiveConnections() {
+        // Return the counter
+        return this.mActive.get();
+    }
+
+    /**
+     * Internal procedure that counts an instrumented connection as active.
+     */
+    void connectionOpened() {
+        // Increments the counter
+        this.mActive.incrementAndGet();
+    }
+
+    /**
+     * Internal procedure that counts an instrumented connection as no longer active.
+     */
+    void connectionClosed() {
+        // Decrements the counter
+        this.mActive.decrementAndGet();
+    }
+
+    /**
+     * Wraps a connection so that its operations are recorded in this registry.
+     *
+     * @param dbConn connection to be instrumented.
+     * @return instrumented connection.
+     * @throws NullPointerException if {@code dbConn} is {@code null}.
+     */
+    public Connection instrument(final Connection dbConn) {
+        // Wraps the connection
+        return new InstrumentedConnection(dbConn, this);
+    }
+
+    /**
+     * Clears all the metrics collected so far.
+     * <p>The number of active connections is not affected.</p>
+     */
+    public void reset() {
+        // Forgets the statements and the errors and clears the other metrics
+        this.mStatements.clear();
+        this.mErrors.clear();
+        this.mOther.reset();
+        this.mAcquire.reset();
+        this.mCommit.reset();
+        this.mRollback.reset();
+    }
+
+    /**
+     * Gets the number of executions of all the statements recorded so far.
+     * <p>Unlike {@link #snapshot()}, it does not copy the latencies
+     * of the statements, so it can be read frequently.</p>
+     *
+     * @return number of executions.
+     * @since 1.4
+     */
+    public long getExecuteCount() {
+        // Sums the executions of all the statements
+        long count = this.mOther.getExecuteCount();
+        for (final StatementMetrics metrics : this.mStatements.values()) {
+            count += metrics.getExecuteCount();
+        }
+        return count;
+    }
+
+    /**
+     * Takes a snapshot of the metrics collected so far.
+     *
+     * @return the metrics collected.
+     */
+    public Snapshot snapshot() {
+        // Copies the metrics of all the statements
+        final List<StatementMetrics.Snapshot> statements = new ArrayList<>(this.mStatements.size() + 1);
+        for (final StatementMetrics metrics : this.mStatements.values()) {
+            statements.add(metrics.snapshot());
+        }
+        if (this.mStatements.size() >= SQLMetrics.MaxStatements) {
+            statements.add(this.mOther.snapshot());
+        }
+        // Sorts the statements by the total time spent executing them
+        statements.sort(Comparator.comparingLong((StatementMetrics.
+                Snapshot s) -> s.getExecute().getTotal()).reversed());
+        return new Snapshot(this.mAcquire.snapshot(), this.mCommit.snapshot(), this.mRollback.snapshot(),
+                Collections.unmodifiableList(statements), Collections.unmodifiableMap(this.getErrors()));
+    }
+
+    /**
+     * Normalizes an SQL statement, so that the statements that differ only
+     * by their literal values, comments or white spaces are considered equal.
+     * <p>The string and numeric literals are replaced by {@code ?}, the
+     * comments are removed, the white spaces are collapsed and the lists of
+     * parameters (such as those of an {@code IN} clause) are reduced to a
+     * single parameter.</p>
+     *
+     * @param sql SQL statement to be normalized.
+     * @return normalized SQL statement.
+     */
+    public static String normalize(final String sql) {
+        // Declares support variables
+        int i, n;
+        char c, prev = ' ';
+        boolean space = false;
+        // Declares the normalized statement
+        final StringBuilder sb = new StringBuilder(sql.length());
+        // Iterate over all the characters of the statement
+        for (i = 0, n = sql.length(); i < n; i++) {
+            c = sql.charAt(i);
+            // Collapses white spaces and comments into a single space
+            if (Character.isWhitespace(c)) {
+                space = true;
+                continue;
+            } else if (c == '-' && i + 1 < n && sql.charAt(i + 1) == '-') {
+                while (i < n && sql.charAt(i) != '\n') {
+                    i++;
+                }
+                space = true;
+                continue;
+            } else if (c == '/' && i + 1 < n && sql.charAt(i + 1) == '*') {
+                i = sql.indexOf("*/", i + 2);
+                i = i < 0 ? n : i + 1;
+                space = true;
+                continue;
+            }
+            // Writes the pending space, if any
+            if (space && sb.length() > 0) {
+                sb.append(' ');
+            }
+            space = false;
+            // Replaces the literals with a parameter
+            if (c == '\'') {
+                // Skips the string, including the escaped quotes
+                for (i++; i < n; i++) {
+                    // Check if the quote ends the string or is escaped
+                    if (sql.charAt(i) == '\'') {
+                        if (i + 1 < n && sql.charAt(i + 1) == '\'') {
+                            i++;
+                        } else {
+                            break;
+                        }
+                    }
+                }
+                sb.append('?');
+                prev = '?';
+                continue;
+            } else if (Character.isDigit(c) && !SQLMetrics.isIdentifierPart(prev)) {
+                // Skips the number, including decimals, exponent and hexadecimal digits
+                while (i + 1 < n && (Character.isLetterOrDigit(sql.charAt(i + 1)) || sql.charAt(i + 1) == '.')) {
+                    i++;
+                }
+                sb.append('?');
+                prev = '?';
+                continue;
+            }
+            sb.append(c);
+            prev = c;
+        }
+        // Reduces the lists of parameters
+        String normalized = sb.toString();
+        if (normalized.indexOf("?,") >= 0 || normalized.indexOf("? ,") >= 0) {
+            normalized = SQLMetrics.ParamList.matcher(normalized).replaceAll("(?)");
+            normalized = SQLMetrics.RowList.matcher(normalized).replaceAll("(?)");
+        }
+        return normalized;
+    }
+
+    /**
+     * Internal procedure that checks if a character can be part of an identifier.
+     *
+     * @param c character to be checked.
+     * @return {@code true} if the character can be part of an identifier.
+     */
+    private static boolean isIdentifierPart(final char c) {
+        // Letters, digits, underscores and dollars, as well as quoted identifiers
+        return Character.isLetterOrDigit(c) || c == '_' || c == '$' || c == '"' || c == '`';
+    }
+
+    /**
+     * Immutable view of the metrics collected by a {@link SQLMetrics} registry.
+     */
+    public static final class Snapshot
+    {
+        /**
+         * Latency of the connection acquisitions, in nanoseconds.
+         */
+        private final LatencyHistogram.Snapshot mAcquire;
+
+        /**
+         * Latency of the commits, in nanoseconds.
+         */
+        private final LatencyHistogram.Snapshot mCommit;
+
+        /**
+         * Latency of the rollbacks, in nanoseconds.
+         */
+        private final LatencyHistogram.Snapshot mRollback;
+
+        /**
+         * Metrics of the statements, by descending total execution time.
+         */
+        private final List<StatementMetrics.Snapshot> mStatements;
+
+        /**
+         * Number of failed operations, by SQL state.
+         */
+        private final Map<String, Long> mErrors;
+
+        /**
+         * Create a new {@link Snapshot}.
+         *
+         * @param acquire latency of the connection acquisitions.
+         * @param commit latency of the commits.
+         * @param rollback latency of the rollbacks.
+         * @param statements metrics of the statements.
+         * @param errors number of failed operations, by SQL state.
+         */
+        private Snapshot(final LatencyHistogram.Snapshot acquire, final LatencyHistogram.Snapshot commit, final
+                LatencyHistogram.Snapshot rollback, final List<StatementMetrics.Snapshot> statements, final Map<String, Long> errors) {
+            // Initialize the fields
+            this.mAcquire = acquire;
+            this.mCommit = commit;
+            this.mRollback = rollback;
+            this.mStatements = statements;
+            this.mErrors = errors;
+        }
+
+        /**
+         * Gets the latency of the connection acquisitions, in nanoseconds.
+         *
+         * @return distribution of the acquisition latencies.
+         */
+        public LatencyHistogram.Snapshot getAcquire() {
+            // Return the latencies
+            return this.mAcquire;
+        }
+
+        /**
+         * Gets the latency of the commits, in nanoseconds.
+         *
+         * @return distribution of the commit latencies.
+         */
+        public LatencyHistogram.Snapshot getCommit() {
+            // Return the latencies
+            return this.mCommit;
+        }
+
+        /**
+         * Gets the latency of the rollbacks, in nanoseconds.
+         *
+         * @return distribution of the rollback latencies.
+         */
+        public LatencyHistogram.Snapshot getRollback() {
+            // Return the latencies
+            return this.mRollback;
+        }
+
+        /**
+         * Gets the metrics of the statements, sorted by descending total
+         * execution time, so that the statements that dominate the latency come first.
+         *
+         * @return unmodifiable list of the metrics of the statements.
+         */
+        public List<StatementMetrics.Snapshot> getStatements() {
+            // Return the statements
+            return this.mStatements;
+        }
+
+        /**
+         * Gets the number of failed operations by SQL state.
+         *
+         * @return unmodifiable map of the error counters, sorted by SQL state.
+         */
+        public Map<String, Long> getErrors() {
+            // Return the errors
+            return this.mErrors;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public String toString() {
+            // Describes the metrics, one statement per line
+            final StringBuilder sb = new StringBuilder();
+            sb.append("acquire [").append(this.mAcquire).append("]\ncommit [").append(this.mCommit)
+                    .append("]\nrollback [").append(this.mRollback).append("]\nerrors ").append(this.mErrors);
+            for (final StatementMetrics.Snapshot statement : this.mStatements) {
+                sb.append('\n').append(statement);
+            }
+            return sb.toString();
+        }
+    }
+}
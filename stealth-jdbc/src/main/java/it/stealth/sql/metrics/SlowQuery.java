@@ -0,0 +1,200 @@
+/*
+ * To change this license header, choose License Headers in Project Properties.
+ * To change this template file, choose Tools | Templates
+ * and open the template in the editor.
+ */
+package it.stealth.sql.metrics;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Describes a statement whose execution exceeded the
+ * threshold of a {@link SlowQueryLog}.
+ * <p>The elapsed time is split into the time spent executing the
+ * statement, the time spent fetching the rows of its results and the time
+ * spent materializing them (that is, reading the rows into objects).</p>
+ *
+ * @author Fabrizio Lo Verde
+ * @version 1.0
+ * @since 1.4
+ */
+public final class SlowQuery
+{
+    /**
+     * Normalized SQL statement.
+     */
+    private final String mSql;
+
+    /**
+     * Values bound to the parameters, possibly redacted.
+     */
+    private final List<Object> mBinds;
+
+    /**
+     * Time spent executing the statement, in nanoseconds.
+     */
+    private final long mExecuteNanos;
+
+    /**
+     * Time spent fetching the rows, in nanoseconds.
+     */
+    private final long mFetchNanos;
+
+    /**
+     * Time spent materializing the rows, in nanoseconds.
+     */
+    private final long mMaterializeNanos;
+
+    /**
+     * Number of rows read or affected.
+     */
+    private final long mRows;
+
+    /**
+     * Execution plan of the statement, {@code null} if not captured.
+     */
+    private final String mPlan;
+
+    /**
+     * Create a new {@link SlowQuery}.
+     *
+     * @param sql normalized SQL statement.
+     * @param binds values bound to the parameters, possibly redacted.
+     * @param executeNanos time spent executing the statement.
+     * @param fetchNanos time spent fetching the rows.
+     * @param materializeNanos time spent materializing the rows.
+     * @param rows number of rows read or affected.
+     * @param plan execution plan of the statement, {@code null} if not captured.
+     */
+    SlowQuery(final String sql, final List<Object> binds, final long executeNanos,
+            final long fetchNanos, final long materializeNanos, final long rows, final String plan) {
+        // Initialize the fields
+        this.mSql = sql;
+        this.mBinds = binds;
+        this.mExecuteNanos = executeNanos;
+        this.mFetchNanos = fetchNanos;
+        this.mMaterializeNanos = materializeNanos;
+        this.mRows = rows;
+        this.mPlan = plan;
+    }
+
+    /**
+     * Gets the normalized SQL statement.
+     *
+     * @return normalized SQL statement.
+     * @see SQLMetrics#normalize(String)
+     */
+    public String getSql() {
+        // Return the statement
+        return this.mSql;
+    }
+
+    /**
+     * Gets the values bound to the parameters of the statement.
+     *
+     * @return unmodifiable list of the values, in which each value is replaced
+     *         by {@code "?"} if the binds are redacted; empty if the
+     *         statement has no parameters.
+     */
+    public List<Object> getBinds() {
+        // Return the values
+        return this.mBinds;
+    }
+
+    /**
+     * Gets the time spent executing the statement,
+     * until its first results were available.
+     *
+     * @return execution time, in nanoseconds.
+     */
+    public long getExecuteNanos() {
+        // Return the time
+        return this.mExecuteNanos;
+    }
+
+    /**
+     * Gets the time spent fetching the rows of the results from the driver.
+     *
+     * @return fetch time, in nanoseconds.
+     */
+    public long getFetchNanos() {
+        // Return the time
+        return this.mFetchNanos;
+    }
+
+    /**
+     * Gets the time spent materializing the rows of the results, that is
+     * the time spent by the reader outside of the fetch of the rows.
+     *
+     * @return materialization time, in nanoseconds.
+     */
+    public long getMaterializeNanos() {
+        // Return the time
+        return this.mMaterializeNanos;
+    }
+
+    /**
+     * Gets the total elapsed time.
+     *
+     * @return sum of the execution, fetch and materialization times, in nanoseconds.
+     */
+    public long getElapsedNanos() {
+        // Sums the times
+        return this.mExecuteNanos + this.mFetchNanos + this.mMaterializeNanos;
+    }
+
+    /**
+     * Gets the number of rows read from the results of a query,
+     * or the number of rows affected by a command.
+     *
+     * @return number of rows.
+     */
+    public long getRows() {
+        // Return the number of rows
+        return this.mRows;
+    }
+
+    /**
+     * Gets the execution plan of the statement.
+     *
+     * @return execution plan, one step per line, or {@code null}
+     *         if it has not been captured.
+     */
+    public String getPlan() {
+        // Return the plan
+        return this.mPlan;
+    }
+
+    /**
+     * Create a copy of this object with a certain execution plan.
+     *
+     * @param plan execution plan of the statement.
+     * @return a copy of this object with the plan.
+     */
+    SlowQuery withPlan(final String plan) {
+        // Copies all the other fields
+        return new SlowQuery(this.mSql, this.mBinds, this.mExecuteNanos,
+                this.mFetchNanos, this.mMaterializeNanos, this.mRows, plan);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String toString() {
+        // Describes the statement, its times in milliseconds and its plan
+        final StringBuilder sb = new StringBuilder(String.format(
+                "Slow query (%d ms: execute %d ms, fetch %d ms, materialize %d ms, %d rows): %s",
+                TimeUnit.NANOSECONDS.toMillis(this.getElapsedNanos()), TimeUnit.NANOSECONDS.toMillis(
+                this.mExecuteNanos), TimeUnit.NANOSECONDS.toMillis(this.mFetchNanos), TimeUnit.
+                NANOSECONDS.toMillis(this.mMaterializeNanos), this.mRows, this.mSql));
+        if (!this.mBinds.isEmpty()) {
+            sb.append(" binds=").append(this.mBinds);
+        }
+        if (this.mPlan != null) {
+            sb.append("\nPlan:\n").append(this.mPlan);
+        }
+        return sb.toString();
+    }
+}
@@ -0,0 +1,28 @@
+/*
+ * To change this license header, choose License Headers in Project Properties.
+ * To change this template file, choose Tools | Templates
+ * and open the template in the editor.
+ */
+package it.stealth.sql.metrics;
+
+/**
+ * Functional interface that receives the statements
+ * reported by a {@link SlowQueryLog}.
+ * <p>The listener is always invoked on the background thread of the
+ * log, never on the thread that executed the statement.</p>
+ *
+ * @author Fabrizio Lo Verde
+ * @see SlowQueryLog#setListener(SlowQueryListener)
+ * @version 1.0
+ * @since 1.4
+ */
+@FunctionalInterface
+public interface SlowQueryListener
+{
+    /**
+     * Receives a statement whose execution exceeded the threshold.
+     *
+     * @param query the slow statement.
+     */
+    public void onSlowQuery(final SlowQuery query);
+}
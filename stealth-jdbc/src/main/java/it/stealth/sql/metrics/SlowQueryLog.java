@@ -0,0 +1,408 @@
+/*
+ * To change this license header, choose License Headers in Project Properties.
+ * To change this template file, choose Tools | Templates
+ * and open the template in the editor.
+ */
+package it.stealth.sql.metrics;
+
+import it.stealth.sql.connection.DbConnectionProvider;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.Objects;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import org.apache.commons.lang3.Validate;
+
+/**
+ * Reports the statements whose execution exceeds a certain threshold.
+ * <p>The thread that executes a statement only measures its times and
+ * compares their sum with the threshold: the statements below it cost two
+ * clock readings and a comparison, so that the log can stay enabled in
+ * production. The slow statements are handed over to a background thread
+ * that normalizes their SQL, optionally captures their execution plan
+ * through {@code EXPLAIN} (on MySQL and SQLite) and passes them to the
+ * {@link SlowQueryListener}, which by default writes them to the
+ * {@code it.stealth.sql.SlowQuery} logger of {@code java.util.logging}.</p>
+ * <p>If the background thread cannot keep up, the excess statements are
+ * discarded and counted. The values bound to the parameters are redacted
+ * by default, since they may contain personal data.</p>
+ *
+ * @author Fabrizio Lo Verde
+ * @version 1.0
+ * @since 1.4
+ */
+public final class SlowQueryLog implements AutoCloseable
+{
+    /**
+     * Provider of the connections used to capture the execution plans.
+     */
+    private final DbConnectionProvider mProvider;
+
+    /**
+     * Threshold above which a statement is reported, in nanoseconds.
+     */
+    private final long mThreshold;
+
+    /**
+     * Executor of the background thread.
+     */
+    private final ExecutorService mExecutor;
+
+    /**
+     * Instant of the last plan captured for each normalized SQL.
+     */
+    private final ConcurrentMap<String, Long> mExplained = new ConcurrentHashMap<>();
+
+    /**
+     * Number of slow statements discarded because the background thread was busy.
+     */
+    private final AtomicLong mDroppedCount = new AtomicLong();
+
+    /**
+     * Number of slow statements reported.
+     */
+    private final AtomicLong mReportedCount = new AtomicLong();
+
+    /**
+     * Indicates whether the values bound to the parameters are redacted.
+     */
+    private volatile boolean mRedactBinds = true;
+
+    /**
+     * Indicates whether to capture the execution plans.
+     */
+    private volatile boolean mExplain;
+
+    /**
+     * Listener that receives the slow statements.
+     */
+    private volatile SlowQueryListener mListener = SlowQueryLog.DefaultListener;
+
+    /**
+     * Logger used by the default listener.
+     */
+    private static final Logger Log = Logger.getLogger("it.stealth.sql.SlowQuery");
+
+    /**
+     * Listener that writes the slow statements as warnings.
+     */
+    public static final SlowQueryListener DefaultListener = query -> SlowQueryLog.Log.log(Level.WARNING, query.toString());
+
+    /**
+     * Maximum number of slow statements waiting for the background thread.
+     */
+    private static final int QueueCapacity = 1024;
+
+    /**
+     * Minimum time between two plans captured for the same normalized SQL.
+     */
+    private static final long ExplainInterval = TimeUnit.MINUTES.toNanos(1);
+
+    /**
+     * Maximum number of normalized SQL statements whose last plan is remembered.
+     */
+    private static final int MaxExplained = 1000;
+
+    /**
+     * Value that replaces a redacted bind value.
+     */
+    private static final String Redacted = "?";
+
+    /**
+     * Name of the background thread.
+     */
+    private static final String ThreadName = "stealth-slow-query-log";
+
+    /**
+     * Defines the parameter relating to the connection provider.
+     */
+    private static final String DbConnProviderParam = "dbConnectionProvider";
+
+    /**
+     * Defines the parameter relating to the listener.
+     */
+    private static final String ListenerParam = "listener";
+
+    /**
+     * Exception message raised when the threshold is negative.
+     */
+    private static final String ExNegativeThreshold = "The threshold must not be negative: %d";
+
+    /**
+     * Create a new {@link SlowQueryLog} and starts its background thread.
+     *
+     * @param dbConnectionProvider provider of the connections
+     *        used to capture the execution plans.
+     * @param thresholdMillis threshold above which a statement is reported.
+     * @throws NullPointerException if {@code dbConnectionProvider} is {@code null}.
+     * @throws IllegalArgumentException if {@code thresholdMillis} is negative.
+     */
+    public SlowQueryLog(final DbConnectionProvider dbConnectionProvider, final long thresholdMillis) {
+        // Validates the parameters
+        Validate.isTrue(thresholdMillis >= 0, SlowQueryLog.ExNegativeThreshold, thresholdMillis);
+        // Initialize the fields
+        this.mProvider = Objects.requireNonNull(dbConnectionProvider, SlowQueryLog.DbConnProviderParam);
+        this.mThreshold = TimeUnit.MILLISECONDS.toNanos(thresholdMillis);
+        // Create a single daemon thread that discards the excess statements
+        this.mExecutor = new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(SlowQueryLog.QueueCapacity), r -> {
+            // Create a thread that does not prevent the JVM from exiting
+            final Thread thread = new Thread(r, SlowQueryLog.ThreadName);
+            thread.setDaemon(true);
+            return thread;
+        }, (r, executor) -> this.mDroppedCount.incrementAndGet());
+    }
+
+    /**
+     * Gets the threshold above which a statement is reported.
+     *
+     * @param unit time unit of the result.
+     * @return the threshold in the required time unit.
+     */
+    public long getThreshold(final TimeUnit unit) {
+        // Converts the threshold from nanoseconds
+        return unit.convert(this.mThreshold, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Sets whether the values bound to the parameters are redacted.
+     *
+     * @param redactBinds {@code true} to replace the values with {@code "?"}
+     *        (the default), {@code false} to report them as they are.
+     */
+    public void setRedactBinds(final boolean redactBinds) {
+        // Stores the flag
+        this.mRedactBinds = redactBinds;
+    }
+
+    /**
+     * Indicates whether the values bound to the parameters are redacted.
+     *
+     * @return {@code true} if the values are redacted.
+     */
+    public boolean isRedactBinds() {
+        // Return the flag
+        return this.mRedactBinds;
+    }
+
+    /**
+     * Sets whether to capture the execution plan of the slow statements.
+     * <p>The plan is captured on a new connection, through {@code EXPLAIN} on
+     * MySQL and MariaDB and through {@code EXPLAIN QUERY PLAN} on SQLite; on
+     * the other databases no plan is captured. To limit the load on the
+     * database, the plan of the same normalized SQL is captured at most once
+     * a minute.</p>
+     *
+     * @param explain {@code true} to capture the plans (disabled by default).
+     */
+    public void setExplain(final boolean explain) {
+        // Stores the flag
+        this.mExplain = explain;
+    }
+
+    /**
+     * Indicates whether the execution plan of the slow statements is captured.
+     *
+     * @return {@code true} if the plans are captured.
+     */
+    public boolean isExplain() {
+        // Return the flag
+        return this.mExplain;
+    }
+
+    /**
+     * Sets the listener that receives the slow statements.
+     *
+     * @param listener listener of the slow statements.
+     * @throws NullPointerException if {@code listener} is {@code null}.
+     * @see #DefaultListener
+     */
+    public void setListener(final SlowQueryListener listener) {
+        // Stores the listener
+        this.mListener = Objects.requireNonNull(listener, SlowQueryLog.ListenerParam);
+    }
+
+    /**
+     * Gets the number of slow statements reported so far.
+     *
+     * @return number of statements passed to the listener.
+     */
+    public long getReportedCount() {
+        // Return the counter
+        return this.mReportedCount.get();
+    }
+
+    /**
+     * Gets the number of slow statements discarded
+     * because the background thread could not keep up.
+     *
+     * @return number of statements discarded.
+     */
+    public long getDroppedCount() {
+        // Return the counter
+        return this.mDroppedCount.get();
+    }
+
+    /**
+     * Checks the times of an execution against the
+     * threshold, reporting the statement if it exceeds it.
+     * <p>This method returns immediately: the statement
+     * is reported on the background thread.</p>
+     *
+     * @param sql SQL statement executed.
+     * @param args values bound to the parameters (may be {@code null}).
+     * @param executeNanos time spent executing the statement.
+     * @param fetchNanos time spent fetching the rows.
+     * @param materializeNanos time spent materializing the rows.
+     * @param rows number of rows read or affected.
+     */
+    public void record(final String sql, final Object[] args, final long executeNanos,
+            final long fetchNanos, final long materializeNanos, final long rows) {
+        // Check if the statement is fast enough
+        if (executeNanos + fetchNanos + materializeNanos < this.mThreshold) {
+            return;
+        }
+        // Copies the values, since the caller may reuse the array
+        final Object[] binds = args == null ? new Object[0] : args.clone();
+        // Decides now whether to redact them, as configured at the time of the execution
+        final boolean redact = this.mRedactBinds;
+        try {
+            // Hands the statement over to the background thread
+            this.mExecutor.execute(() -> this.report(sql, binds, redact,
+                    executeNanos, fetchNanos, materializeNanos, rows));
+        } catch (final RejectedExecutionException ex) {
+            // The log has been closed
+            this.mDroppedCount.incrementAndGet();
+        }
+    }
+
+    /**
+     * Stops the background thread, discarding the
+     * slow statements not yet reported.
+     */
+    @Override
+    public void close() {
+        // Stops the background thread
+        this.mExecutor.shutdownNow();
+    }
+
+    /**
+     * Internal procedure, executed on the background
+     * thread, that reports a slow statement.
+     *
+     * @param sql SQL statement executed.
+     * @param args values bound to the parameters.
+     * @param redact {@code true} to redact the values.
+     * @param executeNanos time spent executing the statement.
+     * @param fetchNanos time spent fetching the rows.
+     * @param materializeNanos time spent materializing the rows.
+     * @param rows number of rows read or affected.
+     */
+    private void report(final String sql, final Object[] args, final boolean redact, final long
+            executeNanos, final long fetchNanos, final long materializeNanos, final long rows) {
+        // Normalizes the statement and redacts the values, if required
+        final String normalized = SQLMetrics.normalize(sql);
+        final List<Object> binds = Collections.unmodifiableList(redact ? Collections.
+                nCopies(args.length, SlowQueryLog.Redacted) : new ArrayList<>(Arrays.asList(args)));
+        SlowQuery query = new SlowQuery(normalized, binds, executeNanos, fetchNanos, materializeNanos, rows, null);
+        // Captures the plan, if required
+        if (this.mExplain && this.shouldExplain(normalized)) {
+            query = query.withPlan(this.explain(sql, args));
+        }
+        this.mReportedCount.incrementAndGet();
+        try {
+            // Passes the statement to the listener
+            this.mListener.onSlowQuery(query);
+        } catch (final RuntimeException ex) {
+            // A faulty listener must not stop the background thread
+            SlowQueryLog.Log.log(Level.WARNING, ex.getMessage(), ex);
+        }
+    }
+
+    /**
+     * Internal procedure that checks whether the plan of a
+     * normalized SQL has not been captured recently.
+     *
+     * @param normalized normalized SQL statement.
+     * @return {@code true} if the plan must be captured.
+     */
+    private boolean shouldExplain(final String normalized) {
+        // Forgets the plans captured when there are too many
+        if (this.mExplained.size() >= SlowQueryLog.MaxExplained) {
+            this.mExplained.clear();
+        }
+        // Check the instant of the last plan captured
+        final long now = System.nanoTime();
+        final Long last = this.mExplained.get(normalized);
+        if (last != null && now - last < SlowQueryLog.ExplainInterval) {
+            return false;
+        }
+        this.mExplained.put(normalized, now);
+        return true;
+    }
+
+    /**
+     * Internal procedure that captures the execution plan of a statement.
+     *
+     * @param sql SQL statement executed.
+     * @param args values bound to the parameters.
+     * @return execution plan, one step per line and columns separated by
+     *         tabs, or a description of the failure, or {@code null} if
+     *         the database does not support plans.
+     */
+    private String explain(final String sql, final Object[] args) {
+        // Declares support integers
+        int i, n;
+        // Opens a new connection, not to interfere with the running statements
+        try (final Connection dbConn = this.mProvider.getDbConnection()) {
+            // Chooses the statement that describes the plan on this database
+            final String product = dbConn.getMetaData().getDatabaseProductName().toLowerCase(Locale.ROOT);
+            final String prefix;
+            if (product.contains("mysql") || product.contains("mariadb")) {
+                prefix = "EXPLAIN ";
+            } else if (product.contains("sqlite")) {
+                prefix = "EXPLAIN QUERY PLAN ";
+            } else {
+                return null;
+            }
+            // Describes the statement with the same values
+            try (final PreparedStatement stmt = dbConn.prepareStatement(prefix + sql)) {
+                for (i = 0; i < args.length; i++) {
+                    stmt.setObject(i + 1, args[i]);
+                }
+                // Writes a line for each step of the plan
+                final StringBuilder sb = new StringBuilder();
+                try (final ResultSet rs = stmt.executeQuery()) {
+                    n = rs.getMetaData().getColumnCount();
+                    while (rs.next()) {
+                        if (sb.length() > 0) {
+                            sb.append('\n');
+                        }
+                        for (i = 1; i <= n; i++) {
+                            sb.append(i > 1 ? "\t" : "").append(rs.getObject(i));
+                        }
+                    }
+                }
+                return sb.toString();
+            }
+        } catch (final SQLException ex) {
+            // The plan is optional: reports why it is missing
+            return "EXPLAIN failed: " + ex.getMessage();
+        }
+    }
+}
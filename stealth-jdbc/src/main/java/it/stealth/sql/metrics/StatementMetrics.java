@@ -0,0 +1,209 @@
+/*
+ * To change this license header, choose License Headers in Project Properties.
+ * To change this template file, choose Tools | Templates
+ * and open the template in the editor.
+ */
+package it.stealth.sql.metrics;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Collects the metrics of all the executions of a certain normalized SQL statement.
+ * <p>The statements that differ only by their literal values share the same
+ * {@link StatementMetrics}, so that their latencies are aggregated.</p>
+ *
+ * @author Fabrizio Lo Verde
+ * @see SQLMetrics#normalize(String)
+ * @version 1.0
+ * @since 1.4
+ */
+public final class StatementMetrics
+{
+    /**
+     * Normalized SQL statement.
+     */
+    private final String mSql;
+
+    /**
+     * Latency of the executions, in nanoseconds.
+     */
+    private final LatencyHistogram mExecute = new LatencyHistogram();
+
+    /**
+     * Number of rows fetched from the results.
+     */
+    private final LongAdder mRows = new LongAdder();
+
+    /**
+     * Number of failed executions.
+     */
+    private final LongAdder mErrors = new LongAdder();
+
+    /**
+     * Create a new {@link StatementMetrics}.
+     *
+     * @param sql normalized SQL statement.
+     */
+    StatementMetrics(final String sql) {
+        // Initialize the fields
+        this.mSql = sql;
+    }
+
+    /**
+     * Gets the normalized SQL statement.
+     *
+     * @return normalized SQL statement.
+     */
+    public String getSql() {
+        // Return the statement
+        return this.mSql;
+    }
+
+    /**
+     * Records an execution of the statement.
+     *
+     * @param elapsedNanos duration of the execution, in nanoseconds.
+     * @param failed {@code true} if the execution failed.
+     */
+    public void recordExecute(final long elapsedNanos, final boolean failed) {
+        // Records the latency and the failure
+        this.mExecute.record(elapsedNanos);
+        if (failed) {
+            this.mErrors.increment();
+        }
+    }
+
+    /**
+     * Records a certain number of rows fetched from the results of the statement.
+     *
+     * @param rows number of rows fetched.
+     */
+    public void recordRows(final long rows) {
+        // Adds the rows to the total
+        this.mRows.add(rows);
+    }
+
+    /**
+     * Clears all the metrics collected so far.
+     */
+    void reset() {
+        // Clears the latencies and the counters
+        this.mExecute.reset();
+        this.mRows.reset();
+        this.mErrors.reset();
+    }
+
+    /**
+     * Gets the number of executions of the statement recorded so far.
+     * <p>Unlike {@link #snapshot()}, it does not copy the latencies.</p>
+     *
+     * @return number of executions.
+     * @since 1.4
+     */
+    public long getExecuteCount() {
+        // Returns the counter of the latencies
+        return this.mExecute.getCount();
+    }
+
+    /**
+     * Takes a snapshot of the metrics collected so far.
+     *
+     * @return the metrics of the statement.
+     */
+    public Snapshot snapshot() {
+        // Copies the current metrics
+        return new Snapshot(this.mSql, this.mExecute.snapshot(), this.mRows.sum(), this.mErrors.sum());
+    }
+
+    /**
+     * Immutable view of the metrics of a normalized SQL statement.
+     */
+    public static final class Snapshot
+    {
+        /**
+         * Normalized SQL statement.
+         */
+        private final String mSql;
+
+        /**
+         * Latency of the executions, in nanoseconds.
+         */
+        private final LatencyHistogram.Snapshot mExecute;
+
+        /**
+         * Number of rows fetched from the results.
+         */
+        private final long mRows;
+
+        /**
+         * Number of failed executions.
+         */
+        private final long mErrors;
+
+        /**
+         * Create a new {@link Snapshot}.
+         *
+         * @param sql normalized SQL statement.
+         * @param execute latency of the executions.
+         * @param rows number of rows fetched.
+         * @param errors number of failed executions.
+         */
+        private Snapshot(final String sql, final LatencyHistogram.
+                Snapshot execute, final long rows, final long errors) {
+            // Initialize the fields
+            this.mSql = sql;
+            this.mExecute = execute;
+            this.mRows = rows;
+            this.mErrors = errors;
+        }
+
+        /**
+         * Gets the normalized SQL statement.
+         *
+         * @return normalized SQL statement.
+         */
+        public String getSql() {
+            // Return the statement
+            return this.mSql;
+        }
+
+        /**
+         * Gets the latency of the executions, in nanoseconds.
+         *
+         * @return distribution of the latencies.
+         */
+        public LatencyHistogram.Snapshot getExecute() {
+            // Return the latencies
+            return this.mExecute;
+        }
+
+        /**
+         * Gets the number of rows fetched from the results.
+         *
+         * @return number of rows fetched.
+         */
+        public long getRows() {
+            // Return the number of rows
+            return this.mRows;
+        }
+
+        /**
+         * Gets the number of failed executions.
+         *
+         * @return number of failed executions.
+         */
+        public long getErrors() {
+            // Return the number of failures
+            return this.mErrors;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public String toString() {
+            // Describes the metrics of the statement
+            return this.mSql + " [" + this.mExecute + " rows=" + this.mRows + " errors=" + this.mErrors + "]";
+        }
+    }
+}
@@ -14,7 +14,11 @@ import java.sql.SQLException;
  * <p>To read the results of a query, you need to implement this interface and
  * then provide that object as argument to the {@link SQLEngine#query(String,
  * SQLQueryReader)} method together with the SQL query to be submitted to
- * the database.</p>
+ * the database.</p><p>A reader can also declare how many records it needs
+ * and how many records should be fetched for each round trip, through the
+ * {@link #getMaxRows()} and {@link #getFetchSize()} methods. These hints are
+ * applied by {@link SQLEngine} to the statement before the query is executed,
+ * so that the driver does not transfer records the reader will never read.</p>
  * 
  * @param <T> type of the object returned by the query.
  * @author Fabrizio Lo Verde
@@ -31,4 +35,34 @@ public interface SQLQueryReader<T>
      * @throws SQLException if an error occurs while querying the database.
      */
     public T read(final ResultSet rs) throws SQLException;
+    
+    /**
+     * Gets the maximum number of records this reader needs to read.
+     * <p>The value is applied through {@link java.sql.Statement#setMaxRows(int)}
+     * before executing the query. The default implementation returns zero,
+     * which means that there is no limit.</p>
+     * 
+     * @return maximum number of records read, or zero if there is no limit.
+     * @since 1.4
+     */
+    public default int getMaxRows() {
+        // No limit on the number of records
+        return 0;
+    }
+    
+    /**
+     * Gets the number of records that should be fetched from
+     * the database each time more records are needed.
+     * <p>The value is applied through {@link java.sql.Statement#setFetchSize(int)}
+     * before executing the query. The default implementation returns zero,
+     * which means that the driver default is used.</p>
+     * 
+     * @return number of records fetched for each round
+     *         trip, or zero to use the driver default.
+     * @since 1.4
+     */
+    public default int getFetchSize() {
+        // Use the driver default
+        return 0;
+    }
 }
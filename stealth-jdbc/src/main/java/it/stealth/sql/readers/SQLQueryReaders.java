@@ -5,6 +5,7 @@
  */
 package it.stealth.sql.readers;
 
+import it.stealth.sql.QueryRecord;
 import it.stealth.sql.QueryResults;
 import it.stealth.sql.util.SQLQueryResults;
 import it.stealth.sql.util.SQLUtils;
@@ -13,6 +14,10 @@ import java.sql.SQLException;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.LocalTime;
+import java.time.ZoneId;
+import java.util.Comparator;
+import java.util.Objects;
+import org.apache.commons.lang3.Validate;
 
 /**
  * Utility class that provides the main query readers to
@@ -28,6 +33,16 @@ public final class SQLQueryReaders
      */
     private static final String ClassParam = "cls";
     
+    /**
+     * Defines the name of the parameter related to the order of the records.
+     */
+    private static final String OrderParam = "order";
+    
+    /**
+     * Defines the name of the parameter related to the query reader.
+     */
+    private static final String ReaderParam = "reader";
+    
     /**
      * Defines a {@link SQLQueryReader} to read the first
      * field of the first record as an {@link Byte} value.
@@ -126,6 +141,20 @@ public final class SQLQueryReaders
     private static final String ExCannotBeVoid = "The Void type"
             + " can not be used as a class of field values.";
     
+    /**
+     * Exception message used when the number
+     * of records to be read is not positive.
+     */
+    private static final String ExNotPositiveCount =
+            "The number of records must be positive: %d";
+    
+    /**
+     * Exception message used when the maximum
+     * number of records to be read is negative.
+     */
+    private static final String ExNegativeMaxRows =
+            "The maximum number of records cannot be negative: %d";
+    
     //<editor-fold defaultstate="collapsed" desc="SQLQueryReader implementation for strongly typed values.">
     /**
      * Implementation of a {@link SQLQueryReader} to read a
@@ -175,6 +204,16 @@ public final class SQLQueryReaders
                 return this.mDefaultValue;
             }
         }
+        
+        /**
+         * {@inheritDoc}
+         * <p>This reader only needs the first record.</p>
+         */
+        @Override
+        public final int getMaxRows() {
+            // Only the first record is read
+            return 1;
+        }
     }//</editor-fold>
     
     //<editor-fold defaultstate="collapsed" desc="SQLQueryReader implementation for weakly typed values.">
@@ -217,6 +256,16 @@ public final class SQLQueryReaders
                 return this.mDefaultValue;
             }
         }
+        
+        /**
+         * {@inheritDoc}
+         * <p>This reader only needs the first record.</p>
+         */
+        @Override
+        public final int getMaxRows() {
+            // Only the first record is read
+            return 1;
+        }
     }//</editor-fold>
     
     //<editor-fold defaultstate="collapsed" desc="SQLQueryReader implementation for LocalDateTime">
@@ -257,6 +306,16 @@ public final class SQLQueryReaders
                 return this.mDefaultValue;
             }
         }
+        
+        /**
+         * {@inheritDoc}
+         * <p>This reader only needs the first record.</p>
+         */
+        @Override
+        public final int getMaxRows() {
+            // Only the first record is read
+            return 1;
+        }
     }//</editor-fold>
     
     //<editor-fold defaultstate="collapsed" desc="SQLQueryReader implementation for LocalDate">
@@ -296,6 +355,16 @@ public final class SQLQueryReaders
                 return this.mDefaultValue;
             }
         }
+        
+        /**
+         * {@inheritDoc}
+         * <p>This reader only needs the first record.</p>
+         */
+        @Override
+        public final int getMaxRows() {
+            // Only the first record is read
+            return 1;
+        }
     }//</editor-fold>
     
     //<editor-fold defaultstate="collapsed" desc="SQLQueryReader implementation for LocalTime">
@@ -335,8 +404,245 @@ public final class SQLQueryReaders
                 return this.mDefaultValue;
             }
         }
+        
+        /**
+         * {@inheritDoc}
+         * <p>This reader only needs the first record.</p>
+         */
+        @Override
+        public final int getMaxRows() {
+            // Only the first record is read
+            return 1;
+        }
     }//</editor-fold>
     
+    
+    //<editor-fold defaultstate="collapsed" desc="SQLQueryReader implementation for the first records">
+    /**
+     * Implementation of a {@link SQLQueryReader} that stores
+     * the first records of a query in a {@link QueryResults}.
+     */
+    private static final class FRQR implements SQLQueryReader<QueryResults>
+    {
+        /**
+         * Maximum number of records to be read.
+         */
+        private final int mCount;
+        
+        /**
+         * Class constructor that specifies the number of records to read.
+         *
+         * @param count maximum number of records to be read.
+         */
+        public FRQR(final int count) {
+            // Stores the maximum number of records
+            this.mCount = count;
+        }
+        
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public final QueryResults read(final ResultSet rs) throws SQLException {
+            // Stores only the first records of the query
+            return new SQLQueryResults(rs, ZoneId.
+                    systemDefault(), this.mCount, null);
+        }
+        
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public final int getMaxRows() {
+            // Returns the maximum number of records
+            return this.mCount;
+        }
+    }//</editor-fold>
+    
+    //<editor-fold defaultstate="collapsed" desc="SQLQueryReader implementation for the top records">
+    /**
+     * Implementation of a {@link SQLQueryReader} that stores the first
+     * records of a query according to a certain order in a {@link QueryResults}.
+     * <p>The whole query is scanned, but only a bounded heap of records
+     * is held in memory while scanning.</p>
+     */
+    private static final class TRQR implements SQLQueryReader<QueryResults>
+    {
+        /**
+         * Maximum number of records to be kept.
+         */
+        private final int mCount;
+        
+        /**
+         * Order used to select the records to be kept.
+         */
+        private final Comparator<? super QueryRecord> mOrder;
+        
+        /**
+         * Class constructor that specifies the number
+         * of records to keep and the order to select them.
+         *
+         * @param count maximum number of records to be kept.
+         * @param order order used to select the records.
+         */
+        public TRQR(final int count, final Comparator<? super QueryRecord> order) {
+            // Stores the maximum number of records
+            this.mCount = count;
+            // Stores the order of the records
+            this.mOrder = order;
+        }
+        
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public final QueryResults read(final ResultSet rs) throws SQLException {
+            // Stores only the first records according to the order
+            return new SQLQueryResults(rs, ZoneId.systemDefault(),
+                    this.mCount, this.mOrder);
+        }
+    }//</editor-fold>
+    
+    //<editor-fold defaultstate="collapsed" desc="SQLQueryReader wrapper that declares statement hints">
+    /**
+     * Implementation of a {@link SQLQueryReader} that wraps another
+     * reader overriding the hints applied to the statement.
+     *
+     * @param <T> type of the object returned by the query.
+     */
+    private static final class HQR<T> implements SQLQueryReader<T>
+    {
+        /**
+         * Reference to the wrapped reader.
+         */
+        private final SQLQueryReader<T> mInner;
+        
+        /**
+         * Maximum number of records to be read.
+         */
+        private final int mMaxRows;
+        
+        /**
+         * Number of records fetched for each round trip.
+         */
+        private final int mFetchSize;
+        
+        /**
+         * Class constructor that specifies the wrapped reader and its hints.
+         *
+         * @param inner reader to be wrapped.
+         * @param maxRows maximum number of records to be read.
+         * @param fetchSize number of records fetched for each round trip.
+         */
+        public HQR(final SQLQueryReader<T> inner, final
+                int maxRows, final int fetchSize) {
+            // Stores the reference to the wrapped reader
+            this.mInner = inner;
+            // Stores the maximum number of records
+            this.mMaxRows = maxRows;
+            // Stores the number of records for each round trip
+            this.mFetchSize = fetchSize;
+        }
+        
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public final T read(final ResultSet rs) throws SQLException {
+            // Invokes the wrapped reader
+            return this.mInner.read(rs);
+        }
+        
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public final int getMaxRows() {
+            // Returns the maximum number of records
+            return this.mMaxRows;
+        }
+        
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public final int getFetchSize() {
+            // Returns the number of records for each round trip
+            return this.mFetchSize;
+        }
+    }//</editor-fold>
+    
+    /**
+     * Provides an {@link SQLQueryReader} that stores at most the
+     * first {@code count} records of a query in a {@link QueryResults}.
+     * <p>The limit is also pushed to the driver through {@link
+     * java.sql.Statement#setMaxRows(int)}, so that the remaining
+     * records are not transferred to the client.</p>
+     * 
+     * @param count maximum number of records to be read.
+     * @return reader of the first records of a query.
+     * @throws IllegalArgumentException if {@code count} is not positive.
+     * @since 1.4
+     */
+    public static final SQLQueryReader<QueryResults> firstRecords(final int count) {
+        // Check that the number of records is positive
+        Validate.isTrue(count > 0, SQLQueryReaders.ExNotPositiveCount, count);
+        // Create a reader of the first records
+        return new SQLQueryReaders.FRQR(count);
+    }
+    
+    /**
+     * Provides an {@link SQLQueryReader} that stores at most the first {@code
+     * count} records of a query, according to a certain order, in a {@link
+     * QueryResults}.<p>The whole query is scanned, keeping in memory a bounded
+     * heap that never holds more than {@code count} records. The records of the
+     * results are sorted according to the order provided.</p><p>When the order
+     * can be expressed in SQL, an {@code ORDER BY} clause together with {@link
+     * #firstRecords(int)} should be preferred.</p>
+     * 
+     * @param count maximum number of records to be kept.
+     * @param order order used to select the records to be kept.
+     * @return reader of the first records of a query according to an order.
+     * @throws NullPointerException if {@code order} is {@code null}.
+     * @throws IllegalArgumentException if {@code count} is not positive.
+     * @since 1.4
+     */
+    public static final SQLQueryReader<QueryResults> topRecords(final
+            int count, final Comparator<? super QueryRecord> order) {
+        // Check that the order reference is not null
+        Objects.requireNonNull(order, SQLQueryReaders.OrderParam);
+        // Check that the number of records is positive
+        Validate.isTrue(count > 0, SQLQueryReaders.ExNotPositiveCount, count);
+        // Create a reader of the top records
+        return new SQLQueryReaders.TRQR(count, order);
+    }
+    
+    /**
+     * Provides an {@link SQLQueryReader} that wraps another reader,
+     * overriding the hints applied to the statement before the query.
+     * 
+     * @param <T> type of the object returned by the query.
+     * @param reader reader of the query results.
+     * @param maxRows maximum number of records to be read, or zero if there is no limit.
+     * @param fetchSize number of records fetched for each round
+     *        trip, or zero to use the driver default.
+     * @return reader that declares the hints provided.
+     * @throws NullPointerException if {@code reader} is {@code null}.
+     * @throws IllegalArgumentException if {@code maxRows} is negative.
+     * @see SQLQueryReader#getMaxRows()
+     * @see SQLQueryReader#getFetchSize()
+     * @since 1.4
+     */
+    public static final <T> SQLQueryReader<T> withHints(final SQLQueryReader<T>
+            reader, final int maxRows, final int fetchSize) {
+        // Check that the reader reference is not null
+        Objects.requireNonNull(reader, SQLQueryReaders.ReaderParam);
+        // Check that the maximum number of records is not negative
+        Validate.isTrue(maxRows >= 0, SQLQueryReaders.ExNegativeMaxRows, maxRows);
+        // Create a reader that declares the hints provided
+        return new SQLQueryReaders.HQR<>(reader, maxRows, fetchSize);
+    }
+    
     /**
      * Provides an {@link SQLQueryReader} to read
      * the first field of the first record of a query.
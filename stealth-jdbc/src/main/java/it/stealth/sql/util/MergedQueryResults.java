@@ -0,0 +1,283 @@
+/*
+ * To change this license header, choose License Headers in Project Properties.
+ * To change this template file, choose Tools | Templates
+ * and open the template in the editor.
+ */
+package it.stealth.sql.util;
+
+import it.stealth.sql.QueryRecord;
+import it.stealth.sql.QueryResults;
+import it.stealth.sql.wrappers.QueryResultsWrapper;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.PriorityQueue;
+import org.apache.commons.lang3.Validate;
+
+/**
+ * Implementation of the {@link QueryResults} interface that presents
+ * several results, produced by queries with the same fields, as a single
+ * set of results.<p>The records are either concatenated in the order of
+ * the results provided, or merged according to a certain order: in the
+ * latter case each of the results must already be sorted by that order,
+ * so that the merge is performed lazily while iterating, without copying
+ * the records.</p><p>The description of the fields is taken from the
+ * first of the results provided.</p>
+ *
+ * @author Fabrizio Lo Verde
+ * @version 1.0
+ * @since 1.4
+ */
+public class MergedQueryResults extends QueryResultsWrapper
+{
+    /**
+     * Results to be merged.
+     */
+    private final List<QueryResults> mParts;
+
+    /**
+     * Order used to merge the results ({@code null} to concatenate them).
+     */
+    private final Comparator<? super QueryRecord> mOrder;
+
+    /**
+     * Total number of records.
+     */
+    private final int mRecordCount;
+
+    /**
+     * Defines the parameter name for the results to be merged.
+     */
+    private static final String PartsParam = "parts";
+
+    /**
+     * Create a new {@link MergedQueryResults} that
+     * concatenates several results in the order provided.
+     *
+     * @param parts results to be concatenated.
+     * @throws NullPointerException if {@code parts} or one of its elements is {@code null}.
+     * @throws IllegalArgumentException if {@code parts} is empty.
+     */
+    public MergedQueryResults(final List<? extends QueryResults> parts) {
+        // Invokes the overloaded constructor
+        this(parts, null);
+    }
+
+    /**
+     * Create a new {@link MergedQueryResults} that merges
+     * several results, each already sorted by a certain order.
+     *
+     * @param parts results to be merged.
+     * @param order order by which each of the results is sorted
+     *        ({@code null} to concatenate the results).
+     * @throws NullPointerException if {@code parts} or one of its elements is {@code null}.
+     * @throws IllegalArgumentException if {@code parts} is empty.
+     */
+    public MergedQueryResults(final List<? extends QueryResults> parts,
+            final Comparator<? super QueryRecord> order) {
+        // The fields are described by the first results
+        super(Validate.notEmpty(parts, MergedQueryResults.PartsParam).get(0));
+        // Declares a support integer
+        int count = 0;
+        // Validates the results and counts their records
+        Validate.noNullElements(parts, MergedQueryResults.PartsParam);
+        for (final QueryResults part : parts) {
+            count += part.getRecordCount();
+        }
+        // Initialize the fields
+        this.mParts = Collections.unmodifiableList(new ArrayList<>(parts));
+        this.mRecordCount = count;
+        this.mOrder = order;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int getRecordCount() {
+        // Returns the total number of records
+        return this.mRecordCount;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean hasRecords() {
+        // Check if any of the results has records
+        return this.mRecordCount > 0;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Iterator<QueryRecord> iterator() {
+        // Check if the results must be merged by a certain order
+        return this.mOrder == null ? new ConcatIterator(this.mParts.iterator())
+                : new MergeIterator(this.mParts, this.mOrder);
+    }
+
+    //<editor-fold defaultstate="collapsed" desc="Iterators over the merged results">
+    /**
+     * Iterator that returns the records of several results one after the other.
+     */
+    private static final class ConcatIterator implements Iterator<QueryRecord>
+    {
+        /**
+         * Iterator over the results still to be read.
+         */
+        private final Iterator<QueryResults> mParts;
+
+        /**
+         * Iterator over the records of the current results.
+         */
+        private Iterator<QueryRecord> mCurrent;
+
+        /**
+         * Create a new {@link ConcatIterator} over certain results.
+         *
+         * @param parts iterator over the results to be concatenated.
+         */
+        private ConcatIterator(final Iterator<QueryResults> parts) {
+            // Initialize the fields
+            this.mParts = parts;
+            this.mCurrent = Collections.emptyIterator();
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public boolean hasNext() {
+            // Skips the results without further records
+            while (!this.mCurrent.hasNext() && this.mParts.hasNext()) {
+                this.mCurrent = this.mParts.next().iterator();
+            }
+            return this.mCurrent.hasNext();
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public QueryRecord next() {
+            // Check that there are other records
+            if (!this.hasNext()) {
+                throw new NoSuchElementException();
+            }
+            return this.mCurrent.next();
+        }
+    }
+
+    /**
+     * Iterator that merges several sorted results through a heap holding
+     * the next record of each one, so that every record is returned
+     * in logarithmic time with respect to the number of results.
+     */
+    private static final class MergeIterator implements Iterator<QueryRecord>
+    {
+        /**
+         * Heap of the results not yet exhausted, ordered by their next record.
+         */
+        private final PriorityQueue<Head> mHeap;
+
+        /**
+         * Create a new {@link MergeIterator} over certain results.
+         *
+         * @param parts results to be merged.
+         * @param order order by which each of the results is sorted.
+         */
+        private MergeIterator(final List<QueryResults> parts,
+                final Comparator<? super QueryRecord> order) {
+            // Declares a support reference
+            Iterator<QueryRecord> records;
+            // Instantiates the heap ordered by the next record of each results
+            this.mHeap = new PriorityQueue<>(parts.size(), (h1, h2) ->
+                    order.compare(h1.mRecord, h2.mRecord));
+            // Iterate over all the results
+            for (final QueryResults part : parts) {
+                records = part.iterator();
+                // Adds the results that have records
+                if (records.hasNext()) {
+                    this.mHeap.add(new Head(records));
+                }
+            }
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public boolean hasNext() {
+            // Check if any of the results has records
+            return !this.mHeap.isEmpty();
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public QueryRecord next() {
+            // Declares a support reference
+            final QueryRecord record;
+            // Takes the results with the smallest next record
+            final Head head = this.mHeap.poll();
+            // Check that there are other records
+            if (head == null) {
+                throw new NoSuchElementException();
+            }
+            record = head.mRecord;
+            // Puts the results back into the heap if they have other records
+            if (head.advance()) {
+                this.mHeap.add(head);
+            }
+            return record;
+        }
+    }
+
+    /**
+     * Next record of certain results, along with the iterator over the others.
+     */
+    private static final class Head
+    {
+        /**
+         * Iterator over the following records.
+         */
+        private final Iterator<QueryRecord> mRecords;
+
+        /**
+         * Next record of the results.
+         */
+        private QueryRecord mRecord;
+
+        /**
+         * Create a new {@link Head} over a non-empty iterator.
+         *
+         * @param records iterator over the records.
+         */
+        private Head(final Iterator<QueryRecord> records) {
+            // Initialize the fields
+            this.mRecords = records;
+            this.mRecord = records.next();
+        }
+
+        /**
+         * Moves to the following record.
+         *
+         * @return {@code true} if there was a following record, {@code false} otherwise.
+         */
+        private boolean advance() {
+            // Check if there are other records
+            if (this.mRecords.hasNext()) {
+                this.mRecord = this.mRecords.next();
+                return true;
+            }
+            return false;
+        }
+    }
+    //</editor-fold>
+}
@@ -7,6 +7,7 @@ package it.stealth.sql.util;
 
 import it.stealth.sql.QueryRecord;
 import it.stealth.sql.QueryResults;
+import it.stealth.sql.metrics.SQLEvents;
 import java.io.IOException;
 import java.io.InputStream;
 import java.math.BigDecimal;
@@ -24,9 +25,14 @@ import java.time.temporal.TemporalAccessor;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.Comparator;
 import java.util.Iterator;
 import java.util.LinkedList;
 import java.util.Objects;
+import java.util.PriorityQueue;
+import java.util.function.ToDoubleFunction;
+import java.util.function.ToIntFunction;
+import java.util.function.ToLongFunction;
 import org.apache.commons.lang3.BooleanUtils;
 import org.apache.commons.lang3.math.NumberUtils;
 import java.math.BigInteger;
@@ -108,6 +114,12 @@ public class SQLQueryResults implements QueryResults
      */
     private static final int BufferSize = 1024;
     
+    /**
+     * Defines the initial capacity of the heap used
+     * to keep the first records according to an order.
+     */
+    private static final int HeapInitialCapacity = 64;
+    
     /**
      * Create a {@link SQLQueryResults} by reading and storing
      * the results provided by a {@link ResultSet} object.
@@ -132,13 +144,35 @@ public class SQLQueryResults implements QueryResults
      */
     public SQLQueryResults(final ResultSet rs, final
             ZoneId zoneId) throws SQLException {
+        // Invokes the overloaded constructor without any row limit
+        this(rs, zoneId, 0, null);
+    }
+    
+    /**
+     * Create a {@link SQLQueryResults} by reading and storing
+     * at most a certain number of records from a {@link ResultSet}.
+     * <p>If an {@code order} is not provided, the first {@code limit} records
+     * are read and the {@link ResultSet} is not scrolled any further. Otherwise
+     * the whole {@link ResultSet} is scanned and only the first {@code limit}
+     * records according to that order are kept, through a bounded heap whose
+     * size never exceeds {@code limit}.</p><p>A {@code limit} less than or
+     * equal to zero means that every record is read and stored.</p>
+     * 
+     * @param rs {@link ResultSet} object from which to read data.
+     * @param zoneId indication of the time-zone for the localized dates.
+     * @param limit maximum number of records to be kept.
+     * @param order order used to select the records to be kept,
+     *        or {@code null} to keep the first records read.
+     * @throws SQLException if errors occur while reading the data.
+     * @since 1.4
+     */
+    public SQLQueryResults(final ResultSet rs, final ZoneId zoneId, final int
+            limit, final Comparator<? super QueryRecord> order) throws SQLException {
         // Declares a support integer
         int i;
         // Declares a support reference
         Mutable<byte[]> bytes;
         // Declares a support reference
-        SQLQueryResults.Row row;
-        // Declares a support reference
         SQLQueryResults.Field field;
         // Declares a support reference
         final ResultSetMetaData metaData;
@@ -146,12 +180,8 @@ public class SQLQueryResults implements QueryResults
         final Collection<QueryRecord> rows;
         // Get the metadata from the ResultSet
         metaData = rs.getMetaData();
-        // Instantiates a list to collect the records provided
-        rows = new LinkedList<>();
         // Gets the number of columns that make up the results provided
         this.mColumnCount = metaData.getColumnCount();
-        // Wraps the collection of records to make it unmodifiable
-        this.mRows = Collections.unmodifiableCollection(rows);
         // Allocate an array to keep information about the fields
         this.mFields = new SQLQueryResults.Field[this.mColumnCount];
         // Allocate another array by sorting the data structures by name
@@ -172,80 +202,257 @@ public class SQLQueryResults implements QueryResults
         }
         // Sort the array of fields based on their name
         Arrays.sort(this.mSortedFields);
+        // Begins the event of the materialization, if it is being recorded
+        final Object event = SQLEvents.beginMaterialize();
+        // Check if only the first records according to an order must be kept
+        if (order != null && limit > 0) {
+            // Reads the records keeping only the first ones in that order
+            rows = this.readTopRecords(rs, zoneId, bytes, limit, order);
+        } else {
+            // Reads the records in the order provided by the ResultSet
+            rows = this.readRecords(rs, zoneId, bytes, limit);
+        }
+        // Wraps the collection of records to make it unmodifiable
+        this.mRows = Collections.unmodifiableCollection(rows);
+        // Check if the event is being recorded
+        if (event != null) {
+            // Ends the event of the materialization, estimating the size
+            // of the values only if the event passes the threshold
+            SQLEvents.endMaterialize(event, rows.size(), () -> SQLQueryResults.estimateBytes(rows));
+        }
+    }
+    
+    /**
+     * Internal procedure that estimates the memory held by the values of certain records.
+     * <p>The estimate counts the payload of each value (such as two bytes
+     * for each character of a string), ignoring the object headers.</p>
+     * 
+     * @param rows records whose values must be measured.
+     * @return estimated number of bytes.
+     */
+    private static long estimateBytes(final Collection<QueryRecord> rows) {
+        // Declares a support reference
+        Object value;
+        // Declares a support integer
+        int i;
+        // Declares the estimated size
+        long bytes = 0;
+        // Iterate over all the values of all the records
+        for (final QueryRecord row : rows) {
+            for (i = 0; i < ((SQLQueryResults.Row) row).mData.length; i++) {
+                // Adds the payload of the value
+                value = ((SQLQueryResults.Row) row).mData[i];
+                if (value instanceof String) {
+                    bytes += 2L * ((String) value).length();
+                } else if (value instanceof byte[]) {
+                    bytes += ((byte[]) value).length;
+                } else if (value instanceof BigDecimal) {
+                    bytes += ((BigDecimal) value).unscaledValue().bitLength() / Byte.SIZE + 5;
+                } else if (value instanceof BigInteger) {
+                    bytes += ((BigInteger) value).bitLength() / Byte.SIZE + 1;
+                } else if (value instanceof Integer || value instanceof Float) {
+                    bytes += Integer.BYTES;
+                } else if (value instanceof Short || value instanceof Character) {
+                    bytes += Short.BYTES;
+                } else if (value instanceof Byte || value instanceof Boolean) {
+                    bytes += Byte.BYTES;
+                } else if (value != null) {
+                    bytes += Long.BYTES;
+                }
+            }
+        }
+        return bytes;
+    }
+    
+    /**
+     * Internal procedure that reads the records of a {@link ResultSet}
+     * in the order they are provided, stopping after a certain number.
+     * 
+     * @param rs {@link ResultSet} object from which to read data.
+     * @param zoneId indication of the time-zone for the localized dates.
+     * @param bytes reference to the copy buffer for binary fields.
+     * @param limit maximum number of records to read (none if not positive).
+     * @return collection of the records read.
+     * @throws SQLException if errors occur while reading the data.
+     */
+    private Collection<QueryRecord> readRecords(final ResultSet rs, final ZoneId
+            zoneId, final Mutable<byte[]> bytes, final int limit) throws SQLException {
+        // Declares a support integer
+        int count;
+        // Declares a support reference
+        final Collection<QueryRecord> rows;
+        // Instantiates a list to collect the records provided
+        rows = new LinkedList<>();
+        // Itera over the records provided by the ResultSet
+        // until the maximum number of records is reached
+        for (count = 0; (limit <= 0 || count < limit) && rs.next(); count++) {
+            // Read the current record and add it to the list
+            rows.add(this.readRecord(rs, zoneId, bytes));
+        }
+        // Returns the records read
+        return rows;
+    }
+    
+    /**
+     * Internal procedure that scans all the records of a {@link ResultSet}
+     * keeping only the first ones according to a certain order.
+     * <p>The records are kept in a bounded heap whose head is the worst
+     * record held so far, so that each record is compared in logarithmic
+     * time and discarded as soon as it cannot enter the results.</p>
+     * 
+     * @param rs {@link ResultSet} object from which to read data.
+     * @param zoneId indication of the time-zone for the localized dates.
+     * @param bytes reference to the copy buffer for binary fields.
+     * @param limit maximum number of records to keep.
+     * @param order order used to select the records to be kept.
+     * @return collection of the records kept, sorted by that order.
+     * @throws SQLException if errors occur while reading the data.
+     */
+    private Collection<QueryRecord> readTopRecords(final ResultSet rs, final ZoneId
+            zoneId, final Mutable<byte[]> bytes, final int limit, final
+            Comparator<? super QueryRecord> order) throws SQLException {
+        // Declares a support reference
+        QueryRecord row;
+        // Declares a support reference
+        final QueryRecord[] sorted;
+        // Declares a support reference
+        final PriorityQueue<QueryRecord> heap;
+        // Instantiates a heap whose head is the worst record held
+        heap = new PriorityQueue<>(Math.min(limit, SQLQueryResults.
+                HeapInitialCapacity), order.reversed());
         // Itera over all records provided by the ResultSet
         while (rs.next()) {
-            // Instantiates a new object to store
-            // the values of the current record
-            row = new SQLQueryResults.Row(this);
-            // Itera over all fields of the record
-            for (i = 0; i < this.mColumnCount; i++) {
-                // Gets the i-th field of the record
-                field = this.mFields[i];
-                // Check the data type of the field
-                switch (field.mSQLType) {
-                    // Identifies generic SQL type for byte values
-                    case Types.TINYINT:
-                        // Check if the field has the sign
-                        if (field.mSigned) {
-                            // Read and stores the value of the field
-                            row.mData[i] = SQLUtils.readByte(rs, i + 1);
-                        } else {
-                            // Read and stores the value of the field
-                            row.mData[i] = SQLQueryResults.readUnsignedByte(rs, i + 1);
-                        }
-                    break;
-                    // Identifies generic SQL type for short values
-                    case Types.SMALLINT:
-                        // Check if the field has the sign
-                        if (field.mSigned) {
-                            // Read and stores the value of the field
-                            row.mData[i] = SQLUtils.readShort(rs, i + 1);
-                        } else {
-                            // Read and stores the value of the field
-                            row.mData[i] = SQLQueryResults.readUnsignedShort(rs, i + 1);
-                        }
-                    break;
-                    // Identifies the generic SQL type DATE
-                    case Types.DATE:
-                        // Read and stores the value of the field
-                        row.mData[i] = SQLUtils.readLocalDate(rs, i + 1);
-                    break;
-                    // Identifies the generic SQL type TIME
-                    case Types.TIME:
-                        // Read and stores the value of the field
-                        row.mData[i] = SQLUtils.readLocalTime(rs, i + 1);
-                    break;
-                    // Identifies the generic SQL type TIMESTAMP
-                    case Types.TIMESTAMP:
+            // Read the current record
+            row = this.readRecord(rs, zoneId, bytes);
+            // Check if the heap has not yet reached its capacity
+            if (heap.size() < limit) {
+                // Add the record to the heap
+                heap.add(row);
+            }
+            // Check if the record precedes the worst record held
+            else if (order.compare(row, heap.peek()) < 0) {
+                // Replace the worst record with the current one
+                heap.poll();
+                // Add the record to the heap
+                heap.add(row);
+            }
+        }
+        // Copies the records held by the heap
+        sorted = heap.toArray(new QueryRecord[heap.size()]);
+        // Sort the records according to the order provided
+        Arrays.sort(sorted, order);
+        // Returns the records as a list
+        return Arrays.asList(sorted);
+    }
+    
+    /**
+     * Internal procedure that reads the values of the current record.
+     * 
+     * @param rs {@link ResultSet} pointing to the current record.
+     * @param zoneId indication of the time-zone for the localized dates.
+     * @param bytes reference to the copy buffer for binary fields.
+     * @return a new record holding the values read.
+     * @throws SQLException if errors occur while reading the data.
+     */
+    private SQLQueryResults.Row readRecord(final ResultSet rs, final ZoneId
+            zoneId, final Mutable<byte[]> bytes) throws SQLException {
+        // Declares a support integer
+        int i;
+        // Declares a support reference
+        SQLQueryResults.Field field;
+        // Declares a support reference
+        final SQLQueryResults.Row row;
+        // Instantiates a new object to store
+        // the values of the current record
+        row = new SQLQueryResults.Row(this);
+        // Itera over all fields of the record
+        for (i = 0; i < this.mColumnCount; i++) {
+            // Gets the i-th field of the record
+            field = this.mFields[i];
+            // Check the data type of the field
+            switch (field.mSQLType) {
+                // Identifies generic SQL type for byte values
+                case Types.TINYINT:
+                    // Check if the field has the sign
+                    if (field.mSigned) {
                         // Read and stores the value of the field
-                        row.mData[i] = SQLUtils.readLocalDateTime(rs, i + 1);
-                    break;
-                    // Identifies the generic SQL type TIME with timezone
-                    case Types.TIME_WITH_TIMEZONE:
+                        row.mData[i] = SQLUtils.readByte(rs, i + 1);
+                    } else {
                         // Read and stores the value of the field
-                        row.mData[i] = SQLUtils.readOffsetTime(rs, i + 1, zoneId);
-                    break;
-                    // Identifies the generic SQL type TIMESTAMP with timezone
-                    case Types.TIMESTAMP_WITH_TIMEZONE:
+                        row.mData[i] = SQLQueryResults.readUnsignedByte(rs, i + 1);
+                    }
+                break;
+                // Identifies generic SQL type for short values
+                case Types.SMALLINT:
+                    // Check if the field has the sign
+                    if (field.mSigned) {
                         // Read and stores the value of the field
-                        row.mData[i] = SQLUtils.readOffsetDateTime(rs, i + 1, zoneId);
-                    break;
-                    // Identifies generic SQL types for binary fields
-                    case Types.VARBINARY: case Types.BINARY:
-                    case Types.BLOB: case Types.LONGVARBINARY:
-                        // Read and stores the contents of the binary field
-                        row.mData[i] = SQLQueryResults.readBytes(rs, field, bytes);
-                    break;
-                    // For all other SQL types...
-                    default:
+                        row.mData[i] = SQLUtils.readShort(rs, i + 1);
+                    } else {
                         // Read and stores the value of the field
-                        row.mData[i] = rs.getObject(i + 1);
-                    break;
-                }
+                        row.mData[i] = SQLQueryResults.readUnsignedShort(rs, i + 1);
+                    }
+                break;
+                // Identifies the generic SQL type DATE
+                case Types.DATE:
+                    // Read and stores the value of the field
+                    row.mData[i] = SQLUtils.readLocalDate(rs, i + 1);
+                break;
+                // Identifies the generic SQL type TIME
+                case Types.TIME:
+                    // Read and stores the value of the field
+                    row.mData[i] = SQLUtils.readLocalTime(rs, i + 1);
+                break;
+                // Identifies the generic SQL type TIMESTAMP
+                case Types.TIMESTAMP:
+                    // Read and stores the value of the field
+                    row.mData[i] = SQLUtils.readLocalDateTime(rs, i + 1);
+                break;
+                // Identifies the generic SQL type TIME with timezone
+                case Types.TIME_WITH_TIMEZONE:
+                    // Read and stores the value of the field
+                    row.mData[i] = SQLUtils.readOffsetTime(rs, i + 1, zoneId);
+                break;
+                // Identifies the generic SQL type TIMESTAMP with timezone
+                case Types.TIMESTAMP_WITH_TIMEZONE:
+                    // Read and stores the value of the field
+                    row.mData[i] = SQLUtils.readOffsetDateTime(rs, i + 1, zoneId);
+                break;
+                // Identifies generic SQL types for binary fields
+                case Types.VARBINARY: case Types.BINARY:
+                case Types.BLOB: case Types.LONGVARBINARY:
+                    // Read and stores the contents of the binary field
+                    row.mData[i] = SQLQueryResults.readBytes(rs, field, bytes);
+                break;
+                // For all other SQL types...
+                default:
+                    // Read and stores the value of the field
+                    row.mData[i] = rs.getObject(i + 1);
+                break;
             }
-            // Add the record to the list
-            rows.add(row);
         }
+        // Returns the record read
+        return row;
+    }
+    
+    /**
+     * Internal function that converts the values of a certain field to a
+     * certain type.<p>The conversion is resolved once for each field and
+     * target type, so that reading a value does not need to inspect the
+     * type of the field again.</p>
+     * 
+     * @param <T> type to which the values are converted.
+     */
+    @FunctionalInterface
+    private interface Converter<T>
+    {
+        /**
+         * Converts a value of the field.
+         * 
+         * @param value value of the field (may be {@code null}).
+         * @return converted value.
+         */
+        public T convert(final Object value);
     }
     
     /**
@@ -279,6 +486,108 @@ public class SQLQueryResults implements QueryResults
          * Indicates if the field held signed numbers.
          */
         private final boolean mSigned;
+
+        /**
+         * Converter of the values of this field
+         * to {@link LocalDateTime}, resolved on first use.
+         */
+        private SQLQueryResults.Converter<LocalDateTime> mToTimestamp;
+
+        /**
+         * Converter of the values of this field
+         * to {@link BigDecimal}, resolved on first use.
+         */
+        private SQLQueryResults.Converter<BigDecimal> mToBigDecimal;
+
+        /**
+         * Converter of the values of this field
+         * to {@link BigInteger}, resolved on first use.
+         */
+        private SQLQueryResults.Converter<BigInteger> mToBigInteger;
+
+        /**
+         * Converter of the values of this field
+         * to {@link Character}, resolved on first use.
+         */
+        private SQLQueryResults.Converter<Character> mToCharacter;
+
+        /**
+         * Converter of the values of this field
+         * to {@link Integer}, resolved on first use.
+         */
+        private SQLQueryResults.Converter<Integer> mToInteger;
+
+        /**
+         * Converter of the values of this field
+         * to {@link Boolean}, resolved on first use.
+         */
+        private SQLQueryResults.Converter<Boolean> mToBoolean;
+
+        /**
+         * Converter of the values of this field
+         * to {@link LocalDate}, resolved on first use.
+         */
+        private SQLQueryResults.Converter<LocalDate> mToDate;
+
+        /**
+         * Converter of the values of this field
+         * to {@link LocalTime}, resolved on first use.
+         */
+        private SQLQueryResults.Converter<LocalTime> mToTime;
+
+        /**
+         * Converter of the values of this field
+         * to byte array, resolved on first use.
+         */
+        private SQLQueryResults.Converter<byte[]> mToBytes;
+
+        /**
+         * Converter of the values of this field
+         * to {@link Double}, resolved on first use.
+         */
+        private SQLQueryResults.Converter<Double> mToDouble;
+
+        /**
+         * Converter of the values of this field
+         * to {@link Float}, resolved on first use.
+         */
+        private SQLQueryResults.Converter<Float> mToFloat;
+
+        /**
+         * Converter of the values of this field
+         * to {@link Short}, resolved on first use.
+         */
+        private SQLQueryResults.Converter<Short> mToShort;
+
+        /**
+         * Converter of the values of this field
+         * to {@link Long}, resolved on first use.
+         */
+        private SQLQueryResults.Converter<Long> mToLong;
+
+        /**
+         * Converter of the values of this field
+         * to {@link Byte}, resolved on first use.
+         */
+        private SQLQueryResults.Converter<Byte> mToByte;
+
+        /**
+         * Converter of the values of this field
+         * to {@code int}, resolved on first use.
+         */
+        private ToIntFunction<Object> mToIntValue;
+
+        /**
+         * Converter of the values of this field
+         * to {@code long}, resolved on first use.
+         */
+        private ToLongFunction<Object> mToLongValue;
+
+        /**
+         * Converter of the values of this field
+         * to {@code double}, resolved on first use.
+         */
+        private ToDoubleFunction<Object> mToDoubleValue;
         
         /**
          * Acquires information on the i-th field.
@@ -345,1086 +654,1632 @@ public class SQLQueryResults implements QueryResults
         }
 
         /**
-         * {@inheritDoc}
+         * Gets the converter of the values of this field to {@link LocalDateTime}.
+         * <p>The converter is resolved on first use and then reused: the
+         * resolution is idempotent, so concurrent first uses are harmless.</p>
+         * 
+         * @return converter of the values of this field.
          */
-        @Override
-        public final int hashCode() {
-            // Calculate the hash code for this object
-            return 163 + this.mName.hashCode();
+        private SQLQueryResults.Converter<LocalDateTime> timestampConverter() {
+            // Declares a support reference
+            SQLQueryResults.Converter<LocalDateTime> converter = this.mToTimestamp;
+            // Check if the converter has not been resolved yet
+            if (converter == null) {
+                // Resolves the converter and stores it
+                this.mToTimestamp = converter = this.resolveTimestampConverter();
+            }
+            // Returns the converter
+            return converter;
         }
 
         /**
-         * {@inheritDoc}
+         * Gets the converter of the values of this field to {@link BigDecimal}.
+         * <p>The converter is resolved on first use and then reused: the
+         * resolution is idempotent, so concurrent first uses are harmless.</p>
+         * 
+         * @return converter of the values of this field.
          */
-        @Override
-        public final String toString() {
-            // Use the name as text representation
-            return this.mName;
+        private SQLQueryResults.Converter<BigDecimal> bigDecimalConverter() {
+            // Declares a support reference
+            SQLQueryResults.Converter<BigDecimal> converter = this.mToBigDecimal;
+            // Check if the converter has not been resolved yet
+            if (converter == null) {
+                // Resolves the converter and stores it
+                this.mToBigDecimal = converter = this.resolveBigDecimalConverter();
+            }
+            // Returns the converter
+            return converter;
         }
-    }
-    
-    /**
-     * Internal data structure that maintains the
-     * values of a certain record provided by the query.
-     */
-    private static final class Row implements QueryRecord
-    {
+
         /**
-         * Array of record values.
+         * Gets the converter of the values of this field to {@link BigInteger}.
+         * <p>The converter is resolved on first use and then reused: the
+         * resolution is idempotent, so concurrent first uses are harmless.</p>
+         * 
+         * @return converter of the values of this field.
          */
-        private final Object[] mData;
-        
+        private SQLQueryResults.Converter<BigInteger> bigIntegerConverter() {
+            // Declares a support reference
+            SQLQueryResults.Converter<BigInteger> converter = this.mToBigInteger;
+            // Check if the converter has not been resolved yet
+            if (converter == null) {
+                // Resolves the converter and stores it
+                this.mToBigInteger = converter = this.resolveBigIntegerConverter();
+            }
+            // Returns the converter
+            return converter;
+        }
+
         /**
-         * Set of results to which it belongs.
+         * Gets the converter of the values of this field to {@link Character}.
+         * <p>The converter is resolved on first use and then reused: the
+         * resolution is idempotent, so concurrent first uses are harmless.</p>
+         * 
+         * @return converter of the values of this field.
          */
-        private final SQLQueryResults mOwner;
-        
+        private SQLQueryResults.Converter<Character> characterConverter() {
+            // Declares a support reference
+            SQLQueryResults.Converter<Character> converter = this.mToCharacter;
+            // Check if the converter has not been resolved yet
+            if (converter == null) {
+                // Resolves the converter and stores it
+                this.mToCharacter = converter = this.resolveCharacterConverter();
+            }
+            // Returns the converter
+            return converter;
+        }
+
         /**
-         * Create a new object to store the values of a record.
+         * Gets the converter of the values of this field to {@link Integer}.
+         * <p>The converter is resolved on first use and then reused: the
+         * resolution is idempotent, so concurrent first uses are harmless.</p>
          * 
-         * @param owner set of results to which it belongs.
+         * @return converter of the values of this field.
          */
-        private Row(final SQLQueryResults owner) {
-            // Allocate the array of values for this record
-            this.mData = new Object[owner.mColumnCount];
-            // Stores the reference to the owner
-            this.mOwner = owner;
+        private SQLQueryResults.Converter<Integer> integerConverter() {
+            // Declares a support reference
+            SQLQueryResults.Converter<Integer> converter = this.mToInteger;
+            // Check if the converter has not been resolved yet
+            if (converter == null) {
+                // Resolves the converter and stores it
+                this.mToInteger = converter = this.resolveIntegerConverter();
+            }
+            // Returns the converter
+            return converter;
         }
-        
+
         /**
-         * {@inheritDoc}
+         * Gets the converter of the values of this field to {@link Boolean}.
+         * <p>The converter is resolved on first use and then reused: the
+         * resolution is idempotent, so concurrent first uses are harmless.</p>
+         * 
+         * @return converter of the values of this field.
          */
-        @Override
-        public final Object getObject(final int columnIndex) {
-            // Returns the value of the requested field
-            return this.mData[columnIndex];
+        private SQLQueryResults.Converter<Boolean> booleanConverter() {
+            // Declares a support reference
+            SQLQueryResults.Converter<Boolean> converter = this.mToBoolean;
+            // Check if the converter has not been resolved yet
+            if (converter == null) {
+                // Resolves the converter and stores it
+                this.mToBoolean = converter = this.resolveBooleanConverter();
+            }
+            // Returns the converter
+            return converter;
         }
 
         /**
-         * {@inheritDoc}
+         * Gets the converter of the values of this field to {@link LocalDate}.
+         * <p>The converter is resolved on first use and then reused: the
+         * resolution is idempotent, so concurrent first uses are harmless.</p>
+         * 
+         * @return converter of the values of this field.
          */
-        @Override
-        public final LocalDateTime getTimestamp(final int columnIndex) {
-            // Check the data type of the field specified
-            switch (this.mOwner.mFields[columnIndex].mSQLType) {
-                // Identifies the generic SQL type TIMESTAMP
-                case Types.TIMESTAMP:
-                    // Cast the field value to LocalDateTime
-                    return (LocalDateTime) this.mData[columnIndex];
-                // Identifies the generic SQL type TIMESTAMP with timezone
-                case Types.TIMESTAMP_WITH_TIMEZONE:
-                    // Converts the field value to a LocalDateTime
-                    return SQLQueryResults.toLocalDateTime((OffsetDateTime)
-                            this.mData[columnIndex]);
-                // Identifies the generic SQL type DATE
-                case Types.DATE:
-                    // Returns the midnight of the date of this field
-                    return SQLQueryResults.atMidnight((LocalDate)
-                            this.mData[columnIndex]);
-                // For all other SQL types...
-                default:
-                    // Raises an exception indicating that
-                    // the current value cannot be converted
-                    throw new ClassCastException(String.format(
-                            SQLQueryResults.ExCannotConvert, this.
-                            mOwner.mFields[columnIndex].mCls,
-                            LocalDateTime.class));
+        private SQLQueryResults.Converter<LocalDate> dateConverter() {
+            // Declares a support reference
+            SQLQueryResults.Converter<LocalDate> converter = this.mToDate;
+            // Check if the converter has not been resolved yet
+            if (converter == null) {
+                // Resolves the converter and stores it
+                this.mToDate = converter = this.resolveDateConverter();
             }
+            // Returns the converter
+            return converter;
         }
 
         /**
-         * {@inheritDoc}
+         * Gets the converter of the values of this field to {@link LocalTime}.
+         * <p>The converter is resolved on first use and then reused: the
+         * resolution is idempotent, so concurrent first uses are harmless.</p>
+         * 
+         * @return converter of the values of this field.
          */
-        @Override
-        public final BigDecimal getBigDecimal(final int columnIndex) {
+        private SQLQueryResults.Converter<LocalTime> timeConverter() {
             // Declares a support reference
-            final SQLQueryResults.Field field;
-            // Get the info to the required field
-            field = this.mOwner.mFields[columnIndex];
-            // Check the data type of the field specified
-            switch (field.mSQLType) {
-                // Identifies generic SQL types for big-decimal values
-                case Types.NUMERIC: case Types.DECIMAL:
-                    // Cast the field value to BigDecimal
-                    return (BigDecimal) this.mData[columnIndex];
-                // Identifies generic SQL types for boolean values
-                case Types.BIT: case Types.BOOLEAN:
-                    // Converts the field value to a BigDecimal
-                    return SQLQueryResults.toBigDecimal((Boolean)
-                            this.mData[columnIndex]);
-                // Identifies generic SQL type for byte values
-                case Types.TINYINT:
-                    // Check if the field has the sign
-                    if (field.mSigned) {
-                        // Converts the field value to a BigDecimal
-                        return SQLQueryResults.toBigDecimal((Byte)
-                                this.mData[columnIndex]);
-                    } else {
+            SQLQueryResults.Converter<LocalTime> converter = this.mToTime;
+            // Check if the converter has not been resolved yet
+            if (converter == null) {
+                // Resolves the converter and stores it
+                this.mToTime = converter = this.resolveTimeConverter();
+            }
+            // Returns the converter
+            return converter;
+        }
+
+        /**
+         * Gets the converter of the values of this field to byte array.
+         * <p>The converter is resolved on first use and then reused: the
+         * resolution is idempotent, so concurrent first uses are harmless.</p>
+         * 
+         * @return converter of the values of this field.
+         */
+        private SQLQueryResults.Converter<byte[]> bytesConverter() {
+            // Declares a support reference
+            SQLQueryResults.Converter<byte[]> converter = this.mToBytes;
+            // Check if the converter has not been resolved yet
+            if (converter == null) {
+                // Resolves the converter and stores it
+                this.mToBytes = converter = this.resolveBytesConverter();
+            }
+            // Returns the converter
+            return converter;
+        }
+
+        /**
+         * Gets the converter of the values of this field to {@link Double}.
+         * <p>The converter is resolved on first use and then reused: the
+         * resolution is idempotent, so concurrent first uses are harmless.</p>
+         * 
+         * @return converter of the values of this field.
+         */
+        private SQLQueryResults.Converter<Double> doubleConverter() {
+            // Declares a support reference
+            SQLQueryResults.Converter<Double> converter = this.mToDouble;
+            // Check if the converter has not been resolved yet
+            if (converter == null) {
+                // Resolves the converter and stores it
+                this.mToDouble = converter = this.resolveDoubleConverter();
+            }
+            // Returns the converter
+            return converter;
+        }
+
+        /**
+         * Gets the converter of the values of this field to {@link Float}.
+         * <p>The converter is resolved on first use and then reused: the
+         * resolution is idempotent, so concurrent first uses are harmless.</p>
+         * 
+         * @return converter of the values of this field.
+         */
+        private SQLQueryResults.Converter<Float> floatConverter() {
+            // Declares a support reference
+            SQLQueryResults.Converter<Float> converter = this.mToFloat;
+            // Check if the converter has not been resolved yet
+            if (converter == null) {
+                // Resolves the converter and stores it
+                this.mToFloat = converter = this.resolveFloatConverter();
+            }
+            // Returns the converter
+            return converter;
+        }
+
+        /**
+         * Gets the converter of the values of this field to {@link Short}.
+         * <p>The converter is resolved on first use and then reused: the
+         * resolution is idempotent, so concurrent first uses are harmless.</p>
+         * 
+         * @return converter of the values of this field.
+         */
+        private SQLQueryResults.Converter<Short> shortConverter() {
+            // Declares a support reference
+            SQLQueryResults.Converter<Short> converter = this.mToShort;
+            // Check if the converter has not been resolved yet
+            if (converter == null) {
+                // Resolves the converter and stores it
+                this.mToShort = converter = this.resolveShortConverter();
+            }
+            // Returns the converter
+            return converter;
+        }
+
+        /**
+         * Gets the converter of the values of this field to {@link Long}.
+         * <p>The converter is resolved on first use and then reused: the
+         * resolution is idempotent, so concurrent first uses are harmless.</p>
+         * 
+         * @return converter of the values of this field.
+         */
+        private SQLQueryResults.Converter<Long> longConverter() {
+            // Declares a support reference
+            SQLQueryResults.Converter<Long> converter = this.mToLong;
+            // Check if the converter has not been resolved yet
+            if (converter == null) {
+                // Resolves the converter and stores it
+                this.mToLong = converter = this.resolveLongConverter();
+            }
+            // Returns the converter
+            return converter;
+        }
+
+        /**
+         * Gets the converter of the values of this field to {@link Byte}.
+         * <p>The converter is resolved on first use and then reused: the
+         * resolution is idempotent, so concurrent first uses are harmless.</p>
+         * 
+         * @return converter of the values of this field.
+         */
+        private SQLQueryResults.Converter<Byte> byteConverter() {
+            // Declares a support reference
+            SQLQueryResults.Converter<Byte> converter = this.mToByte;
+            // Check if the converter has not been resolved yet
+            if (converter == null) {
+                // Resolves the converter and stores it
+                this.mToByte = converter = this.resolveByteConverter();
+            }
+            // Returns the converter
+            return converter;
+        }
+
+        /**
+         * Resolves the conversion of the values of this field to {@link LocalDateTime}.
+         * 
+         * @return converter of the values of this field.
+         */
+        private SQLQueryResults.Converter<LocalDateTime> resolveTimestampConverter() {
+            // Check the data type of the field specified
+            switch (this.mSQLType) {
+                // Identifies the generic SQL type TIMESTAMP
+                case Types.TIMESTAMP:
+                    // Cast the field value to LocalDateTime
+                    return value -> (LocalDateTime) value;
+                // Identifies the generic SQL type TIMESTAMP with timezone
+                case Types.TIMESTAMP_WITH_TIMEZONE:
+                    // Converts the field value to a LocalDateTime
+                    return value -> SQLQueryResults.toLocalDateTime((OffsetDateTime)
+                            value);
+                // Identifies the generic SQL type DATE
+                case Types.DATE:
+                    // Returns the midnight of the date of this field
+                    return value -> SQLQueryResults.atMidnight((LocalDate)
+                            value);
+                // For all other SQL types...
+                default:
+                    // Returns a converter that raises an exception
+                    // indicating that the value cannot be converted
+                    return this.cannotConvert(LocalDateTime.class);
+            }
+        }
+
+        /**
+         * Resolves the conversion of the values of this field to {@link BigDecimal}.
+         * 
+         * @return converter of the values of this field.
+         */
+        private SQLQueryResults.Converter<BigDecimal> resolveBigDecimalConverter() {
+            // Check the data type of the field specified
+            switch (this.mSQLType) {
+                // Identifies generic SQL types for big-decimal values
+                case Types.NUMERIC: case Types.DECIMAL:
+                    // Cast the field value to BigDecimal
+                    return value -> (BigDecimal) value;
+                // Identifies generic SQL types for boolean values
+                case Types.BIT: case Types.BOOLEAN:
+                    // Converts the field value to a BigDecimal
+                    return value -> SQLQueryResults.toBigDecimal((Boolean)
+                            value);
+                // Identifies generic SQL type for byte values
+                case Types.TINYINT:
+                    // Check if the field has the sign
+                    if (this.mSigned) {
+                        // Converts the field value to a BigDecimal
+                        return value -> SQLQueryResults.toBigDecimal((Byte)
+                                value);
+                    } else {
                         // Converts the field value to a BigDecimal
-                        return SQLQueryResults.toBigDecimal((Short)
-                                this.mData[columnIndex]);
+                        return value -> SQLQueryResults.toBigDecimal((Short)
+                                value);
                     }
                 // Identifies generic SQL type for short values
                 case Types.SMALLINT:
                     // Check if the field has the sign
-                    if (field.mSigned) {
+                    if (this.mSigned) {
                         // Converts the field value to a BigDecimal
-                        return SQLQueryResults.toBigDecimal((Short)
-                                this.mData[columnIndex]);
+                        return value -> SQLQueryResults.toBigDecimal((Short)
+                                value);
                     } else {
                         // Converts the field value to a BigDecimal
-                        return SQLQueryResults.toBigDecimal((Integer)
-                                this.mData[columnIndex]);
+                        return value -> SQLQueryResults.toBigDecimal((Integer)
+                                value);
                     }
                 // Identifies generic SQL type for integer values
                 case Types.INTEGER:
                     // Check if the field has the sign
-                    if (field.mSigned) {
+                    if (this.mSigned) {
                         // Converts the field value to a BigDecimal
-                        return SQLQueryResults.toBigDecimal((Integer)
-                                this.mData[columnIndex]);
+                        return value -> SQLQueryResults.toBigDecimal((Integer)
+                                value);
                     } else {
                         // Converts the field value to a BigDecimal
-                        return SQLQueryResults.toBigDecimal((Long)
-                                this.mData[columnIndex]);
+                        return value -> SQLQueryResults.toBigDecimal((Long)
+                                value);
                     }
                 // Identifies generic SQL type for long values
                 case Types.BIGINT:
                     // Check if the field has the sign
-                    if (field.mSigned) {
+                    if (this.mSigned) {
                         // Converts the field value to a BigDecimal
-                        return SQLQueryResults.toBigDecimal((Long)
-                                this.mData[columnIndex]);
+                        return value -> SQLQueryResults.toBigDecimal((Long)
+                                value);
                     } else {
                         // Converts the field value to a BigDecimal
-                        return SQLQueryResults.toBigDecimal((BigInteger)
-                                this.mData[columnIndex]);
+                        return value -> SQLQueryResults.toBigDecimal((BigInteger)
+                                value);
                     }
                 // Identifies generic SQL type for float values
                 case Types.REAL:
                     // Converts the field value to a BigDecimal
-                    return SQLQueryResults.toBigDecimal((Float)
-                            this.mData[columnIndex]);
+                    return value -> SQLQueryResults.toBigDecimal((Float)
+                            value);
                 // Identifies generic SQL types for double values
                 case Types.FLOAT: case Types.DOUBLE:
                     // Converts the field value to a BigDecimal
-                    return SQLQueryResults.toBigDecimal((Double)
-                            this.mData[columnIndex]);
+                    return value -> SQLQueryResults.toBigDecimal((Double)
+                            value);
                 // Identifies generic SQL types for string values
                 case Types.VARCHAR: case Types.LONGVARCHAR:
                 case Types.NVARCHAR: case Types.LONGNVARCHAR:
                     // Converts the field value to a BigDecimal
-                    return NumberUtils.createBigDecimal(this.
-                            getString(columnIndex));
+                    return value -> NumberUtils.
+                            createBigDecimal(Objects.toString(value, null));
                 // For all other SQL types...
                 default:
-                    // Raises an exception indicating that
-                    // the current value cannot be converted
-                    throw new ClassCastException(String.format(
-                            SQLQueryResults.ExCannotConvert, this.
-                            mOwner.mFields[columnIndex].mCls,
-                            BigDecimal.class));
+                    // Returns a converter that raises an exception
+                    // indicating that the value cannot be converted
+                    return this.cannotConvert(BigDecimal.class);
             }
         }
-        
+
         /**
-         * {@inheritDoc}
+         * Resolves the conversion of the values of this field to {@link BigInteger}.
+         * 
+         * @return converter of the values of this field.
          */
-        @Override
-        public final BigInteger getBigInteger(final int columnIndex) {
-            // Declares a support reference
-            final SQLQueryResults.Field field;
-            // Get the info to the required field
-            field = this.mOwner.mFields[columnIndex];
+        private SQLQueryResults.Converter<BigInteger> resolveBigIntegerConverter() {
             // Check the data type of the field specified
-            switch (field.mSQLType) {
+            switch (this.mSQLType) {
                 // Identifies generic SQL types for big-decimal values
                 case Types.NUMERIC: case Types.DECIMAL:
                     // Cast the field value to BigInteger
-                    return SQLQueryResults.toBigInteger((BigDecimal)
-                            this.mData[columnIndex]);
+                    return value -> SQLQueryResults.toBigInteger((BigDecimal)
+                            value);
                 // Identifies generic SQL types for boolean values
                 case Types.BIT: case Types.BOOLEAN:
                     // Converts the field value to a BigInteger
-                    return SQLQueryResults.toBigInteger((Boolean)
-                            this.mData[columnIndex]);
+                    return value -> SQLQueryResults.toBigInteger((Boolean)
+                            value);
                 // Identifies generic SQL type for byte values
                 case Types.TINYINT:
                     // Check if the field has the sign
-                    if (field.mSigned) {
+                    if (this.mSigned) {
                         // Converts the field value to a BigInteger
-                        return SQLQueryResults.toBigInteger((Byte)
-                                this.mData[columnIndex]);
+                        return value -> SQLQueryResults.toBigInteger((Byte)
+                                value);
                     } else {
                         // Converts the field value to a BigInteger
-                        return SQLQueryResults.toBigInteger((Short)
-                                this.mData[columnIndex]);
+                        return value -> SQLQueryResults.toBigInteger((Short)
+                                value);
                     }
                 // Identifies generic SQL type for short values
                 case Types.SMALLINT:
                     // Check if the field has the sign
-                    if (field.mSigned) {
+                    if (this.mSigned) {
                         // Converts the field value to a BigInteger
-                        return SQLQueryResults.toBigInteger((Short)
-                                this.mData[columnIndex]);
+                        return value -> SQLQueryResults.toBigInteger((Short)
+                                value);
                     } else {
                         // Converts the field value to a BigInteger
-                        return SQLQueryResults.toBigInteger((Integer)
-                                this.mData[columnIndex]);
+                        return value -> SQLQueryResults.toBigInteger((Integer)
+                                value);
                     }
                 // Identifies generic SQL type for integer values
                 case Types.INTEGER:
                     // Check if the field has the sign
-                    if (field.mSigned) {
+                    if (this.mSigned) {
                         // Converts the field value to a BigInteger
-                        return SQLQueryResults.toBigInteger((Integer)
-                                this.mData[columnIndex]);
+                        return value -> SQLQueryResults.toBigInteger((Integer)
+                                value);
                     } else {
                         // Converts the field value to a BigInteger
-                        return SQLQueryResults.toBigInteger((Long)
-                                this.mData[columnIndex]);
+                        return value -> SQLQueryResults.toBigInteger((Long)
+                                value);
                     }
                 // Identifies generic SQL type for long values
                 case Types.BIGINT:
                     // Check if the field has the sign
-                    if (field.mSigned) {
+                    if (this.mSigned) {
                         // Converts the field value to a BigInteger
-                        return SQLQueryResults.toBigInteger((Long)
-                                this.mData[columnIndex]);
+                        return value -> SQLQueryResults.toBigInteger((Long)
+                                value);
                     } else {
                         // Cast the field value to BigInteger
-                        return (BigInteger) this.mData[columnIndex];
+                        return value -> (BigInteger) value;
                     }
                 // Identifies generic SQL type for float values
                 case Types.REAL:
                     // Converts the field value to a BigInteger
-                    return SQLQueryResults.toBigInteger((Float)
-                            this.mData[columnIndex]);
+                    return value -> SQLQueryResults.toBigInteger((Float)
+                            value);
                 // Identifies generic SQL types for double values
                 case Types.FLOAT: case Types.DOUBLE:
                     // Converts the field value to a BigInteger
-                    return SQLQueryResults.toBigInteger((Double)
-                            this.mData[columnIndex]);
+                    return value -> SQLQueryResults.toBigInteger((Double)
+                            value);
                 // Identifies generic SQL types for string values
                 case Types.VARCHAR: case Types.LONGVARCHAR:
                 case Types.NVARCHAR: case Types.LONGNVARCHAR:
                     // Converts the field value to a BigInteger
-                    return NumberUtils.createBigInteger(this.
-                            getString(columnIndex));
+                    return value -> NumberUtils.
+                            createBigInteger(Objects.toString(value, null));
                 // For all other SQL types...
                 default:
-                    // Raises an exception indicating that
-                    // the current value cannot be converted
-                    throw new ClassCastException(String.format(
-                            SQLQueryResults.ExCannotConvert, this.
-                            mOwner.mFields[columnIndex].mCls,
-                            BigInteger.class));
+                    // Returns a converter that raises an exception
+                    // indicating that the value cannot be converted
+                    return this.cannotConvert(BigInteger.class);
             }
         }
 
         /**
-         * {@inheritDoc}
+         * Resolves the conversion of the values of this field to {@link Character}.
+         * 
+         * @return converter of the values of this field.
          */
-        @Override
-        public final Character getCharacter(final int columnIndex) {
-            // Declares a support reference
-            final SQLQueryResults.Field field;
-            // Get the info to the required field
-            field = this.mOwner.mFields[columnIndex];
+        private SQLQueryResults.Converter<Character> resolveCharacterConverter() {
             // Check the data type of the field specified
-            switch (field.mSQLType) {
+            switch (this.mSQLType) {
                 // Identifies generic SQL type for characters
                 case Types.CHAR: case Types.NCHAR:
                     // Cast the field value to Character
-                    return (Character) this.mData[columnIndex];
+                    return value -> (Character) value;
                 // Identifies generic SQL type for byte values
                 case Types.TINYINT:
                     // Check if the field has the sign
-                    if (field.mSigned) {
+                    if (this.mSigned) {
                         // Converts the field value to a Character
-                        return SQLQueryResults.toCharacter((Byte)
-                                this.mData[columnIndex]);
+                        return value -> SQLQueryResults.toCharacter((Byte)
+                                value);
                     } else {
                         // Converts the field value to a Character
-                        return SQLQueryResults.toCharacter((Short)
-                                this.mData[columnIndex]);
+                        return value -> SQLQueryResults.toCharacter((Short)
+                                value);
                     }
                 // Identifies generic SQL types for string values
                 case Types.LONGNVARCHAR: case Types.VARCHAR:
                 case Types.LONGVARCHAR: case Types.NVARCHAR:
                     // Return the first letter of the textual
                     // representation of the current value
-                    return SQLQueryResults.getFirstChar(
-                            this.mData[columnIndex]);
+                    return value -> SQLQueryResults.getFirstChar(
+                            value);
                 // For all other SQL types...
                 default:
-                    // Raises an exception indicating that
-                    // the current value cannot be converted
-                    throw new ClassCastException(String.format(
-                            SQLQueryResults.ExCannotConvert, this.
-                            mOwner.mFields[columnIndex].mCls,
-                            Character.class));
+                    // Returns a converter that raises an exception
+                    // indicating that the value cannot be converted
+                    return this.cannotConvert(Character.class);
             }
         }
 
         /**
-         * {@inheritDoc}
+         * Resolves the conversion of the values of this field to {@link Integer}.
+         * 
+         * @return converter of the values of this field.
          */
-        @Override
-        public final Integer getInteger(final int columnIndex) {
-            // Declares a support reference
-            final SQLQueryResults.Field field;
-            // Get the info to the required field
-            field = this.mOwner.mFields[columnIndex];
+        private SQLQueryResults.Converter<Integer> resolveIntegerConverter() {
             // Check the data type of the field specified
-            switch (field.mSQLType) {
+            switch (this.mSQLType) {
                 // Identifies generic SQL type for integer values
                 case Types.INTEGER:
                     // Check if the field has the sign
-                    if (field.mSigned) {
+                    if (this.mSigned) {
                         // Cast the field value to Integer
-                        return (Integer) this.mData[columnIndex];
+                        return value -> (Integer) value;
                     } else {
-                        // Converts the field value to a Integer
-                    return SQLQueryResults.toInteger((Long)
-                            this.mData[columnIndex]);
+                            // Converts the field value to a Integer
+                        return value -> SQLQueryResults.toInteger((Long)
+                                value);
                     }
                 // Identifies generic SQL types for boolean values
                 case Types.BIT: case Types.BOOLEAN:
                     // Converts the field value to a Integer
-                    return SQLQueryResults.toInteger((Boolean)
-                            this.mData[columnIndex]);
+                    return value -> SQLQueryResults.toInteger((Boolean)
+                            value);
                 // Identifies generic SQL type for byte values
                 case Types.TINYINT:
                     // Check if the field has the sign
-                    if (field.mSigned) {
+                    if (this.mSigned) {
                         // Converts the field value to a Integer
-                        return SQLQueryResults.toInteger((Byte)
-                                this.mData[columnIndex]);
+                        return value -> SQLQueryResults.toInteger((Byte)
+                                value);
                     } else {
                         // Converts the field value to a Integer
-                        return SQLQueryResults.toInteger((Short)
-                                this.mData[columnIndex]);
+                        return value -> SQLQueryResults.toInteger((Short)
+                                value);
                     }
                 // Identifies generic SQL type for short values
                 case Types.SMALLINT:
                     // Check if the field has the sign
-                    if (field.mSigned) {
+                    if (this.mSigned) {
                         // Converts the field value to a Integer
-                        return SQLQueryResults.toInteger((Short)
-                                this.mData[columnIndex]);
+                        return value -> SQLQueryResults.toInteger((Short)
+                                value);
                     } else {
                         // Cast the field value to Integer
-                        return (Integer) this.mData[columnIndex];
+                        return value -> (Integer) value;
                     }
                 // Identifies generic SQL type for long values
                 case Types.BIGINT:
                     // Check if the field has the sign
-                    if (field.mSigned) {
+                    if (this.mSigned) {
                         // Converts the field value to a Integer
-                        return SQLQueryResults.toInteger((Long)
-                                this.mData[columnIndex]);
+                        return value -> SQLQueryResults.toInteger((Long)
+                                value);
                     } else {
                         // Converts the field value to a Integer
-                        return SQLQueryResults.toInteger((BigInteger)
-                                this.mData[columnIndex]);
+                        return value -> SQLQueryResults.toInteger((BigInteger)
+                                value);
                     }
                 // Identifies generic SQL types for big-decimal values
                 case Types.NUMERIC: case Types.DECIMAL:
                     // Converts the field value to a Integer
-                    return SQLQueryResults.toInteger((BigDecimal)
-                            this.mData[columnIndex]);
+                    return value -> SQLQueryResults.toInteger((BigDecimal)
+                            value);
                 // Identifies generic SQL type for float values
                 case Types.REAL:
                     // Converts the field value to a Integer
-                    return SQLQueryResults.toInteger((Float)
-                            this.mData[columnIndex]);
+                    return value -> SQLQueryResults.toInteger((Float)
+                            value);
                 // Identifies generic SQL types for double values
                 case Types.FLOAT: case Types.DOUBLE:
                     // Converts the field value to a Integer
-                    return SQLQueryResults.toInteger((Double)
-                            this.mData[columnIndex]);
+                    return value -> SQLQueryResults.toInteger((Double)
+                            value);
                 // Identifies generic SQL types for string values
                 case Types.VARCHAR: case Types.LONGVARCHAR:
                 case Types.NVARCHAR: case Types.LONGNVARCHAR:
                     // Converts the field value to a Integer
-                    return NumberUtils.createInteger(Objects.toString(
-                            this.mData[columnIndex], null));
+                    return value -> NumberUtils.createInteger(Objects.toString(
+                            value, null));
                 // For all other SQL types...
                 default:
-                    // Raises an exception indicating that
-                    // the current value cannot be converted
-                    throw new ClassCastException(String.format(
-                            SQLQueryResults.ExCannotConvert, this.
-                            mOwner.mFields[columnIndex].mCls,
-                            Integer.class));
+                    // Returns a converter that raises an exception
+                    // indicating that the value cannot be converted
+                    return this.cannotConvert(Integer.class);
             }
         }
 
         /**
-         * {@inheritDoc}
+         * Resolves the conversion of the values of this field to {@link Boolean}.
+         * <p>{@code null} values are converted to {@code null}
+         * whatever the type of this field.</p>
+         * 
+         * @return converter of the values of this field.
          */
-        @Override
-        public final Boolean getBoolean(final int columnIndex) {
-            // Declares a support reference
-            final Object value;
-            // Declares a support reference
-            final SQLQueryResults.Field field;
-            // Get the info to the required field
-            field = this.mOwner.mFields[columnIndex];
-            // Gets the value of the requested field
-            value = this.mData[columnIndex];
-            // Check if this value is not null
-            if (value != null) {
-                // Check the data type of the field specified
-                switch (field.mSQLType) {
-                    // Identifies generic SQL types for boolean values
-                    case Types.BIT: case Types.BOOLEAN:
-                        // Cast the boolean value
-                        return (Boolean) value;
-                    // Identifies generic SQL type for byte values
-                    case Types.TINYINT:
-                        // Check if the field has the sign
-                        if (field.mSigned) {
-                            // Check if the value is other than zero
-                            return !NumberUtils.BYTE_ZERO.equals(value);
-                        } else {
-                            // Check if the value is other than zero
-                            return !NumberUtils.SHORT_ZERO.equals(value);
-                        }
-                    // Identifies generic SQL type for short values
-                    case Types.SMALLINT:
-                        // Check if the field has the sign
-                        if (field.mSigned) {
-                            // Check if the value is other than zero
-                            return !NumberUtils.SHORT_ZERO.equals(value);
-                        } else {
-                            // Check if the value is other than zero
-                            return !NumberUtils.INTEGER_ZERO.equals(value);
-                        }
-                    // Identifies generic SQL type for integer values
-                    case Types.INTEGER:
-                        // Check if the field has the sign
-                        if (field.mSigned) {
-                            // Check if the value is other than zero
-                            return !NumberUtils.INTEGER_ZERO.equals(value);
-                        } else {
-                            // Check if the value is other than zero
-                            return !NumberUtils.LONG_ZERO.equals(value);
-                        }
-                    // Identifies generic SQL type for long values
-                    case Types.BIGINT:
-                        // Check if the field has the sign
-                        if (field.mSigned) {
-                            // Check if the value is other than zero
-                            return !NumberUtils.LONG_ZERO.equals(value);
-                        } else {
-                            // Check if the value is other than zero
-                            return !BigInteger.ZERO.equals(value);
-                        }
-                    // Identifies generic SQL types for big-decimal values
-                    case Types.NUMERIC: case Types.DECIMAL:
+        private SQLQueryResults.Converter<Boolean> resolveBooleanConverter() {
+            // Resolves the conversion of the non-null values
+            final SQLQueryResults.Converter<Boolean> converter =
+                    this.resolveNonNullBooleanConverter();
+            // Returns a converter that leaves the null values unchanged
+            return value -> value != null ? converter.convert(value) : null;
+        }
+        
+        /**
+         * Resolves the conversion of the non-null
+         * values of this field to {@link Boolean}.
+         * 
+         * @return converter of the non-null values of this field.
+         */
+        private SQLQueryResults.Converter<Boolean> resolveNonNullBooleanConverter() {
+            // Check the data type of the field specified
+            switch (this.mSQLType) {
+                // Identifies generic SQL types for boolean values
+                case Types.BIT: case Types.BOOLEAN:
+                    // Cast the boolean value
+                    return value -> (Boolean) value;
+                // Identifies generic SQL type for byte values
+                case Types.TINYINT:
+                    // Check if the field has the sign
+                    if (this.mSigned) {
                         // Check if the value is other than zero
-                        return !BigDecimal.ZERO.equals(value);
-                    // Identifies generic SQL type for float values
-                    case Types.REAL:
+                        return value -> !NumberUtils.BYTE_ZERO.equals(value);
+                    } else {
                         // Check if the value is other than zero
-                        return !NumberUtils.FLOAT_ZERO.equals(value);
-                    // Identifies generic SQL types for double values
-                    case Types.FLOAT: case Types.DOUBLE:
+                        return value -> !NumberUtils.SHORT_ZERO.equals(value);
+                    }
+                // Identifies generic SQL type for short values
+                case Types.SMALLINT:
+                    // Check if the field has the sign
+                    if (this.mSigned) {
                         // Check if the value is other than zero
-                        return !NumberUtils.DOUBLE_ZERO.equals(value);
-                    // Identifies generic SQL types for string values
-                    case Types.VARCHAR: case Types.LONGVARCHAR:
-                    case Types.NVARCHAR: case Types.LONGNVARCHAR:
-                        // Converts the field value to a Boolean
-                        return BooleanUtils.toBooleanObject(value.toString());
-                    // For all other SQL types...
-                    default:
-                        // Raises an exception indicating that
-                        // the current value cannot be converted
-                        throw new ClassCastException(String.format(
-                                SQLQueryResults.ExCannotConvert, this.
-                                mOwner.mFields[columnIndex].mCls,
-                                Boolean.class));
-                }
-            } else {
-                // Return null value
-                return null;
+                        return value -> !NumberUtils.SHORT_ZERO.equals(value);
+                    } else {
+                        // Check if the value is other than zero
+                        return value -> !NumberUtils.INTEGER_ZERO.equals(value);
+                    }
+                // Identifies generic SQL type for integer values
+                case Types.INTEGER:
+                    // Check if the field has the sign
+                    if (this.mSigned) {
+                        // Check if the value is other than zero
+                        return value -> !NumberUtils.INTEGER_ZERO.equals(value);
+                    } else {
+                        // Check if the value is other than zero
+                        return value -> !NumberUtils.LONG_ZERO.equals(value);
+                    }
+                // Identifies generic SQL type for long values
+                case Types.BIGINT:
+                    // Check if the field has the sign
+                    if (this.mSigned) {
+                        // Check if the value is other than zero
+                        return value -> !NumberUtils.LONG_ZERO.equals(value);
+                    } else {
+                        // Check if the value is other than zero
+                        return value -> !BigInteger.ZERO.equals(value);
+                    }
+                // Identifies generic SQL types for big-decimal values
+                case Types.NUMERIC: case Types.DECIMAL:
+                    // Check if the value is other than zero
+                    return value -> !BigDecimal.ZERO.equals(value);
+                // Identifies generic SQL type for float values
+                case Types.REAL:
+                    // Check if the value is other than zero
+                    return value -> !NumberUtils.FLOAT_ZERO.equals(value);
+                // Identifies generic SQL types for double values
+                case Types.FLOAT: case Types.DOUBLE:
+                    // Check if the value is other than zero
+                    return value -> !NumberUtils.DOUBLE_ZERO.equals(value);
+                // Identifies generic SQL types for string values
+                case Types.VARCHAR: case Types.LONGVARCHAR:
+                case Types.NVARCHAR: case Types.LONGNVARCHAR:
+                    // Converts the field value to a Boolean
+                    return value -> BooleanUtils.toBooleanObject(value.toString());
+                // For all other SQL types...
+                default:
+                    // Returns a converter that raises an exception
+                    // indicating that the value cannot be converted
+                    return this.cannotConvert(Boolean.class);
             }
         }
 
         /**
-         * {@inheritDoc}
+         * Resolves the conversion of the values of this field to {@link LocalDate}.
+         * 
+         * @return converter of the values of this field.
          */
-        @Override
-        public final LocalDate getDate(final int columnIndex) {
+        private SQLQueryResults.Converter<LocalDate> resolveDateConverter() {
             // Check the data type of the field specified
-            switch (this.mOwner.mFields[columnIndex].mSQLType) {
+            switch (this.mSQLType) {
                 // Identifies the generic SQL type DATE
                 case Types.DATE:
                     // Cast the field value to LocalDate
-                    return (LocalDate) this.mData[columnIndex];
+                    return value -> (LocalDate) value;
                 // Identifies the generic SQL type
                 // TIMESTAMP (with or without time zone)
                 case Types.TIMESTAMP: case Types.TIMESTAMP_WITH_TIMEZONE:
                     // Converts the field value to a LocalDate
-                    return SQLQueryResults.toLocalDate((TemporalAccessor)
-                            this.mData[columnIndex]);
+                    return value -> SQLQueryResults.toLocalDate((TemporalAccessor)
+                            value);
                 // For all other SQL types...
                 default:
-                    // Raises an exception indicating that
-                    // the current value cannot be converted
-                    throw new ClassCastException(String.format(
-                            SQLQueryResults.ExCannotConvert, this.
-                            mOwner.mFields[columnIndex].mCls,
-                            LocalDate.class));
+                    // Returns a converter that raises an exception
+                    // indicating that the value cannot be converted
+                    return this.cannotConvert(LocalDate.class);
             }
         }
 
         /**
-         * {@inheritDoc}
+         * Resolves the conversion of the values of this field to {@link LocalTime}.
+         * 
+         * @return converter of the values of this field.
          */
-        @Override
-        public final LocalTime getTime(final int columnIndex) {
+        private SQLQueryResults.Converter<LocalTime> resolveTimeConverter() {
             // Check the data type of the field specified
-            switch (this.mOwner.mFields[columnIndex].mSQLType) {
+            switch (this.mSQLType) {
                 case Types.TIME:
                     // Cast the field value to LocalTime
-                    return (LocalTime) this.mData[columnIndex];
+                    return value -> (LocalTime) value;
                 // Identifies the generic SQL type
                 // TIMESTAMP (with or without time zone)
                 case Types.TIMESTAMP: case Types.TIMESTAMP_WITH_TIMEZONE:
                     // Converts the field value to a LocalTime
-                    return SQLQueryResults.toLocalTime((TemporalAccessor)
-                            this.mData[columnIndex]);
+                    return value -> SQLQueryResults.toLocalTime((TemporalAccessor)
+                            value);
                 // For all other SQL types...
                 default:
-                    // Raises an exception indicating that
-                    // the current value cannot be converted
-                    throw new ClassCastException(String.format(
-                            SQLQueryResults.ExCannotConvert, this.
-                            mOwner.mFields[columnIndex].mCls,
-                            LocalTime.class));
+                    // Returns a converter that raises an exception
+                    // indicating that the value cannot be converted
+                    return this.cannotConvert(LocalTime.class);
             }
         }
 
         /**
-         * {@inheritDoc}
-         */
-        @Override
-        public final String getString(final int columnIndex) {
-            // Gets the textual representation of the field value
-            return Objects.toString(this.mData[columnIndex], null);
-        }
-
-        /**
-         * {@inheritDoc}
+         * Resolves the conversion of the values of this field to byte array.
+         * 
+         * @return converter of the values of this field.
          */
-        @Override
-        public final byte[] getBytes(final int columnIndex) {
+        private SQLQueryResults.Converter<byte[]> resolveBytesConverter() {
             // Check the data type of the field specified
-            switch (this.mOwner.mFields[columnIndex].mSQLType) {
+            switch (this.mSQLType) {
                 // Identifies generic SQL types for binary fields
                 case Types.VARBINARY: case Types.BINARY:
                 case Types.BLOB: case Types.LONGVARBINARY:
                     // Cast the field value to a byte array
-                    return (byte[]) this.mData[columnIndex];
+                    return value -> (byte[]) value;
                 // Identifies generic SQL types for string values
                 case Types.LONGNVARCHAR: case Types.VARCHAR:
                 case Types.LONGVARCHAR: case Types.NVARCHAR:
                     // Return the bytes of the text
                     // representation of the field value
-                    return SQLQueryResults.toBytesFromString(
-                            this.mData[columnIndex]);
+                    return value -> SQLQueryResults.toBytesFromString(
+                            value);
                 // For all other SQL types...
                 default:
-                    // Raises an exception indicating that
-                    // the current value cannot be converted
-                    throw new ClassCastException(String.format(
-                            SQLQueryResults.ExCannotConvert, this.
-                            mOwner.mFields[columnIndex].mCls,
-                            byte[].class));
+                    // Returns a converter that raises an exception
+                    // indicating that the value cannot be converted
+                    return this.cannotConvert(byte[].class);
             }
         }
 
         /**
-         * {@inheritDoc}
+         * Resolves the conversion of the values of this field to {@link Double}.
+         * 
+         * @return converter of the values of this field.
          */
-        @Override
-        public final Double getDouble(final int columnIndex) {
-            // Declares a support reference
-            final SQLQueryResults.Field field;
-            // Get the info to the required field
-            field = this.mOwner.mFields[columnIndex];
+        private SQLQueryResults.Converter<Double> resolveDoubleConverter() {
             // Check the data type of the field specified
-            switch (field.mSQLType) {
+            switch (this.mSQLType) {
                 // Identifies generic SQL types for double values
                 case Types.FLOAT: case Types.DOUBLE:
                     // Cast the field value to Double
-                    return (Double) this.mData[columnIndex];
+                    return value -> (Double) value;
                 // Identifies generic SQL types for boolean values
                 case Types.BIT: case Types.BOOLEAN:
                     // Converts the field value to a Double
-                    return SQLQueryResults.toDouble((Boolean)
-                            this.mData[columnIndex]);
+                    return value -> SQLQueryResults.toDouble((Boolean)
+                            value);
                 // Identifies generic SQL type for byte values
                 case Types.TINYINT:
                     // Check if the field has the sign
-                    if (field.mSigned) {
+                    if (this.mSigned) {
                         // Converts the field value to a Double
-                        return SQLQueryResults.toDouble((Byte)
-                                this.mData[columnIndex]);
+                        return value -> SQLQueryResults.toDouble((Byte)
+                                value);
                     } else {
                         // Converts the field value to a Double
-                        return SQLQueryResults.toDouble((Short)
-                                this.mData[columnIndex]);
+                        return value -> SQLQueryResults.toDouble((Short)
+                                value);
                     }
                 // Identifies generic SQL type for short values
                 case Types.SMALLINT:
                     // Check if the field has the sign
-                    if (field.mSigned) {
+                    if (this.mSigned) {
                         // Converts the field value to a Double
-                        return SQLQueryResults.toDouble((Short)
-                                this.mData[columnIndex]);
+                        return value -> SQLQueryResults.toDouble((Short)
+                                value);
                     } else {
                         // Converts the field value to a Double
-                        return SQLQueryResults.toDouble((Integer)
-                                this.mData[columnIndex]);
+                        return value -> SQLQueryResults.toDouble((Integer)
+                                value);
                     }
                 // Identifies generic SQL type for integer values
                 case Types.INTEGER:
                     // Check if the field has the sign
-                    if (field.mSigned) {
+                    if (this.mSigned) {
                         // Converts the field value to a Double
-                        return SQLQueryResults.toDouble((Integer)
-                                this.mData[columnIndex]);
+                        return value -> SQLQueryResults.toDouble((Integer)
+                                value);
                     } else {
                         // Converts the field value to a Double
-                        return SQLQueryResults.toDouble((Long)
-                                this.mData[columnIndex]);
+                        return value -> SQLQueryResults.toDouble((Long)
+                                value);
                     }
                 // Identifies generic SQL type for long values
                 case Types.BIGINT:
                     // Check if the field has the sign
-                    if (field.mSigned) {
+                    if (this.mSigned) {
                         // Converts the field value to a Double
-                        return SQLQueryResults.toDouble((Long)
-                                this.mData[columnIndex]);
+                        return value -> SQLQueryResults.toDouble((Long)
+                                value);
                     } else {
                         // Converts the field value to a Double
-                        return SQLQueryResults.toDouble((BigInteger)
-                                this.mData[columnIndex]);
+                        return value -> SQLQueryResults.toDouble((BigInteger)
+                                value);
                     }
                 // Identifies generic SQL types for big-decimal values
                 case Types.NUMERIC: case Types.DECIMAL:
                     // Converts the field value to a Double
-                    return SQLQueryResults.toDouble((BigDecimal)
-                            this.mData[columnIndex]);
+                    return value -> SQLQueryResults.toDouble((BigDecimal)
+                            value);
                 // Identifies generic SQL type for float values
                 case Types.REAL:
                     // Converts the field value to a Double
-                    return SQLQueryResults.toDouble((Float)
-                            this.mData[columnIndex]);
+                    return value -> SQLQueryResults.toDouble((Float)
+                            value);
                 // Identifies generic SQL types for string values
                 case Types.VARCHAR: case Types.LONGVARCHAR:
                 case Types.NVARCHAR: case Types.LONGNVARCHAR:
                     // Converts the field value to a Double
-                    return NumberUtils.createDouble(Objects.toString(
-                            this.mData[columnIndex], null));
+                    return value -> NumberUtils.createDouble(Objects.toString(
+                            value, null));
                 // For all other SQL types...
                 default:
-                    // Raises an exception indicating that
-                    // the current value cannot be converted
-                    throw new ClassCastException(String.format(
-                            SQLQueryResults.ExCannotConvert, this.
-                            mOwner.mFields[columnIndex].mCls,
-                            Double.class));
+                    // Returns a converter that raises an exception
+                    // indicating that the value cannot be converted
+                    return this.cannotConvert(Double.class);
             }
         }
 
         /**
-         * {@inheritDoc}
+         * Resolves the conversion of the values of this field to {@link Float}.
+         * 
+         * @return converter of the values of this field.
          */
-        @Override
-        public final Float getFloat(final int columnIndex) {
-            // Declares a support reference
-            final SQLQueryResults.Field field;
-            // Get the info to the required field
-            field = this.mOwner.mFields[columnIndex];
+        private SQLQueryResults.Converter<Float> resolveFloatConverter() {
             // Check the data type of the field specified
-            switch (field.mSQLType) {
+            switch (this.mSQLType) {
                 // Identifies generic SQL type for float values
                 case Types.REAL:
                     // Cast the field value to Float
-                    return (Float) this.mData[columnIndex];
+                    return value -> (Float) value;
                 // Identifies generic SQL types for boolean values
                 case Types.BIT: case Types.BOOLEAN:
                     // Converts the field value to a Float
-                    return SQLQueryResults.toFloat((Boolean)
-                            this.mData[columnIndex]);
+                    return value -> SQLQueryResults.toFloat((Boolean)
+                            value);
                 // Identifies generic SQL type for byte values
                 case Types.TINYINT:
                     // Check if the field has the sign
-                    if (field.mSigned) {
+                    if (this.mSigned) {
                         // Converts the field value to a Float
-                        return SQLQueryResults.toFloat((Byte)
-                                this.mData[columnIndex]);
+                        return value -> SQLQueryResults.toFloat((Byte)
+                                value);
                     } else {
                         // Converts the field value to a Float
-                        return SQLQueryResults.toFloat((Short)
-                                this.mData[columnIndex]);
+                        return value -> SQLQueryResults.toFloat((Short)
+                                value);
                     }
                 // Identifies generic SQL type for short values
                 case Types.SMALLINT:
                     // Check if the field has the sign
-                    if (field.mSigned) {
+                    if (this.mSigned) {
                         // Converts the field value to a Float
-                        return SQLQueryResults.toFloat((Short)
-                                this.mData[columnIndex]);
+                        return value -> SQLQueryResults.toFloat((Short)
+                                value);
                     } else {
                         // Converts the field value to a Float
-                        return SQLQueryResults.toFloat((Integer)
-                                this.mData[columnIndex]);
+                        return value -> SQLQueryResults.toFloat((Integer)
+                                value);
                     }
                 // Identifies generic SQL type for integer values
                 case Types.INTEGER:
                     // Check if the field has the sign
-                    if (field.mSigned) {
+                    if (this.mSigned) {
                         // Converts the field value to a Float
-                        return SQLQueryResults.toFloat((Integer)
-                                this.mData[columnIndex]);
+                        return value -> SQLQueryResults.toFloat((Integer)
+                                value);
                     } else {
                         // Converts the field value to a Float
-                        return SQLQueryResults.toFloat((Long)
-                                this.mData[columnIndex]);
+                        return value -> SQLQueryResults.toFloat((Long)
+                                value);
                     }
                 // Identifies generic SQL type for long values
                 case Types.BIGINT:
                     // Check if the field has the sign
-                    if (field.mSigned) {
+                    if (this.mSigned) {
                         // Converts the field value to a Float
-                        return SQLQueryResults.toFloat((Long)
-                                this.mData[columnIndex]);
+                        return value -> SQLQueryResults.toFloat((Long)
+                                value);
                     } else {
                         // Converts the field value to a Float
-                        return SQLQueryResults.toFloat((BigInteger)
-                                this.mData[columnIndex]);
+                        return value -> SQLQueryResults.toFloat((BigInteger)
+                                value);
                     }
                 // Identifies generic SQL types for big-decimal values
                 case Types.NUMERIC: case Types.DECIMAL:
                     // Converts the field value to a Float
-                    return SQLQueryResults.toFloat((BigDecimal)
-                            this.mData[columnIndex]);
+                    return value -> SQLQueryResults.toFloat((BigDecimal)
+                            value);
                 // Identifies generic SQL types for double values
                 case Types.FLOAT: case Types.DOUBLE:
                     // Converts the field value to a Float
-                    return SQLQueryResults.toFloat((Double)
-                            this.mData[columnIndex]);
+                    return value -> SQLQueryResults.toFloat((Double)
+                            value);
                 // Identifies generic SQL types for string values
                 case Types.VARCHAR: case Types.LONGVARCHAR:
                 case Types.NVARCHAR: case Types.LONGNVARCHAR:
                     // Converts the field value to a Float
-                    return NumberUtils.createFloat(Objects.toString(
-                            this.mData[columnIndex], null));
+                    return value -> NumberUtils.createFloat(Objects.toString(
+                            value, null));
                 // For all other SQL types...
                 default:
-                    // Raises an exception indicating that
-                    // the current value cannot be converted
-                    throw new ClassCastException(String.format(
-                            SQLQueryResults.ExCannotConvert, this.
-                            mOwner.mFields[columnIndex].mCls,
-                            Float.class));
+                    // Returns a converter that raises an exception
+                    // indicating that the value cannot be converted
+                    return this.cannotConvert(Float.class);
             }
         }
 
         /**
-         * {@inheritDoc}
+         * Resolves the conversion of the values of this field to {@link Short}.
+         * 
+         * @return converter of the values of this field.
          */
-        @Override
-        public final Short getShort(final int columnIndex) {
-            // Declares a support reference
-            final SQLQueryResults.Field field;
-            // Get the info to the required field
-            field = this.mOwner.mFields[columnIndex];
+        private SQLQueryResults.Converter<Short> resolveShortConverter() {
             // Check the data type of the field specified
-            switch (field.mSQLType) {
+            switch (this.mSQLType) {
                 // Identifies generic SQL type for short values
                 case Types.SMALLINT:
                     // Check if the field has the sign
-                    if (field.mSigned) {
+                    if (this.mSigned) {
                         // Cast the field value to Short
-                        return (Short) this.mData[columnIndex];
+                        return value -> (Short) value;
                     } else {
                         // Converts the field value to a Short
-                        return SQLQueryResults.toShort((Integer)
-                                this.mData[columnIndex]);
+                        return value -> SQLQueryResults.toShort((Integer)
+                                value);
                     }
                 // Identifies generic SQL types for boolean values
                 case Types.BIT: case Types.BOOLEAN:
                     // Converts the field value to a Short
-                    return SQLQueryResults.toShort((Boolean)
-                            this.mData[columnIndex]);
+                    return value -> SQLQueryResults.toShort((Boolean)
+                            value);
                 // Identifies generic SQL type for byte values
                 case Types.TINYINT:
                     // Check if the field has the sign
-                    if (field.mSigned) {
+                    if (this.mSigned) {
                         // Converts the field value to a Short
-                        return SQLQueryResults.toShort((Byte)
-                                this.mData[columnIndex]);
+                        return value -> SQLQueryResults.toShort((Byte)
+                                value);
                     } else {
                         // Cast the field value to Short
-                        return (Short) this.mData[columnIndex];
+                        return value -> (Short) value;
                     }
                 // Identifies generic SQL type for integer values
                 case Types.INTEGER:
                     // Check if the field has the sign
-                    if (field.mSigned) {
+                    if (this.mSigned) {
                         // Converts the field value to a Short
-                        return SQLQueryResults.toShort((Integer)
-                                this.mData[columnIndex]);
+                        return value -> SQLQueryResults.toShort((Integer)
+                                value);
                     } else {
                         // Converts the field value to a Short
-                        return SQLQueryResults.toShort((Long)
-                                this.mData[columnIndex]);
+                        return value -> SQLQueryResults.toShort((Long)
+                                value);
                     }
                 // Identifies generic SQL type for long values
                 case Types.BIGINT:
                     // Check if the field has the sign
-                    if (field.mSigned) {
+                    if (this.mSigned) {
                         // Converts the field value to a Short
-                        return SQLQueryResults.toShort((Long)
-                                this.mData[columnIndex]);
+                        return value -> SQLQueryResults.toShort((Long)
+                                value);
                     } else {
                         // Converts the field value to a Short
-                        return SQLQueryResults.toShort((BigInteger)
-                                this.mData[columnIndex]);
+                        return value -> SQLQueryResults.toShort((BigInteger)
+                                value);
                     }
                 // Identifies generic SQL types for big-decimal values
                 case Types.NUMERIC: case Types.DECIMAL:
                     // Converts the field value to a Short
-                    return SQLQueryResults.toShort((BigDecimal)
-                            this.mData[columnIndex]);
+                    return value -> SQLQueryResults.toShort((BigDecimal)
+                            value);
                 // Identifies generic SQL type for float values
                 case Types.REAL:
                     // Converts the field value to a Short
-                    return SQLQueryResults.toShort((Float)
-                            this.mData[columnIndex]);
+                    return value -> SQLQueryResults.toShort((Float)
+                            value);
                 // Identifies generic SQL types for double values
                 case Types.FLOAT: case Types.DOUBLE:
                     // Converts the field value to a Short
-                    return SQLQueryResults.toShort((Double)
-                            this.mData[columnIndex]);
+                    return value -> SQLQueryResults.toShort((Double)
+                            value);
                 // Identifies generic SQL types for string values
                 case Types.VARCHAR: case Types.LONGVARCHAR:
                 case Types.NVARCHAR: case Types.LONGNVARCHAR:
                     // Converts the field value to a Short
-                    return SQLQueryResults.toShortFromStr(
-                            this.mData[columnIndex]);
+                    return value -> SQLQueryResults.toShortFromStr(
+                            value);
                 // For all other SQL types...
                 default:
-                    // Raises an exception indicating that
-                    // the current value cannot be converted
-                    throw new ClassCastException(String.format(
-                            SQLQueryResults.ExCannotConvert, this.
-                            mOwner.mFields[columnIndex].mCls,
-                            Short.class));
+                    // Returns a converter that raises an exception
+                    // indicating that the value cannot be converted
+                    return this.cannotConvert(Short.class);
             }
         }
 
         /**
-         * {@inheritDoc}
+         * Resolves the conversion of the values of this field to {@link Long}.
+         * 
+         * @return converter of the values of this field.
          */
-        @Override
-        public final Long getLong(final int columnIndex) {
-            // Declares a support reference
-            final SQLQueryResults.Field field;
-            // Get the info to the required field
-            field = this.mOwner.mFields[columnIndex];
+        private SQLQueryResults.Converter<Long> resolveLongConverter() {
             // Check the data type of the field specified
-            switch (field.mSQLType) {
+            switch (this.mSQLType) {
                 // Identifies generic SQL type for long values
                 case Types.BIGINT:
                     // Check if the field has the sign
-                    if (field.mSigned) {
+                    if (this.mSigned) {
                         // Cast the field value to Long
-                        return (Long) this.mData[columnIndex];
+                        return value -> (Long) value;
                     } else {
                         // Converts the field value to a Long
-                        return SQLQueryResults.toLong((BigInteger)
-                                this.mData[columnIndex]);
+                        return value -> SQLQueryResults.toLong((BigInteger)
+                                value);
                     }
                 // Identifies generic SQL types for boolean values
                 case Types.BIT: case Types.BOOLEAN:
                     // Converts the field value to a Long
-                    return SQLQueryResults.toLong((Boolean)
-                            this.mData[columnIndex]);
+                    return value -> SQLQueryResults.toLong((Boolean)
+                            value);
                 // Identifies generic SQL type for byte values
                 case Types.TINYINT:
                     // Check if the field has the sign
-                    if (field.mSigned) {
+                    if (this.mSigned) {
                         // Converts the field value to a Long
-                        return SQLQueryResults.toLong((Byte)
-                                this.mData[columnIndex]);
+                        return value -> SQLQueryResults.toLong((Byte)
+                                value);
                     } else {
                         // Converts the field value to a Long
-                        return SQLQueryResults.toLong((Short)
-                                this.mData[columnIndex]);
+                        return value -> SQLQueryResults.toLong((Short)
+                                value);
                     }
                 // Identifies generic SQL type for short values
                 case Types.SMALLINT:
                     // Check if the field has the sign
-                    if (field.mSigned) {
+                    if (this.mSigned) {
                         // Converts the field value to a Long
-                        return SQLQueryResults.toLong((Short)
-                                this.mData[columnIndex]);
+                        return value -> SQLQueryResults.toLong((Short)
+                                value);
                     } else {
                         // Converts the field value to a Long
-                        return SQLQueryResults.toLong((Integer)
-                                this.mData[columnIndex]);
+                        return value -> SQLQueryResults.toLong((Integer)
+                                value);
                     }
                 // Identifies generic SQL type for integer values
                 case Types.INTEGER:
                     // Check if the field has the sign
-                    if (field.mSigned) {
+                    if (this.mSigned) {
                         // Converts the field value to a Long
-                        return SQLQueryResults.toLong((Integer)
-                                this.mData[columnIndex]);
+                        return value -> SQLQueryResults.toLong((Integer)
+                                value);
                     } else {
                         // Cast the field value to Long
-                        return (Long) this.mData[columnIndex];
+                        return value -> (Long) value;
                     }
                 // Identifies generic SQL types for big-decimal values
                 case Types.NUMERIC: case Types.DECIMAL:
                     // Converts the field value to a Long
-                    return SQLQueryResults.toLong((BigDecimal)
-                            this.mData[columnIndex]);
+                    return value -> SQLQueryResults.toLong((BigDecimal)
+                            value);
                 // Identifies generic SQL type for float values
                 case Types.REAL:
                     // Converts the field value to a Long
-                    return SQLQueryResults.toLong((Float)
-                            this.mData[columnIndex]);
+                    return value -> SQLQueryResults.toLong((Float)
+                            value);
                 // Identifies generic SQL types for double values
                 case Types.FLOAT: case Types.DOUBLE:
                     // Converts the field value to a Long
-                    return SQLQueryResults.toLong((Double)
-                            this.mData[columnIndex]);
+                    return value -> SQLQueryResults.toLong((Double)
+                            value);
                 // Identifies generic SQL types for string values
                 case Types.VARCHAR: case Types.LONGVARCHAR:
                 case Types.NVARCHAR: case Types.LONGNVARCHAR:
                     // Converts the field value to a Long
-                    return NumberUtils.createLong(Objects.toString(
-                            this.mData[columnIndex], null));
+                    return value -> NumberUtils.createLong(Objects.toString(
+                            value, null));
                 // For all other SQL types...
                 default:
-                    // Raises an exception indicating that
-                    // the current value cannot be converted
-                    throw new ClassCastException(String.format(
-                            SQLQueryResults.ExCannotConvert, this.
-                            mOwner.mFields[columnIndex].mCls,
-                            Long.class));
+                    // Returns a converter that raises an exception
+                    // indicating that the value cannot be converted
+                    return this.cannotConvert(Long.class);
             }
         }
 
         /**
-         * {@inheritDoc}
+         * Resolves the conversion of the values of this field to {@link Byte}.
+         * 
+         * @return converter of the values of this field.
          */
-        @Override
-        public final Byte getByte(final int columnIndex) {
-            // Declares a support reference
-            final SQLQueryResults.Field field;
-            // Get the info to the required field
-            field = this.mOwner.mFields[columnIndex];
+        private SQLQueryResults.Converter<Byte> resolveByteConverter() {
             // Check the data type of the field specified
-            switch (field.mSQLType) {
+            switch (this.mSQLType) {
                 // Identifies generic SQL type for byte values
                 case Types.TINYINT:
                     // Check if the field has the sign
-                    if (field.mSigned) {
+                    if (this.mSigned) {
                         // Cast the field value to Byte
-                        return (Byte) this.mData[columnIndex];
+                        return value -> (Byte) value;
                     } else {
                         // Converts the field value to a Byte
-                        return SQLQueryResults.toByte((Short)
-                                this.mData[columnIndex]);
+                        return value -> SQLQueryResults.toByte((Short)
+                                value);
                     }
                 // Identifies generic SQL types for boolean values
                 case Types.BIT: case Types.BOOLEAN:
                     // Converts the field value to a Byte
-                    return SQLQueryResults.toByte((Boolean)
-                            this.mData[columnIndex]);
+                    return value -> SQLQueryResults.toByte((Boolean)
+                            value);
                 // Identifies generic SQL type for short values
                 case Types.SMALLINT:
                     // Check if the field has the sign
-                    if (field.mSigned) {
+                    if (this.mSigned) {
                         // Converts the field value to a Byte
-                        return SQLQueryResults.toByte((Short)
-                                this.mData[columnIndex]);
+                        return value -> SQLQueryResults.toByte((Short)
+                                value);
                     } else {
                         // Converts the field value to a Byte
-                        return SQLQueryResults.toByte((Integer)
-                                this.mData[columnIndex]);
+                        return value -> SQLQueryResults.toByte((Integer)
+                                value);
                     }
                 // Identifies generic SQL type for integer values
                 case Types.INTEGER:
                     // Check if the field has the sign
-                    if (field.mSigned) {
+                    if (this.mSigned) {
                         // Converts the field value to a Byte
-                        return SQLQueryResults.toByte((Integer)
-                                this.mData[columnIndex]);
+                        return value -> SQLQueryResults.toByte((Integer)
+                                value);
                     } else {
                         // Converts the field value to a Byte
-                        return SQLQueryResults.toByte((Long)
-                                this.mData[columnIndex]);
+                        return value -> SQLQueryResults.toByte((Long)
+                                value);
                     }
                 // Identifies generic SQL type for long values
                 case Types.BIGINT:
                     // Check if the field has the sign
-                    if (field.mSigned) {
+                    if (this.mSigned) {
                         // Converts the field value to a Byte
-                        return SQLQueryResults.toByte((Long)
-                                this.mData[columnIndex]);
+                        return value -> SQLQueryResults.toByte((Long)
+                                value);
                     } else {
                         // Converts the field value to a Byte
-                        return SQLQueryResults.toByte((BigInteger)
-                                this.mData[columnIndex]);
+                        return value -> SQLQueryResults.toByte((BigInteger)
+                                value);
                     }
                 // Identifies generic SQL types for big-decimal values
                 case Types.NUMERIC: case Types.DECIMAL:
                     // Converts the field value to a Byte
-                    return SQLQueryResults.toByte((BigDecimal)
-                            this.mData[columnIndex]);
+                    return value -> SQLQueryResults.toByte((BigDecimal)
+                            value);
                 // Identifies generic SQL type for float values
                 case Types.REAL:
                     // Converts the field value to a Byte
-                    return SQLQueryResults.toByte((Float)
-                            this.mData[columnIndex]);
+                    return value -> SQLQueryResults.toByte((Float)
+                            value);
                 // Identifies generic SQL types for double values
                 case Types.FLOAT: case Types.DOUBLE:
                     // Converts the field value to a Byte
-                    return SQLQueryResults.toByte((Double)
-                            this.mData[columnIndex]);
+                    return value -> SQLQueryResults.toByte((Double)
+                            value);
                 // Identifies generic SQL type for characters
                 case Types.CHAR: case Types.NCHAR:
                     // Converts the field value to a Byte
-                    return SQLQueryResults.toByte((Character)
-                            this.mData[columnIndex]);
+                    return value -> SQLQueryResults.toByte((Character)
+                            value);
                 // Identifies generic SQL types for string values
                 case Types.VARCHAR: case Types.LONGVARCHAR:
                 case Types.NVARCHAR: case Types.LONGNVARCHAR:
                     // Converts the field value to a Byte
-                    return SQLQueryResults.toByteFromStr(
-                            this.mData[columnIndex]);
+                    return value -> SQLQueryResults.toByteFromStr(
+                            value);
                 // For all other SQL types...
                 default:
-                    // Raises an exception indicating that
-                    // the current value cannot be converted
-                    throw new ClassCastException(String.format(
-                            SQLQueryResults.ExCannotConvert, this.
-                            mOwner.mFields[columnIndex].mCls,
-                            Byte.class));
+                    // Returns a converter that raises an exception
+                    // indicating that the value cannot be converted
+                    return this.cannotConvert(Byte.class);
             }
         }
+
+        /**
+         * Gets the converter of the non-null values of this field to
+         * {@code int}, resolved on first use like the boxed converters.
+         * 
+         * @return converter of the non-null values of this field.
+         */
+        private ToIntFunction<Object> intValueConverter() {
+            // Declares a support reference
+            ToIntFunction<Object> converter = this.mToIntValue;
+            // Check if the converter has not been resolved yet
+            if (converter == null) {
+                // Resolves the converter and stores it
+                this.mToIntValue = converter = this.resolveIntValueConverter();
+            }
+            // Returns the converter
+            return converter;
+        }
+
+        /**
+         * Gets the converter of the non-null values of this field to
+         * {@code long}, resolved on first use like the boxed converters.
+         * 
+         * @return converter of the non-null values of this field.
+         */
+        private ToLongFunction<Object> longValueConverter() {
+            // Declares a support reference
+            ToLongFunction<Object> converter = this.mToLongValue;
+            // Check if the converter has not been resolved yet
+            if (converter == null) {
+                // Resolves the converter and stores it
+                this.mToLongValue = converter = this.resolveLongValueConverter();
+            }
+            // Returns the converter
+            return converter;
+        }
+
+        /**
+         * Gets the converter of the non-null values of this field to
+         * {@code double}, resolved on first use like the boxed converters.
+         * 
+         * @return converter of the non-null values of this field.
+         */
+        private ToDoubleFunction<Object> doubleValueConverter() {
+            // Declares a support reference
+            ToDoubleFunction<Object> converter = this.mToDoubleValue;
+            // Check if the converter has not been resolved yet
+            if (converter == null) {
+                // Resolves the converter and stores it
+                this.mToDoubleValue = converter = this.resolveDoubleValueConverter();
+            }
+            // Returns the converter
+            return converter;
+        }
+
+        /**
+         * Resolves the conversion of the non-null values of this field to
+         * {@code int}.<p>The values stored as {@link Byte}, {@link Short} or
+         * {@link Integer} are unboxed directly, while all the other values
+         * go through the {@link Integer} conversion to keep its checks.</p>
+         * 
+         * @return converter of the non-null values of this field.
+         */
+        private ToIntFunction<Object> resolveIntValueConverter() {
+            // Check the data type of the field specified
+            switch (this.mSQLType) {
+                // Identifies generic SQL types stored as Byte, Short or Integer
+                case Types.TINYINT: case Types.SMALLINT:
+                    // Unboxes the field value
+                    return value -> ((Number) value).intValue();
+                // Identifies generic SQL type for integer values
+                case Types.INTEGER:
+                    // Check if the field has the sign
+                    if (this.mSigned) {
+                        // Unboxes the field value
+                        return value -> ((Integer) value).intValue();
+                    }
+                    // Otherwise goes through the boxed conversion
+                    return this.integerConverter()::convert;
+                // For all other SQL types...
+                default:
+                    // Goes through the boxed conversion
+                    return this.integerConverter()::convert;
+            }
+        }
+
+        /**
+         * Resolves the conversion of the non-null values of this field to
+         * {@code long}.<p>The values stored as {@link Byte}, {@link Short},
+         * {@link Integer} or {@link Long} are unboxed directly, while all the
+         * other values go through the {@link Long} conversion to keep its
+         * checks.</p>
+         * 
+         * @return converter of the non-null values of this field.
+         */
+        private ToLongFunction<Object> resolveLongValueConverter() {
+            // Check the data type of the field specified
+            switch (this.mSQLType) {
+                // Identifies generic SQL types stored as Byte, Short, Integer or Long
+                case Types.TINYINT: case Types.SMALLINT: case Types.INTEGER:
+                    // Unboxes the field value
+                    return value -> ((Number) value).longValue();
+                // Identifies generic SQL type for long values
+                case Types.BIGINT:
+                    // Check if the field has the sign
+                    if (this.mSigned) {
+                        // Unboxes the field value
+                        return value -> ((Long) value).longValue();
+                    }
+                    // Otherwise goes through the boxed conversion
+                    return this.longConverter()::convert;
+                // For all other SQL types...
+                default:
+                    // Goes through the boxed conversion
+                    return this.longConverter()::convert;
+            }
+        }
+
+        /**
+         * Resolves the conversion of the non-null values of this field to
+         * {@code double}.<p>The numeric values are unboxed directly, while all
+         * the other values go through the {@link Double} conversion.</p>
+         * 
+         * @return converter of the non-null values of this field.
+         */
+        private ToDoubleFunction<Object> resolveDoubleValueConverter() {
+            // Check the data type of the field specified
+            switch (this.mSQLType) {
+                // Identifies generic SQL types for numeric values
+                case Types.TINYINT: case Types.SMALLINT: case Types.INTEGER:
+                case Types.BIGINT: case Types.NUMERIC: case Types.DECIMAL:
+                case Types.REAL: case Types.FLOAT: case Types.DOUBLE:
+                    // Unboxes the field value
+                    return value -> ((Number) value).doubleValue();
+                // For all other SQL types...
+                default:
+                    // Goes through the boxed conversion
+                    return this.doubleConverter()::convert;
+            }
+        }
+
+        /**
+         * Gets a converter that rejects the values of this field
+         * because they cannot be converted to a certain type.
+         * 
+         * @param <T> type to which the values should be converted.
+         * @param target class to which the values should be converted.
+         * @return converter that raises a {@link ClassCastException}.
+         */
+        private <T> SQLQueryResults.Converter<T> cannotConvert(final Class<?> target) {
+            // Returns a converter that raises an exception
+            return value -> {
+                throw new ClassCastException(String.format(
+                        SQLQueryResults.ExCannotConvert,
+                        this.mCls, target));
+            };
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public final int hashCode() {
+            // Calculate the hash code for this object
+            return 163 + this.mName.hashCode();
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public final String toString() {
+            // Use the name as text representation
+            return this.mName;
+        }
+    }
+    
+    /**
+     * Internal data structure that maintains the
+     * values of a certain record provided by the query.
+     */
+    private static final class Row implements QueryRecord
+    {
+        /**
+         * Array of record values.
+         */
+        private final Object[] mData;
+        
+        /**
+         * Set of results to which it belongs.
+         */
+        private final SQLQueryResults mOwner;
+        
+        /**
+         * Create a new object to store the values of a record.
+         * 
+         * @param owner set of results to which it belongs.
+         */
+        private Row(final SQLQueryResults owner) {
+            // Allocate the array of values for this record
+            this.mData = new Object[owner.mColumnCount];
+            // Stores the reference to the owner
+            this.mOwner = owner;
+        }
+        
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public final Object getObject(final int columnIndex) {
+            // Returns the value of the requested field
+            return this.mData[columnIndex];
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public final LocalDateTime getTimestamp(final int columnIndex) {
+            // Converts the field value through the converter of the field
+            return this.mOwner.mFields[columnIndex].timestampConverter().
+                    convert(this.mData[columnIndex]);
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public final BigDecimal getBigDecimal(final int columnIndex) {
+            // Converts the field value through the converter of the field
+            return this.mOwner.mFields[columnIndex].bigDecimalConverter().
+                    convert(this.mData[columnIndex]);
+        }
+        
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public final BigInteger getBigInteger(final int columnIndex) {
+            // Converts the field value through the converter of the field
+            return this.mOwner.mFields[columnIndex].bigIntegerConverter().
+                    convert(this.mData[columnIndex]);
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public final Character getCharacter(final int columnIndex) {
+            // Converts the field value through the converter of the field
+            return this.mOwner.mFields[columnIndex].characterConverter().
+                    convert(this.mData[columnIndex]);
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public final Integer getInteger(final int columnIndex) {
+            // Converts the field value through the converter of the field
+            return this.mOwner.mFields[columnIndex].integerConverter().
+                    convert(this.mData[columnIndex]);
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public final Boolean getBoolean(final int columnIndex) {
+            // Converts the field value through the converter of the field
+            return this.mOwner.mFields[columnIndex].booleanConverter().
+                    convert(this.mData[columnIndex]);
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public final LocalDate getDate(final int columnIndex) {
+            // Converts the field value through the converter of the field
+            return this.mOwner.mFields[columnIndex].dateConverter().
+                    convert(this.mData[columnIndex]);
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public final LocalTime getTime(final int columnIndex) {
+            // Converts the field value through the converter of the field
+            return this.mOwner.mFields[columnIndex].timeConverter().
+                    convert(this.mData[columnIndex]);
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public final String getString(final int columnIndex) {
+            // Gets the textual representation of the field value
+            return Objects.toString(this.mData[columnIndex], null);
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public final byte[] getBytes(final int columnIndex) {
+            // Converts the field value through the converter of the field
+            return this.mOwner.mFields[columnIndex].bytesConverter().
+                    convert(this.mData[columnIndex]);
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public final Double getDouble(final int columnIndex) {
+            // Converts the field value through the converter of the field
+            return this.mOwner.mFields[columnIndex].doubleConverter().
+                    convert(this.mData[columnIndex]);
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public final Float getFloat(final int columnIndex) {
+            // Converts the field value through the converter of the field
+            return this.mOwner.mFields[columnIndex].floatConverter().
+                    convert(this.mData[columnIndex]);
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public final Short getShort(final int columnIndex) {
+            // Converts the field value through the converter of the field
+            return this.mOwner.mFields[columnIndex].shortConverter().
+                    convert(this.mData[columnIndex]);
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public final Long getLong(final int columnIndex) {
+            // Converts the field value through the converter of the field
+            return this.mOwner.mFields[columnIndex].longConverter().
+                    convert(this.mData[columnIndex]);
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public final Byte getByte(final int columnIndex) {
+            // Converts the field value through the converter of the field
+            return this.mOwner.mFields[columnIndex].byteConverter().
+                    convert(this.mData[columnIndex]);
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public final boolean isNull(final int columnIndex) {
+            // Check the value of the requested field
+            return this.mData[columnIndex] == null;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public final int getInt(final int columnIndex, final int defaultIfNull) {
+            // Gets the value of the requested field
+            final Object value = this.mData[columnIndex];
+            // Converts the value without boxing it, if not null
+            return value != null ? this.mOwner.mFields[columnIndex].
+                    intValueConverter().applyAsInt(value) : defaultIfNull;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public final long getLong(final int columnIndex, final long defaultIfNull) {
+            // Gets the value of the requested field
+            final Object value = this.mData[columnIndex];
+            // Converts the value without boxing it, if not null
+            return value != null ? this.mOwner.mFields[columnIndex].
+                    longValueConverter().applyAsLong(value) : defaultIfNull;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public final double getDouble(final int columnIndex, final double defaultIfNull) {
+            // Gets the value of the requested field
+            final Object value = this.mData[columnIndex];
+            // Converts the value without boxing it, if not null
+            return value != null ? this.mOwner.mFields[columnIndex].
+                    doubleValueConverter().applyAsDouble(value) : defaultIfNull;
+        }
         
         /**
          * {@inheritDoc}
@@ -77,9 +77,24 @@ public final class SQLUtils
      * Defines a simple implementation of the {@link SQLQueryReader}
      * interface to determine if an SQL query provides at least one result.
      */
-    public static final SQLQueryReader<Boolean> HasQueryResults = (final ResultSet rs) -> {
-        // Check if there is at least one record
-        return rs.next();
+    public static final SQLQueryReader<Boolean> HasQueryResults = new SQLQueryReader<Boolean>() {
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public Boolean read(final ResultSet rs) throws SQLException {
+            // Check if there is at least one record
+            return rs.next();
+        }
+        
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public int getMaxRows() {
+            // Only the first record is needed
+            return 1;
+        }
     };
     
     /**
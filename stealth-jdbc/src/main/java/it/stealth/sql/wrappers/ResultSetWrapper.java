@@ -0,0 +1,1820 @@
+/*
+ * To change this license header, choose License Headers in Project Properties.
+ * To change this template file, choose Tools | Templates
+ * and open the template in the editor.
+ */
+package it.stealth.sql.wrappers;
+
+import java.io.InputStream;
+import java.io.Reader;
+import java.math.BigDecimal;
+import java.net.URL;
+import java.sql.Array;
+import java.sql.Blob;
+import java.sql.Clob;
+import java.sql.Date;
+import java.sql.NClob;
+import java.sql.Ref;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.RowId;
+import java.sql.SQLException;
+import java.sql.SQLType;
+import java.sql.SQLWarning;
+import java.sql.SQLXML;
+import java.sql.Statement;
+import java.sql.Time;
+import java.sql.Timestamp;
+import java.util.Calendar;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Defines a convenient starting point for extending a
+ * {@link ResultSet} that wraps a pre-existing one.
+ *
+ * @author Fabrizio Lo Verde
+ * @version 1.0
+ * @since 1.4
+ */
+public abstract class ResultSetWrapper implements ResultSet
+{
+    /**
+     * Reference to the {@link ResultSet} to wrap.
+     */
+    protected final ResultSet mInner;
+    
+    /**
+     * Create a new {@link ResultSetWrapper}
+     * wrapping a certain {@link ResultSet}.
+     * 
+     * @param inner a {@link ResultSet} to wrap.
+     */
+    public ResultSetWrapper(final ResultSet inner) {
+        // Stores the reference to the result set
+        this.mInner = Objects.requireNonNull(inner);
+    }
+    
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean next() throws SQLException {
+        // Invokes the underlying result set method
+        return this.mInner.next();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void close() throws SQLException {
+        // Invokes the underlying result set method
+        this.mInner.close();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean wasNull() throws SQLException {
+        // Invokes the underlying result set method
+        return this.mInner.wasNull();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String getString(final int columnIndex) throws SQLException {
+        // Invokes the underlying result set method
+        return this.mInner.getString(columnIndex);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean getBoolean(final int columnIndex) throws SQLException {
+        // Invokes the underlying result set method
+        return this.mInner.getBoolean(columnIndex);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public byte getByte(final int columnIndex) throws SQLException {
+        // Invokes the underlying result set method
+        return this.mInner.getByte(columnIndex);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public short getShort(final int columnIndex) throws SQLException {
+        // Invokes the underlying result set method
+        return this.mInner.getShort(columnIndex);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int getInt(final int columnIndex) throws SQLException {
+        // Invokes the underlying result set method
+        return this.mInner.getInt(columnIndex);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public long getLong(final int columnIndex) throws SQLException {
+        // Invokes the underlying result set method
+        return this.mInner.getLong(columnIndex);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public float getFloat(final int columnIndex) throws SQLException {
+        // Invokes the underlying result set method
+        return this.mInner.getFloat(columnIndex);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public double getDouble(final int columnIndex) throws SQLException {
+        // Invokes the underlying result set method
+        return this.mInner.getDouble(columnIndex);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public BigDecimal getBigDecimal(final int columnIndex, final int scale) throws SQLException {
+        // Invokes the underlying result set method
+        return this.mInner.getBigDecimal(columnIndex, scale);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public byte[] getBytes(final int columnIndex) throws SQLException {
+        // Invokes the underlying result set method
+        return this.mInner.getBytes(columnIndex);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public java.sql.Date getDate(final int columnIndex) throws SQLException {
+        // Invokes the underlying result set method
+        return this.mInner.getDate(columnIndex);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public java.sql.Time getTime(final int columnIndex) throws SQLException {
+        // Invokes the underlying result set method
+        return this.mInner.getTime(columnIndex);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public java.sql.Timestamp getTimestamp(final int columnIndex) throws SQLException {
+        // Invokes the underlying result set method
+        return this.mInner.getTimestamp(columnIndex);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public InputStream getAsciiStream(final int columnIndex) throws SQLException {
+        // Invokes the underlying result set method
+        return this.mInner.getAsciiStream(columnIndex);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public InputStream getUnicodeStream(final int columnIndex) throws SQLException {
+        // Invokes the underlying result set method
+        return this.mInner.getUnicodeStream(columnIndex);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public InputStream getBinaryStream(final int columnIndex) throws SQLException {
+        // Invokes the underlying result set method
+        return this.mInner.getBinaryStream(columnIndex);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String getString(final String columnLabel) throws SQLException {
+        // Invokes the underlying result set method
+        return this.mInner.getString(columnLabel);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean getBoolean(final String columnLabel) throws SQLException {
+        // Invokes the underlying result set method
+        return this.mInner.getBoolean(columnLabel);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public byte getByte(final String columnLabel) throws SQLException {
+        // Invokes the underlying result set method
+        return this.mInner.getByte(columnLabel);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public short getShort(final String columnLabel) throws SQLException {
+        // Invokes the underlying result set method
+        return this.mInner.getShort(columnLabel);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int getInt(final String columnLabel) throws SQLException {
+        // Invokes the underlying result set method
+        return this.mInner.getInt(columnLabel);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public long getLong(final String columnLabel) throws SQLException {
+        // Invokes the underlying result set method
+        return this.mInner.getLong(columnLabel);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public float getFloat(final String columnLabel) throws SQLException {
+        // Invokes the underlying result set method
+        return this.mInner.getFloat(columnLabel);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public double getDouble(final String columnLabel) throws SQLException {
+        // Invokes the underlying result set method
+        return this.mInner.getDouble(columnLabel);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public BigDecimal getBigDecimal(final String columnLabel, final int scale) throws SQLException {
+        // Invokes the underlying result set method
+        return this.mInner.getBigDecimal(columnLabel, scale);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public byte[] getBytes(final String columnLabel) throws SQLException {
+        // Invokes the underlying result set method
+        return this.mInner.getBytes(columnLabel);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public java.sql.Date getDate(final String columnLabel) throws SQLException {
+        // Invokes the underlying result set method
+        return this.mInner.getDate(columnLabel);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public java.sql.Time getTime(final String columnLabel) throws SQLException {
+        // Invokes the underlying result set method
+        return this.mInner.getTime(columnLabel);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public java.sql.Timestamp getTimestamp(final String columnLabel) throws SQLException {
+        // Invokes the underlying result set method
+        return this.mInner.getTimestamp(columnLabel);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public InputStream getAsciiStream(final String columnLabel) throws SQLException {
+        // Invokes the underlying result set method
+        return this.mInner.getAsciiStream(columnLabel);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public InputStream getUnicodeStream(final String columnLabel) throws SQLException {
+        // Invokes the underlying result set method
+        return this.mInner.getUnicodeStream(columnLabel);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public InputStream getBinaryStream(final String columnLabel) throws SQLException {
+        // Invokes the underlying result set method
+        return this.mInner.getBinaryStream(columnLabel);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public SQLWarning getWarnings() throws SQLException {
+        // Invokes the underlying result set method
+        return this.mInner.getWarnings();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void clearWarnings() throws SQLException {
+        // Invokes the underlying result set method
+        this.mInner.clearWarnings();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String getCursorName() throws SQLException {
+        // Invokes the underlying result set method
+        return this.mInner.getCursorName();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public ResultSetMetaData getMetaData() throws SQLException {
+        // Invokes the underlying result set method
+        return this.mInner.getMetaData();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Object getObject(final int columnIndex) throws SQLException {
+        // Invokes the underlying result set method
+        return this.mInner.getObject(columnIndex);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Object getObject(final String columnLabel) throws SQLException {
+        // Invokes the underlying result set method
+        return this.mInner.getObject(columnLabel);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int findColumn(final String columnLabel) throws SQLException {
+        // Invokes the underlying result set method
+        return this.mInner.findColumn(columnLabel);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Reader getCharacterStream(final int columnIndex) throws SQLException {
+        // Invokes the underlying result set method
+        return this.mInner.getCharacterStream(columnIndex);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Reader getCharacterStream(final String columnLabel) throws SQLException {
+        // Invokes the underlying result set method
+        return this.mInner.getCharacterStream(columnLabel);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public BigDecimal getBigDecimal(final int columnIndex) throws SQLException {
+        // Invokes the underlying result set method
+        return this.mInner.getBigDecimal(columnIndex);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public BigDecimal getBigDecimal(final String columnLabel) throws SQLException {
+        // Invokes the underlying result set method
+        return this.mInner.getBigDecimal(columnLabel);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean isBeforeFirst() throws SQLException {
+        // Invokes the underlying result set method
+        return this.mInner.isBeforeFirst();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean isAfterLast() throws SQLException {
+        // Invokes the underlying result set method
+        return this.mInner.isAfterLast();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean isFirst() throws SQLException {
+        // Invokes the underlying result set method
+        return this.mInner.isFirst();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean isLast() throws SQLException {
+        // Invokes the underlying result set method
+        return this.mInner.isLast();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void beforeFirst() throws SQLException {
+        // Invokes the underlying result set method
+        this.mInner.beforeFirst();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void afterLast() throws SQLException {
+        // Invokes the underlying result set method
+        this.mInner.afterLast();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean first() throws SQLException {
+        // Invokes the underlying result set method
+        return this.mInner.first();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean last() throws SQLException {
+        // Invokes the underlying result set method
+        return this.mInner.last();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int getRow() throws SQLException {
+        // Invokes the underlying result set method
+        return this.mInner.getRow();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean absolute(final int row) throws SQLException {
+        // Invokes the underlying result set method
+        return this.mInner.absolute(row);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean relative(final int rows) throws SQLException {
+        // Invokes the underlying result set method
+        return this.mInner.relative(rows);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean previous() throws SQLException {
+        // Invokes the underlying result set method
+        return this.mInner.previous();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void setFetchDirection(final int direction) throws SQLException {
+        // Invokes the underlying result set method
+        this.mInner.setFetchDirection(direction);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int getFetchDirection() throws SQLException {
+        // Invokes the underlying result set method
+        return this.mInner.getFetchDirection();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void setFetchSize(final int rows) throws SQLException {
+        // Invokes the underlying result set method
+        this.mInner.setFetchSize(rows);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int getFetchSize() throws SQLException {
+        // Invokes the underlying result set method
+        return this.mInner.getFetchSize();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int getType() throws SQLException {
+        // Invokes the underlying result set method
+        return this.mInner.getType();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int getConcurrency() throws SQLException {
+        // Invokes the underlying result set method
+        return this.mInner.getConcurrency();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean rowUpdated() throws SQLException {
+        // Invokes the underlying result set method
+        return this.mInner.rowUpdated();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean rowInserted() throws SQLException {
+        // Invokes the underlying result set method
+        return this.mInner.rowInserted();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean rowDeleted() throws SQLException {
+        // Invokes the underlying result set method
+        return this.mInner.rowDeleted();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void updateNull(final int columnIndex) throws SQLException {
+        // Invokes the underlying result set method
+        this.mInner.updateNull(columnIndex);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void updateBoolean(final int columnIndex, final boolean x) throws SQLException {
+        // Invokes the underlying result set method
+        this.mInner.updateBoolean(columnIndex, x);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void updateByte(final int columnIndex, final byte x) throws SQLException {
+        // Invokes the underlying result set method
+        this.mInner.updateByte(columnIndex, x);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void updateShort(final int columnIndex, final short x) throws SQLException {
+        // Invokes the underlying result set method
+        this.mInner.updateShort(columnIndex, x);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void updateInt(final int columnIndex, final int x) throws SQLException {
+        // Invokes the underlying result set method
+        this.mInner.updateInt(columnIndex, x);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void updateLong(final int columnIndex, final long x) throws SQLException {
+        // Invokes the underlying result set method
+        this.mInner.updateLong(columnIndex, x);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void updateFloat(final int columnIndex, final float x) throws SQLException {
+        // Invokes the underlying result set method
+        this.mInner.updateFloat(columnIndex, x);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void updateDouble(final int columnIndex, final double x) throws SQLException {
+        // Invokes the underlying result set method
+        this.mInner.updateDouble(columnIndex, x);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void updateBigDecimal(final int columnIndex, final BigDecimal x) throws SQLException {
+        // Invokes the underlying result set method
+        this.mInner.updateBigDecimal(columnIndex, x);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void updateString(final int columnIndex, final String x) throws SQLException {
+        // Invokes the underlying result set method
+        this.mInner.updateString(columnIndex, x);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void updateBytes(final int columnIndex, final byte[] x) throws SQLException {
+        // Invokes the underlying result set method
+        this.mInner.updateBytes(columnIndex, x);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void updateDate(final int columnIndex, final java.sql.Date x) throws SQLException {
+        // Invokes the underlying result set method
+        this.mInner.updateDate(columnIndex, x);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void updateTime(final int columnIndex, final java.sql.Time x) throws SQLException {
+        // Invokes the underlying result set method
+        this.mInner.updateTime(columnIndex, x);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void updateTimestamp(final int columnIndex, final java.sql.Timestamp x) throws SQLException {
+        // Invokes the underlying result set method
+        this.mInner.updateTimestamp(columnIndex, x);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void updateAsciiStream(final int columnIndex, final InputStream x, final int length) throws SQLException {
+        // Invokes the underlying result set method
+        this.mInner.updateAsciiStream(columnIndex, x, length);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void updateBinaryStream(final int columnIndex, final InputStream x, final int length) throws SQLException {
+        // Invokes the underlying result set method
+        this.mInner.updateBinaryStream(columnIndex, x, length);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void updateCharacterStream(final int columnIndex, final Reader x, final int length) throws SQLException {
+        // Invokes the underlying result set method
+        this.mInner.updateCharacterStream(columnIndex, x, length);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void updateObject(final int columnIndex, final Object x, final int scaleOrLength) throws SQLException {
+        // Invokes the underlying result set method
+        this.mInner.updateObject(columnIndex, x, scaleOrLength);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void updateObject(final int columnIndex, final Object x) throws SQLException {
+        // Invokes the underlying result set method
+        this.mInner.updateObject(columnIndex, x);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void updateNull(final String columnLabel) throws SQLException {
+        // Invokes the underlying result set method
+        this.mInner.updateNull(columnLabel);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void updateBoolean(final String columnLabel, final boolean x) throws SQLException {
+        // Invokes the underlying result set method
+        this.mInner.updateBoolean(columnLabel, x);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void updateByte(final String columnLabel, final byte x) throws SQLException {
+        // Invokes the underlying result set method
+        this.mInner.updateByte(columnLabel, x);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void updateShort(final String columnLabel, final short x) throws SQLException {
+        // Invokes the underlying result set method
+        this.mInner.updateShort(columnLabel, x);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void updateInt(final String columnLabel, final int x) throws SQLException {
+        // Invokes the underlying result set method
+        this.mInner.updateInt(columnLabel, x);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void updateLong(final String columnLabel, final long x) throws SQLException {
+        // Invokes the underlying result set method
+        this.mInner.updateLong(columnLabel, x);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void updateFloat(final String columnLabel, final float x) throws SQLException {
+        // Invokes the underlying result set method
+        this.mInner.updateFloat(columnLabel, x);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void updateDouble(final String columnLabel, final double x) throws SQLException {
+        // Invokes the underlying result set method
+        this.mInner.updateDouble(columnLabel, x);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void updateBigDecimal(final String columnLabel, final BigDecimal x) throws SQLException {
+        // Invokes the underlying result set method
+        this.mInner.updateBigDecimal(columnLabel, x);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void updateString(final String columnLabel, final String x) throws SQLException {
+        // Invokes the underlying result set method
+        this.mInner.updateString(columnLabel, x);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void updateBytes(final String columnLabel, final byte[] x) throws SQLException {
+        // Invokes the underlying result set method
+        this.mInner.updateBytes(columnLabel, x);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void updateDate(final String columnLabel, final java.sql.Date x) throws SQLException {
+        // Invokes the underlying result set method
+        this.mInner.updateDate(columnLabel, x);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void updateTime(final String columnLabel, final java.sql.Time x) throws SQLException {
+        // Invokes the underlying result set method
+        this.mInner.updateTime(columnLabel, x);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void updateTimestamp(final String columnLabel, final java.sql.Timestamp x) throws SQLException {
+        // Invokes the underlying result set method
+        this.mInner.updateTimestamp(columnLabel, x);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void updateAsciiStream(final String columnLabel, final InputStream x, final int length) throws SQLException {
+        // Invokes the underlying result set method
+        this.mInner.updateAsciiStream(columnLabel, x, length);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void updateBinaryStream(final String columnLabel, final InputStream x, final int length) throws SQLException {
+        // Invokes the underlying result set method
+        this.mInner.updateBinaryStream(columnLabel, x, length);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void updateCharacterStream(final String columnLabel, final Reader reader, final int length) throws SQLException {
+        // Invokes the underlying result set method
+        this.mInner.updateCharacterStream(columnLabel, reader, length);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void updateObject(final String columnLabel, final Object x, final int scaleOrLength) throws SQLException {
+        // Invokes the underlying result set method
+        this.mInner.updateObject(columnLabel, x, scaleOrLength);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void updateObject(final String columnLabel, final Object x) throws SQLException {
+        // Invokes the underlying result set method
+        this.mInner.updateObject(columnLabel, x);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void insertRow() throws SQLException {
+        // Invokes the underlying result set method
+        this.mInner.insertRow();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void updateRow() throws SQLException {
+        // Invokes the underlying result set method
+        this.mInner.updateRow();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void deleteRow() throws SQLException {
+        // Invokes the underlying result set method
+        this.mInner.deleteRow();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void refreshRow() throws SQLException {
+        // Invokes the underlying result set method
+        this.mInner.refreshRow();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void cancelRowUpdates() throws SQLException {
+        // Invokes the underlying result set method
+        this.mInner.cancelRowUpdates();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void moveToInsertRow() throws SQLException {
+        // Invokes the underlying result set method
+        this.mInner.moveToInsertRow();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void moveToCurrentRow() throws SQLException {
+        // Invokes the underlying result set method
+        this.mInner.moveToCurrentRow();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Statement getStatement() throws SQLException {
+        // Invokes the underlying result set method
+        return this.mInner.getStatement();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Object getObject(final int columnIndex, final Map<String, Class<?>> map) throws SQLException {
+        // Invokes the underlying result set method
+        return this.mInner.getObject(columnIndex, map);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Ref getRef(final int columnIndex) throws SQLException {
+        // Invokes the underlying result set method
+        return this.mInner.getRef(columnIndex);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Blob getBlob(final int columnIndex) throws SQLException {
+        // Invokes the underlying result set method
+        return this.mInner.getBlob(columnIndex);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Clob getClob(final int columnIndex) throws SQLException {
+        // Invokes the underlying result set method
+        return this.mInner.getClob(columnIndex);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Array getArray(final int columnIndex) throws SQLException {
+        // Invokes the underlying result set method
+        return this.mInner.getArray(columnIndex);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Object getObject(final String columnLabel, final Map<String, Class<?>> map) throws SQLException {
+        // Invokes the underlying result set method
+        return this.mInner.getObject(columnLabel, map);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Ref getRef(final String columnLabel) throws SQLException {
+        // Invokes the underlying result set method
+        return this.mInner.getRef(columnLabel);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Blob getBlob(final String columnLabel) throws SQLException {
+        // Invokes the underlying result set method
+        return this.mInner.getBlob(columnLabel);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Clob getClob(final String columnLabel) throws SQLException {
+        // Invokes the underlying result set method
+        return this.mInner.getClob(columnLabel);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Array getArray(final String columnLabel) throws SQLException {
+        // Invokes the underlying result set method
+        return this.mInner.getArray(columnLabel);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public java.sql.Date getDate(final int columnIndex, final Calendar cal) throws SQLException {
+        // Invokes the underlying result set method
+        return this.mInner.getDate(columnIndex, cal);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public java.sql.Date getDate(final String columnLabel, final Calendar cal) throws SQLException {
+        // Invokes the underlying result set method
+        return this.mInner.getDate(columnLabel, cal);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public java.sql.Time getTime(final int columnIndex, final Calendar cal) throws SQLException {
+        // Invokes the underlying result set method
+        return this.mInner.getTime(columnIndex, cal);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public java.sql.Time getTime(final String columnLabel, final Calendar cal) throws SQLException {
+        // Invokes the underlying result set method
+        return this.mInner.getTime(columnLabel, cal);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public java.sql.Timestamp getTimestamp(final int columnIndex, final Calendar cal) throws SQLException {
+        // Invokes the underlying result set method
+        return this.mInner.getTimestamp(columnIndex, cal);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public java.sql.Timestamp getTimestamp(final String columnLabel, final Calendar cal) throws SQLException {
+        // Invokes the underlying result set method
+        return this.mInner.getTimestamp(columnLabel, cal);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public URL getURL(final int columnIndex) throws SQLException {
+        // Invokes the underlying result set method
+        return this.mInner.getURL(columnIndex);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public URL getURL(final String columnLabel) throws SQLException {
+        // Invokes the underlying result set method
+        return this.mInner.getURL(columnLabel);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void updateRef(final int columnIndex, final java.sql.Ref x) throws SQLException {
+        // Invokes the underlying result set method
+        this.mInner.updateRef(columnIndex, x);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void updateRef(final String columnLabel, final java.sql.Ref x) throws SQLException {
+        // Invokes the underlying result set method
+        this.mInner.updateRef(columnLabel, x);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void updateBlob(final int columnIndex, final java.sql.Blob x) throws SQLException {
+        // Invokes the underlying result set method
+        this.mInner.updateBlob(columnIndex, x);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void updateBlob(final String columnLabel, final java.sql.Blob x) throws SQLException {
+        // Invokes the underlying result set method
+        this.mInner.updateBlob(columnLabel, x);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void updateClob(final int columnIndex, final java.sql.Clob x) throws SQLException {
+        // Invokes the underlying result set method
+        this.mInner.updateClob(columnIndex, x);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void updateClob(final String columnLabel, final java.sql.Clob x) throws SQLException {
+        // Invokes the underlying result set method
+        this.mInner.updateClob(columnLabel, x);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void updateArray(final int columnIndex, final java.sql.Array x) throws SQLException {
+        // Invokes the underlying result set method
+        this.mInner.updateArray(columnIndex, x);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void updateArray(final String columnLabel, final java.sql.Array x) throws SQLException {
+        // Invokes the underlying result set method
+        this.mInner.updateArray(columnLabel, x);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public RowId getRowId(final int columnIndex) throws SQLException {
+        // Invokes the underlying result set method
+        return this.mInner.getRowId(columnIndex);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public RowId getRowId(final String columnLabel) throws SQLException {
+        // Invokes the underlying result set method
+        return this.mInner.getRowId(columnLabel);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void updateRowId(final int columnIndex, final RowId x) throws SQLException {
+        // Invokes the underlying result set method
+        this.mInner.updateRowId(columnIndex, x);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void updateRowId(final String columnLabel, final RowId x) throws SQLException {
+        // Invokes the underlying result set method
+        this.mInner.updateRowId(columnLabel, x);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int getHoldability() throws SQLException {
+        // Invokes the underlying result set method
+        return this.mInner.getHoldability();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean isClosed() throws SQLException {
+        // Invokes the underlying result set method
+        return this.mInner.isClosed();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void updateNString(final int columnIndex, final String nString) throws SQLException {
+        // Invokes the underlying result set method
+        this.mInner.updateNString(columnIndex, nString);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void updateNString(final String columnLabel, final String nString) throws SQLException {
+        // Invokes the underlying result set method
+        this.mInner.updateNString(columnLabel, nString);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void updateNClob(final int columnIndex, final NClob nClob) throws SQLException {
+        // Invokes the underlying result set method
+        this.mInner.updateNClob(columnIndex, nClob);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void updateNClob(final String columnLabel, final NClob nClob) throws SQLException {
+        // Invokes the underlying result set method
+        this.mInner.updateNClob(columnLabel, nClob);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public NClob getNClob(final int columnIndex) throws SQLException {
+        // Invokes the underlying result set method
+        return this.mInner.getNClob(columnIndex);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public NClob getNClob(final String columnLabel) throws SQLException {
+        // Invokes the underlying result set method
+        return this.mInner.getNClob(columnLabel);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public SQLXML getSQLXML(final int columnIndex) throws SQLException {
+        // Invokes the underlying result set method
+        return this.mInner.getSQLXML(columnIndex);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public SQLXML getSQLXML(final String columnLabel) throws SQLException {
+        // Invokes the underlying result set method
+        return this.mInner.getSQLXML(columnLabel);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void updateSQLXML(final int columnIndex, final SQLXML xmlObject) throws SQLException {
+        // Invokes the underlying result set method
+        this.mInner.updateSQLXML(columnIndex, xmlObject);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void updateSQLXML(final String columnLabel, final SQLXML xmlObject) throws SQLException {
+        // Invokes the underlying result set method
+        this.mInner.updateSQLXML(columnLabel, xmlObject);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String getNString(final int columnIndex) throws SQLException {
+        // Invokes the underlying result set method
+        return this.mInner.getNString(columnIndex);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String getNString(final String columnLabel) throws SQLException {
+        // Invokes the underlying result set method
+        return this.mInner.getNString(columnLabel);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Reader getNCharacterStream(final int columnIndex) throws SQLException {
+        // Invokes the underlying result set method
+        return this.mInner.getNCharacterStream(columnIndex);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Reader getNCharacterStream(final String columnLabel) throws SQLException {
+        // Invokes the underlying result set method
+        return this.mInner.getNCharacterStream(columnLabel);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void updateNCharacterStream(final int columnIndex, final Reader x, final long length) throws SQLException {
+        // Invokes the underlying result set method
+        this.mInner.updateNCharacterStream(columnIndex, x, length);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void updateNCharacterStream(final String columnLabel, final Reader reader, final long length) throws SQLException {
+        // Invokes the underlying result set method
+        this.mInner.updateNCharacterStream(columnLabel, reader, length);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void updateAsciiStream(final int columnIndex, final InputStream x, final long length) throws SQLException {
+        // Invokes the underlying result set method
+        this.mInner.updateAsciiStream(columnIndex, x, length);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void updateBinaryStream(final int columnIndex, final InputStream x, final long length) throws SQLException {
+        // Invokes the underlying result set method
+        this.mInner.updateBinaryStream(columnIndex, x, length);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void updateCharacterStream(final int columnIndex, final Reader x, final long length) throws SQLException {
+        // Invokes the underlying result set method
+        this.mInner.updateCharacterStream(columnIndex, x, length);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void updateAsciiStream(final String columnLabel, final InputStream x, final long length) throws SQLException {
+        // Invokes the underlying result set method
+        this.mInner.updateAsciiStream(columnLabel, x, length);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void updateBinaryStream(final String columnLabel, final InputStream x, final long length) throws SQLException {
+        // Invokes the underlying result set method
+        this.mInner.updateBinaryStream(columnLabel, x, length);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void updateCharacterStream(final String columnLabel, final Reader reader, final long length) throws SQLException {
+        // Invokes the underlying result set method
+        this.mInner.updateCharacterStream(columnLabel, reader, length);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void updateBlob(final int columnIndex, final InputStream inputStream, final long length) throws SQLException {
+        // Invokes the underlying result set method
+        this.mInner.updateBlob(columnIndex, inputStream, length);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void updateBlob(final String columnLabel, final InputStream inputStream, final long length) throws SQLException {
+        // Invokes the underlying result set method
+        this.mInner.updateBlob(columnLabel, inputStream, length);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void updateClob(final int columnIndex, final Reader reader, final long length) throws SQLException {
+        // Invokes the underlying result set method
+        this.mInner.updateClob(columnIndex, reader, length);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void updateClob(final String columnLabel, final Reader reader, final long length) throws SQLException {
+        // Invokes the underlying result set method
+        this.mInner.updateClob(columnLabel, reader, length);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void updateNClob(final int columnIndex, final Reader reader, final long length) throws SQLException {
+        // Invokes the underlying result set method
+        this.mInner.updateNClob(columnIndex, reader, length);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void updateNClob(final String columnLabel, final Reader reader, final long length) throws SQLException {
+        // Invokes the underlying result set method
+        this.mInner.updateNClob(columnLabel, reader, length);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void updateNCharacterStream(final int columnIndex, final Reader x) throws SQLException {
+        // Invokes the underlying result set method
+        this.mInner.updateNCharacterStream(columnIndex, x);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void updateNCharacterStream(final String columnLabel, final Reader reader) throws SQLException {
+        // Invokes the underlying result set method
+        this.mInner.updateNCharacterStream(columnLabel, reader);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void updateAsciiStream(final int columnIndex, final InputStream x) throws SQLException {
+        // Invokes the underlying result set method
+        this.mInner.updateAsciiStream(columnIndex, x);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void updateBinaryStream(final int columnIndex, final InputStream x) throws SQLException {
+        // Invokes the underlying result set method
+        this.mInner.updateBinaryStream(columnIndex, x);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void updateCharacterStream(final int columnIndex, final Reader x) throws SQLException {
+        // Invokes the underlying result set method
+        this.mInner.updateCharacterStream(columnIndex, x);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void updateAsciiStream(final String columnLabel, final InputStream x) throws SQLException {
+        // Invokes the underlying result set method
+        this.mInner.updateAsciiStream(columnLabel, x);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void updateBinaryStream(final String columnLabel, final InputStream x) throws SQLException {
+        // Invokes the underlying result set method
+        this.mInner.updateBinaryStream(columnLabel, x);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void updateCharacterStream(final String columnLabel, final Reader reader) throws SQLException {
+        // Invokes the underlying result set method
+        this.mInner.updateCharacterStream(columnLabel, reader);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void updateBlob(final int columnIndex, final InputStream inputStream) throws SQLException {
+        // Invokes the underlying result set method
+        this.mInner.updateBlob(columnIndex, inputStream);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void updateBlob(final String columnLabel, final InputStream inputStream) throws SQLException {
+        // Invokes the underlying result set method
+        this.mInner.updateBlob(columnLabel, inputStream);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void updateClob(final int columnIndex, final Reader reader) throws SQLException {
+        // Invokes the underlying result set method
+        this.mInner.updateClob(columnIndex, reader);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void updateClob(final String columnLabel, final Reader reader) throws SQLException {
+        // Invokes the underlying result set method
+        this.mInner.updateClob(columnLabel, reader);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void updateNClob(final int columnIndex, final Reader reader) throws SQLException {
+        // Invokes the underlying result set method
+        this.mInner.updateNClob(columnIndex, reader);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void updateNClob(final String columnLabel, final Reader reader) throws SQLException {
+        // Invokes the underlying result set method
+        this.mInner.updateNClob(columnLabel, reader);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public <T> T getObject(final int columnIndex, final Class<T> type) throws SQLException {
+        // Invokes the underlying result set method
+        return this.mInner.getObject(columnIndex, type);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public <T> T getObject(final String columnLabel, final Class<T> type) throws SQLException {
+        // Invokes the underlying result set method
+        return this.mInner.getObject(columnLabel, type);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void updateObject(final int columnIndex, final Object x, final SQLType targetSqlType, final int scaleOrLength) throws SQLException {
+        // Invokes the underlying result set method
+        this.mInner.updateObject(columnIndex, x, targetSqlType, scaleOrLength);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void updateObject(final String columnLabel, final Object x, final SQLType targetSqlType, final int scaleOrLength) throws SQLException {
+        // Invokes the underlying result set method
+        this.mInner.updateObject(columnLabel, x, targetSqlType, scaleOrLength);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void updateObject(final int columnIndex, final Object x, final SQLType targetSqlType) throws SQLException {
+        // Invokes the underlying result set method
+        this.mInner.updateObject(columnIndex, x, targetSqlType);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void updateObject(final String columnLabel, final Object x, final SQLType targetSqlType) throws SQLException {
+        // Invokes the underlying result set method
+        this.mInner.updateObject(columnLabel, x, targetSqlType);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean isWrapperFor(final Class<?> iface) throws SQLException {
+        // Check if this class extends or implements the supplied
+        // one, otherwise invokes the underlying result set method
+        return iface.isAssignableFrom(this.getClass()) ||
+                this.mInner.isWrapperFor(iface);
+    }
+    
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public <T> T unwrap(final Class<T> iface) throws SQLException {
+        // Check if this class extends or implements the supplied one
+        if (iface.isAssignableFrom(this.getClass())) {
+            // Cast this instance to the specified class
+            return iface.cast(this);
+        } else {
+            // Invokes the underlying result set method
+            return this.mInner.unwrap(iface);
+        }
+    }
+}
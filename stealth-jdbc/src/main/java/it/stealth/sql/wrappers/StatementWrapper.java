@@ -0,0 +1,516 @@
+/*
+ * To change this license header, choose License Headers in Project Properties.
+ * To change this template file, choose Tools | Templates
+ * and open the template in the editor.
+ */
+package it.stealth.sql.wrappers;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.SQLWarning;
+import java.sql.Statement;
+import java.util.Objects;
+
+/**
+ * Defines a convenient starting point for extending a
+ * {@link Statement} that wraps a pre-existing one.
+ *
+ * @author Fabrizio Lo Verde
+ * @version 1.0
+ * @since 1.4
+ */
+public abstract class StatementWrapper implements Statement
+{
+    /**
+     * Reference to the {@link Statement} to wrap.
+     */
+    protected final Statement mInner;
+    
+    /**
+     * Create a new {@link StatementWrapper}
+     * wrapping a certain {@link Statement}.
+     * 
+     * @param inner a {@link Statement} to wrap.
+     */
+    public StatementWrapper(final Statement inner) {
+        // Stores the reference to the statement
+        this.mInner = Objects.requireNonNull(inner);
+    }
+    
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public ResultSet executeQuery(final String sql) throws SQLException {
+        // Invokes the underlying statement method
+        return this.mInner.executeQuery(sql);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int executeUpdate(final String sql) throws SQLException {
+        // Invokes the underlying statement method
+        return this.mInner.executeUpdate(sql);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void close() throws SQLException {
+        // Invokes the underlying statement method
+        this.mInner.close();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int getMaxFieldSize() throws SQLException {
+        // Invokes the underlying statement method
+        return this.mInner.getMaxFieldSize();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void setMaxFieldSize(final int max) throws SQLException {
+        // Invokes the underlying statement method
+        this.mInner.setMaxFieldSize(max);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int getMaxRows() throws SQLException {
+        // Invokes the underlying statement method
+        return this.mInner.getMaxRows();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void setMaxRows(final int max) throws SQLException {
+        // Invokes the underlying statement method
+        this.mInner.setMaxRows(max);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void setEscapeProcessing(final boolean enable) throws SQLException {
+        // Invokes the underlying statement method
+        this.mInner.setEscapeProcessing(enable);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int getQueryTimeout() throws SQLException {
+        // Invokes the underlying statement method
+        return this.mInner.getQueryTimeout();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void setQueryTimeout(final int seconds) throws SQLException {
+        // Invokes the underlying statement method
+        this.mInner.setQueryTimeout(seconds);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void cancel() throws SQLException {
+        // Invokes the underlying statement method
+        this.mInner.cancel();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public SQLWarning getWarnings() throws SQLException {
+        // Invokes the underlying statement method
+        return this.mInner.getWarnings();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void clearWarnings() throws SQLException {
+        // Invokes the underlying statement method
+        this.mInner.clearWarnings();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void setCursorName(final String name) throws SQLException {
+        // Invokes the underlying statement method
+        this.mInner.setCursorName(name);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean execute(final String sql) throws SQLException {
+        // Invokes the underlying statement method
+        return this.mInner.execute(sql);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public ResultSet getResultSet() throws SQLException {
+        // Invokes the underlying statement method
+        return this.mInner.getResultSet();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int getUpdateCount() throws SQLException {
+        // Invokes the underlying statement method
+        return this.mInner.getUpdateCount();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean getMoreResults() throws SQLException {
+        // Invokes the underlying statement method
+        return this.mInner.getMoreResults();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void setFetchDirection(final int direction) throws SQLException {
+        // Invokes the underlying statement method
+        this.mInner.setFetchDirection(direction);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int getFetchDirection() throws SQLException {
+        // Invokes the underlying statement method
+        return this.mInner.getFetchDirection();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void setFetchSize(final int rows) throws SQLException {
+        // Invokes the underlying statement method
+        this.mInner.setFetchSize(rows);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int getFetchSize() throws SQLException {
+        // Invokes the underlying statement method
+        return this.mInner.getFetchSize();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int getResultSetConcurrency() throws SQLException {
+        // Invokes the underlying statement method
+        return this.mInner.getResultSetConcurrency();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int getResultSetType() throws SQLException {
+        // Invokes the underlying statement method
+        return this.mInner.getResultSetType();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void addBatch(final String sql) throws SQLException {
+        // Invokes the underlying statement method
+        this.mInner.addBatch(sql);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void clearBatch() throws SQLException {
+        // Invokes the underlying statement method
+        this.mInner.clearBatch();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int[] executeBatch() throws SQLException {
+        // Invokes the underlying statement method
+        return this.mInner.executeBatch();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Connection getConnection() throws SQLException {
+        // Invokes the underlying statement method
+        return this.mInner.getConnection();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean getMoreResults(final int current) throws SQLException {
+        // Invokes the underlying statement method
+        return this.mInner.getMoreResults(current);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public ResultSet getGeneratedKeys() throws SQLException {
+        // Invokes the underlying statement method
+        return this.mInner.getGeneratedKeys();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int executeUpdate(final String sql, final int autoGeneratedKeys) throws SQLException {
+        // Invokes the underlying statement method
+        return this.mInner.executeUpdate(sql, autoGeneratedKeys);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int executeUpdate(final String sql, final int[] columnIndexes) throws SQLException {
+        // Invokes the underlying statement method
+        return this.mInner.executeUpdate(sql, columnIndexes);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int executeUpdate(final String sql, final String[] columnNames) throws SQLException {
+        // Invokes the underlying statement method
+        return this.mInner.executeUpdate(sql, columnNames);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean execute(final String sql, final int autoGeneratedKeys) throws SQLException {
+        // Invokes the underlying statement method
+        return this.mInner.execute(sql, autoGeneratedKeys);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean execute(final String sql, final int[] columnIndexes) throws SQLException {
+        // Invokes the underlying statement method
+        return this.mInner.execute(sql, columnIndexes);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean execute(final String sql, final String[] columnNames) throws SQLException {
+        // Invokes the underlying statement method
+        return this.mInner.execute(sql, columnNames);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int getResultSetHoldability() throws SQLException {
+        // Invokes the underlying statement method
+        return this.mInner.getResultSetHoldability();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean isClosed() throws SQLException {
+        // Invokes the underlying statement method
+        return this.mInner.isClosed();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void setPoolable(final boolean poolable) throws SQLException {
+        // Invokes the underlying statement method
+        this.mInner.setPoolable(poolable);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean isPoolable() throws SQLException {
+        // Invokes the underlying statement method
+        return this.mInner.isPoolable();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void closeOnCompletion() throws SQLException {
+        // Invokes the underlying statement method
+        this.mInner.closeOnCompletion();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean isCloseOnCompletion() throws SQLException {
+        // Invokes the underlying statement method
+        return this.mInner.isCloseOnCompletion();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public long getLargeUpdateCount() throws SQLException {
+        // Invokes the underlying statement method
+        return this.mInner.getLargeUpdateCount();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void setLargeMaxRows(final long max) throws SQLException {
+        // Invokes the underlying statement method
+        this.mInner.setLargeMaxRows(max);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public long getLargeMaxRows() throws SQLException {
+        // Invokes the underlying statement method
+        return this.mInner.getLargeMaxRows();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public long[] executeLargeBatch() throws SQLException {
+        // Invokes the underlying statement method
+        return this.mInner.executeLargeBatch();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public long executeLargeUpdate(final String sql) throws SQLException {
+        // Invokes the underlying statement method
+        return this.mInner.executeLargeUpdate(sql);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public long executeLargeUpdate(final String sql, final int autoGeneratedKeys) throws SQLException {
+        // Invokes the underlying statement method
+        return this.mInner.executeLargeUpdate(sql, autoGeneratedKeys);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public long executeLargeUpdate(final String sql, final int[] columnIndexes) throws SQLException {
+        // Invokes the underlying statement method
+        return this.mInner.executeLargeUpdate(sql, columnIndexes);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public long executeLargeUpdate(final String sql, final String[] columnNames) throws SQLException {
+        // Invokes the underlying statement method
+        return this.mInner.executeLargeUpdate(sql, columnNames);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean isWrapperFor(final Class<?> iface) throws SQLException {
+        // Check if this class extends or implements the supplied
+        // one, otherwise invokes the underlying statement method
+        return iface.isAssignableFrom(this.getClass()) ||
+                this.mInner.isWrapperFor(iface);
+    }
+    
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public <T> T unwrap(final Class<T> iface) throws SQLException {
+        // Check if this class extends or implements the supplied one
+        if (iface.isAssignableFrom(this.getClass())) {
+            // Cast this instance to the specified class
+            return iface.cast(this);
+        } else {
+            // Invokes the underlying statement method
+            return this.mInner.unwrap(iface);
+        }
+    }
+}
@@ -0,0 +1,32 @@
+/*
+ * To change this license header, choose License Headers in Project Properties.
+ * To change this template file, choose Tools | Templates
+ * and open the template in the editor.
+ */
+package it.stealth.sql.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Java Flight Recorder event of the acquisition of a connection.
+ *
+ * @author Fabrizio Lo Verde
+ * @version 1.0
+ * @since 1.4
+ */
+@Name("it.stealth.sql.ConnectionAcquire")
+@Label("Connection Acquire")
+@Category({"Stealth", "SQL"})
+@Description("The acquisition of a connection")
+final class ConnectionAcquireEvent extends Event
+{
+    /**
+     * Class of the provider that supplied the connection.
+     */
+    @Label("Provider")
+    String provider;
+}
@@ -0,0 +1,40 @@
+/*
+ * To change this license header, choose License Headers in Project Properties.
+ * To change this template file, choose Tools | Templates
+ * and open the template in the editor.
+ */
+package it.stealth.sql.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Java Flight Recorder event of the materialization of the results of a query.
+ *
+ * @author Fabrizio Lo Verde
+ * @version 1.0
+ * @since 1.4
+ */
+@Name("it.stealth.sql.ResultMaterialize")
+@Label("Result Materialize")
+@Category({"Stealth", "SQL"})
+@Description("The materialization of the results of a query")
+final class ResultMaterializeEvent extends Event
+{
+    /**
+     * Number of rows materialized.
+     */
+    @Label("Rows")
+    long rows;
+
+    /**
+     * Estimated number of bytes materialized.
+     */
+    @Label("Bytes")
+    @DataAmount
+    long bytes;
+}
@@ -0,0 +1,223 @@
+/*
+ * To change this license header, choose License Headers in Project Properties.
+ * To change this template file, choose Tools | Templates
+ * and open the template in the editor.
+ */
+package it.stealth.sql.metrics;
+
+import java.util.function.LongSupplier;
+import jdk.jfr.Event;
+
+/**
+ * Facade that emits the Java Flight Recorder events of the library.
+ * <p>The events are emitted in pairs of calls: a {@code beginX} method returns
+ * an opaque token, or {@code null} if the event is not being recorded, and the
+ * matching {@code endX} method commits the event with its duration and its
+ * attributes. Since the attributes are passed only to the {@code endX} method,
+ * and ignored when the token is {@code null}, the callers can avoid computing
+ * them when nothing is being recorded; the costly attributes are supplied
+ * lazily, so that they are only computed for the events committed.</p><p>This is the Java 11 version of
+ * the facade, selected by the multi-release JAR: when no recording enables an
+ * event, its {@code beginX} method costs the check of a flag.</p>
+ *
+ * @author Fabrizio Lo Verde
+ * @version 1.0
+ * @since 1.4
+ */
+public final class SQLEvents
+{
+    /**
+     * Prevents the instantiation of this class.
+     */
+    private SQLEvents() {
+    }
+
+    /**
+     * Indicates whether this runtime is able to emit the events.
+     *
+     * @return {@code true} on Java 11 and later.
+     */
+    public static boolean isSupported() {
+        // Java Flight Recorder events are available
+        return true;
+    }
+
+    /**
+     * Internal procedure that begins an event, if it is being recorded.
+     *
+     * @param <E> type of the event.
+     * @param event a new event.
+     * @return the event, {@code null} if it is not being recorded.
+     */
+    private static <E extends Event> E begin(final E event) {
+        // Check if any recording enables the event
+        if (!event.isEnabled()) {
+            return null;
+        }
+        // Starts measuring the duration
+        event.begin();
+        return event;
+    }
+
+    /**
+     * Begins the event of the execution of a query.
+     *
+     * @return token of the event, {@code null} if it is not being recorded.
+     */
+    public static Object beginQuery() {
+        // Begins the event
+        return SQLEvents.begin(new SqlQueryEvent());
+    }
+
+    /**
+     * Ends the event of the execution of a query, including the read of its results.
+     *
+     * @param event token returned by {@link #beginQuery()}.
+     * @param sql SQL of the query.
+     * @param rows number of rows read.
+     */
+    public static void endQuery(final Object event, final String sql, final long rows) {
+        // Check if the event is being recorded
+        if (event != null) {
+            // Stops measuring the duration
+            final SqlQueryEvent e = (SqlQueryEvent) event;
+            e.end();
+            // Check if the event passes the threshold of the recording
+            if (e.shouldCommit()) {
+                e.sql = SQLMetrics.normalize(sql);
+                e.sqlHash = e.sql.hashCode();
+                e.rows = rows;
+                e.commit();
+            }
+        }
+    }
+
+    /**
+     * Begins the event of the execution of a command.
+     *
+     * @return token of the event, {@code null} if it is not being recorded.
+     */
+    public static Object beginExecute() {
+        // Begins the event
+        return SQLEvents.begin(new SqlExecuteEvent());
+    }
+
+    /**
+     * Ends the event of the execution of a command.
+     *
+     * @param event token returned by {@link #beginExecute()}.
+     * @param sql SQL of the command.
+     * @param rows number of rows affected.
+     */
+    public static void endExecute(final Object event, final String sql, final long rows) {
+        // Check if the event is being recorded
+        if (event != null) {
+            // Stops measuring the duration
+            final SqlExecuteEvent e = (SqlExecuteEvent) event;
+            e.end();
+            // Check if the event passes the threshold of the recording
+            if (e.shouldCommit()) {
+                e.sql = SQLMetrics.normalize(sql);
+                e.sqlHash = e.sql.hashCode();
+                e.rows = rows;
+                e.commit();
+            }
+        }
+    }
+
+    /**
+     * Begins the event of the acquisition of a connection.
+     *
+     * @return token of the event, {@code null} if it is not being recorded.
+     */
+    public static Object beginAcquire() {
+        // Begins the event
+        return SQLEvents.begin(new ConnectionAcquireEvent());
+    }
+
+    /**
+     * Ends the event of the acquisition of a connection.
+     *
+     * @param event token returned by {@link #beginAcquire()}.
+     * @param provider provider that supplied the connection.
+     */
+    public static void endAcquire(final Object event, final Object provider) {
+        // Check if the event is being recorded
+        if (event != null) {
+            // Stops measuring the duration
+            final ConnectionAcquireEvent e = (ConnectionAcquireEvent) event;
+            e.end();
+            // Check if the event passes the threshold of the recording
+            if (e.shouldCommit()) {
+                e.provider = provider == null ? null : provider.getClass().getName();
+                e.commit();
+            }
+        }
+    }
+
+    /**
+     * Begins the event of the end of a transaction.
+     *
+     * @return token of the event, {@code null} if it is not being recorded.
+     */
+    public static Object beginCommit() {
+        // Begins the event
+        return SQLEvents.begin(new TransactionCommitEvent());
+    }
+
+    /**
+     * Ends the event of the end of a transaction.
+     *
+     * @param event token returned by {@link #beginCommit()}.
+     * @param committed {@code true} if the transaction has been committed,
+     *        {@code false} if it has been rolled back.
+     * @param nested {@code true} if the transaction is nested within another one.
+     */
+    public static void endCommit(final Object event, final boolean committed, final boolean nested) {
+        // Check if the event is being recorded
+        if (event != null) {
+            // Stops measuring the duration
+            final TransactionCommitEvent e = (TransactionCommitEvent) event;
+            e.end();
+            // Check if the event passes the threshold of the recording
+            if (e.shouldCommit()) {
+                e.committed = committed;
+                e.nested = nested;
+                e.commit();
+            }
+        }
+    }
+
+    /**
+     * Begins the event of the materialization of the results of a query.
+     *
+     * @return token of the event, {@code null} if it is not being recorded.
+     */
+    public static Object beginMaterialize() {
+        // Begins the event
+        return SQLEvents.begin(new ResultMaterializeEvent());
+    }
+
+    /**
+     * Ends the event of the materialization of the results of a query.
+     *
+     * @param event token returned by {@link #beginMaterialize()}.
+     * @param rows number of rows materialized.
+     * @param bytes estimate of the number of bytes materialized, only
+     *        computed if the event passes the threshold of the recording.
+     */
+    public static void endMaterialize(final Object event, final long rows, final LongSupplier bytes) {
+        // Check if the event is being recorded
+        if (event != null) {
+            // Stops measuring the duration
+            final ResultMaterializeEvent e = (ResultMaterializeEvent) event;
+            e.end();
+            // Check if the event passes the threshold of the recording
+            if (e.shouldCommit()) {
+                e.rows = rows;
+                e.bytes = bytes.getAsLong();
+                e.commit();
+            }
+        }
+    }
+}
@@ -0,0 +1,44 @@
+/*
+ * To change this license header, choose License Headers in Project Properties.
+ * To change this template file, choose Tools | Templates
+ * and open the template in the editor.
+ */
+package it.stealth.sql.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Java Flight Recorder event of the execution of a query, including the read of its results.
+ *
+ * @author Fabrizio Lo Verde
+ * @version 1.0
+ * @since 1.4
+ */
+@Name("it.stealth.sql.SqlQuery")
+@Label("SQL Query")
+@Category({"Stealth", "SQL"})
+@Description("The execution of a query, including the read of its results")
+final class SqlQueryEvent extends Event
+{
+    /**
+     * Hash code of the normalized SQL.
+     */
+    @Label("SQL Hash")
+    int sqlHash;
+
+    /**
+     * Normalized SQL.
+     */
+    @Label("SQL")
+    String sql;
+
+    /**
+     * Number of rows read.
+     */
+    @Label("Rows")
+    long rows;
+}
@@ -0,0 +1,38 @@
+/*
+ * To change this license header, choose License Headers in Project Properties.
+ * To change this template file, choose Tools | Templates
+ * and open the template in the editor.
+ */
+package it.stealth.sql.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Java Flight Recorder event of the end of a transaction, through a commit or a rollback.
+ *
+ * @author Fabrizio Lo Verde
+ * @version 1.0
+ * @since 1.4
+ */
+@Name("it.stealth.sql.TransactionCommit")
+@Label("Transaction Commit")
+@Category({"Stealth", "SQL"})
+@Description("The end of a transaction, through a commit or a rollback")
+final class TransactionCommitEvent extends Event
+{
+    /**
+     * Indicates whether the transaction has been committed.
+     */
+    @Label("Committed")
+    boolean committed;
+
+    /**
+     * Indicates whether the transaction is nested within another one.
+     */
+    @Label("Nested")
+    boolean nested;
+}